@@ -0,0 +1,91 @@
+package warehouse.benchmarks;
+
+import warehouse.addresses.model.AddressEntity;
+import warehouse.categories.model.CategoryEntity;
+import warehouse.customers.model.CustomerEntity;
+import warehouse.items.mapper.ItemViewMapper;
+import warehouse.items.model.ItemEntity;
+import warehouse.items.model.ItemViewBindingModel;
+import warehouse.orderline.model.OrderLineEntity;
+import warehouse.orders.mapper.OrderViewMapper;
+import warehouse.orders.model.OrderEntity;
+import warehouse.orders.model.OrderViewBindingModel;
+import warehouse.suppliers.model.SupplierEntity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+final class BenchmarkFixtures {
+
+    private static final CategoryEntity CATEGORY = new CategoryEntity();
+    private static final SupplierEntity SUPPLIER = new SupplierEntity();
+
+    static {
+        CATEGORY.setName("Category");
+        SUPPLIER.setName("Supplier");
+    }
+
+    private BenchmarkFixtures() {
+    }
+
+    static ItemEntity itemEntity(int index) {
+
+        ItemEntity itemEntity = new ItemEntity();
+        itemEntity.setId((long) index);
+        itemEntity.setName(String.format("Item_%05d", index));
+        itemEntity.setDescription("Description");
+        itemEntity.setPrice(new BigDecimal("10.50"));
+        itemEntity.setStock(100);
+        itemEntity.setLocation("A1");
+        itemEntity.setImg("img");
+        itemEntity.setCategory(CATEGORY);
+        itemEntity.setSupplier(SUPPLIER);
+
+        return itemEntity;
+    }
+
+    static ItemViewBindingModel itemViewBindingModel(int index) {
+        return ItemViewMapper.toBindingModel(ItemViewMapper.toServiceModel(itemEntity(index)));
+    }
+
+    static OrderEntity orderEntity(int orderLines) {
+
+        AddressEntity addressEntity = new AddressEntity();
+        addressEntity.setId(1L);
+        addressEntity.setRegion("Region");
+        addressEntity.setCity("City");
+        addressEntity.setStreet("Street");
+        addressEntity.setPhone("0888888888");
+
+        CustomerEntity customerEntity = new CustomerEntity();
+        customerEntity.setId(1L);
+        customerEntity.setCompanyName("Company");
+        customerEntity.setPersonName("Person");
+        customerEntity.setEmail("company@mail.bg");
+        customerEntity.setAddressEntity(addressEntity);
+
+        OrderEntity orderEntity = new OrderEntity();
+        orderEntity.setId(1L);
+        orderEntity.setCreatedOn(LocalDateTime.of(2020, 10, 1, 10, 0));
+        orderEntity.setUpdatedOn(LocalDateTime.of(2020, 10, 2, 10, 0));
+        orderEntity.setCustomer(customerEntity);
+        orderEntity.setTotal(BigDecimal.ZERO);
+
+        for (int i = 1; i <= orderLines; i++) {
+            OrderLineEntity orderLineEntity = new OrderLineEntity();
+            orderLineEntity.setId((long) i);
+            orderLineEntity.setItem(itemEntity(i));
+            orderLineEntity.setQuantity(1);
+            orderLineEntity.setSubtotal(orderLineEntity.getItem().getPrice());
+            orderLineEntity.setOrder(orderEntity);
+            orderEntity.getOrderLineEntities().add(orderLineEntity);
+            orderEntity.setTotal(orderEntity.getTotal().add(orderLineEntity.getSubtotal()));
+        }
+
+        return orderEntity;
+    }
+
+    static OrderViewBindingModel orderViewBindingModel(int orderLines) {
+        return OrderViewMapper.toBindingModel(OrderViewMapper.toServiceModel(orderEntity(orderLines)));
+    }
+}
@@ -0,0 +1,83 @@
+package warehouse.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import warehouse.items.model.ItemViewBindingModel;
+import warehouse.orders.orderdata.OrderData;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The session cart operations behind the order add and edit pages.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderDataBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int orderLines;
+
+    private ItemViewBindingModel[] items;
+    private OrderData orderData;
+    private long middleItemId;
+
+    @Setup
+    public void setUp() {
+
+        this.items = new ItemViewBindingModel[this.orderLines];
+        for (int i = 0; i < this.orderLines; i++) {
+            this.items[i] = BenchmarkFixtures.itemViewBindingModel(i + 1);
+        }
+
+        this.middleItemId = this.items[this.orderLines / 2].getId();
+    }
+
+    @Setup(Level.Iteration)
+    public void resetOrderData() {
+        this.orderData = this.fill(new OrderData());
+    }
+
+    @Benchmark
+    public OrderData addOrderLines() {
+        return this.fill(new OrderData());
+    }
+
+    @Benchmark
+    public OrderData addToExistingOrderLine() {
+        this.orderData.addOrderLine(this.items[this.orderLines / 2], 1);
+        return this.orderData;
+    }
+
+    @Benchmark
+    public OrderData updateOrderLine() {
+        this.orderData.updateOrderLine(this.middleItemId, 3);
+        return this.orderData;
+    }
+
+    @Benchmark
+    public BigDecimal getTotalAmount() {
+        return this.orderData.getTotalAmount();
+    }
+
+    private OrderData fill(OrderData orderData) {
+        for (ItemViewBindingModel item : this.items) {
+            orderData.addOrderLine(item, 1);
+        }
+        return orderData;
+    }
+}
@@ -0,0 +1,69 @@
+package warehouse.benchmarks;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import warehouse.config.ApplicationBeanConfiguration;
+import warehouse.orders.model.OrderViewBindingModel;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The JSON serialization step of the archive export, without the file write: the former pretty-printed
+ * document per order against the compact array the export workers stream per batch.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderExportBenchmark {
+
+    private static final int BATCH_SIZE = 100;
+
+    @Param({"10", "100", "1000"})
+    private int orderLines;
+
+    private Gson gson;
+    private OrderViewBindingModel orderViewBindingModel;
+
+    @Setup
+    public void setUp() {
+        this.gson = new ApplicationBeanConfiguration().gson();
+        this.orderViewBindingModel = BenchmarkFixtures.orderViewBindingModel(this.orderLines);
+    }
+
+    @Benchmark
+    public String exportToJson() {
+        return this.gson.toJson(this.orderViewBindingModel);
+    }
+
+    @Benchmark
+    public String exportBatchToJsonArray() throws IOException {
+
+        StringWriter stringWriter = new StringWriter();
+
+        try (JsonWriter jsonWriter = new JsonWriter(stringWriter)) {
+            jsonWriter.beginArray();
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                this.gson.toJson(this.orderViewBindingModel, OrderViewBindingModel.class, jsonWriter);
+            }
+            jsonWriter.endArray();
+        }
+
+        return stringWriter.toString();
+    }
+}
@@ -0,0 +1,174 @@
+package warehouse.benchmarks;
+
+import ch.qos.logback.classic.LoggerContext;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.orm.jpa.hibernate.SpringImplicitNamingStrategy;
+import org.springframework.boot.orm.jpa.hibernate.SpringPhysicalNamingStrategy;
+import warehouse.addresses.model.AddressEntity;
+import warehouse.categories.model.CategoryEntity;
+import warehouse.customers.model.CustomerEntity;
+import warehouse.departments.model.DepartmentEntity;
+import warehouse.items.model.ItemEntity;
+import warehouse.orderline.model.OrderLineEntity;
+import warehouse.orders.export.model.ArchiveExportEntity;
+import warehouse.orders.model.OrderEntity;
+import warehouse.orders.orderdata.model.DraftOrderEntity;
+import warehouse.orders.sales.model.DailyCustomerSalesEntity;
+import warehouse.orders.sales.model.DailyItemSalesEntity;
+import warehouse.orders.sales.model.DailySupplierSalesEntity;
+import warehouse.roles.model.RoleEntity;
+import warehouse.suppliers.model.SupplierEntity;
+import warehouse.users.model.UserEntity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saving one large order through Hibernate with JDBC batching off (batch size 0) and at the application's batch size.
+ * Runs against an in-memory H2 database unless BENCHMARK_JDBC_URL, BENCHMARK_JDBC_USERNAME and BENCHMARK_JDBC_PASSWORD
+ * point to a scratch database, whose tables are dropped afterwards. The H2 driver sends a batch one statement at a time,
+ * so only PostgreSQL, e.g. jdbc:postgresql://localhost/warehouse_benchmark?reWriteBatchedInserts=true, shows the
+ * round trips batching saves.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderInsertBenchmark {
+
+    private static final int ITEMS_COUNT = 100;
+
+    private static final Class<?>[] ENTITIES = {
+            AddressEntity.class, CategoryEntity.class, CustomerEntity.class, DepartmentEntity.class,
+            ItemEntity.class, OrderLineEntity.class, ArchiveExportEntity.class, OrderEntity.class,
+            DraftOrderEntity.class, DailyCustomerSalesEntity.class, DailyItemSalesEntity.class,
+            DailySupplierSalesEntity.class, RoleEntity.class, SupplierEntity.class, UserEntity.class};
+
+    @Param({"200", "1000"})
+    private int orderLines;
+
+    @Param({"0", "50"})
+    private int batchSize;
+
+    private SessionFactory sessionFactory;
+    private Long customerId;
+    private Long[] itemIds;
+
+    @Setup
+    public void setUp() {
+
+        //outside of Spring Boot logback logs every statement at DEBUG, which would be measured along with the inserts
+        ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)
+                .setLevel(ch.qos.logback.classic.Level.WARN);
+
+        String url = System.getenv("BENCHMARK_JDBC_URL");
+
+        Configuration configuration = new Configuration()
+                .setProperty(AvailableSettings.URL, url != null ? url : "jdbc:h2:mem:orders;DB_CLOSE_DELAY=-1")
+                .setProperty(AvailableSettings.USER, this.getenv("BENCHMARK_JDBC_USERNAME", "sa"))
+                .setProperty(AvailableSettings.PASS, this.getenv("BENCHMARK_JDBC_PASSWORD", ""))
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, String.valueOf(this.batchSize))
+                .setProperty(AvailableSettings.ORDER_INSERTS, "true");
+        configuration.setPhysicalNamingStrategy(new SpringPhysicalNamingStrategy());
+        configuration.setImplicitNamingStrategy(new SpringImplicitNamingStrategy());
+        for (Class<?> entity : ENTITIES) {
+            configuration.addAnnotatedClass(entity);
+        }
+
+        this.sessionFactory = configuration.buildSessionFactory();
+
+        try (Session session = this.sessionFactory.openSession()) {
+            Transaction transaction = session.beginTransaction();
+
+            CustomerEntity customerEntity = BenchmarkFixtures.orderEntity(0).getCustomer();
+            customerEntity.setId(null);
+            customerEntity.getAddressEntity().setId(null);
+            session.persist(customerEntity);
+
+            this.itemIds = new Long[ITEMS_COUNT];
+            for (int i = 0; i < ITEMS_COUNT; i++) {
+                ItemEntity itemEntity = BenchmarkFixtures.itemEntity(i);
+                itemEntity.setId(null);
+                itemEntity.setCategory(null);
+                itemEntity.setSupplier(null);
+                session.persist(itemEntity);
+                this.itemIds[i] = itemEntity.getId();
+            }
+
+            transaction.commit();
+            this.customerId = customerEntity.getId();
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteOrders() {
+
+        try (Session session = this.sessionFactory.openSession()) {
+            Transaction transaction = session.beginTransaction();
+            session.createQuery("DELETE FROM OrderLineEntity").executeUpdate();
+            session.createQuery("DELETE FROM OrderEntity").executeUpdate();
+            transaction.commit();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.sessionFactory.close();
+    }
+
+    @Benchmark
+    public Long insertOrder() {
+
+        try (Session session = this.sessionFactory.openSession()) {
+            Transaction transaction = session.beginTransaction();
+
+            OrderEntity orderEntity = new OrderEntity();
+            orderEntity.setCustomer(session.load(CustomerEntity.class, this.customerId));
+            orderEntity.setCreatedOn(LocalDateTime.now());
+            orderEntity.setUpdatedOn(LocalDateTime.now());
+            orderEntity.setTotal(BigDecimal.ZERO);
+
+            for (int i = 0; i < this.orderLines; i++) {
+                OrderLineEntity orderLineEntity = new OrderLineEntity();
+                orderLineEntity.setItem(session.load(ItemEntity.class, this.itemIds[i % ITEMS_COUNT]));
+                orderLineEntity.setQuantity(1);
+                orderLineEntity.setSubtotal(BigDecimal.TEN);
+                orderLineEntity.setOrder(orderEntity);
+                orderEntity.getOrderLineEntities().add(orderLineEntity);
+                orderEntity.setTotal(orderEntity.getTotal().add(BigDecimal.TEN));
+            }
+
+            session.persist(orderEntity);
+            transaction.commit();
+
+            return orderEntity.getId();
+        }
+    }
+
+    private String getenv(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value != null ? value : defaultValue;
+    }
+}
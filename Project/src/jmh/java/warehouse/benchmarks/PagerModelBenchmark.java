@@ -0,0 +1,42 @@
+package warehouse.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import warehouse.pagination.PagerModel;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PagerModelBenchmark {
+
+    @Param({"1", "50", "10000"})
+    private int totalPages;
+
+    @Benchmark
+    public PagerModel firstPage() {
+        return new PagerModel(this.totalPages, 0, 5);
+    }
+
+    @Benchmark
+    public PagerModel middlePage() {
+        return new PagerModel(this.totalPages, this.totalPages / 2, 5);
+    }
+
+    @Benchmark
+    public PagerModel lastPage() {
+        return new PagerModel(this.totalPages, this.totalPages - 1, 5);
+    }
+}
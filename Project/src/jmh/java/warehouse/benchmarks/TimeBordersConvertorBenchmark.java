@@ -0,0 +1,70 @@
+package warehouse.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import warehouse.utils.time.TimeBordersConvertor;
+import warehouse.utils.time.impl.TimeBordersConvertorImpl;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Date range parsing done by every report and chart request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimeBordersConvertorBenchmark {
+
+    private TimeBordersConvertor timeBordersConvertor;
+    private LocalDateTime firstOrderDateTime;
+    private String[] timeBorders;
+    private List<Object[]> reportRows;
+
+    @Setup
+    public void setUp() {
+
+        this.timeBordersConvertor = new TimeBordersConvertorImpl();
+        this.firstOrderDateTime = LocalDateTime.of(2020, 1, 1, 0, 0);
+        this.timeBorders = new String[]{"01/10/2020", "31/10/2020"};
+
+        this.reportRows = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            this.reportRows.add(new Object[]{"Item_" + i, (long) i, i * 10.0});
+        }
+    }
+
+    @Benchmark
+    public LocalDateTime[] bordersFromDates() {
+        return this.timeBordersConvertor.getTimeBordersAsLocalDateTime("01/10/2020", "31/10/2020", this.firstOrderDateTime);
+    }
+
+    @Benchmark
+    public LocalDateTime[] bordersFromDefaults() {
+        return this.timeBordersConvertor.getTimeBordersAsLocalDateTime("", "", this.firstOrderDateTime);
+    }
+
+    @Benchmark
+    public String[] bordersAsStringFromDefaults() {
+        return this.timeBordersConvertor.getTimeBordersAsString("", "", this.firstOrderDateTime);
+    }
+
+    @Benchmark
+    public HashMap<Integer, String> bordersAndNamesMap() {
+        return this.timeBordersConvertor.getBordersAndNamesMap(new HashMap<>(), this.timeBorders, this.reportRows);
+    }
+}
@@ -0,0 +1,87 @@
+package warehouse.benchmarks;
+
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import warehouse.config.ModelMapperConfig;
+import warehouse.items.mapper.ItemViewMapper;
+import warehouse.items.model.ItemEntity;
+import warehouse.items.model.ItemViewBindingModel;
+import warehouse.items.model.ItemViewServiceModel;
+import warehouse.orders.mapper.OrderViewMapper;
+import warehouse.orders.model.OrderEntity;
+import warehouse.orders.model.OrderViewBindingModel;
+import warehouse.orders.model.OrderViewServiceModel;
+import warehouse.orders.orderdata.OrderData;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to service model to binding model, the way a list row is produced,
+ * with the reflective ModelMapper setup against the explicit mappers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ViewMappingBenchmark {
+
+    @Param({"0", "10", "100"})
+    private int orderLines;
+
+    private ModelMapper modelMapper;
+    private OrderEntity orderEntity;
+    private OrderViewBindingModel orderViewBindingModel;
+    private ItemEntity itemEntity;
+
+    @Setup
+    public void setUp() {
+        this.modelMapper = new ModelMapperConfig().modelMapper();
+        this.orderEntity = BenchmarkFixtures.orderEntity(this.orderLines);
+        this.orderViewBindingModel = BenchmarkFixtures.orderViewBindingModel(this.orderLines);
+        this.itemEntity = BenchmarkFixtures.itemEntity(0);
+    }
+
+    @Benchmark
+    public OrderViewBindingModel orderModelMapper() {
+        OrderViewServiceModel orderViewServiceModel = this.modelMapper.map(this.orderEntity, OrderViewServiceModel.class);
+        return this.modelMapper.map(orderViewServiceModel, OrderViewBindingModel.class);
+    }
+
+    @Benchmark
+    public OrderViewBindingModel orderExplicit() {
+        return OrderViewMapper.toBindingModel(OrderViewMapper.toServiceModel(this.orderEntity));
+    }
+
+    @Benchmark
+    public OrderViewBindingModel orderSummaryExplicit() {
+        return OrderViewMapper.toBindingModel(OrderViewMapper.toSummaryServiceModel(this.orderEntity));
+    }
+
+    @Benchmark
+    public OrderData orderDataModelMapper() {
+        return this.modelMapper.map(this.orderViewBindingModel, OrderData.class);
+    }
+
+    @Benchmark
+    public ItemViewBindingModel itemModelMapper() {
+        ItemViewServiceModel itemViewServiceModel = this.modelMapper.map(this.itemEntity, ItemViewServiceModel.class);
+        return this.modelMapper.map(itemViewServiceModel, ItemViewBindingModel.class);
+    }
+
+    @Benchmark
+    public ItemViewBindingModel itemExplicit() {
+        return ItemViewMapper.toBindingModel(ItemViewMapper.toServiceModel(this.itemEntity));
+    }
+}
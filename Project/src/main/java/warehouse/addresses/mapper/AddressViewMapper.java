@@ -0,0 +1,43 @@
+package warehouse.addresses.mapper;
+
+import warehouse.addresses.model.AddressEntity;
+import warehouse.addresses.model.AddressServiceModel;
+import warehouse.addresses.model.AddressViewBindingModel;
+
+public final class AddressViewMapper {
+
+    private AddressViewMapper() {
+    }
+
+    public static AddressServiceModel toServiceModel(AddressEntity addressEntity) {
+
+        if (addressEntity == null) {
+            return null;
+        }
+
+        AddressServiceModel addressServiceModel = new AddressServiceModel();
+        addressServiceModel.setId(addressEntity.getId());
+        addressServiceModel.setRegion(addressEntity.getRegion());
+        addressServiceModel.setCity(addressEntity.getCity());
+        addressServiceModel.setStreet(addressEntity.getStreet());
+        addressServiceModel.setPhone(addressEntity.getPhone());
+
+        return addressServiceModel;
+    }
+
+    public static AddressViewBindingModel toBindingModel(AddressServiceModel addressServiceModel) {
+
+        if (addressServiceModel == null) {
+            return null;
+        }
+
+        AddressViewBindingModel addressViewBindingModel = new AddressViewBindingModel();
+        addressViewBindingModel.setId(addressServiceModel.getId());
+        addressViewBindingModel.setRegion(addressServiceModel.getRegion());
+        addressViewBindingModel.setCity(addressServiceModel.getCity());
+        addressViewBindingModel.setStreet(addressServiceModel.getStreet());
+        addressViewBindingModel.setPhone(addressServiceModel.getPhone());
+
+        return addressViewBindingModel;
+    }
+}
@@ -1,5 +1,9 @@
 package warehouse.base;
 
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+
 import javax.persistence.*;
 
 @MappedSuperclass
@@ -8,7 +12,12 @@ public abstract class BaseEntity {
     private Long id;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "table_sequence")
+    @GenericGenerator(name = "table_sequence", strategy = "warehouse.base.TableSequenceGenerator",
+            parameters = {
+                    @Parameter(name = SequenceStyleGenerator.INCREMENT_PARAM, value = "50"),
+                    @Parameter(name = SequenceStyleGenerator.OPT_PARAM, value = "pooled")
+            })
     public Long getId() {
         return id;
     }
@@ -0,0 +1,25 @@
+package warehouse.base;
+
+import org.hibernate.MappingException;
+import org.hibernate.id.PersistentIdentifierGenerator;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+public class TableSequenceGenerator extends SequenceStyleGenerator {
+
+    public static final String SEQUENCE_SUFFIX = "_id_seq";
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+
+        //one sequence per table, named like the PostgreSQL serial sequence it replaces (orders -> orders_id_seq)
+        if (!params.containsKey(SEQUENCE_PARAM)) {
+            params.setProperty(SEQUENCE_PARAM, params.getProperty(PersistentIdentifierGenerator.TABLE) + SEQUENCE_SUFFIX);
+        }
+
+        super.configure(type, params, serviceRegistry);
+    }
+}
@@ -43,7 +43,7 @@ public class CategoryEntity extends BaseEntity {
         isBlocked = blocked;
     }
 
-    @OneToMany(mappedBy = "category", fetch = FetchType.EAGER, cascade = CascadeType.PERSIST)
+    @OneToMany(mappedBy = "category", cascade = CascadeType.PERSIST)
     public Set<ItemEntity> getItems() {
         return items;
     }
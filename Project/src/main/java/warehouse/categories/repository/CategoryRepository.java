@@ -22,4 +22,7 @@ public interface CategoryRepository extends JpaRepository<CategoryEntity, Long>
 
     @Query("select c.name from CategoryEntity AS c")
     List<String> findAllCategoryNames();
+
+    @Query("select c.name, c.id from CategoryEntity AS c")
+    List<Object[]> findAllCategoryNamesAndIds();
 }
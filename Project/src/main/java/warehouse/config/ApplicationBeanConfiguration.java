@@ -1,6 +1,8 @@
 package warehouse.config;
 
 import com.google.gson.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -9,6 +11,9 @@ import warehouse.items.validation.CategoryValidator;
 import warehouse.items.validation.SupplierValidator;
 import warehouse.utils.file.FileIOUtil;
 import warehouse.utils.file.impl.FileIOUtilImpl;
+import warehouse.utils.log.EventLog;
+import warehouse.utils.log.OverflowPolicy;
+import warehouse.utils.log.impl.RingBufferEventLog;
 import warehouse.utils.time.TimeBordersConvertor;
 import warehouse.utils.time.impl.TimeBordersConvertorImpl;
 import warehouse.utils.validation.ValidationUtil;
@@ -63,4 +68,12 @@ public class ApplicationBeanConfiguration {
         return new ValidationUtilImpl();
     }
 
+    @Bean
+    public EventLog eventLog(MeterRegistry meterRegistry,
+                             @Value("${eventlog.capacity:8192}") int capacity,
+                             @Value("${eventlog.overflow:DROP}") OverflowPolicy overflowPolicy,
+                             @Value("${eventlog.block-timeout-ms:20}") long blockTimeoutMillis) {
+        return new RingBufferEventLog(capacity, overflowPolicy, blockTimeoutMillis, meterRegistry);
+    }
+
 }
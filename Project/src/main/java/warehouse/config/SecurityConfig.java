@@ -1,15 +1,20 @@
 package warehouse.config;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.boot.autoconfigure.security.servlet.PathRequest;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.method.configuration.EnableGlobalMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import warehouse.statistics.LatencyEndpoint;
+import warehouse.statistics.SlowQueryEndpoint;
 
 @Configuration
 @EnableWebSecurity
@@ -31,6 +36,7 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
                 authorizeRequests().
                 requestMatchers(PathRequest.toStaticResources().atCommonLocations()).permitAll().
                 antMatchers("/login**", "/login-error**", "/img/**").permitAll().
+                requestMatchers(EndpointRequest.to(LatencyEndpoint.class, SlowQueryEndpoint.class)).hasRole("ADMIN").
                 antMatchers("/**").authenticated().
                 and().
                 formLogin().
@@ -52,4 +58,26 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
                 userDetailsService(projectUserDetailsService).
                 passwordEncoder(passwordEncoder);
     }
+
+    //imports are posted by scripts with basic auth and no session, so there is no cookie for a forged request to ride on,
+    //and a cross-site form cannot send the text/csv or application/x-ndjson body the endpoints consume
+    @Configuration
+    @Order(1)
+    public static class ImportSecurityConfig extends WebSecurityConfigurerAdapter {
+
+        @Override
+        protected void configure(HttpSecurity http) throws Exception {
+            http.
+                    antMatcher("/import/**").
+                    authorizeRequests().
+                    anyRequest().authenticated().
+                    and().
+                    httpBasic().
+                    and().
+                    sessionManagement().
+                    sessionCreationPolicy(SessionCreationPolicy.STATELESS).
+                    and().
+                    csrf().disable();
+        }
+    }
 }
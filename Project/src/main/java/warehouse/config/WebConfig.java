@@ -1,8 +1,12 @@
 package warehouse.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import warehouse.orders.export.ArchiveExportTimeoutInterceptor;
+import warehouse.orders.orderdata.OrderDataInterceptor;
 import warehouse.statistics.StatsInterceptor;
 import warehouse.statistics.UnauthorizedErrorInterceptor;
 
@@ -11,11 +15,17 @@ public class WebConfig implements WebMvcConfigurer {
 
     private StatsInterceptor statsInterceptor;
     private UnauthorizedErrorInterceptor unauthorizedErrorInterceptor;
+    private OrderDataInterceptor orderDataInterceptor;
+    private long asyncTimeoutMs;
 
     public WebConfig(StatsInterceptor statsInterceptor,
-                     UnauthorizedErrorInterceptor unauthorizedErrorInterceptor) {
+                     UnauthorizedErrorInterceptor unauthorizedErrorInterceptor,
+                     OrderDataInterceptor orderDataInterceptor,
+                     @Value("${orders.export.stream-timeout-ms:1800000}") long asyncTimeoutMs) {
         this.statsInterceptor = statsInterceptor;
         this.unauthorizedErrorInterceptor = unauthorizedErrorInterceptor;
+        this.orderDataInterceptor = orderDataInterceptor;
+        this.asyncTimeoutMs = asyncTimeoutMs;
     }
 
     @Override
@@ -23,5 +33,14 @@ public class WebConfig implements WebMvcConfigurer {
 
         registry.addInterceptor(statsInterceptor);
         registry.addInterceptor(unauthorizedErrorInterceptor);
+        registry.addInterceptor(orderDataInterceptor).addPathPatterns("/orders/**", "/items/**");
+    }
+
+    //the streamed archive export is the only async handler, the container default of about 30 seconds cuts it short
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+
+        configurer.setDefaultTimeout(this.asyncTimeoutMs);
+        configurer.registerCallableInterceptors(new ArchiveExportTimeoutInterceptor());
     }
 }
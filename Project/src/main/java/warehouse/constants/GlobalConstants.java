@@ -18,6 +18,8 @@ public class GlobalConstants {
 
     public static final int[] PAGE_SIZES = {5, 10, 15, 20};
 
+    public static final String RELEVANCE_SORT_OPTION = "Relevance";
+
     public static final int INIT_COUNT = 7;
 
     public static final Map<String, String> CATEGORY_NAMES  = new TreeMap<String, String>() {{
@@ -0,0 +1,46 @@
+package warehouse.customers.mapper;
+
+import warehouse.addresses.mapper.AddressViewMapper;
+import warehouse.customers.model.CustomerEntity;
+import warehouse.customers.model.CustomerServiceModel;
+import warehouse.customers.model.CustomerViewBindingModel;
+
+public final class CustomerViewMapper {
+
+    private CustomerViewMapper() {
+    }
+
+    public static CustomerServiceModel toServiceModel(CustomerEntity customerEntity) {
+
+        if (customerEntity == null) {
+            return null;
+        }
+
+        CustomerServiceModel customerServiceModel = new CustomerServiceModel();
+        customerServiceModel.setId(customerEntity.getId());
+        customerServiceModel.setCompanyName(customerEntity.getCompanyName());
+        customerServiceModel.setPersonName(customerEntity.getPersonName());
+        customerServiceModel.setEmail(customerEntity.getEmail());
+        customerServiceModel.setBlocked(customerEntity.isBlocked());
+        customerServiceModel.setAddress(AddressViewMapper.toServiceModel(customerEntity.getAddressEntity()));
+
+        return customerServiceModel;
+    }
+
+    public static CustomerViewBindingModel toBindingModel(CustomerServiceModel customerServiceModel) {
+
+        if (customerServiceModel == null) {
+            return null;
+        }
+
+        CustomerViewBindingModel customerViewBindingModel = new CustomerViewBindingModel();
+        customerViewBindingModel.setId(customerServiceModel.getId());
+        customerViewBindingModel.setCompanyName(customerServiceModel.getCompanyName());
+        customerViewBindingModel.setPersonName(customerServiceModel.getPersonName());
+        customerViewBindingModel.setEmail(customerServiceModel.getEmail());
+        customerViewBindingModel.setBlocked(customerServiceModel.isBlocked());
+        customerViewBindingModel.setAddress(AddressViewMapper.toBindingModel(customerServiceModel.getAddress()));
+
+        return customerViewBindingModel;
+    }
+}
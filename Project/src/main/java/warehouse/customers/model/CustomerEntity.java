@@ -10,6 +10,7 @@ import java.util.Set;
 
 @Entity
 @Table(name = "customers")
+@NamedEntityGraph(name = "Customer.address", attributeNodes = @NamedAttributeNode("addressEntity"))
 public class CustomerEntity extends BaseEntity {
 
     private String companyName;
@@ -49,7 +50,7 @@ public class CustomerEntity extends BaseEntity {
         this.email = email;
     }
 
-    @OneToOne(cascade = CascadeType.ALL)
+    @OneToOne(fetch = FetchType.LAZY, cascade = CascadeType.ALL)
     @JoinColumn(name = "address_id", referencedColumnName = "id")
     public AddressEntity getAddressEntity() {
         return addressEntity;
@@ -68,7 +69,7 @@ public class CustomerEntity extends BaseEntity {
         isBlocked = blocked;
     }
 
-    @OneToMany(mappedBy = "customer", fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "customer")
     public Set<OrderEntity> getOrders() {
         return orders;
     }
@@ -8,13 +8,16 @@ import org.springframework.stereotype.Service;
 import org.springframework.validation.annotation.Validated;
 import warehouse.addresses.model.AddressEntity;
 import warehouse.addresses.service.AddressService;
+import warehouse.customers.mapper.CustomerViewMapper;
 import warehouse.customers.model.CustomerAddBindingModel;
 import warehouse.customers.model.CustomerEntity;
 import warehouse.customers.model.CustomerServiceModel;
 import warehouse.customers.model.CustomerTurnoverViewModel;
 import warehouse.customers.repository.CustomerRepository;
 import warehouse.customers.service.CustomerService;
+import warehouse.orders.sales.repository.DailyCustomerSalesRepository;
 import warehouse.orders.service.OrderService;
+import warehouse.utils.search.SearchPatterns;
 import warehouse.utils.time.TimeBordersConvertor;
 import warehouse.utils.validation.ValidationUtil;
 import warehouse.validated.OnCreate;
@@ -43,6 +46,7 @@ public class CustomerServiceImpl implements CustomerService {
     private final OrderService orderService;
     private final AddressService addressService;
     private final ValidationUtil validationUtil;
+    private final DailyCustomerSalesRepository dailyCustomerSalesRepository;
 
 
     @Autowired
@@ -51,13 +55,15 @@ public class CustomerServiceImpl implements CustomerService {
                                TimeBordersConvertor timeBordersConvertor,
                                @Lazy OrderService orderService,
                                AddressService addressService,
-                               ValidationUtil validationUtil) {
+                               ValidationUtil validationUtil,
+                               DailyCustomerSalesRepository dailyCustomerSalesRepository) {
         this.customerRepository = customerRepository;
         this.modelMapper = modelMapper;
         this.timeBordersConvertor = timeBordersConvertor;
         this.orderService = orderService;
         this.addressService = addressService;
         this.validationUtil = validationUtil;
+        this.dailyCustomerSalesRepository = dailyCustomerSalesRepository;
     }
 
 
@@ -96,7 +102,7 @@ public class CustomerServiceImpl implements CustomerService {
 
         List<CustomerEntity> customerEntityList = this.customerRepository.findAll();
         List<CustomerServiceModel> customerServiceList = customerEntityList.stream()
-                .map(customerEntity -> this.modelMapper.map(customerEntity, CustomerServiceModel.class)).collect(Collectors.toList());
+                .map(CustomerViewMapper::toServiceModel).collect(Collectors.toList());
 
         return customerServiceList;
     }
@@ -107,7 +113,7 @@ public class CustomerServiceImpl implements CustomerService {
         Page<CustomerEntity> customerEntities = this.customerRepository.findAll(pageable);
 
         List<CustomerServiceModel> customerServiceModels = customerEntities.stream()
-                .map(customerEntity -> this.modelMapper.map(customerEntity, CustomerServiceModel.class)).collect(Collectors.toList());
+                .map(CustomerViewMapper::toServiceModel).collect(Collectors.toList());
 
         Page<CustomerServiceModel> customerServiceModelPage = new PageImpl<>(customerServiceModels, pageable, customerEntities.getTotalElements());
 
@@ -120,7 +126,7 @@ public class CustomerServiceImpl implements CustomerService {
         Page<CustomerEntity> customerEntities = this.customerRepository.findAllByBlockedFalse(pageable);
 
         List<CustomerServiceModel> customerServiceModels = customerEntities.stream()
-                .map(customerEntity -> this.modelMapper.map(customerEntity, CustomerServiceModel.class)).collect(Collectors.toList());
+                .map(CustomerViewMapper::toServiceModel).collect(Collectors.toList());
 
         Page<CustomerServiceModel> customerServiceModelPage = new PageImpl<>(customerServiceModels, pageable, customerEntities.getTotalElements());
 
@@ -142,10 +148,13 @@ public class CustomerServiceImpl implements CustomerService {
     @Override
     public Page<CustomerServiceModel> search(String keyword, Pageable pageable) {
 
-        Page<CustomerEntity> customerEntities = this.customerRepository.search(keyword, pageable);
+        String pattern = SearchPatterns.contains(keyword);
+        Page<CustomerEntity> customerEntities = pageable.getSort().isSorted()
+                ? this.customerRepository.search(pattern, pageable)
+                : this.customerRepository.searchByRelevance(pattern, SearchPatterns.startsWith(keyword), pageable);
 
         List<CustomerServiceModel> customerServiceModels = customerEntities.stream()
-                .map(customerEntity -> this.modelMapper.map(customerEntity, CustomerServiceModel.class)).collect(Collectors.toList());
+                .map(CustomerViewMapper::toServiceModel).collect(Collectors.toList());
 
         Page<CustomerServiceModel> customerServiceModelPage = new PageImpl<>(customerServiceModels, pageable, customerEntities.getTotalElements());
 
@@ -155,10 +164,13 @@ public class CustomerServiceImpl implements CustomerService {
     @Override
     public Page<CustomerServiceModel> searchUnblocked(String keyword, Pageable pageable) {
 
-        Page<CustomerEntity> customerEntities = this.customerRepository.searchUnblocked(keyword, pageable);
+        String pattern = SearchPatterns.contains(keyword);
+        Page<CustomerEntity> customerEntities = pageable.getSort().isSorted()
+                ? this.customerRepository.searchUnblocked(pattern, pageable)
+                : this.customerRepository.searchUnblockedByRelevance(pattern, SearchPatterns.startsWith(keyword), pageable);
 
         List<CustomerServiceModel> customerServiceModels = customerEntities.stream()
-                .map(customerEntity -> this.modelMapper.map(customerEntity, CustomerServiceModel.class)).collect(Collectors.toList());
+                .map(CustomerViewMapper::toServiceModel).collect(Collectors.toList());
 
         Page<CustomerServiceModel> customerServiceModelPage = new PageImpl<>(customerServiceModels, pageable, customerEntities.getTotalElements());
 
@@ -227,7 +239,8 @@ public class CustomerServiceImpl implements CustomerService {
         LocalDateTime[] timeBorders = this.timeBordersConvertor
                 .getTimeBordersAsLocalDateTime(fromDate, toDate, this.orderService.getDateTimeFirstArchiveOrder());
 
-        List<Object[]> result = this.customerRepository.findCustomerTurnover(timeBorders[0], timeBorders[1], keyword, PageRequest.of(0, 5));
+        List<Object[]> result = this.dailyCustomerSalesRepository.findCustomerTurnover(timeBorders[0].toLocalDate(),
+                timeBorders[1].minusNanos(1).toLocalDate(), keyword, PageRequest.of(0, 5));
 
         for (Object[] objects : result) {
             CustomerTurnoverViewModel customer = new CustomerTurnoverViewModel();
@@ -24,7 +24,7 @@ public class DepartmentEntity extends BaseEntity {
         this.departmentName = departmentName;
     }
 
-    @OneToMany(mappedBy = "department", fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "department")
     public Set<UserEntity> getUsers() {
         return users;
     }
@@ -2,21 +2,29 @@ package warehouse.events.order;
 
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
-import warehouse.orders.service.OrderService;
-
-import java.io.IOException;
+import warehouse.orders.export.ArchiveExportQueue;
+import warehouse.orders.turnover.service.TurnoverSeriesService;
 
 @Component
 public class ArchiveOrderListener {
 
-    private final OrderService orderService;
+    private final ArchiveExportQueue archiveExportQueue;
+    private final TurnoverSeriesService turnoverSeriesService;
+
+    public ArchiveOrderListener(ArchiveExportQueue archiveExportQueue, TurnoverSeriesService turnoverSeriesService) {
+        this.archiveExportQueue = archiveExportQueue;
+        this.turnoverSeriesService = turnoverSeriesService;
+    }
 
-    public ArchiveOrderListener(OrderService orderService) {
-        this.orderService = orderService;
+    @EventListener(ArchiveOrderEvent.class)
+    public void onOrderArchived(ArchiveOrderEvent archiveOrderEvent) {
+        this.archiveExportQueue.submit(archiveOrderEvent.getOrder().getId());
     }
 
     @EventListener(ArchiveOrderEvent.class)
-    public void onOrderArchived(ArchiveOrderEvent archiveOrderEvent) throws IOException {
-        this.orderService.exportArchivedOrder(archiveOrderEvent.getOrder());
+    public void onOrderArchivedUpdateTurnover(ArchiveOrderEvent archiveOrderEvent) {
+        //the archive time stored on the order, the same value the turnover rebuild groups by
+        this.turnoverSeriesService.addTurnover(archiveOrderEvent.getOrder().getUpdatedOn(),
+                archiveOrderEvent.getOrder().getTotal());
     }
 }
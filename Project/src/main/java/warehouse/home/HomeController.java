@@ -8,6 +8,7 @@ import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
+import warehouse.orders.mapper.OrderViewMapper;
 import warehouse.orders.model.OrderViewBindingModel;
 import warehouse.orders.service.OrderService;
 
@@ -40,21 +41,21 @@ public class HomeController {
 
             List<OrderViewBindingModel> lastCompletedOrders = this.orderService.findAllPageableCompletedOrderByUpdated()
                     .stream()
-                    .map(orderViewServiceModel -> this.modelMapper.map(orderViewServiceModel, OrderViewBindingModel.class))
+                    .map(OrderViewMapper::toBindingModel)
                     .collect(Collectors.toList());
             model.addAttribute("lastCompletedOrders", lastCompletedOrders);
 
 
         List<OrderViewBindingModel> lastCreatedOrders = this.orderService.findAllPageableOrderByCreated()
                 .stream()
-                .map(orderViewServiceModel -> this.modelMapper.map(orderViewServiceModel, OrderViewBindingModel.class))
+                .map(OrderViewMapper::toBindingModel)
                 .collect(Collectors.toList());
         model.addAttribute("lastCreatedOrders", lastCreatedOrders);
 
 
         List<OrderViewBindingModel> lastUpdatedOrders = this.orderService.findAllPageableOrderByUpdated()
                 .stream()
-                .map(orderViewServiceModel -> this.modelMapper.map(orderViewServiceModel, OrderViewBindingModel.class))
+                .map(OrderViewMapper::toBindingModel)
                 .collect(Collectors.toList());
         model.addAttribute("lastUpdatedOrders", lastUpdatedOrders);
 
@@ -0,0 +1,38 @@
+package warehouse.imports;
+
+import warehouse.imports.reader.CsvImportRowReader;
+import warehouse.imports.reader.ImportRowReader;
+import warehouse.imports.reader.NdjsonImportRowReader;
+
+import java.io.Reader;
+
+public enum ImportFormat {
+
+    CSV("text/csv"),
+    NDJSON("application/x-ndjson");
+
+    private final String contentType;
+
+    ImportFormat(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public ImportRowReader open(Reader reader) {
+        return this == CSV ? new CsvImportRowReader(reader) : new NdjsonImportRowReader(reader);
+    }
+
+    public static ImportFormat fromContentType(String contentType) {
+
+        for (ImportFormat format : values()) {
+            if (contentType != null && contentType.toLowerCase().startsWith(format.contentType)) {
+                return format;
+            }
+        }
+
+        throw new IllegalArgumentException(String.format("Unsupported import content type '%s'", contentType));
+    }
+}
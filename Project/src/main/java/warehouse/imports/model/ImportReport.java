@@ -0,0 +1,59 @@
+package warehouse.imports.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of one import. Every failed row is counted, only the first ones are kept with their error.
+ */
+public class ImportReport {
+
+    private final String target;
+    private final int maxErrors;
+    private final List<ImportRowError> errors = new ArrayList<>();
+    private long inserted;
+    private long updated;
+    private long failed;
+
+    public ImportReport(String target, int maxErrors) {
+        this.target = target;
+        this.maxErrors = maxErrors;
+    }
+
+    public void addSaved(long inserted, long updated) {
+        this.inserted += inserted;
+        this.updated += updated;
+    }
+
+    public void addError(long line, String message) {
+        this.failed++;
+        if (this.errors.size() < this.maxErrors) {
+            this.errors.add(new ImportRowError(line, message));
+        }
+    }
+
+    public String getTarget() {
+        return target;
+    }
+
+    public long getRows() {
+        return inserted + updated + failed;
+    }
+
+    public long getInserted() {
+        return inserted;
+    }
+
+    public long getUpdated() {
+        return updated;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public List<ImportRowError> getErrors() {
+        return Collections.unmodifiableList(errors);
+    }
+}
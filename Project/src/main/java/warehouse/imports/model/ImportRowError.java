@@ -0,0 +1,20 @@
+package warehouse.imports.model;
+
+public class ImportRowError {
+
+    private final long line;
+    private final String message;
+
+    public ImportRowError(long line, String message) {
+        this.line = line;
+        this.message = message;
+    }
+
+    public long getLine() {
+        return line;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,128 @@
+package warehouse.imports.reader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * RFC 4180 style CSV with a header row: fields may be quoted, a quoted field may hold commas,
+ * line breaks and doubled quotes. Rows are reported by the line they start on.
+ */
+public class CsvImportRowReader implements ImportRowReader {
+
+    private static final char SEPARATOR = ',';
+    private static final char QUOTE = '"';
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    private final BufferedReader reader;
+    private List<String> header;
+    private long line = 1;
+    private boolean unterminated;
+
+    public CsvImportRowReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+    }
+
+    @Override
+    public ImportRow next() throws IOException {
+
+        if (this.header == null) {
+            List<String> header = this.readRecord();
+            if (header == null) {
+                return null;
+            }
+            if (!header.isEmpty() && !header.get(0).isEmpty() && header.get(0).charAt(0) == BYTE_ORDER_MARK) {
+                header.set(0, header.get(0).substring(1));
+            }
+            header.replaceAll(String::trim);
+            this.header = header;
+        }
+
+        while (true) {
+
+            long start = this.line;
+            List<String> fields = this.readRecord();
+
+            if (fields == null) {
+                return null;
+            }
+            if (this.unterminated) {
+                return ImportRow.failed(start, "Quoted field is not closed");
+            }
+            if (fields.size() == 1 && fields.get(0).isEmpty()) {
+                continue;
+            }
+            if (fields.size() != this.header.size()) {
+                return ImportRow.failed(start, String.format("Expected %d columns, found %d", this.header.size(), fields.size()));
+            }
+
+            Map<String, String> values = new HashMap<>(this.header.size() * 2);
+            for (int i = 0; i < fields.size(); i++) {
+                values.put(this.header.get(i), fields.get(i));
+            }
+
+            return ImportRow.of(start, values);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.reader.close();
+    }
+
+    private List<String> readRecord() throws IOException {
+
+        int c = this.reader.read();
+        if (c == -1) {
+            return null;
+        }
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        while (true) {
+
+            if (quoted) {
+                if (c == -1) {
+                    this.unterminated = true;
+                    fields.add(field.toString());
+                    return fields;
+                }
+                if (c == QUOTE) {
+                    this.reader.mark(1);
+                    if (this.reader.read() == QUOTE) {
+                        field.append(QUOTE);
+                    } else {
+                        this.reader.reset();
+                        quoted = false;
+                    }
+                } else {
+                    if (c == '\n') {
+                        this.line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == -1 || c == '\n') {
+                if (c == '\n') {
+                    this.line++;
+                }
+                fields.add(field.toString());
+                return fields;
+            } else if (c == SEPARATOR) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == QUOTE && field.length() == 0) {
+                quoted = true;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+
+            c = this.reader.read();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package warehouse.imports.reader;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * One record of an import file by column name, or the reason it could not be read.
+ */
+public class ImportRow {
+
+    private final long line;
+    private final Map<String, String> values;
+    private final String error;
+
+    private ImportRow(long line, Map<String, String> values, String error) {
+        this.line = line;
+        this.values = values;
+        this.error = error;
+    }
+
+    public static ImportRow of(long line, Map<String, String> values) {
+        return new ImportRow(line, Collections.unmodifiableMap(values), null);
+    }
+
+    public static ImportRow failed(long line, String error) {
+        return new ImportRow(line, Collections.emptyMap(), error);
+    }
+
+    public long getLine() {
+        return line;
+    }
+
+    public Map<String, String> getValues() {
+        return values;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public boolean isFailed() {
+        return error != null;
+    }
+}
@@ -0,0 +1,16 @@
+package warehouse.imports.reader;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Reads an import file one record at a time, a malformed record is returned as a failed row
+ * so the rest of the file can still be read.
+ */
+public interface ImportRowReader extends Closeable {
+
+    /**
+     * Returns null at the end of the input.
+     */
+    ImportRow next() throws IOException;
+}
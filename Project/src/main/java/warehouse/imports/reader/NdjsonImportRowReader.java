@@ -0,0 +1,64 @@
+package warehouse.imports.reader;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.HashMap;
+import java.util.Map;
+
+public class NdjsonImportRowReader implements ImportRowReader {
+
+    private final BufferedReader reader;
+    private final JsonParser jsonParser = new JsonParser();
+    private long line;
+
+    public NdjsonImportRowReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+    }
+
+    @Override
+    public ImportRow next() throws IOException {
+
+        String text;
+        while ((text = this.reader.readLine()) != null) {
+
+            this.line++;
+            if (text.isBlank()) {
+                continue;
+            }
+
+            JsonElement element;
+            try {
+                element = this.jsonParser.parse(text);
+            } catch (JsonParseException e) {
+                return ImportRow.failed(this.line, "Malformed JSON");
+            }
+
+            if (!element.isJsonObject()) {
+                return ImportRow.failed(this.line, "Expected a JSON object");
+            }
+
+            JsonObject object = element.getAsJsonObject();
+            Map<String, String> values = new HashMap<>();
+            for (Map.Entry<String, JsonElement> entry : object.entrySet()) {
+                JsonElement value = entry.getValue();
+                values.put(entry.getKey(), value.isJsonNull() ? null
+                        : value.isJsonPrimitive() ? value.getAsString() : value.toString());
+            }
+
+            return ImportRow.of(this.line, values);
+        }
+
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.reader.close();
+    }
+}
@@ -0,0 +1,16 @@
+package warehouse.imports.service;
+
+import warehouse.imports.ImportFormat;
+import warehouse.imports.model.ImportReport;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface BulkImportService {
+
+    ImportReport importItems(InputStream inputStream, ImportFormat format) throws IOException;
+
+    ImportReport importCustomers(InputStream inputStream, ImportFormat format) throws IOException;
+
+    ImportReport importSuppliers(InputStream inputStream, ImportFormat format) throws IOException;
+}
@@ -0,0 +1,391 @@
+package warehouse.imports.service.impl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import warehouse.addresses.model.AddressEntity;
+import warehouse.addresses.model.AddressServiceModel;
+import warehouse.categories.repository.CategoryRepository;
+import warehouse.customers.model.CustomerEntity;
+import warehouse.customers.model.CustomerServiceModel;
+import warehouse.customers.repository.CustomerRepository;
+import warehouse.imports.ImportFormat;
+import warehouse.imports.model.ImportReport;
+import warehouse.imports.reader.ImportRow;
+import warehouse.imports.reader.ImportRowReader;
+import warehouse.imports.service.BulkImportService;
+import warehouse.items.model.ItemAddServiceModel;
+import warehouse.items.model.ItemEntity;
+import warehouse.items.repository.ItemRepository;
+import warehouse.suppliers.model.SupplierEntity;
+import warehouse.suppliers.model.SupplierServiceModel;
+import warehouse.suppliers.repository.SupplierRepository;
+import warehouse.utils.validation.ValidationUtil;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.validation.ConstraintViolation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Reads an import file row by row and upserts it chunk by chunk, each chunk in its own transaction,
+ * so the memory used does not depend on the size of the file. Rows are matched to existing records
+ * by their unique name with one query per chunk, and category and supplier names are resolved from
+ * a map loaded once per import.
+ * <p>
+ * The stock of an imported item is an absolute count that replaces the current stock. Existing items
+ * are locked in id order before they are written, the same order the guarded stock updates use, so a
+ * reservation either commits before the import reads the item or waits for the chunk to commit.
+ */
+@Service
+public class BulkImportServiceImpl implements BulkImportService {
+
+    private static final Logger logger = Logger.getLogger(BulkImportServiceImpl.class);
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ItemRepository itemRepository;
+    private final CategoryRepository categoryRepository;
+    private final SupplierRepository supplierRepository;
+    private final CustomerRepository customerRepository;
+    private final ValidationUtil validationUtil;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    public BulkImportServiceImpl(ItemRepository itemRepository,
+                                 CategoryRepository categoryRepository,
+                                 SupplierRepository supplierRepository,
+                                 CustomerRepository customerRepository,
+                                 ValidationUtil validationUtil,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${imports.chunk-size:1000}") int chunkSize,
+                                 @Value("${imports.max-reported-errors:1000}") int maxReportedErrors) {
+        this.itemRepository = itemRepository;
+        this.categoryRepository = categoryRepository;
+        this.supplierRepository = supplierRepository;
+        this.customerRepository = customerRepository;
+        this.validationUtil = validationUtil;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    @Override
+    public ImportReport importItems(InputStream inputStream, ImportFormat format) throws IOException {
+
+        Map<String, Long> categoryIds = toIdsByName(this.categoryRepository.findAllCategoryNamesAndIds());
+        Map<String, Long> supplierIds = toIdsByName(this.supplierRepository.findAllSupplierNamesAndIds());
+
+        return this.importRows("items", inputStream, format,
+                values -> toItem(values, categoryIds, supplierIds),
+                items -> this.saveItems(items, categoryIds, supplierIds));
+    }
+
+    @Override
+    public ImportReport importCustomers(InputStream inputStream, ImportFormat format) throws IOException {
+        return this.importRows("customers", inputStream, format, BulkImportServiceImpl::toCustomer, this::saveCustomers);
+    }
+
+    @Override
+    public ImportReport importSuppliers(InputStream inputStream, ImportFormat format) throws IOException {
+        return this.importRows("suppliers", inputStream, format, BulkImportServiceImpl::toSupplier, this::saveSuppliers);
+    }
+
+    private <T> ImportReport importRows(String target, InputStream inputStream, ImportFormat format,
+                                        Function<Map<String, String>, T> toModel,
+                                        Function<List<T>, Integer> saveChunk) throws IOException {
+
+        ImportReport report = new ImportReport(target, this.maxReportedErrors);
+        Timer.Sample sample = Timer.start(this.meterRegistry);
+
+        List<T> chunk = new ArrayList<>(this.chunkSize);
+        List<Long> chunkLines = new ArrayList<>(this.chunkSize);
+
+        try (ImportRowReader reader = format.open(new BufferedReader(
+                new InputStreamReader(inputStream, StandardCharsets.UTF_8), BUFFER_SIZE))) {
+
+            ImportRow row;
+            while ((row = reader.next()) != null) {
+
+                if (row.isFailed()) {
+                    report.addError(row.getLine(), row.getError());
+                    continue;
+                }
+
+                T model;
+                try {
+                    model = toModel.apply(row.getValues());
+                } catch (IllegalArgumentException e) {
+                    report.addError(row.getLine(), e.getMessage());
+                    continue;
+                }
+
+                Set<ConstraintViolation<T>> violations = this.validationUtil.getViolations(model);
+                if (!violations.isEmpty()) {
+                    report.addError(row.getLine(), describe(violations));
+                    continue;
+                }
+
+                chunk.add(model);
+                chunkLines.add(row.getLine());
+
+                if (chunk.size() >= this.chunkSize) {
+                    this.saveChunk(chunk, chunkLines, saveChunk, report);
+                }
+            }
+        }
+
+        this.saveChunk(chunk, chunkLines, saveChunk, report);
+
+        sample.stop(this.meterRegistry.timer("warehouse.imports.duration", "target", target));
+        this.meterRegistry.counter("warehouse.imports.rows", "target", target, "result", "inserted").increment(report.getInserted());
+        this.meterRegistry.counter("warehouse.imports.rows", "target", target, "result", "updated").increment(report.getUpdated());
+        this.meterRegistry.counter("warehouse.imports.rows", "target", target, "result", "failed").increment(report.getFailed());
+
+        logger.info(String.format("Imported %s: %d rows, %d inserted, %d updated, %d failed",
+                target, report.getRows(), report.getInserted(), report.getUpdated(), report.getFailed()));
+
+        return report;
+    }
+
+    private <T> void saveChunk(List<T> chunk, List<Long> chunkLines, Function<List<T>, Integer> saveChunk, ImportReport report) {
+
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        try {
+            Integer inserted = this.transactionTemplate.execute(status -> {
+                Integer saved = saveChunk.apply(chunk);
+                //the request's open session outlives the chunk, so its entities are detached before the next one
+                this.entityManager.flush();
+                this.entityManager.clear();
+                return saved;
+            });
+            report.addSaved(inserted, chunk.size() - inserted);
+        } catch (RuntimeException e) {
+            //the chunk is rolled back as a whole, so all of its rows are reported
+            String message = "Not saved: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            logger.error(String.format("Import chunk of lines %d to %d failed", chunkLines.get(0), chunkLines.get(chunkLines.size() - 1)), e);
+            chunkLines.forEach(line -> report.addError(line, message));
+        }
+
+        chunk.clear();
+        chunkLines.clear();
+    }
+
+    //a name repeated within a chunk updates the entity of its first row, so the last row wins
+    private int saveItems(List<ItemAddServiceModel> items, Map<String, Long> categoryIds, Map<String, Long> supplierIds) {
+
+        Map<String, ItemEntity> itemsByName = this.itemRepository
+                .findAndLockAllByNameIn(items.stream().map(ItemAddServiceModel::getName).collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(ItemEntity::getName, Function.identity()));
+
+        List<ItemEntity> inserted = new ArrayList<>();
+
+        for (ItemAddServiceModel item : items) {
+
+            ItemEntity itemEntity = itemsByName.get(item.getName());
+            if (itemEntity == null) {
+                itemEntity = new ItemEntity();
+                itemEntity.setName(item.getName());
+                itemsByName.put(item.getName(), itemEntity);
+                inserted.add(itemEntity);
+            }
+
+            itemEntity.setDescription(item.getDescription());
+            itemEntity.setPrice(item.getPrice());
+            itemEntity.setStock(item.getStock());
+            itemEntity.setLocation(item.getLocation());
+            itemEntity.setCategory(this.categoryRepository.getOne(categoryIds.get(item.getCategory())));
+            itemEntity.setSupplier(this.supplierRepository.getOne(supplierIds.get(item.getSupplier())));
+        }
+
+        this.itemRepository.saveAll(inserted);
+
+        return inserted.size();
+    }
+
+    private int saveCustomers(List<CustomerServiceModel> customers) {
+
+        Map<String, CustomerEntity> customersByName = this.customerRepository
+                .findAllByCompanyNameIn(customers.stream().map(CustomerServiceModel::getCompanyName).collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(CustomerEntity::getCompanyName, Function.identity()));
+
+        List<CustomerEntity> inserted = new ArrayList<>();
+
+        for (CustomerServiceModel customer : customers) {
+
+            CustomerEntity customerEntity = customersByName.get(customer.getCompanyName());
+            if (customerEntity == null) {
+                customerEntity = new CustomerEntity();
+                customerEntity.setCompanyName(customer.getCompanyName());
+                customersByName.put(customer.getCompanyName(), customerEntity);
+                inserted.add(customerEntity);
+            }
+
+            customerEntity.setPersonName(customer.getPersonName());
+            customerEntity.setEmail(customer.getEmail());
+            customerEntity.setAddressEntity(toAddress(customerEntity.getAddressEntity(), customer.getAddress()));
+        }
+
+        this.customerRepository.saveAll(inserted);
+
+        return inserted.size();
+    }
+
+    private int saveSuppliers(List<SupplierServiceModel> suppliers) {
+
+        Map<String, SupplierEntity> suppliersByName = this.supplierRepository
+                .findAllByNameIn(suppliers.stream().map(SupplierServiceModel::getName).collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(SupplierEntity::getName, Function.identity()));
+
+        List<SupplierEntity> inserted = new ArrayList<>();
+
+        for (SupplierServiceModel supplier : suppliers) {
+
+            SupplierEntity supplierEntity = suppliersByName.get(supplier.getName());
+            if (supplierEntity == null) {
+                supplierEntity = new SupplierEntity();
+                supplierEntity.setName(supplier.getName());
+                suppliersByName.put(supplier.getName(), supplierEntity);
+                inserted.add(supplierEntity);
+            }
+
+            supplierEntity.setEmail(supplier.getEmail());
+            supplierEntity.setAddressEntity(toAddress(supplierEntity.getAddressEntity(), supplier.getAddress()));
+        }
+
+        this.supplierRepository.saveAll(inserted);
+
+        return inserted.size();
+    }
+
+    private static ItemAddServiceModel toItem(Map<String, String> values, Map<String, Long> categoryIds, Map<String, Long> supplierIds) {
+
+        ItemAddServiceModel item = new ItemAddServiceModel();
+        item.setName(required(values, "name"));
+        item.setDescription(values.get("description"));
+        item.setPrice(toDecimal(required(values, "price"), "Price"));
+        item.setStock(toInt(required(values, "stock"), "Stock"));
+        item.setLocation(values.get("location"));
+        item.setCategory(required(values, "category"));
+        item.setSupplier(required(values, "supplier"));
+
+        if (!categoryIds.containsKey(item.getCategory())) {
+            throw new IllegalArgumentException(String.format("Category '%s' does not exist!", item.getCategory()));
+        }
+        if (!supplierIds.containsKey(item.getSupplier())) {
+            throw new IllegalArgumentException(String.format("Supplier '%s' does not exist!", item.getSupplier()));
+        }
+
+        return item;
+    }
+
+    private static CustomerServiceModel toCustomer(Map<String, String> values) {
+
+        CustomerServiceModel customer = new CustomerServiceModel();
+        customer.setCompanyName(required(values, "companyName"));
+        customer.setPersonName(values.get("personName"));
+        customer.setEmail(values.get("email"));
+        customer.setAddress(toAddressModel(values));
+
+        return customer;
+    }
+
+    private static SupplierServiceModel toSupplier(Map<String, String> values) {
+
+        SupplierServiceModel supplier = new SupplierServiceModel();
+        supplier.setName(required(values, "name"));
+        supplier.setEmail(values.get("email"));
+        supplier.setAddress(toAddressModel(values));
+
+        return supplier;
+    }
+
+    private static AddressServiceModel toAddressModel(Map<String, String> values) {
+
+        AddressServiceModel address = new AddressServiceModel();
+        address.setRegion(values.get("region"));
+        address.setCity(values.get("city"));
+        address.setStreet(values.get("street"));
+        address.setPhone(values.get("phone"));
+
+        return address;
+    }
+
+    private static AddressEntity toAddress(AddressEntity addressEntity, AddressServiceModel address) {
+
+        if (addressEntity == null) {
+            addressEntity = new AddressEntity();
+        }
+
+        addressEntity.setRegion(address.getRegion());
+        addressEntity.setCity(address.getCity());
+        addressEntity.setStreet(address.getStreet());
+        addressEntity.setPhone(address.getPhone());
+
+        return addressEntity;
+    }
+
+    private static String required(Map<String, String> values, String column) {
+
+        String value = values.get(column);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException(String.format("Column '%s' is required", column));
+        }
+
+        return value.trim();
+    }
+
+    private static BigDecimal toDecimal(String value, String name) {
+        try {
+            return new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(String.format("%s must be a number", name));
+        }
+    }
+
+    private static int toInt(String value, String name) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(String.format("%s must be a whole number", name));
+        }
+    }
+
+    private static Map<String, Long> toIdsByName(List<Object[]> namesAndIds) {
+        return namesAndIds.stream().collect(Collectors.toMap(r -> (String) r[0], r -> ((Number) r[1]).longValue()));
+    }
+
+    private static <T> String describe(Set<ConstraintViolation<T>> violations) {
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+}
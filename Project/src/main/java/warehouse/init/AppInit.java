@@ -10,6 +10,7 @@ import warehouse.customers.service.CustomerService;
 import warehouse.departments.service.DepartmentService;
 import warehouse.items.service.ItemService;
 import warehouse.orderline.service.OrderLineService;
+import warehouse.orders.sales.service.SalesFactService;
 import warehouse.orders.service.OrderService;
 import warehouse.roles.service.RoleService;
 import warehouse.suppliers.service.SupplierService;
@@ -29,6 +30,7 @@ public class AppInit implements CommandLineRunner {
     private final OrderService orderService;
     private final OrderLineService orderLineService;
     private final RoleService roleService;
+    private final SalesFactService salesFactService;
 
 
     @Autowired
@@ -40,7 +42,8 @@ public class AppInit implements CommandLineRunner {
                    SupplierService supplierService,
                    ItemService itemService,
                    OrderService orderService,
-                   OrderLineService orderLineService, RoleService roleService) {
+                   OrderLineService orderLineService, RoleService roleService,
+                   SalesFactService salesFactService) {
 
         this.departmentService = departmentService;
         this.categoryService = categoryService;
@@ -52,6 +55,7 @@ public class AppInit implements CommandLineRunner {
         this.orderService = orderService;
         this.orderLineService = orderLineService;
         this.roleService = roleService;
+        this.salesFactService = salesFactService;
     }
 
 
@@ -78,6 +82,8 @@ public class AppInit implements CommandLineRunner {
 
         this.orderService.initOrders();
 
+        //runners finish before the readiness probe reports accepting traffic, so the backfill is done before requests are routed here
+        this.salesFactService.backfill();
 
     }
 
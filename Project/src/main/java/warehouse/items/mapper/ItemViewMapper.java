@@ -0,0 +1,45 @@
+package warehouse.items.mapper;
+
+import warehouse.items.model.ItemEntity;
+import warehouse.items.model.ItemViewBindingModel;
+import warehouse.items.model.ItemViewServiceModel;
+
+public final class ItemViewMapper {
+
+    private ItemViewMapper() {
+    }
+
+    public static ItemViewServiceModel toServiceModel(ItemEntity itemEntity) {
+
+        ItemViewServiceModel itemViewServiceModel = new ItemViewServiceModel();
+        itemViewServiceModel.setId(itemEntity.getId());
+        itemViewServiceModel.setName(itemEntity.getName());
+        itemViewServiceModel.setDescription(itemEntity.getDescription());
+        itemViewServiceModel.setPrice(itemEntity.getPrice());
+        itemViewServiceModel.setStock(itemEntity.getStock());
+        itemViewServiceModel.setLocation(itemEntity.getLocation());
+        itemViewServiceModel.setCategory(itemEntity.getCategory() == null ? null : itemEntity.getCategory().getName());
+        itemViewServiceModel.setSupplier(itemEntity.getSupplier() == null ? null : itemEntity.getSupplier().getName());
+        itemViewServiceModel.setBlocked(itemEntity.isBlocked());
+        itemViewServiceModel.setImg(itemEntity.getImg());
+
+        return itemViewServiceModel;
+    }
+
+    public static ItemViewBindingModel toBindingModel(ItemViewServiceModel itemViewServiceModel) {
+
+        ItemViewBindingModel itemViewBindingModel = new ItemViewBindingModel();
+        itemViewBindingModel.setId(itemViewServiceModel.getId());
+        itemViewBindingModel.setName(itemViewServiceModel.getName());
+        itemViewBindingModel.setDescription(itemViewServiceModel.getDescription());
+        itemViewBindingModel.setPrice(itemViewServiceModel.getPrice());
+        itemViewBindingModel.setStock(itemViewServiceModel.getStock());
+        itemViewBindingModel.setLocation(itemViewServiceModel.getLocation());
+        itemViewBindingModel.setCategory(itemViewServiceModel.getCategory());
+        itemViewBindingModel.setSupplier(itemViewServiceModel.getSupplier());
+        itemViewBindingModel.setBlocked(itemViewServiceModel.isBlocked());
+        itemViewBindingModel.setImg(itemViewServiceModel.getImg());
+
+        return itemViewBindingModel;
+    }
+}
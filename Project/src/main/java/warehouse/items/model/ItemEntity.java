@@ -9,6 +9,8 @@ import java.math.BigDecimal;
 
 @Entity
 @Table(name = "items")
+@NamedEntityGraph(name = "Item.categoryAndSupplier",
+        attributeNodes = {@NamedAttributeNode("category"), @NamedAttributeNode("supplier")})
 public class ItemEntity extends BaseEntity {
 
     private String name;
@@ -67,7 +69,7 @@ public class ItemEntity extends BaseEntity {
         this.location = location;
     }
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id", referencedColumnName = "id")
     public CategoryEntity getCategory() {
         return category;
@@ -78,7 +80,7 @@ public class ItemEntity extends BaseEntity {
     }
 
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name="supplier_id", referencedColumnName = "id")
     public SupplierEntity getSupplier() {
         return supplier;
@@ -0,0 +1,43 @@
+package warehouse.items.model;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+
+public class TopItemsReport {
+
+    private HashMap<Integer, String> namesMap = new HashMap<>();
+    private HashMap<Integer, Integer> quantityMap = new HashMap<>();
+    private HashMap<Integer, BigDecimal> turnoverMap = new HashMap<>();
+
+    public HashMap<Integer, String> getNamesMap() {
+        return namesMap;
+    }
+
+    public void setNamesMap(HashMap<Integer, String> namesMap) {
+        this.namesMap = namesMap;
+    }
+
+    public HashMap<Integer, Integer> getQuantityMap() {
+        return quantityMap;
+    }
+
+    public void setQuantityMap(HashMap<Integer, Integer> quantityMap) {
+        this.quantityMap = quantityMap;
+    }
+
+    public HashMap<Integer, BigDecimal> getTurnoverMap() {
+        return turnoverMap;
+    }
+
+    public void setTurnoverMap(HashMap<Integer, BigDecimal> turnoverMap) {
+        this.turnoverMap = turnoverMap;
+    }
+
+    public String getFromDate() {
+        return namesMap.get(1);
+    }
+
+    public String getToDate() {
+        return namesMap.get(2);
+    }
+}
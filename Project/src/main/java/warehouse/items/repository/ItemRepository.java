@@ -2,8 +2,11 @@ package warehouse.items.repository;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -11,34 +14,45 @@ import warehouse.items.model.ItemEntity;
 import warehouse.items.model.ItemViewServiceModel;
 import warehouse.users.model.UserEntity;
 
-import java.time.LocalDateTime;
+import javax.persistence.LockModeType;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ItemRepository extends JpaRepository<ItemEntity, Long>, JpaSpecificationExecutor<ItemEntity> {
+public interface ItemRepository extends JpaRepository<ItemEntity, Long>, JpaSpecificationExecutor<ItemEntity>, ItemStockRepository {
 
+    @Override
+    @EntityGraph("Item.categoryAndSupplier")
+    Optional<ItemEntity> findById(Long id);
+
+    @Override
+    @EntityGraph("Item.categoryAndSupplier")
+    Page<ItemEntity> findAll(Pageable pageable);
+
+    @EntityGraph("Item.categoryAndSupplier")
     Optional<ItemEntity> findByName(String name);
 
+    //locked in id order like the guarded stock updates, so an import and a reservation cannot deadlock
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM ItemEntity i WHERE i.name IN :names ORDER BY i.id")
+    List<ItemEntity> findAndLockAllByNameIn(@Param("names") Collection<String> names);
+
+    @EntityGraph("Item.categoryAndSupplier")
     Page<ItemEntity> findAllByBlockedFalse(Pageable pageable);
 
+    @EntityGraph("Item.categoryAndSupplier")
     @Query("SELECT i FROM ItemEntity i WHERE CONCAT(lower(i.name), lower(i.description), concat(i.price, ''), lower(i.location)," +
             " lower(i.category.name), lower(i.supplier.name)) LIKE lower(concat('%', ?1, '%'))")
     Page<ItemEntity> search(String keyword, Pageable pageable);
 
+    @EntityGraph("Item.categoryAndSupplier")
     @Query("SELECT i FROM ItemEntity i WHERE i.blocked = false AND CONCAT(lower(i.name), lower(i.description), concat(i.price, ''), lower(i.location)," +
             " lower(i.category.name), lower(i.supplier.name)) LIKE lower(concat('%', ?1, '%'))")
     Page<ItemEntity> searchUnblocked(String keyword, Pageable pageable);
 
-    @Query("select i.name as name, sum(ol.quantity) as quantity, sum(ol.subtotal) as turnover from ItemEntity as i" +
-            " join OrderLineEntity as ol" +
-            " on i.id = ol.item.id" +
-            " join OrderEntity as o" +
-            " on ol.order.id = o.id" +
-            " where o.updatedOn between :fromDate and :toDate" +
-            " and o.archives = true group by i.name order by quantity desc , i.name asc")
-    List<Object[]> findTopItems(@Param("fromDate") LocalDateTime fromDate, @Param("toDate") LocalDateTime toDate, Pageable pageable);
-
-
+    @Modifying
+    @Query("UPDATE ItemEntity i SET i.stock = i.stock + :quantity WHERE i.id = :id")
+    int increaseStock(@Param("id") Long id, @Param("quantity") int quantity);
 
 }
@@ -0,0 +1,9 @@
+package warehouse.items.repository;
+
+import java.util.List;
+import java.util.Map;
+
+public interface ItemStockRepository {
+
+    List<Long> decreaseStockIfEnough(Map<Long, Integer> quantitiesByItemId);
+}
@@ -0,0 +1,72 @@
+package warehouse.items.repository;
+
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import warehouse.items.model.ItemEntity;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class ItemStockRepositoryImpl implements ItemStockRepository {
+
+    //a negative quantity gives stock back and always passes the guard
+    private static final String DECREASE_STOCK_IF_ENOUGH = "UPDATE items SET stock = stock - ? WHERE id = ? AND stock >= ?";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Runs one guarded update per item in a single JDBC batch of the current transaction
+     * and returns the ids of the items that were left untouched.
+     * Items are updated in id order, so two orders sharing items lock their rows in the same order and cannot deadlock.
+     */
+    @Override
+    public List<Long> decreaseStockIfEnough(Map<Long, Integer> quantitiesByItemId) {
+
+        if (quantitiesByItemId.isEmpty()) {
+            return List.of();
+        }
+
+        List<Map.Entry<Long, Integer>> quantities = new ArrayList<>(new TreeMap<>(quantitiesByItemId).entrySet());
+        Session session = this.entityManager.unwrap(Session.class);
+        session.flush();
+
+        int[] updated = session.doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(DECREASE_STOCK_IF_ENOUGH)) {
+                for (Map.Entry<Long, Integer> quantity : quantities) {
+                    statement.setInt(1, quantity.getValue());
+                    statement.setLong(2, quantity.getKey());
+                    statement.setInt(3, quantity.getValue());
+                    statement.addBatch();
+                }
+                return statement.executeBatch();
+            }
+        });
+
+        List<Long> failedItemIds = new ArrayList<>();
+        SessionImplementor sessionImplementor = session.unwrap(SessionImplementor.class);
+        EntityPersister persister = sessionImplementor.getFactory().getMetamodel().entityPersister(ItemEntity.class);
+
+        for (int i = 0; i < updated.length; i++) {
+            Long itemId = quantities.get(i).getKey();
+            if (updated[i] == 0) {
+                failedItemIds.add(itemId);
+            } else {
+                //the statement bypasses the session, so a copy of the item loaded earlier would carry the old stock
+                Object loaded = sessionImplementor.getPersistenceContext()
+                        .getEntity(sessionImplementor.generateEntityKey(itemId, persister));
+                if (loaded != null) {
+                    session.refresh(loaded);
+                }
+            }
+        }
+
+        return failedItemIds;
+    }
+}
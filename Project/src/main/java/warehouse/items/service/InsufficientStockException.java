@@ -0,0 +1,17 @@
+package warehouse.items.service;
+
+import java.util.List;
+
+public class InsufficientStockException extends RuntimeException {
+
+    private final List<Long> itemIds;
+
+    public InsufficientStockException(List<Long> itemIds) {
+        super("Not enough stock for items with ids: " + itemIds);
+        this.itemIds = List.copyOf(itemIds);
+    }
+
+    public List<Long> getItemIds() {
+        return itemIds;
+    }
+}
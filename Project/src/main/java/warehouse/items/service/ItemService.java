@@ -14,9 +14,7 @@ import warehouse.validated.OnUpdate;
 
 import javax.validation.Valid;
 import java.io.IOException;
-import java.math.BigDecimal;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -45,11 +43,7 @@ public interface ItemService {
     @Validated(OnUpdate.class)
     ItemAddServiceModel edit(@Valid ItemAddServiceModel itemAddServiceModel) throws IOException;
 
-    HashMap<Integer, String> getTopItemsNamesMap(String fromDate, String toDate);
-
-    HashMap<Integer, Integer> getTopItemsQuantityMap(String fromDate, String toDate);
-
-    HashMap<Integer, BigDecimal> getTopItemsTurnoverMap(String fromDate, String toDate);
+    TopItemsReport getTopItemsReport(String fromDate, String toDate);
 
     void initItems();
 
@@ -57,14 +51,10 @@ public interface ItemService {
 
     boolean isStockEnough(Long id, int quantity);
 
-    boolean isStockEnoughEditOrder(OrderViewServiceModel orderViewServiceModel,
-                                   Long id, int quantity);
+    void reserveStock(Map<Long, Integer> quantitiesByItemId);
 
     void saveOrderUpdateStock(OrderAddServiceModel orderAddServiceModel);
 
-    void editOrderUpdateStock(OrderViewServiceModel orderViewServiceModel,
-                              OrderAddServiceModel orderAddServiceModel);
-
     void decreaseItemStock(Long id, int quantity);
 
     void increaseItemStock(Long id, int quantity);
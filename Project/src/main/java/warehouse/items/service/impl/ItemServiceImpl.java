@@ -14,10 +14,13 @@ import warehouse.categories.model.CategoryServiceModel;
 import warehouse.categories.repository.CategoryRepository;
 import warehouse.categories.service.CategoryService;
 import warehouse.cloudinary.CloudinaryService;
+import warehouse.items.mapper.ItemViewMapper;
 import warehouse.items.model.ItemEntity;
 import warehouse.items.model.ItemAddServiceModel;
 import warehouse.items.model.ItemViewServiceModel;
+import warehouse.items.model.TopItemsReport;
 import warehouse.items.repository.ItemRepository;
+import warehouse.items.service.InsufficientStockException;
 import warehouse.items.service.ItemService;
 import warehouse.orderline.model.OrderLineAddServiceModel;
 import warehouse.orderline.model.OrderLineEntity;
@@ -25,6 +28,7 @@ import warehouse.orderline.model.OrderLineViewServiceModel;
 import warehouse.orderline.service.OrderLineService;
 import warehouse.orders.model.OrderAddServiceModel;
 import warehouse.orders.model.OrderViewServiceModel;
+import warehouse.orders.sales.repository.DailyItemSalesRepository;
 import warehouse.orders.service.OrderService;
 import warehouse.suppliers.model.SupplierEntity;
 import warehouse.suppliers.model.SupplierServiceModel;
@@ -58,6 +62,7 @@ public class ItemServiceImpl implements ItemService {
     private final TimeBordersConvertor timeBordersConvertor;
     private final ValidationUtil validationUtil;
     private final OrderLineService orderLineService;
+    private final DailyItemSalesRepository dailyItemSalesRepository;
 
 
     @Autowired
@@ -69,7 +74,8 @@ public class ItemServiceImpl implements ItemService {
                            OrderService orderService,
                            TimeBordersConvertor timeBordersConvertor,
                            ValidationUtil validationUtil,
-                           @Lazy OrderLineService orderLineService) {
+                           @Lazy OrderLineService orderLineService,
+                           DailyItemSalesRepository dailyItemSalesRepository) {
         this.modelMapper = modelMapper;
         this.itemRepository = itemRepository;
         this.cloudinaryService = cloudinaryService;
@@ -79,6 +85,7 @@ public class ItemServiceImpl implements ItemService {
         this.timeBordersConvertor = timeBordersConvertor;
         this.validationUtil = validationUtil;
         this.orderLineService = orderLineService;
+        this.dailyItemSalesRepository = dailyItemSalesRepository;
     }
 
 
@@ -130,7 +137,7 @@ public class ItemServiceImpl implements ItemService {
 
         List<ItemViewServiceModel> itemViewServiceModels = itemEntities
                 .stream()
-                .map(itemEntity -> this.modelMapper.map(itemEntity, ItemViewServiceModel.class))
+                .map(ItemViewMapper::toServiceModel)
                 .collect(Collectors.toList());
 
         Page<ItemViewServiceModel> itemViewServiceModelPage = new PageImpl<>(itemViewServiceModels, pageable, itemEntities.getTotalElements());
@@ -145,7 +152,7 @@ public class ItemServiceImpl implements ItemService {
 
         List<ItemViewServiceModel> itemViewServiceModels = itemEntities
                 .stream()
-                .map(itemEntity -> this.modelMapper.map(itemEntity, ItemViewServiceModel.class))
+                .map(ItemViewMapper::toServiceModel)
                 .collect(Collectors.toList());
 
         Page<ItemViewServiceModel> itemViewServiceModelPage = new PageImpl<>(itemViewServiceModels, pageable, itemEntities.getTotalElements());
@@ -160,7 +167,7 @@ public class ItemServiceImpl implements ItemService {
 
         List<ItemViewServiceModel> itemViewServiceModels = itemEntities
                 .stream()
-                .map(itemEntity -> this.modelMapper.map(itemEntity, ItemViewServiceModel.class))
+                .map(ItemViewMapper::toServiceModel)
                 .collect(Collectors.toList());
 
         Page<ItemViewServiceModel> itemViewServiceModelPage = new PageImpl<>(itemViewServiceModels, pageable, itemEntities.getTotalElements());
@@ -175,7 +182,7 @@ public class ItemServiceImpl implements ItemService {
 
         List<ItemViewServiceModel> itemViewServiceModels = itemEntities
                 .stream()
-                .map(itemEntity -> this.modelMapper.map(itemEntity, ItemViewServiceModel.class))
+                .map(ItemViewMapper::toServiceModel)
                 .collect(Collectors.toList());
 
         Page<ItemViewServiceModel> itemViewServiceModelPage = new PageImpl<>(itemViewServiceModels, pageable, itemEntities.getTotalElements());
@@ -276,55 +283,30 @@ public class ItemServiceImpl implements ItemService {
 
 
     @Override
-    public HashMap<Integer, String> getTopItemsNamesMap(String fromDate, String toDate) {
+    public TopItemsReport getTopItemsReport(String fromDate, String toDate) {
 
-        HashMap<Integer, String> itemsNamesMap = new HashMap<>();
+        TopItemsReport topItemsReport = new TopItemsReport();
 
+        LocalDateTime firstArchiveOrder = this.orderService.getDateTimeFirstArchiveOrder();
         LocalDateTime[] timeBorders = this.timeBordersConvertor
-                .getTimeBordersAsLocalDateTime(fromDate, toDate, this.orderService.getDateTimeFirstArchiveOrder());
+                .getTimeBordersAsLocalDateTime(fromDate, toDate, firstArchiveOrder);
         String[] timeBordersPieChart = this.timeBordersConvertor
-                .getTimeBordersAsString(fromDate, toDate, this.orderService.getDateTimeFirstArchiveOrder());
+                .getTimeBordersAsString(fromDate, toDate, firstArchiveOrder);
 
-        List<Object[]> result = this.itemRepository.findTopItems(timeBorders[0], timeBorders[1], PageRequest.of(0, 5));
+        //the upper border is exclusive, so its day only counts when it does not start at midnight
+        List<Object[]> result = this.dailyItemSalesRepository.findTopItems(timeBorders[0].toLocalDate(),
+                timeBorders[1].minusNanos(1).toLocalDate(), PageRequest.of(0, 5));
 
-        return this.timeBordersConvertor.getBordersAndNamesMap(itemsNamesMap, timeBordersPieChart, result);
-    }
-
-
-    @Override
-    public HashMap<Integer, Integer> getTopItemsQuantityMap(String fromDate, String toDate) {
-
-        HashMap<Integer, Integer> itemsQuantityMap = new HashMap<>();
-
-        LocalDateTime[] timeBorders = this.timeBordersConvertor.
-                getTimeBordersAsLocalDateTime(fromDate, toDate, this.orderService.getDateTimeFirstArchiveOrder());
-
-        List<Object[]> result = this.itemRepository.findTopItems(timeBorders[0], timeBorders[1], PageRequest.of(0, 5));
+        topItemsReport.setNamesMap(this.timeBordersConvertor
+                .getBordersAndNamesMap(new HashMap<>(), timeBordersPieChart, result));
 
         int key = 2;
         for (Object[] objects : result) {
-            itemsQuantityMap.put(++key, Integer.parseInt(String.valueOf(objects[1])));
+            topItemsReport.getQuantityMap().put(++key, Integer.parseInt(String.valueOf(objects[1])));
+            topItemsReport.getTurnoverMap().put(key, new BigDecimal(String.valueOf(objects[2])));
         }
 
-        return itemsQuantityMap;
-    }
-
-    @Override
-    public HashMap<Integer, BigDecimal> getTopItemsTurnoverMap(String fromDate, String toDate) {
-
-        HashMap<Integer, BigDecimal> itemsTurnoverMap = new HashMap<>();
-
-        LocalDateTime[] timeBorders = this.timeBordersConvertor.
-                getTimeBordersAsLocalDateTime(fromDate, toDate, this.orderService.getDateTimeFirstArchiveOrder());
-
-        List<Object[]> result = this.itemRepository.findTopItems(timeBorders[0], timeBorders[1], PageRequest.of(0, 5));
-
-        int key = 2;
-        for (Object[] objects : result) {
-            itemsTurnoverMap.put(++key, new BigDecimal(String.valueOf(objects[2])));
-        }
-
-        return itemsTurnoverMap;
+        return topItemsReport;
     }
 
     @Override
@@ -378,123 +360,39 @@ public class ItemServiceImpl implements ItemService {
     }
 
     @Override
-    public boolean isStockEnoughEditOrder(OrderViewServiceModel orderViewServiceModel,
-                                          Long id, int newQuantity) {
-
-        Set<OrderLineViewServiceModel> orderLineViewServiceModels = orderViewServiceModel.
-                getOrderLineEntities();
-
-        for (OrderLineViewServiceModel orderLineViewServiceModel : orderLineViewServiceModels) {
-
-            if (orderLineViewServiceModel.getId().equals(id)){
-
-                int oldQuantity = orderLineViewServiceModel.getQuantity();
-
-                if ( oldQuantity < newQuantity){
-
-                    int difference = newQuantity - oldQuantity;
+    @Transactional
+    public void reserveStock(Map<Long, Integer> quantitiesByItemId) {
 
-                    ItemEntity itemEntity = this.itemRepository
-                            .findById(orderLineViewServiceModel.getItem().getId()).orElseThrow(() -> new EntityNotFoundException("Not found item with id: " + id));
+        List<Long> failedItemIds = this.itemRepository.decreaseStockIfEnough(quantitiesByItemId);
 
-                    return     itemEntity.getStock() >= difference;
-                }
-            }
+        if (!failedItemIds.isEmpty()) {
+            throw new InsufficientStockException(failedItemIds);
         }
-
-        return true;
     }
 
-
     @Override
+    @Transactional
     public void saveOrderUpdateStock(OrderAddServiceModel orderAddServiceModel) {
 
-        Set<OrderLineAddServiceModel> orderLineAddServiceModels = orderAddServiceModel.getOrderLineEntities();
-
-        for (OrderLineAddServiceModel orderLineAddServiceModel : orderLineAddServiceModels) {
-            ItemEntity itemEntity = this.itemRepository
-                    .findById(orderLineAddServiceModel
-                            .getItem()
-                            .getId())
-                    .orElseThrow(() -> new EntityNotFoundException("Not found item with id: " +
-                            orderLineAddServiceModel.getItem().getId()));
-            itemEntity.setStock(itemEntity.getStock() - orderLineAddServiceModel.getQuantity());
-
-            this.itemRepository.saveAndFlush(itemEntity);
-        }
-
-    }
-
-    @Override
-    public void editOrderUpdateStock(OrderViewServiceModel orderViewServiceModel, OrderAddServiceModel orderAddServiceModel) {
-
-        Set<OrderLineViewServiceModel> orderLineViewServiceModels = orderViewServiceModel.
-                getOrderLineEntities();
-
-        Set<OrderLineAddServiceModel> orderLineAddServiceModels = orderAddServiceModel.
-                getOrderLineEntities();
-
-        Map<Long, OrderLineViewServiceModel> orderLineViewServiceModelHashMap = new HashMap<>();
-
-        for (OrderLineViewServiceModel orderLineViewServiceModel : orderLineViewServiceModels) {
-
-            orderLineViewServiceModelHashMap.put(orderLineViewServiceModel.getId(), orderLineViewServiceModel);
-
-            Optional<OrderLineEntity> existingOrderLine = this.orderLineService.
-                    findById(orderLineViewServiceModel.getId());
+        Map<Long, Integer> quantitiesByItemId = new LinkedHashMap<>();
 
-            if (existingOrderLine.isEmpty()){
-                this.increaseItemStock(orderLineViewServiceModel.getItem().getId(), orderLineViewServiceModel.getQuantity());
-            }
-        }
-
-
-
-        for (OrderLineAddServiceModel orderLineAddServiceModel : orderLineAddServiceModels) {
-
-            if (orderLineViewServiceModelHashMap.containsKey(orderLineAddServiceModel.getId())){
-
-                int oldQuantity = orderLineViewServiceModelHashMap.get(orderLineAddServiceModel.getId()).getQuantity();
-                int newQuantity = orderLineAddServiceModel.getQuantity();
-
-                int difference = 0;
-                if (oldQuantity < newQuantity){
-                    difference = newQuantity - oldQuantity;
-                    this.decreaseItemStock(orderLineAddServiceModel.getItem().getId(), difference);
-                }
-                else if (oldQuantity > newQuantity){
-                    difference = oldQuantity - newQuantity;
-                    this.increaseItemStock(orderLineAddServiceModel.getItem().getId(), difference);
-                }
-
-            }
-            else if (!orderLineViewServiceModelHashMap.containsKey(orderLineAddServiceModel.getId())){
-
-                this.decreaseItemStock(orderLineAddServiceModel.getItem().getId(),
-                        orderLineAddServiceModel.getQuantity());
-            }
+        for (OrderLineAddServiceModel orderLineAddServiceModel : orderAddServiceModel.getOrderLineEntities()) {
+            quantitiesByItemId.merge(orderLineAddServiceModel.getItem().getId(), orderLineAddServiceModel.getQuantity(), Integer::sum);
         }
 
+        this.reserveStock(quantitiesByItemId);
     }
 
     @Override
+    @Transactional
     public void decreaseItemStock(Long id, int quantity) {
-
-        ItemEntity itemEntity = this.itemRepository
-                .findById(id).orElseThrow(() -> new EntityNotFoundException("Not found item with id: " + id));
-
-        itemEntity.setStock(itemEntity.getStock() - quantity);
-        this.itemRepository.saveAndFlush(itemEntity);
+        this.reserveStock(Map.of(id, quantity));
     }
 
     @Override
+    @Transactional
     public void increaseItemStock(Long id, int quantity) {
-
-        ItemEntity itemEntity = this.itemRepository
-                .findById(id).orElseThrow(() -> new EntityNotFoundException("Not found item with id: " + id));
-
-        itemEntity.setStock(itemEntity.getStock() + quantity);
-        this.itemRepository.saveAndFlush(itemEntity);
+        this.reserveStock(Map.of(id, -quantity));
     }
 
     private String getCloudinaryLink(ItemAddServiceModel itemAddServiceModel) throws IOException {
@@ -12,6 +12,7 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import warehouse.addresses.model.AddressAddBindingModel;
 import warehouse.addresses.model.AddressServiceModel;
+import warehouse.customers.mapper.CustomerViewMapper;
 import warehouse.customers.model.CustomerAddBindingModel;
 import warehouse.customers.model.CustomerServiceModel;
 import warehouse.customers.model.CustomerTurnoverViewModel;
@@ -38,7 +39,8 @@ import static warehouse.constants.GlobalConstants.*;
 @Validated
 public class CustomerController {
 
-    private static final String[] CUSTOMER_SORT_OPTIONS = {"Company", "Person", "Email", "Region", "City", "Street"};
+    private static final String[] CUSTOMER_SORT_OPTIONS = {"Company", "Person", "Email", "Region", "City", "Street",
+            RELEVANCE_SORT_OPTION};
     private static final Map<String, String> CUSTOMER_SORT_OPTIONS_MAP = Map.of("Company","companyName",
             "Person", "personName",
             "Email", "email",
@@ -269,12 +271,7 @@ public class CustomerController {
 
     private Page<CustomerViewBindingModel> getPage(Map<String, String> sortOptions, String sortOption, String sortDirection, String keyword, Integer page, Integer pageSize) {
 
-        String option = this.getOption(sortOptions, sortOption);
-
-        Sort sort = sortDirection.equalsIgnoreCase(Sort.Direction.ASC.name()) ? Sort.by(option).ascending() :
-                Sort.by(option).descending();
-
-        Pageable pageable = PageRequest.of(page, pageSize, sort);
+        Pageable pageable = this.getPageable(sortOptions, sortOption, sortDirection, keyword, page, pageSize);
 
         Page<CustomerServiceModel> customerServiceModelPage;
 
@@ -286,7 +283,7 @@ public class CustomerController {
 
         List<CustomerViewBindingModel> customerViewBindingModels = customerServiceModelPage
                 .stream()
-                .map(customerServiceModel -> this.modelMapper.map(customerServiceModel, CustomerViewBindingModel.class))
+                .map(CustomerViewMapper::toBindingModel)
                 .collect(Collectors.toList());
 
         Page<CustomerViewBindingModel> pageToReturn = new PageImpl<>(customerViewBindingModels, pageable, customerServiceModelPage.getTotalElements());
@@ -295,6 +292,25 @@ public class CustomerController {
     }
 
 
+    //an unsorted pageable lets the search rank by relevance, a plain listing falls back to the first option
+    private Pageable getPageable(Map<String, String> sortOptions, String sortOption, String sortDirection, String keyword, Integer page, Integer pageSize) {
+
+        if (sortOption.equals(RELEVANCE_SORT_OPTION)) {
+            if (!keyword.equals("null")) {
+                return PageRequest.of(page, pageSize);
+            }
+            sortOption = CUSTOMER_SORT_OPTIONS[0];
+        }
+
+        String option = this.getOption(sortOptions, sortOption);
+
+        Sort sort = sortDirection.equalsIgnoreCase(Sort.Direction.ASC.name()) ? Sort.by(option).ascending() :
+                Sort.by(option).descending();
+
+        return PageRequest.of(page, pageSize, sort);
+    }
+
+
     private String getOption(Map<String, String> sortOptions, String sortOption) {
 
         return sortOptions.get(sortOption);
@@ -304,12 +320,7 @@ public class CustomerController {
 
     private Page<CustomerViewBindingModel> getPageUnblocked(Map<String, String> sortOptions, String sortOption, String sortDirection, String keyword, Integer page, Integer pageSize) {
 
-        String option = this.getOption(sortOptions, sortOption);
-
-        Sort sort = sortDirection.equalsIgnoreCase(Sort.Direction.ASC.name()) ? Sort.by(option).ascending() :
-                Sort.by(option).descending();
-
-        Pageable pageable = PageRequest.of(page, pageSize, sort);
+        Pageable pageable = this.getPageable(sortOptions, sortOption, sortDirection, keyword, page, pageSize);
 
         Page<CustomerServiceModel> customerServiceModelPage;
 
@@ -321,7 +332,7 @@ public class CustomerController {
 
         List<CustomerViewBindingModel> customerViewBindingModels = customerServiceModelPage
                 .stream()
-                .map(customerServiceModel -> this.modelMapper.map(customerServiceModel, CustomerViewBindingModel.class))
+                .map(CustomerViewMapper::toBindingModel)
                 .collect(Collectors.toList());
 
         Page<CustomerViewBindingModel> pageToReturn = new PageImpl<>(customerViewBindingModels, pageable, customerServiceModelPage.getTotalElements());
@@ -0,0 +1,59 @@
+package warehouse.manager;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import warehouse.imports.ImportFormat;
+import warehouse.imports.model.ImportReport;
+import warehouse.imports.service.BulkImportService;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Bulk imports posted as the raw request body (text/csv or application/x-ndjson, optionally gzip encoded),
+ * read as a stream instead of a multipart upload so the size of the file is not limited.
+ */
+@Controller
+@RequestMapping("/import")
+@PreAuthorize("hasAnyRole('ADMIN','MANAGER')")
+public class ImportController {
+
+    private final BulkImportService bulkImportService;
+
+    @Autowired
+    public ImportController(BulkImportService bulkImportService) {
+        this.bulkImportService = bulkImportService;
+    }
+
+    @PostMapping(value = "/items", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<ImportReport> importItems(HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(this.bulkImportService.importItems(getBody(request), getFormat(request)));
+    }
+
+    @PostMapping(value = "/customers", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<ImportReport> importCustomers(HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(this.bulkImportService.importCustomers(getBody(request), getFormat(request)));
+    }
+
+    @PostMapping(value = "/suppliers", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<ImportReport> importSuppliers(HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(this.bulkImportService.importSuppliers(getBody(request), getFormat(request)));
+    }
+
+    private static InputStream getBody(HttpServletRequest request) throws IOException {
+
+        InputStream body = request.getInputStream();
+        return "gzip".equalsIgnoreCase(request.getHeader(HttpHeaders.CONTENT_ENCODING)) ? new GZIPInputStream(body) : body;
+    }
+
+    private static ImportFormat getFormat(HttpServletRequest request) {
+        return ImportFormat.fromContentType(request.getContentType());
+    }
+}
@@ -12,6 +12,7 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import warehouse.categories.service.CategoryService;
 import warehouse.items.model.*;
+import warehouse.items.mapper.ItemViewMapper;
 import warehouse.items.service.ItemService;
 import warehouse.pagination.PagerModel;
 import warehouse.suppliers.service.SupplierService;
@@ -21,8 +22,6 @@ import warehouse.validated.OnUpdate;
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
 import java.io.IOException;
-import java.math.BigDecimal;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -243,15 +242,13 @@ public class ItemController {
     public String topItems(Model model, @RequestParam(name = "fromDate", defaultValue = "") String fromDate,
                            @RequestParam(name = "toDate", defaultValue = "") String toDate){
 
-        HashMap<Integer, String> itemsNamesMap = this.itemService.getTopItemsNamesMap(fromDate, toDate);
-        HashMap<Integer, Integer> itemsQuantityMap = this.itemService.getTopItemsQuantityMap(fromDate, toDate);
-        HashMap<Integer, BigDecimal> itemsTurnoverMap = this.itemService.getTopItemsTurnoverMap(fromDate, toDate);
+        TopItemsReport topItemsReport = this.itemService.getTopItemsReport(fromDate, toDate);
         model.addAttribute("path", "/items/top");
-        model.addAttribute("itemsNamesMap", itemsNamesMap);
-        model.addAttribute("itemsQuantityMap", itemsQuantityMap);
-        model.addAttribute("itemsTurnoverMap", itemsTurnoverMap);
-        model.addAttribute("fromDate", itemsNamesMap.get(1));
-        model.addAttribute("toDate", itemsNamesMap.get(2));
+        model.addAttribute("itemsNamesMap", topItemsReport.getNamesMap());
+        model.addAttribute("itemsQuantityMap", topItemsReport.getQuantityMap());
+        model.addAttribute("itemsTurnoverMap", topItemsReport.getTurnoverMap());
+        model.addAttribute("fromDate", topItemsReport.getFromDate());
+        model.addAttribute("toDate", topItemsReport.getToDate());
 
         return "items/items-pie-chart";
     }
@@ -275,7 +272,7 @@ public class ItemController {
 
         List<ItemViewBindingModel> itemViewBindingModels = itemViewServiceModelPage
                 .stream()
-                .map(itemViewServiceModel -> this.modelMapper.map(itemViewServiceModel, ItemViewBindingModel.class))
+                .map(ItemViewMapper::toBindingModel)
                 .collect(Collectors.toList());
 
         Page<ItemViewBindingModel> pageToReturn = new PageImpl<>(itemViewBindingModels, pageable, itemViewServiceModelPage.getTotalElements());
@@ -301,7 +298,7 @@ public class ItemController {
 
         List<ItemViewBindingModel> itemViewBindingModels = itemViewServiceModelPage
                 .stream()
-                .map(itemViewServiceModel -> this.modelMapper.map(itemViewServiceModel, ItemViewBindingModel.class))
+                .map(ItemViewMapper::toBindingModel)
                 .collect(Collectors.toList());
 
         Page<ItemViewBindingModel> pageToReturn = new PageImpl<>(itemViewBindingModels, pageable, itemViewServiceModelPage.getTotalElements());
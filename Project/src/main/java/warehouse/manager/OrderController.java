@@ -3,6 +3,10 @@ package warehouse.manager;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.*;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -11,6 +15,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import warehouse.customers.model.CustomerServiceModel;
 import warehouse.customers.model.CustomerViewBindingModel;
@@ -18,22 +23,37 @@ import warehouse.customers.service.CustomerService;
 import warehouse.events.order.ArchiveOrderPublisher;
 import warehouse.items.model.ItemViewBindingModel;
 import warehouse.items.model.ItemViewServiceModel;
+import warehouse.items.service.InsufficientStockException;
 import warehouse.items.service.ItemService;
-import warehouse.orderline.model.OrderLineViewBindingModel;
+import warehouse.orders.export.ArchiveExportFormat;
+import warehouse.orders.export.service.ArchivedOrderExportService;
+import warehouse.orders.export.store.ArchiveSegmentStore;
+import warehouse.orders.mapper.OrderViewMapper;
 import warehouse.orders.orderdata.OrderData;
 import warehouse.orders.orderdata.service.OrderDataManager;
 import warehouse.orders.model.OrderAddBindingModel;
 import warehouse.orders.model.OrderAddServiceModel;
+import warehouse.orders.model.OrderKeysetSort;
 import warehouse.orders.model.OrderViewBindingModel;
 import warehouse.orders.model.OrderViewServiceModel;
+import warehouse.orders.service.OrderEditService;
 import warehouse.orders.service.OrderService;
+import warehouse.orders.service.OrderStatusService;
+import warehouse.orders.service.StaleOrderEditException;
+import warehouse.orders.turnover.TurnoverGranularity;
+import warehouse.orders.turnover.service.TurnoverSeriesService;
+import warehouse.pagination.CursorPagerModel;
+import warehouse.pagination.KeysetPage;
 import warehouse.pagination.PagerModel;
 
 import javax.servlet.http.HttpServletRequest;
-import javax.servlet.http.HttpSession;
 import javax.validation.constraints.Min;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
 
 import static warehouse.constants.GlobalConstants.*;
 
@@ -43,7 +63,8 @@ import static warehouse.constants.GlobalConstants.*;
 @Validated
 public class OrderController {
 
-    private static final String[] ORDER_SORT_OPTIONS = {"Updated", "Created", "Company", "Person", "Completed", "Archive", "Total"};
+    private static final String[] ORDER_SORT_OPTIONS = {"Updated", "Created", "Company", "Person", "Completed", "Archive", "Total",
+            RELEVANCE_SORT_OPTION};
     private static final Map<String, String> ORDER_SORT_OPTIONS_MAP = Map.of("Updated", "updatedOn",
             "Created", "createdOn",
             "Company", "customer.companyName",
@@ -53,25 +74,40 @@ public class OrderController {
             "Total", "total");
 
     private final OrderService orderService;
+    private final OrderStatusService orderStatusService;
+    private final OrderEditService orderEditService;
+    private final ArchivedOrderExportService archivedOrderExportService;
+    private final ArchiveSegmentStore archiveSegmentStore;
     private final OrderDataManager orderDataManager;
     private final CustomerService customerService;
     private final ItemService itemService;
     private final ModelMapper modelMapper;
     private final ArchiveOrderPublisher archiveOrderPublisher;
+    private final TurnoverSeriesService turnoverSeriesService;
 
 
     @Autowired
     public OrderController(OrderService orderService,
+                           OrderStatusService orderStatusService,
+                           OrderEditService orderEditService,
+                           ArchivedOrderExportService archivedOrderExportService,
+                           ArchiveSegmentStore archiveSegmentStore,
                            OrderDataManager orderDataManager,
                            CustomerService customerService,
                            ItemService itemService,
-                           ModelMapper modelMapper, ArchiveOrderPublisher archiveOrderPublisher) {
+                           ModelMapper modelMapper, ArchiveOrderPublisher archiveOrderPublisher,
+                           TurnoverSeriesService turnoverSeriesService) {
         this.orderService = orderService;
+        this.orderStatusService = orderStatusService;
+        this.orderEditService = orderEditService;
+        this.archivedOrderExportService = archivedOrderExportService;
+        this.archiveSegmentStore = archiveSegmentStore;
         this.orderDataManager = orderDataManager;
         this.customerService = customerService;
         this.itemService = itemService;
         this.modelMapper = modelMapper;
         this.archiveOrderPublisher = archiveOrderPublisher;
+        this.turnoverSeriesService = turnoverSeriesService;
     }
 
 
@@ -85,11 +121,18 @@ public class OrderController {
                               @RequestParam(name = "sortDirection", defaultValue = "desc") String sortDirection) {
 
         page = page < 1 ? 0 : page - 1;
-        String option = ORDER_SORT_OPTIONS_MAP.get(sortOption);
+        Pageable pageable;
 
-        Sort sort = sortDirection.equalsIgnoreCase(Sort.Direction.ASC.name()) ? Sort.by(option).ascending() :
-                Sort.by(option).descending();
-        Pageable pageable = PageRequest.of(page, pageSize, sort);
+        //an unsorted pageable lets the search rank by relevance, a plain listing falls back to the default option
+        if (sortOption.equals(RELEVANCE_SORT_OPTION) && !keyword.equals("null")) {
+            pageable = PageRequest.of(page, pageSize);
+        } else {
+            String option = ORDER_SORT_OPTIONS_MAP.getOrDefault(sortOption, ORDER_SORT_OPTIONS_MAP.get(ORDER_SORT_OPTIONS[0]));
+
+            Sort sort = sortDirection.equalsIgnoreCase(Sort.Direction.ASC.name()) ? Sort.by(option).ascending() :
+                    Sort.by(option).descending();
+            pageable = PageRequest.of(page, pageSize, sort);
+        }
 
         Page<OrderViewServiceModel> orderViewServiceModelsPage;
 
@@ -101,7 +144,7 @@ public class OrderController {
 
         List<OrderViewBindingModel> orderViewBindingModels = orderViewServiceModelsPage
                 .stream()
-                .map(orderViewServiceModel -> this.modelMapper.map(orderViewServiceModel, OrderViewBindingModel.class))
+                .map(OrderViewMapper::toBindingModel)
                 .collect(Collectors.toList());
 
         Page<OrderViewBindingModel> orders = new PageImpl<>(orderViewBindingModels, pageable, orderViewServiceModelsPage.getTotalElements());
@@ -124,32 +167,80 @@ public class OrderController {
         return "orders/order-all";
     }
 
+    @GetMapping("/all/keyset")
+    @PreAuthorize("hasRole('ROLE_USER')")
+    public String allKeyset(Model model, RedirectAttributes redirectAttributes,
+                            @RequestParam(name = "keyword", defaultValue = "null") String keyword,
+                            @RequestParam(name = "pageSize", defaultValue = DEFAULT_PAGE_SIZE) Integer pageSize,
+                            @RequestParam(name = "sortOption", defaultValue = "Updated") String sortOption,
+                            @RequestParam(name = "sortDirection", defaultValue = "desc") String sortDirection,
+                            @RequestParam(name = "cursor", defaultValue = "") String cursor,
+                            @RequestParam(name = "count", defaultValue = "false") boolean count) {
+
+        Optional<OrderKeysetSort> keysetSort = OrderKeysetSort.fromSortOption(sortOption);
+
+        if (!keyword.equals("null") || keysetSort.isEmpty()) {
+            redirectAttributes.addAttribute("keyword", keyword);
+            redirectAttributes.addAttribute("pageSize", pageSize);
+            redirectAttributes.addAttribute("sortOption", sortOption);
+            redirectAttributes.addAttribute("sortDirection", sortDirection);
+
+            return "redirect:/orders/all/pageable";
+        }
+
+        Sort.Direction direction = sortDirection.equalsIgnoreCase(Sort.Direction.ASC.name()) ?
+                Sort.Direction.ASC : Sort.Direction.DESC;
+
+        KeysetPage<OrderViewServiceModel> orderViewServiceModelsPage = this.orderService
+                .findAllKeyset(keysetSort.get(), direction, cursor, pageSize);
+
+        List<OrderViewBindingModel> orders = orderViewServiceModelsPage.getContent()
+                .stream()
+                .map(OrderViewMapper::toBindingModel)
+                .collect(Collectors.toList());
+
+        CursorPagerModel cursorPager = new CursorPagerModel(orderViewServiceModelsPage,
+                count ? this.orderService.getActiveOrdersCount() : null);
+
+        model.addAttribute("orders", orders);
+        model.addAttribute("selectedPageSize", pageSize);
+        model.addAttribute("pageSizes", PAGE_SIZES);
+        model.addAttribute("cursorPager", cursorPager);
+        model.addAttribute("selectedSortOption", sortOption);
+        model.addAttribute("sortOptions", ORDER_SORT_OPTIONS);
+        model.addAttribute("sortDirection", sortDirection);
+        model.addAttribute("reversedSortDirection", sortDirection.equals("asc") ? "desc" : "asc");
+        model.addAttribute("keyword", null);
+        model.addAttribute("path", "/orders/all/keyset");
+
+        return "orders/order-all";
+    }
+
     @GetMapping("/open")
-    public String add(Model model, HttpSession httpSession, @RequestParam("id") @Min(1) Long id) {
+    public String add(Model model, @RequestParam("id") @Min(1) Long id) {
 
-        this.orderDataManager.removeOrderData(httpSession);
-        OrderData orderData = this.orderDataManager.getOrderData(httpSession);
+        OrderData orderData = new OrderData();
         CustomerServiceModel customerServiceModel = this.customerService.findById(id);
         CustomerViewBindingModel customerViewBindingModel = this.modelMapper.map(customerServiceModel, CustomerViewBindingModel.class);
         orderData.setCustomer(customerViewBindingModel);
+        this.orderDataManager.setOrderData(orderData);
 
         if (!model.containsAttribute("notEnoughStock")) {
-            model.addAttribute("notEnoughStock", 0);
+            model.addAttribute("notEnoughStock", List.of());
         }
 
         return "orders/order-add";
     }
 
     @GetMapping("/open-not-stock")
-    public String addNotStock(Model model, HttpSession httpSession, @RequestParam("id") @Min(1) Long id) {
+    public String addNotStock(Model model, @RequestParam("id") @Min(1) Long id) {
 
-        OrderData orderData = this.orderDataManager.getOrderData(httpSession);
         CustomerServiceModel customerServiceModel = this.customerService.findById(id);
         CustomerViewBindingModel customerViewBindingModel = this.modelMapper.map(customerServiceModel, CustomerViewBindingModel.class);
-        orderData.setCustomer(customerViewBindingModel);
+        this.orderDataManager.updateOrderData(orderData -> orderData.setCustomer(customerViewBindingModel));
 
         if (!model.containsAttribute("notEnoughStock")) {
-            model.addAttribute("notEnoughStock", 0);
+            model.addAttribute("notEnoughStock", List.of());
         }
 
         return "orders/order-add";
@@ -183,16 +274,14 @@ public class OrderController {
     @PostMapping("/addItem")
     public String addItemConfirm(@RequestParam("id") @Min(1) Long id,
                                  @RequestParam("quantity") int quantity,
-                                 HttpSession httpSession,
                                  RedirectAttributes redirectAttributes) {
 
-        OrderData orderData = this.orderDataManager.getOrderData(httpSession);
         ItemViewServiceModel itemViewServiceModel = this.itemService.findById(id);
         ItemViewBindingModel itemViewBindingModel = this.modelMapper.map(itemViewServiceModel, ItemViewBindingModel.class);
 
         if (this.itemService.isStockEnough(id, quantity)) {
 
-            orderData.addOrderLine(itemViewBindingModel, quantity);
+            this.orderDataManager.updateOrderData(orderData -> orderData.addOrderLine(itemViewBindingModel, quantity));
 
             return "orders/order-add";
         }
@@ -210,56 +299,48 @@ public class OrderController {
     }
 
     @GetMapping("/orderData/update")
-    public String updateOrderData(@RequestParam("id") @Min(1) Long id, @RequestParam("quantity") int quantity, HttpSession httpSession) {
+    public String updateOrderData(@RequestParam("id") @Min(1) Long id, @RequestParam("quantity") int quantity) {
 
-        OrderData orderData = this.orderDataManager.getOrderData(httpSession);
-        orderData.updateOrderLine(id, quantity);
+        this.orderDataManager.updateOrderData(orderData -> orderData.updateOrderLine(id, quantity));
 
         return "fragments/draft-order-order-lines-table :: draftOrderOrderLinesTable";
     }
 
     @PostMapping("/orderData/remove")
-    public String removeOrderData(@RequestParam("removeId") Long id, HttpSession httpSession) {
+    public String removeOrderData(@RequestParam("removeId") Long id) {
 
-        OrderData orderData = this.orderDataManager.getOrderData(httpSession);
-        orderData.removeOrderLine(id);
+        this.orderDataManager.updateOrderData(orderData -> orderData.removeOrderLine(id));
 
         return "orders/order-add";
     }
 
     @GetMapping("/cancel")
-    public String cancel(HttpSession httpSession) {
+    public String cancel() {
 
-        this.orderDataManager.removeOrderData(httpSession);
+        this.orderDataManager.removeOrderData();
 
         return "redirect:/orders/all/pageable";
     }
 
 
     @GetMapping("/save")
-    public String save(HttpSession httpSession,
-                       HttpServletRequest httpServletRequest,
+    public String save(HttpServletRequest httpServletRequest,
                        RedirectAttributes redirectAttributes) {
 
-        OrderData orderData = this.orderDataManager.getOrderData(httpSession);
-
-        Set<OrderLineViewBindingModel> orderLineViewBindingModels = orderData.getOrderLineEntities();
-        for (OrderLineViewBindingModel orderLineViewBindingModel : orderLineViewBindingModels) {
-            boolean isStockEnough = this.itemService.isStockEnough(orderLineViewBindingModel.getItem().getId(),
-                    orderLineViewBindingModel.getQuantity());
-            if (!isStockEnough) {
-                redirectAttributes.addAttribute("id", orderData.getCustomer().getId());
-                redirectAttributes.addFlashAttribute("notEnoughStock", orderLineViewBindingModel.getItem().getId());
-                return "redirect:open-not-stock";
-            }
-        }
+        OrderData orderData = this.orderDataManager.getOrderData();
 
         OrderAddBindingModel orderAddBindingModel = this.modelMapper.map(orderData, OrderAddBindingModel.class);
         OrderAddServiceModel orderAddServiceModel = this.modelMapper.map(orderAddBindingModel, OrderAddServiceModel.class);
 
-        this.orderService.addOrder(orderAddServiceModel);
-        this.itemService.saveOrderUpdateStock(orderAddServiceModel);
-        this.orderDataManager.removeOrderData(httpSession);
+        try {
+            this.orderService.placeOrder(orderAddServiceModel);
+        } catch (InsufficientStockException e) {
+            redirectAttributes.addAttribute("id", orderData.getCustomer().getId());
+            redirectAttributes.addFlashAttribute("notEnoughStock", e.getItemIds());
+            return "redirect:open-not-stock";
+        }
+
+        this.orderDataManager.removeOrderData();
         return "redirect:/orders/all/pageable";
     }
 
@@ -278,65 +359,51 @@ public class OrderController {
     }
 
     @GetMapping("/edit")
-    public String editOrder(Model model, @RequestParam("id") @Min(1) Long id, HttpSession httpSession) {
+    public String editOrder(Model model, @RequestParam("id") @Min(1) Long id) {
 
 
         OrderViewServiceModel orderViewServiceModel = this.orderService.findById(id);
 
-        this.orderDataManager.removeEditOrderData(httpSession);
         OrderViewBindingModel orderViewBindingModel = this.modelMapper.map(orderViewServiceModel, OrderViewBindingModel.class);
         OrderData orderData = this.modelMapper.map(orderViewBindingModel, OrderData.class);
-        //set order by OrderLineViewBindingModel.getName
-        Comparator<OrderLineViewBindingModel> comparator = Comparator.comparing((OrderLineViewBindingModel o) -> o.getItem().getName());
-        Set<OrderLineViewBindingModel> orderLineViewBindingModels = new TreeSet<>(comparator);
-        orderLineViewBindingModels.addAll(orderData.getOrderLineEntities());
-        orderData.setOrderLineEntities(orderLineViewBindingModels);
 
-        this.orderDataManager.setEditOrderData(httpSession, orderData);
+        this.orderDataManager.setEditOrderData(orderData);
 
         return "orders/order-edit";
 
     }
 
     @GetMapping("/edit-not-stock")
-    public String editOrderNotStock(Model model, @RequestParam("id") @Min(1) Long id, HttpSession httpSession) {
+    public String editOrderNotStock(Model model, @RequestParam("id") @Min(1) Long id) {
 
 
         OrderViewServiceModel orderViewServiceModel = this.orderService.findById(id);
 
-        this.orderDataManager.removeEditOrderData(httpSession);
         OrderViewBindingModel orderViewBindingModel = this.modelMapper.map(orderViewServiceModel, OrderViewBindingModel.class);
         OrderData orderData = this.modelMapper.map(orderViewBindingModel, OrderData.class);
-        //set order by OrderLineViewBindingModel.getName
-        Comparator<OrderLineViewBindingModel> comparator = Comparator.comparing((OrderLineViewBindingModel o) -> o.getItem().getName());
-        Set<OrderLineViewBindingModel> orderLineViewBindingModels = new TreeSet<>(comparator);
-        orderLineViewBindingModels.addAll(orderData.getOrderLineEntities());
-        orderData.setOrderLineEntities(orderLineViewBindingModels);
 
         if (!model.containsAttribute("notEnoughStock")) {
-            model.addAttribute("notEnoughStock", 0);
+            model.addAttribute("notEnoughStock", List.of());
         }
 
-        this.orderDataManager.setEditOrderData(httpSession, orderData);
+        this.orderDataManager.setEditOrderData(orderData);
 
         return "orders/order-edit";
 
     }
 
     @GetMapping("/editOrder/update")
-    public String editOrderUpdateOrderData(@RequestParam("id") @Min(1) Long id, @RequestParam("quantity") int quantity, HttpSession httpSession) {
+    public String editOrderUpdateOrderData(@RequestParam("id") @Min(1) Long id, @RequestParam("quantity") int quantity) {
 
-        OrderData orderData = this.orderDataManager.getEditOrderData(httpSession);
-        orderData.updateOrderLine(id, quantity);
+        this.orderDataManager.updateEditOrderData(orderData -> orderData.updateOrderLine(id, quantity));
 
         return "fragments/order-edit-order-lines-table :: editOrderOrderLinesTable";
     }
 
     @PostMapping("/editOrder/remove")
-    public String editOrderRemoveOrderData(@RequestParam("removeId") Long id, HttpSession httpSession) {
+    public String editOrderRemoveOrderData(@RequestParam("removeId") Long id) {
 
-        OrderData orderData = this.orderDataManager.getEditOrderData(httpSession);
-        orderData.removeOrderLine(id);
+        this.orderDataManager.updateEditOrderData(orderData -> orderData.removeOrderLine(id));
 
         return "orders/order-edit";
     }
@@ -368,16 +435,14 @@ public class OrderController {
     @PostMapping("/editOrder/addItem")
     public String editOrderAddItemConfirm(@RequestParam("id") @Min(1) Long id,
                                           @RequestParam("quantity") int quantity,
-                                          HttpSession httpSession,
                                           RedirectAttributes redirectAttributes) {
 
-        OrderData orderData = this.orderDataManager.getEditOrderData(httpSession);
         ItemViewServiceModel itemViewServiceModel = this.itemService.findById(id);
         ItemViewBindingModel itemViewBindingModel = this.modelMapper.map(itemViewServiceModel, ItemViewBindingModel.class);
 
         if (this.itemService.isStockEnough(id, quantity)) {
 
-            orderData.addOrderLine(itemViewBindingModel, quantity);
+            this.orderDataManager.updateEditOrderData(orderData -> orderData.addOrderLine(itemViewBindingModel, quantity));
 
             return "orders/order-edit";
         }
@@ -395,43 +460,36 @@ public class OrderController {
     }
 
     @GetMapping("/edit/save")
-    public String editOrderSave(HttpSession httpSession,
-                                HttpServletRequest httpServletRequest,
+    public String editOrderSave(HttpServletRequest httpServletRequest,
                                 RedirectAttributes redirectAttributes) {
 
-        OrderData orderData = this.orderDataManager.getEditOrderData(httpSession);
-
-        OrderViewServiceModel orderViewServiceModel = this.orderService.findById(orderData.getId());
-
-        Set<OrderLineViewBindingModel> orderLineViewBindingModels = orderData.getOrderLineEntities();
-
-        for (OrderLineViewBindingModel orderLineViewBindingModel : orderLineViewBindingModels) {
-
-            boolean isStockEnough = this.itemService.isStockEnoughEditOrder(orderViewServiceModel,
-                    orderLineViewBindingModel.getId(),
-                    orderLineViewBindingModel.getQuantity());
-            if (!isStockEnough) {
-                redirectAttributes.addAttribute("id", orderData.getId());
-                redirectAttributes.addFlashAttribute("notEnoughStock", orderLineViewBindingModel.getItem().getId());
-                return "redirect:/orders/edit-not-stock";
-            }
-        }
+        OrderData orderData = this.orderDataManager.getEditOrderData();
 
         OrderAddBindingModel orderAddBindingModel = this.modelMapper.map(orderData, OrderAddBindingModel.class);
         OrderAddServiceModel orderAddServiceModel = this.modelMapper.map(orderAddBindingModel, OrderAddServiceModel.class);
 
-        this.orderService.editOrder(orderAddServiceModel);
+        try {
+            this.orderEditService.applyEdit(orderAddServiceModel);
+        } catch (InsufficientStockException e) {
+            redirectAttributes.addAttribute("id", orderData.getId());
+            redirectAttributes.addFlashAttribute("notEnoughStock", e.getItemIds());
+            return "redirect:/orders/edit-not-stock";
+        } catch (StaleOrderEditException e) {
+            //the draft was built from an older state of the order, start over from the current one
+            redirectAttributes.addAttribute("id", e.getOrderId());
+            redirectAttributes.addFlashAttribute("orderChanged", true);
+            return "redirect:/orders/edit";
+        }
 
-        this.itemService.editOrderUpdateStock(orderViewServiceModel, orderAddServiceModel);
-        this.orderDataManager.removeEditOrderData(httpSession);
+        this.orderDataManager.removeEditOrderData();
         return "redirect:/orders/all/pageable";
     }
 
 
     @GetMapping("/edit/cancel")
-    public String editCancel(HttpSession httpSession) {
+    public String editCancel() {
 
-        this.orderDataManager.removeEditOrderData(httpSession);
+        this.orderDataManager.removeEditOrderData();
 
         return "redirect:/orders/all/pageable";
     }
@@ -439,82 +497,74 @@ public class OrderController {
 
     @GetMapping("/complete/open")
     @PreAuthorize("hasRole('USER')")
-    public String orderCompleteOpen(Model model, @RequestParam("id") @Min(1) Long id, HttpSession httpSession) {
+    public String orderCompleteOpen(Model model, @RequestParam("id") @Min(1) Long id) {
 
         OrderViewServiceModel orderViewServiceModel = this.orderService.findById(id);
 
-        this.orderDataManager.removeEditOrderData(httpSession);
-
         OrderViewBindingModel orderViewBindingModel = this.modelMapper.map(orderViewServiceModel, OrderViewBindingModel.class);
 
         OrderData orderData = this.modelMapper.map(orderViewBindingModel, OrderData.class);
-        this.orderDataManager.setEditOrderData(httpSession, orderData);
+        this.orderDataManager.setEditOrderData(orderData);
 
         return "orders/order-complete-open";
     }
 
     @GetMapping("/archive/open")
     @PreAuthorize("hasRole('USER')")
-    public String orderArchiveOpen(Model model, @RequestParam("id") @Min(1) Long id, HttpSession httpSession) {
+    public String orderArchiveOpen(Model model, @RequestParam("id") @Min(1) Long id) {
 
         OrderViewServiceModel orderViewServiceModel = this.orderService.findById(id);
 
-        this.orderDataManager.removeEditOrderData(httpSession);
-
         OrderViewBindingModel orderViewBindingModel = this.modelMapper.map(orderViewServiceModel, OrderViewBindingModel.class);
 
         OrderData orderData = this.modelMapper.map(orderViewBindingModel, OrderData.class);
-        this.orderDataManager.setEditOrderData(httpSession, orderData);
+        this.orderDataManager.setEditOrderData(orderData);
 
         return "orders/order-archive-open";
     }
 
     @GetMapping("/complete")
     @PreAuthorize("hasRole('USER')")
-    public String orderComplete(HttpSession httpSession, HttpServletRequest httpServletRequest) {
+    public String orderComplete(HttpServletRequest httpServletRequest) {
 
-        OrderData orderData = this.orderDataManager.getEditOrderData(httpSession);
+        OrderData orderData = this.orderDataManager.getEditOrderData();
 
-        OrderAddBindingModel orderAddBindingModel = this.modelMapper.map(orderData, OrderAddBindingModel.class);
-        OrderAddServiceModel orderAddServiceModel = this.modelMapper.map(orderAddBindingModel, OrderAddServiceModel.class);
-
-        this.orderService.completeOrder(orderAddServiceModel);
-        this.orderDataManager.removeEditOrderData(httpSession);
+        this.orderStatusService.completeOrder(orderData.getId());
+        this.orderDataManager.removeEditOrderData();
 
         return "redirect:/orders/all/pageable";
     }
 
     @GetMapping("/incomplete")
     @PreAuthorize("hasRole('USER')")
-    public String orderIncomplete(HttpSession httpSession, HttpServletRequest httpServletRequest) {
+    public String orderIncomplete(HttpServletRequest httpServletRequest) {
 
-        OrderData orderData = this.orderDataManager.getEditOrderData(httpSession);
+        OrderData orderData = this.orderDataManager.getEditOrderData();
 
-        OrderAddBindingModel orderAddBindingModel = this.modelMapper.map(orderData, OrderAddBindingModel.class);
-        OrderAddServiceModel orderAddServiceModel = this.modelMapper.map(orderAddBindingModel, OrderAddServiceModel.class);
-
-        this.orderService.incompleteOrder(orderAddServiceModel);
-        this.orderDataManager.removeEditOrderData(httpSession);
+        this.orderStatusService.incompleteOrder(orderData.getId());
+        this.orderDataManager.removeEditOrderData();
 
         return "redirect:/orders/all/pageable";
     }
 
     @GetMapping("/archive")
     @PreAuthorize("hasRole('USER')")
-    public String orderArchive(HttpSession httpSession, HttpServletRequest httpServletRequest) {
+    public String orderArchive(HttpServletRequest httpServletRequest) {
 
-        OrderData orderData = this.orderDataManager.getEditOrderData(httpSession);
+        OrderData orderData = this.orderDataManager.getEditOrderData();
 
-        OrderAddBindingModel orderAddBindingModel = this.modelMapper.map(orderData, OrderAddBindingModel.class);
-        OrderAddServiceModel orderAddServiceModel = this.modelMapper.map(orderAddBindingModel, OrderAddServiceModel.class);
+        Optional<LocalDateTime> archivedOn = this.orderStatusService.archiveOrder(orderData.getId());
 
+        if (archivedOn.isPresent()) {
 
-        this.orderService.archiveOrder(orderAddServiceModel);
-        OrderViewBindingModel orderViewBindingModel = this.modelMapper.map(orderAddServiceModel, OrderViewBindingModel.class);
+            orderData.setArchives(true);
+            orderData.setUpdatedOn(archivedOn.get());
+            OrderViewBindingModel orderViewBindingModel = this.modelMapper.map(orderData, OrderViewBindingModel.class);
 
-        this.archiveOrderPublisher.publishOrderArchived(orderViewBindingModel);
+            this.archiveOrderPublisher.publishOrderArchived(orderViewBindingModel);
+        }
 
-        this.orderDataManager.removeEditOrderData(httpSession);
+        this.orderDataManager.removeEditOrderData();
 
         return "redirect:/orders/all/pageable";
     }
@@ -522,9 +572,9 @@ public class OrderController {
 
     @GetMapping("/complete/cancel")
     @PreAuthorize("hasRole('USER')")
-    public String completeCancel(HttpSession httpSession) {
+    public String completeCancel() {
 
-        this.orderDataManager.removeEditOrderData(httpSession);
+        this.orderDataManager.removeEditOrderData();
 
         return "redirect:/orders/all/pageable";
     }
@@ -551,6 +601,42 @@ public class OrderController {
         return "redirect:/orders/all/pageable";
     }
 
+    @GetMapping("/archive/json")
+    public ResponseEntity<byte[]> archiveJson(@RequestParam("id") @Min(1) Long id) throws IOException {
+
+        return this.archiveSegmentStore.find(id)
+                .map(json -> ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(json))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/archive/export")
+    public ResponseEntity<StreamingResponseBody> archiveExport(@RequestParam("fromDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+                                                               @RequestParam("toDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+                                                               @RequestParam(name = "format", defaultValue = "NDJSON") ArchiveExportFormat format,
+                                                               @RequestParam(name = "gzip", defaultValue = "false") boolean gzip) {
+
+        if (toDate.isBefore(fromDate)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        String fileName = String.format("archived-orders_%s_%s.%s%s", fromDate, toDate, format.getExtension(), gzip ? ".gz" : "");
+
+        StreamingResponseBody body = outputStream -> {
+            if (gzip) {
+                GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream, 64 * 1024);
+                this.archivedOrderExportService.export(fromDate, toDate, format, gzipOutputStream);
+                gzipOutputStream.finish();
+            } else {
+                this.archivedOrderExportService.export(fromDate, toDate, format, outputStream);
+            }
+        };
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .contentType(gzip ? MediaType.parseMediaType("application/gzip") : MediaType.parseMediaType(format.getContentType()))
+                .body(body);
+    }
+
     @GetMapping("/pieChart")
     @PreAuthorize("hasRole('USER')")
     public String getPieChart(Model model, @RequestParam(name = "fromDate", defaultValue = "") String fromDate,
@@ -569,11 +655,18 @@ public class OrderController {
     }
 
     @GetMapping("/areaChart")
-    public String getSalesLastWeek(Model model) {
-
-        this.orderService.getLastWeek();
-        model.addAttribute("ordersLastWeekDatesMap", this.orderService.getWeekDatesMap());
-        model.addAttribute("ordersLastWeekTurnoverMap", this.orderService.getWeekDatesTurnoverMap());
+    public String getTurnoverChart(Model model, @RequestParam(name = "fromDate", defaultValue = "") String fromDate,
+                                   @RequestParam(name = "toDate", defaultValue = "") String toDate,
+                                   @RequestParam(name = "granularity", defaultValue = "DAY") TurnoverGranularity granularity) {
+
+        String[] timeBorders = this.turnoverSeriesService.getTimeBorders(fromDate, toDate);
+        model.addAttribute("turnoverMap",
+                this.turnoverSeriesService.getTurnoverMap(timeBorders[0], timeBorders[1], granularity));
+        model.addAttribute("path", "/orders/areaChart");
+        model.addAttribute("fromDate", timeBorders[0]);
+        model.addAttribute("toDate", timeBorders[1]);
+        model.addAttribute("granularity", granularity);
+        model.addAttribute("granularities", TurnoverGranularity.values());
 
         return "orders/order-area-chart";
     }
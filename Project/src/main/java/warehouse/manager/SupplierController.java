@@ -16,9 +16,11 @@ import warehouse.addresses.service.AddressService;
 import warehouse.items.service.ItemService;
 import warehouse.orders.service.OrderService;
 import warehouse.pagination.PagerModel;
+import warehouse.suppliers.mapper.SupplierViewMapper;
 import warehouse.suppliers.model.SupplierAddBindingModel;
 import warehouse.suppliers.model.SupplierServiceModel;
 import warehouse.suppliers.model.SupplierTurnoverViewModel;
+import warehouse.suppliers.model.TopSuppliersReport;
 import warehouse.suppliers.model.SupplierViewBindingModel;
 import warehouse.suppliers.service.SupplierService;
 import warehouse.utils.time.TimeBordersConvertor;
@@ -27,8 +29,6 @@ import warehouse.validated.OnUpdate;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
-import java.math.BigDecimal;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -144,7 +144,7 @@ public class SupplierController {
 
         List<SupplierViewBindingModel> supplierViewBindingModels = supplierServiceModelPage
                 .stream()
-                .map(supplierServiceModel -> this.modelMapper.map(supplierServiceModel, SupplierViewBindingModel.class))
+                .map(SupplierViewMapper::toBindingModel)
                 .collect(Collectors.toList());
 
         Page<SupplierViewBindingModel> suppliers = new PageImpl<>(supplierViewBindingModels, pageable, supplierServiceModelPage.getTotalElements());
@@ -234,14 +234,13 @@ public class SupplierController {
     public String getTopSuppliers(Model model, @RequestParam(name = "fromDate", defaultValue = "") String fromDate,
                                   @RequestParam(name = "toDate", defaultValue = "") String toDate){
 
-        HashMap<Integer, String> suppliersNamesMap = this.supplierService.getTopSuppliersNamesMap(fromDate, toDate);
-        HashMap<Integer, BigDecimal> suppliersTurnoverMap = this.supplierService.getTopSuppliersTurnoverMap(fromDate, toDate);
+        TopSuppliersReport topSuppliersReport = this.supplierService.getTopSuppliersReport(fromDate, toDate);
 
-        model.addAttribute("suppliersNamesMap", suppliersNamesMap);
-        model.addAttribute("suppliersTurnoverMap",suppliersTurnoverMap);
+        model.addAttribute("suppliersNamesMap", topSuppliersReport.getNamesMap());
+        model.addAttribute("suppliersTurnoverMap", topSuppliersReport.getTurnoverMap());
         model.addAttribute("path", "/suppliers/top");
-        model.addAttribute("fromDate", suppliersNamesMap.get(1));
-        model.addAttribute("toDate", suppliersNamesMap.get(2));
+        model.addAttribute("fromDate", topSuppliersReport.getFromDate());
+        model.addAttribute("toDate", topSuppliersReport.getToDate());
 
         return "suppliers/supplier-pie-chart";
     }
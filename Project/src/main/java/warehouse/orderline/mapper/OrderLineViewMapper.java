@@ -0,0 +1,34 @@
+package warehouse.orderline.mapper;
+
+import warehouse.items.mapper.ItemViewMapper;
+import warehouse.orderline.model.OrderLineEntity;
+import warehouse.orderline.model.OrderLineViewBindingModel;
+import warehouse.orderline.model.OrderLineViewServiceModel;
+
+public final class OrderLineViewMapper {
+
+    private OrderLineViewMapper() {
+    }
+
+    public static OrderLineViewServiceModel toServiceModel(OrderLineEntity orderLineEntity) {
+
+        OrderLineViewServiceModel orderLineViewServiceModel = new OrderLineViewServiceModel();
+        orderLineViewServiceModel.setId(orderLineEntity.getId());
+        orderLineViewServiceModel.setItem(ItemViewMapper.toServiceModel(orderLineEntity.getItem()));
+        orderLineViewServiceModel.setQuantity(orderLineEntity.getQuantity());
+        orderLineViewServiceModel.setSubtotal(orderLineEntity.getSubtotal());
+
+        return orderLineViewServiceModel;
+    }
+
+    public static OrderLineViewBindingModel toBindingModel(OrderLineViewServiceModel orderLineViewServiceModel) {
+
+        OrderLineViewBindingModel orderLineViewBindingModel = new OrderLineViewBindingModel();
+        orderLineViewBindingModel.setId(orderLineViewServiceModel.getId());
+        orderLineViewBindingModel.setItem(ItemViewMapper.toBindingModel(orderLineViewServiceModel.getItem()));
+        orderLineViewBindingModel.setQuantity(orderLineViewServiceModel.getQuantity());
+        orderLineViewBindingModel.setSubtotal(orderLineViewServiceModel.getSubtotal());
+
+        return orderLineViewBindingModel;
+    }
+}
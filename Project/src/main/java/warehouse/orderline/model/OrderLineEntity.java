@@ -16,7 +16,7 @@ public class OrderLineEntity extends BaseEntity {
     private BigDecimal subtotal;
     private OrderEntity order;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     public ItemEntity getItem() {
         return item;
     }
@@ -43,7 +43,7 @@ public class OrderLineEntity extends BaseEntity {
         this.subtotal = subtotal;
     }
 
-    @ManyToOne()
+    @ManyToOne(fetch = FetchType.LAZY)
     public OrderEntity getOrder() {
         return order;
     }
@@ -1,9 +1,17 @@
 package warehouse.orderline.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import warehouse.orderline.model.OrderLineEntity;
 
+import java.util.List;
+
 @Repository
 public interface OrderLineRepository extends JpaRepository<OrderLineEntity, Long> {
+
+    @Query("SELECT ol.item.id, SUM(ol.quantity) FROM OrderLineEntity ol" +
+            " WHERE ol.order.id IN :orderIds AND ol.order.deleted = true GROUP BY ol.item.id")
+    List<Object[]> sumQuantitiesByItemForDeletedOrders(@Param("orderIds") List<Long> orderIds);
 }
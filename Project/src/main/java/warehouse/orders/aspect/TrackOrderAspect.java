@@ -5,11 +5,13 @@ import org.aspectj.lang.annotation.After;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Before;
 import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
-import warehouse.orders.orderdata.OrderData;
+import warehouse.orders.orderdata.service.OrderDataManager;
+import warehouse.utils.log.EventLog;
 
 import javax.servlet.http.HttpServletRequest;
-import javax.servlet.http.HttpSession;
+import java.util.Arrays;
 
 
 @Component
@@ -19,6 +21,14 @@ public class TrackOrderAspect {
 
     private static Logger logger = Logger.getLogger(TrackOrderAspect.class);
 
+    private final OrderDataManager orderDataManager;
+    private final EventLog eventLog;
+
+    @Autowired
+    public TrackOrderAspect(OrderDataManager orderDataManager, EventLog eventLog) {
+        this.orderDataManager = orderDataManager;
+        this.eventLog = eventLog;
+    }
 
     @Pointcut("execution(* warehouse.manager.OrderController.save(..))")
     private void save(){}
@@ -27,7 +37,7 @@ public class TrackOrderAspect {
     @After("save()")
     public void afterSave(JoinPoint joinPoint){
         String username = getUsername(joinPoint);
-        logger.info(String.format("order created by %s", username));
+        eventLog.info(logger, "order created by {}", username);
     }
 
     @Pointcut("execution(* warehouse.manager.OrderController.editOrderSave(..))")
@@ -37,13 +47,13 @@ public class TrackOrderAspect {
     public void beforeEditSave(JoinPoint joinPoint){
         String username = getUsername(joinPoint);
         Long orderId = getOrderId(joinPoint);
-        logger.info(String.format("request to edit order %s by %s",orderId, username));
+        eventLog.info(logger, "request to edit order {} by {}", orderId, username);
     }
 
     @After("editSave()")
     public void afterEditSave(JoinPoint joinPoint){
         String username = getUsername(joinPoint);
-        logger.info(String.format("order edited by %s", username));
+        eventLog.info(logger, "order edited by {}", username);
     }
 
     @Pointcut("execution(* warehouse.manager.OrderController.editOrderComplete(..))")
@@ -53,13 +63,13 @@ public class TrackOrderAspect {
     public void beforeEditOrderComplete(JoinPoint joinPoint){
         String username = getUsername(joinPoint);
         Long orderId = getOrderId(joinPoint);
-        logger.info(String.format("request to complete order %s by %s",orderId, username));
+        eventLog.info(logger, "request to complete order {} by {}", orderId, username);
     }
 
     @After("editComplete()")
     public void afterEditOrderComplete(JoinPoint joinPoint){
         String username = getUsername(joinPoint);
-        logger.info(String.format("order completed by %s", username));
+        eventLog.info(logger, "order completed by {}", username);
     }
 
 
@@ -70,7 +80,7 @@ public class TrackOrderAspect {
     public void beforeOrderComplete(JoinPoint joinPoint) {
         String username = getUsername(joinPoint);
         Long orderId = getOrderId(joinPoint);
-        logger.info(String.format("request to complete order %s by %s",orderId, username));
+        eventLog.info(logger, "request to complete order {} by {}", orderId, username);
     }
 
 
@@ -78,7 +88,7 @@ public class TrackOrderAspect {
     @After("orderComplete()")
     public void afterOrderComplete(JoinPoint joinPoint){
         String username = getUsername(joinPoint);
-        logger.info(String.format("order completed by %s", username));
+        eventLog.info(logger, "order completed by {}", username);
     }
 
 
@@ -90,13 +100,13 @@ public class TrackOrderAspect {
     public void beforeOrderIncomplete(JoinPoint joinPoint) {
         String username = getUsername(joinPoint);
         Long orderId = getOrderId(joinPoint);
-        logger.info(String.format("request to incomplete order %s by %s",orderId, username));
+        eventLog.info(logger, "request to incomplete order {} by {}", orderId, username);
     }
 
     @After("orderIncomplete()")
     public void afterOrderIncomplete(JoinPoint joinPoint){
         String username = getUsername(joinPoint);
-        logger.info(String.format("order incomplete by %s", username));
+        eventLog.info(logger, "order incomplete by {}", username);
     }
 
     @Pointcut("execution(* warehouse.manager.OrderController.orderArchive(..))")
@@ -106,25 +116,26 @@ public class TrackOrderAspect {
     public void beforeOrderArchive(JoinPoint joinPoint) {
         String username = getUsername(joinPoint);
         Long orderId = getOrderId(joinPoint);
-        logger.info(String.format("request to archive order %s by %s",orderId, username));
+        eventLog.info(logger, "request to archive order {} by {}", orderId, username);
     }
 
     @After("orderArchive()")
     public void afterOrderArchive(JoinPoint joinPoint){
         String username = getUsername(joinPoint);
-        logger.info(String.format("order archived by %s", username));
+        eventLog.info(logger, "order archived by {}", username);
     }
 
     private String getUsername(JoinPoint joinPoint) {
-        HttpServletRequest httpServletRequest = (HttpServletRequest) joinPoint.getArgs()[1];
+        HttpServletRequest httpServletRequest = (HttpServletRequest) Arrays.stream(joinPoint.getArgs())
+                .filter(a -> a instanceof HttpServletRequest)
+                .findFirst()
+                .orElseThrow();
         String username = httpServletRequest.getUserPrincipal().getName();
         return username;
     }
 
     private Long getOrderId(JoinPoint joinPoint) {
-        HttpSession httpSession = (HttpSession) joinPoint.getArgs()[0];
-        OrderData orderData = (OrderData) httpSession.getAttribute("editOrderData");
-        Long orderId = orderData.getId();
+        Long orderId = this.orderDataManager.getEditOrderData().getId();
         return orderId;
     }
 }
@@ -0,0 +1,176 @@
+package warehouse.orders.export;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.apache.log4j.Logger;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import warehouse.orders.export.service.ArchiveExportService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded hand-off between archiving and the export workers. Every queued order already has a pending row
+ * in archive_exports, so an order that does not fit in the queue, fails to export or is lost on shutdown
+ * is picked up again by {@link #sweep()}.
+ */
+@Component
+public class ArchiveExportQueue implements DisposableBean {
+
+    private static final Logger logger = Logger.getLogger(ArchiveExportQueue.class);
+
+    private final ArchiveExportService archiveExportService;
+    private final BlockingQueue<Long> queue;
+    private final Set<Long> queued = ConcurrentHashMap.newKeySet();
+    private final ExecutorService workers;
+    private final int batchSize;
+    private final long lingerNanos;
+    private final Counter exportedCounter;
+    private final Counter spilledCounter;
+    private final Counter failedCounter;
+    private final Timer batchTimer;
+
+    public ArchiveExportQueue(ArchiveExportService archiveExportService,
+                              MeterRegistry meterRegistry,
+                              @Value("${orders.export.workers:2}") int workers,
+                              @Value("${orders.export.batch-size:100}") int batchSize,
+                              @Value("${orders.export.queue-capacity:10000}") int queueCapacity,
+                              @Value("${orders.export.linger-ms:200}") long lingerMillis) {
+
+        this.archiveExportService = archiveExportService;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+        this.exportedCounter = meterRegistry.counter("warehouse.orders.export.exported");
+        this.spilledCounter = meterRegistry.counter("warehouse.orders.export.spilled");
+        this.failedCounter = meterRegistry.counter("warehouse.orders.export.failed");
+        this.batchTimer = meterRegistry.timer("warehouse.orders.export.batch");
+        meterRegistry.gaugeCollectionSize("warehouse.orders.export.queue.depth", Tags.empty(), this.queue);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workers, r -> {
+            Thread thread = new Thread(r, "archive-export-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < workers; i++) {
+            this.workers.execute(this::drain);
+        }
+    }
+
+    /**
+     * Never blocks the caller: when the queue is full the order is left to the next sweep.
+     */
+    public boolean submit(Long orderId) {
+
+        if (!this.queued.add(orderId)) {
+            return true;
+        }
+
+        if (this.queue.offer(orderId)) {
+            return true;
+        }
+
+        this.queued.remove(orderId);
+        this.spilledCounter.increment();
+        return false;
+    }
+
+    /**
+     * Queues pending exports that are not queued yet, oldest first and no more than the queue has room for.
+     */
+    public int sweep() {
+
+        int limit = this.queue.remainingCapacity();
+        if (limit == 0) {
+            return 0;
+        }
+
+        int submitted = 0;
+        for (Long orderId : this.archiveExportService.findPendingOrderIds(limit)) {
+            if (!this.queued.contains(orderId)) {
+                if (!this.submit(orderId)) {
+                    break;
+                }
+                submitted++;
+            }
+        }
+
+        return submitted;
+    }
+
+    public int size() {
+        return this.queue.size();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+
+        this.workers.shutdownNow();
+        if (!this.workers.awaitTermination(10, TimeUnit.SECONDS)) {
+            logger.warn("Archive export workers did not stop in time");
+        }
+    }
+
+    private void drain() {
+
+        List<Long> batch = new ArrayList<>(this.batchSize);
+
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(this.queue.take());
+                this.collect(batch);
+                this.export(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                this.queued.removeAll(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    //waits up to the linger time for more orders, so a burst of archiving ends up in a few large files
+    private void collect(List<Long> batch) throws InterruptedException {
+
+        long deadline = System.nanoTime() + this.lingerNanos;
+
+        while (batch.size() < this.batchSize) {
+
+            this.queue.drainTo(batch, this.batchSize - batch.size());
+
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= this.batchSize || remaining <= 0) {
+                return;
+            }
+
+            Long orderId = this.queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (orderId == null) {
+                return;
+            }
+            batch.add(orderId);
+        }
+    }
+
+    private void export(List<Long> batch) {
+
+        long start = System.nanoTime();
+
+        try {
+            int exported = this.archiveExportService.exportOrders(new ArrayList<>(batch));
+            this.exportedCounter.increment(exported);
+        } catch (Exception e) {
+            this.failedCounter.increment();
+            logger.error(String.format("Export of %d archived orders failed, left pending for the next sweep", batch.size()), e);
+        } finally {
+            this.batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package warehouse.orders.export;
+
+import org.apache.log4j.Logger;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.concurrent.Callable;
+
+/**
+ * Reports streamed exports that outlive the async request timeout.
+ * The timeout then answers 503 if nothing was written yet, otherwise the container ends the response and the
+ * client gets a truncated file, which is why the timeout is sized for the largest expected export.
+ */
+public class ArchiveExportTimeoutInterceptor implements CallableProcessingInterceptor {
+
+    private static final Logger logger = Logger.getLogger(ArchiveExportTimeoutInterceptor.class);
+
+    @Override
+    public <T> Object handleTimeout(NativeWebRequest request, Callable<T> task) {
+
+        HttpServletRequest servletRequest = request.getNativeRequest(HttpServletRequest.class);
+        String uri = servletRequest == null ? request.getDescription(false) : servletRequest.getRequestURI()
+                + (servletRequest.getQueryString() == null ? "" : "?" + servletRequest.getQueryString());
+
+        logger.warn(String.format("Async request %s timed out, a streamed export will be cut short", uri));
+
+        return RESULT_NONE;
+    }
+}
@@ -0,0 +1,35 @@
+package warehouse.orders.export.model;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * An archived order still waiting to be written to the export directory.
+ * The row is inserted together with the archive flag and deleted once the order is on disk.
+ */
+@Entity
+@Table(name = "archive_exports", indexes = @Index(name = "idx_archive_exports_created_on", columnList = "created_on"))
+public class ArchiveExportEntity {
+
+    private Long orderId;
+    private LocalDateTime createdOn;
+
+    @Id
+    @Column(name = "order_id")
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(Long orderId) {
+        this.orderId = orderId;
+    }
+
+    @Column(name = "created_on", nullable = false)
+    public LocalDateTime getCreatedOn() {
+        return createdOn;
+    }
+
+    public void setCreatedOn(LocalDateTime createdOn) {
+        this.createdOn = createdOn;
+    }
+}
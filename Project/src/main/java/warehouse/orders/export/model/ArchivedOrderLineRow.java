@@ -0,0 +1,83 @@
+package warehouse.orders.export.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One order line of an archived order together with its order header, as read by the bulk export.
+ * The line fields are null for an order without lines.
+ */
+public class ArchivedOrderLineRow {
+
+    private final Long orderId;
+    private final LocalDateTime createdOn;
+    private final LocalDateTime archivedOn;
+    private final Long customerId;
+    private final String customerName;
+    private final BigDecimal total;
+    private final Long lineId;
+    private final Long itemId;
+    private final String itemName;
+    private final Integer quantity;
+    private final BigDecimal subtotal;
+
+    public ArchivedOrderLineRow(Long orderId, LocalDateTime createdOn, LocalDateTime archivedOn,
+                                Long customerId, String customerName, BigDecimal total,
+                                Long lineId, Long itemId, String itemName, Integer quantity, BigDecimal subtotal) {
+        this.orderId = orderId;
+        this.createdOn = createdOn;
+        this.archivedOn = archivedOn;
+        this.customerId = customerId;
+        this.customerName = customerName;
+        this.total = total;
+        this.lineId = lineId;
+        this.itemId = itemId;
+        this.itemName = itemName;
+        this.quantity = quantity;
+        this.subtotal = subtotal;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public LocalDateTime getCreatedOn() {
+        return createdOn;
+    }
+
+    public LocalDateTime getArchivedOn() {
+        return archivedOn;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public String getCustomerName() {
+        return customerName;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public Long getLineId() {
+        return lineId;
+    }
+
+    public Long getItemId() {
+        return itemId;
+    }
+
+    public String getItemName() {
+        return itemName;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public BigDecimal getSubtotal() {
+        return subtotal;
+    }
+}
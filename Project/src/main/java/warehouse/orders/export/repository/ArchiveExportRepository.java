@@ -0,0 +1,42 @@
+package warehouse.orders.export.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import warehouse.orders.export.model.ArchiveExportEntity;
+
+import javax.persistence.LockModeType;
+import javax.transaction.Transactional;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ArchiveExportRepository extends JpaRepository<ArchiveExportEntity, Long> {
+
+    //plain insert instead of save, which would select the row first because the id is assigned
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO archive_exports (order_id, created_on) VALUES (:orderId, :createdOn)", nativeQuery = true)
+    int insert(@Param("orderId") Long orderId, @Param("createdOn") LocalDateTime createdOn);
+
+    @Query("SELECT e.orderId FROM ArchiveExportEntity e ORDER BY e.createdOn, e.orderId")
+    List<Long> findPendingOrderIds(Pageable pageable);
+
+    //claims the rows for one exporter, a second worker or node asking for the same orders waits and then finds them gone
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM ArchiveExportEntity e WHERE e.orderId IN :orderIds")
+    List<ArchiveExportEntity> lockByOrderIds(@Param("orderIds") Collection<Long> orderIds);
+
+    @Query("SELECT MIN(e.createdOn) FROM ArchiveExportEntity e")
+    LocalDateTime findOldestCreatedOn();
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ArchiveExportEntity e WHERE e.orderId IN :orderIds")
+    int deleteByOrderIds(@Param("orderIds") Collection<Long> orderIds);
+}
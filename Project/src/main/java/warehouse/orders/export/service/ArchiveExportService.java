@@ -0,0 +1,16 @@
+package warehouse.orders.export.service;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ArchiveExportService {
+
+    int exportOrders(List<Long> orderIds) throws IOException;
+
+    List<Long> findPendingOrderIds(int limit);
+
+    long countPending();
+
+    LocalDateTime findOldestPending();
+}
@@ -0,0 +1,12 @@
+package warehouse.orders.export.service;
+
+import warehouse.orders.export.ArchiveExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+public interface ArchivedOrderExportService {
+
+    long export(LocalDate fromDate, LocalDate toDate, ArchiveExportFormat format, OutputStream outputStream) throws IOException;
+}
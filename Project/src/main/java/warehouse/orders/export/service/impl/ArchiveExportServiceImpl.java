@@ -0,0 +1,116 @@
+package warehouse.orders.export.service.impl;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
+import org.apache.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import warehouse.orders.export.model.ArchiveExportEntity;
+import warehouse.orders.export.repository.ArchiveExportRepository;
+import warehouse.orders.export.service.ArchiveExportService;
+import warehouse.orders.export.store.ArchiveSegmentStore;
+import warehouse.orders.mapper.OrderViewMapper;
+import warehouse.orders.model.OrderEntity;
+import warehouse.orders.model.OrderViewBindingModel;
+import warehouse.orders.repository.OrderRepository;
+
+import javax.transaction.Transactional;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Appends a batch of archived orders to the archive segments, one compact JSON record per order.
+ * The records are on disk before the pending rows are deleted, so a crash in between exports the batch again
+ * rather than losing it; the index keeps the latest copy.
+ */
+@Service
+public class ArchiveExportServiceImpl implements ArchiveExportService {
+
+    private static final Logger logger = Logger.getLogger(ArchiveExportServiceImpl.class);
+
+    private final ArchiveExportRepository archiveExportRepository;
+    private final OrderRepository orderRepository;
+    private final Gson gson;
+    private final ArchiveSegmentStore archiveSegmentStore;
+
+    @Autowired
+    public ArchiveExportServiceImpl(ArchiveExportRepository archiveExportRepository,
+                                    OrderRepository orderRepository,
+                                    Gson gson,
+                                    ArchiveSegmentStore archiveSegmentStore) {
+        this.archiveExportRepository = archiveExportRepository;
+        this.orderRepository = orderRepository;
+        this.gson = gson;
+        this.archiveSegmentStore = archiveSegmentStore;
+    }
+
+    @Override
+    @Transactional
+    public int exportOrders(List<Long> orderIds) throws IOException {
+
+        List<Long> claimedIds = this.archiveExportRepository.lockByOrderIds(orderIds).stream()
+                .map(ArchiveExportEntity::getOrderId)
+                .collect(Collectors.toList());
+
+        if (claimedIds.isEmpty()) {
+            return 0;
+        }
+
+        List<OrderEntity> orderEntities = this.orderRepository.findDistinctByIdInOrderByIdAsc(claimedIds);
+
+        if (orderEntities.size() < claimedIds.size()) {
+            logger.warn(String.format("%d of %d orders to export no longer exist", claimedIds.size() - orderEntities.size(), claimedIds.size()));
+        }
+
+        if (!orderEntities.isEmpty()) {
+            this.write(orderEntities);
+        }
+
+        this.archiveExportRepository.deleteByOrderIds(claimedIds);
+
+        return orderEntities.size();
+    }
+
+    @Override
+    public List<Long> findPendingOrderIds(int limit) {
+        return this.archiveExportRepository.findPendingOrderIds(PageRequest.of(0, limit));
+    }
+
+    @Override
+    public long countPending() {
+        return this.archiveExportRepository.count();
+    }
+
+    @Override
+    public LocalDateTime findOldestPending() {
+        return this.archiveExportRepository.findOldestCreatedOn();
+    }
+
+    private void write(List<OrderEntity> orderEntities) throws IOException {
+
+        Map<Long, byte[]> payloadsByOrderId = new LinkedHashMap<>(orderEntities.size() * 2);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
+
+        for (OrderEntity orderEntity : orderEntities) {
+
+            OrderViewBindingModel orderViewBindingModel = OrderViewMapper.toBindingModel(OrderViewMapper.toServiceModel(orderEntity));
+
+            bytes.reset();
+            try (JsonWriter jsonWriter = new JsonWriter(new OutputStreamWriter(bytes, StandardCharsets.UTF_8))) {
+                this.gson.toJson(orderViewBindingModel, OrderViewBindingModel.class, jsonWriter);
+            }
+            payloadsByOrderId.put(orderEntity.getId(), bytes.toByteArray());
+        }
+
+        this.archiveSegmentStore.append(payloadsByOrderId);
+        logger.info(String.format("Exported %d archived orders", orderEntities.size()));
+    }
+}
@@ -0,0 +1,171 @@
+package warehouse.orders.export.service.impl;
+
+import com.google.gson.stream.JsonWriter;
+import org.apache.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import warehouse.orders.export.ArchiveExportFormat;
+import warehouse.orders.export.model.ArchivedOrderLineRow;
+import warehouse.orders.export.service.ArchivedOrderExportService;
+import warehouse.orders.repository.OrderRepository;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams archived orders of a date range straight to the given output, one order line row at a time,
+ * so the memory used does not depend on the number of orders exported.
+ */
+@Service
+public class ArchivedOrderExportServiceImpl implements ArchivedOrderExportService {
+
+    private static final Logger logger = Logger.getLogger(ArchivedOrderExportServiceImpl.class);
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String CSV_HEADER = "order_id,created_on,archived_on,customer_id,customer,total,line_id,item_id,item,quantity,subtotal";
+
+    private final OrderRepository orderRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public ArchivedOrderExportServiceImpl(OrderRepository orderRepository, PlatformTransactionManager transactionManager) {
+        this.orderRepository = orderRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    @Override
+    public long export(LocalDate fromDate, LocalDate toDate, ArchiveExportFormat format, OutputStream outputStream) throws IOException {
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+
+        //the cursor only stays open inside a transaction, the response is written on an async thread outside any
+        Long exported;
+        try {
+            exported = this.transactionTemplate.execute(status -> {
+                try (Stream<ArchivedOrderLineRow> rows = this.orderRepository.streamArchivedOrderLines(
+                        fromDate.atStartOfDay(), toDate.plusDays(1).atStartOfDay())) {
+                    return format == ArchiveExportFormat.CSV
+                            ? writeCsv(rows.iterator(), writer)
+                            : writeNdjson(rows.iterator(), writer);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        writer.flush();
+        logger.info(String.format("Exported %d archived orders from %s to %s as %s", exported, fromDate, toDate, format));
+
+        return exported;
+    }
+
+    private static long writeNdjson(Iterator<ArchivedOrderLineRow> rows, Writer writer) throws IOException {
+
+        JsonWriter jsonWriter = new JsonWriter(writer);
+        //one document per line, the writer refuses a second top level value otherwise
+        jsonWriter.setLenient(true);
+
+        Long currentOrderId = null;
+        long orders = 0;
+
+        while (rows.hasNext()) {
+
+            ArchivedOrderLineRow row = rows.next();
+
+            if (!row.getOrderId().equals(currentOrderId)) {
+                if (currentOrderId != null) {
+                    jsonWriter.endArray().endObject();
+                    writer.write('\n');
+                }
+                currentOrderId = row.getOrderId();
+                orders++;
+
+                jsonWriter.beginObject()
+                        .name("id").value(row.getOrderId())
+                        .name("createdOn").value(format(row.getCreatedOn()))
+                        .name("archivedOn").value(format(row.getArchivedOn()))
+                        .name("customerId").value(row.getCustomerId())
+                        .name("customer").value(row.getCustomerName())
+                        .name("total").value(row.getTotal())
+                        .name("lines").beginArray();
+            }
+
+            if (row.getLineId() != null) {
+                jsonWriter.beginObject()
+                        .name("id").value(row.getLineId())
+                        .name("itemId").value(row.getItemId())
+                        .name("item").value(row.getItemName())
+                        .name("quantity").value(row.getQuantity())
+                        .name("subtotal").value(row.getSubtotal())
+                        .endObject();
+            }
+        }
+
+        if (currentOrderId != null) {
+            jsonWriter.endArray().endObject();
+            writer.write('\n');
+        }
+
+        return orders;
+    }
+
+    private static long writeCsv(Iterator<ArchivedOrderLineRow> rows, Writer writer) throws IOException {
+
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+
+        Long currentOrderId = null;
+        long orders = 0;
+
+        while (rows.hasNext()) {
+
+            ArchivedOrderLineRow row = rows.next();
+
+            if (!row.getOrderId().equals(currentOrderId)) {
+                currentOrderId = row.getOrderId();
+                orders++;
+            }
+
+            writer.write(String.join(",",
+                    csv(row.getOrderId()), csv(format(row.getCreatedOn())), csv(format(row.getArchivedOn())),
+                    csv(row.getCustomerId()), csv(row.getCustomerName()), csv(row.getTotal()),
+                    csv(row.getLineId()), csv(row.getItemId()), csv(row.getItemName()),
+                    csv(row.getQuantity()), csv(row.getSubtotal())));
+            writer.write('\n');
+        }
+
+        return orders;
+    }
+
+    private static String format(LocalDateTime localDateTime) {
+        return localDateTime == null ? null : localDateTime.toString();
+    }
+
+    private static String csv(Object value) {
+
+        if (value == null) {
+            return "";
+        }
+
+        String text = value instanceof BigDecimal ? ((BigDecimal) value).toPlainString() : value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
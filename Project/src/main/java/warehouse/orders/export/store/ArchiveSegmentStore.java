@@ -0,0 +1,382 @@
+package warehouse.orders.export.store;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import warehouse.utils.file.FileIOUtil;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Archived orders appended to a few large segment files instead of one file per order.
+ * Every record is framed as order id, payload length and CRC32 followed by the JSON payload; an in-memory index
+ * maps the order id to the segment, offset and length of its latest record, so a lookup is one positional read.
+ * The index is rebuilt by scanning the segments on startup, which also cuts off a record torn by a crash
+ * and skips over a damaged record in the middle of a segment. Appends take a file lock, so records of another
+ * process writing to the same directory are framed correctly and indexed on the next startup.
+ */
+@Component
+public class ArchiveSegmentStore {
+
+    private static final Logger logger = Logger.getLogger(ArchiveSegmentStore.class);
+
+    private static final String PREFIX = "archive-";
+    private static final String SUFFIX = ".seg";
+    private static final int HEADER_SIZE = Long.BYTES + Integer.BYTES + Integer.BYTES;
+    private static final long COMPACTION_CHUNK_BYTES = 4 * 1024 * 1024;
+    private static final int RESYNC_WINDOW_BYTES = 64 * 1024;
+
+    private final FileIOUtil fileIOUtil;
+    private final Path directory;
+    private final long maxSegmentBytes;
+    private final Map<Long, RecordLocation> index = new ConcurrentHashMap<>();
+    private final NavigableMap<Integer, SegmentStats> segments = new ConcurrentSkipListMap<>();
+    private final Counter compactedCounter;
+
+    @Autowired
+    public ArchiveSegmentStore(FileIOUtil fileIOUtil,
+                               MeterRegistry meterRegistry,
+                               @Value("${orders.export.directory}") String directory,
+                               @Value("${orders.export.segment-max-bytes:268435456}") long maxSegmentBytes) {
+
+        this.fileIOUtil = fileIOUtil;
+        this.directory = Paths.get(directory);
+        this.maxSegmentBytes = maxSegmentBytes;
+        this.compactedCounter = meterRegistry.counter("warehouse.orders.export.segments.compacted");
+        meterRegistry.gaugeMapSize("warehouse.orders.export.index.size", Collections.emptyList(), this.index);
+        meterRegistry.gauge("warehouse.orders.export.segments", this.segments, Map::size);
+        meterRegistry.gauge("warehouse.orders.export.segments.bytes", this.segments,
+                s -> s.values().stream().mapToLong(SegmentStats::getTotalBytes).sum());
+
+        try {
+            Files.createDirectories(this.directory);
+            this.load();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Appends the records of one batch with a single write, a later record for the same order replaces the earlier one.
+     */
+    public synchronized void append(Map<Long, byte[]> payloadsByOrderId) throws IOException {
+
+        if (payloadsByOrderId.isEmpty()) {
+            return;
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Map<Long, long[]> relativeOffsets = new LinkedHashMap<>();
+
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            for (Map.Entry<Long, byte[]> entry : payloadsByOrderId.entrySet()) {
+                byte[] payload = entry.getValue();
+
+                out.writeLong(entry.getKey());
+                out.writeInt(payload.length);
+                out.writeInt(checksum(payload));
+                relativeOffsets.put(entry.getKey(), new long[]{out.size(), payload.length});
+                out.write(payload);
+            }
+        }
+
+        int segment = this.getWritableSegment(bytes.size());
+        long position = this.fileIOUtil.append(this.getPath(segment).toString(), bytes.toByteArray());
+
+        SegmentStats segmentStats = this.segments.get(segment);
+        segmentStats.addTotal(bytes.size());
+
+        relativeOffsets.forEach((orderId, offsetAndLength) -> this.index(orderId,
+                new RecordLocation(segment, position + offsetAndLength[0], (int) offsetAndLength[1])));
+    }
+
+    public Optional<byte[]> find(Long orderId) throws IOException {
+
+        //a segment removed by compaction after the lookup is retried once with the moved location
+        for (int attempt = 0; attempt < 2; attempt++) {
+
+            RecordLocation location = this.index.get(orderId);
+            if (location == null) {
+                return Optional.empty();
+            }
+
+            try {
+                return Optional.of(this.fileIOUtil.read(this.getPath(location.getSegment()).toString(),
+                        location.getOffset(), location.getLength()));
+            } catch (NoSuchFileException e) {
+                if (attempt > 0) {
+                    throw e;
+                }
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * Moves the live records of sealed segments that are mostly superseded into the active segment
+     * and deletes those segments. Returns the number of segments removed.
+     */
+    public synchronized int compact(double minLiveRatio) throws IOException {
+
+        if (this.segments.isEmpty()) {
+            return 0;
+        }
+
+        int active = this.segments.lastKey();
+        List<Integer> candidates = this.segments.entrySet().stream()
+                .filter(e -> e.getKey() != active && e.getValue().getLiveRatio() < minLiveRatio)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+
+        for (Integer segment : candidates) {
+
+            //moved in chunks, a sealed segment can be far larger than what should be held in memory at once
+            Map<Long, byte[]> chunk = new LinkedHashMap<>();
+            long chunkBytes = 0;
+            int moved = 0;
+
+            for (Map.Entry<Long, RecordLocation> entry : this.index.entrySet()) {
+                RecordLocation location = entry.getValue();
+                if (location.getSegment() == segment) {
+                    chunk.put(entry.getKey(), this.fileIOUtil.read(this.getPath(segment).toString(),
+                            location.getOffset(), location.getLength()));
+                    chunkBytes += location.getLength();
+                    moved++;
+                }
+                if (chunkBytes >= COMPACTION_CHUNK_BYTES) {
+                    this.append(chunk);
+                    chunk.clear();
+                    chunkBytes = 0;
+                }
+            }
+
+            this.append(chunk);
+            this.segments.remove(segment);
+            Files.deleteIfExists(this.getPath(segment));
+            this.compactedCounter.increment();
+
+            logger.info(String.format("Compacted archive segment %d, moved %d live records", segment, moved));
+        }
+
+        return candidates.size();
+    }
+
+    public int size() {
+        return this.index.size();
+    }
+
+    private void index(Long orderId, RecordLocation location) {
+
+        SegmentStats segmentStats = this.segments.get(location.getSegment());
+        segmentStats.addLive(HEADER_SIZE + location.getLength());
+
+        RecordLocation previous = this.index.put(orderId, location);
+        if (previous != null && this.segments.containsKey(previous.getSegment())) {
+            this.segments.get(previous.getSegment()).addLive(-(HEADER_SIZE + previous.getLength()));
+        }
+    }
+
+    private int getWritableSegment(int bytes) throws IOException {
+
+        if (!this.segments.isEmpty()) {
+            int active = this.segments.lastKey();
+            long size = this.segments.get(active).getTotalBytes();
+            if (size == 0 || size + bytes <= this.maxSegmentBytes) {
+                return active;
+            }
+        }
+
+        int segment = this.segments.isEmpty() ? 1 : this.segments.lastKey() + 1;
+        this.segments.put(segment, new SegmentStats());
+        return segment;
+    }
+
+    private void load() throws IOException {
+
+        List<Integer> found;
+        try (Stream<Path> paths = Files.list(this.directory)) {
+            found = paths.map(p -> p.getFileName().toString())
+                    .filter(n -> n.startsWith(PREFIX) && n.endsWith(SUFFIX))
+                    .map(n -> Integer.parseInt(n.substring(PREFIX.length(), n.length() - SUFFIX.length())))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+
+        for (Integer segment : found) {
+            this.segments.put(segment, new SegmentStats());
+            this.scan(segment);
+        }
+
+        if (!found.isEmpty()) {
+            logger.info(String.format("Loaded %d archived orders from %d segments", this.index.size(), found.size()));
+        }
+    }
+
+    private void scan(int segment) throws IOException {
+
+        String path = this.getPath(segment).toString();
+        long fileSize = this.fileIOUtil.size(path);
+        long position = 0;
+        long end;
+
+        //a damaged record in the middle is skipped by resyncing on the next valid one, only a torn tail is cut off
+        while (true) {
+            end = this.scanRecords(segment, path, position, fileSize);
+            if (end >= fileSize) {
+                break;
+            }
+
+            long next = this.findNextRecord(path, end + 1, fileSize);
+            if (next < 0) {
+                break;
+            }
+
+            logger.warn(String.format("Archive segment %d has a damaged record at %d, skipping %d bytes",
+                    segment, end, next - end));
+            position = next;
+        }
+
+        if (end < fileSize) {
+            logger.warn(String.format("Archive segment %d has an incomplete record at %d, truncating %d bytes",
+                    segment, end, fileSize - end));
+            this.fileIOUtil.truncate(path, end);
+        }
+
+        this.segments.get(segment).addTotal(end);
+    }
+
+    //indexes consecutive valid records from the position and returns where the first invalid one starts
+    private long scanRecords(int segment, String path, long position, long fileSize) throws IOException {
+
+        try (DataInputStream in = new DataInputStream(this.fileIOUtil.openInputStream(path, position))) {
+            while (position + HEADER_SIZE <= fileSize) {
+
+                long orderId = in.readLong();
+                int length = in.readInt();
+                int checksum = in.readInt();
+
+                if (length < 0 || position + HEADER_SIZE + length > fileSize) {
+                    break;
+                }
+
+                byte[] payload = new byte[length];
+                in.readFully(payload);
+                if (checksum(payload) != checksum) {
+                    break;
+                }
+
+                this.index(orderId, new RecordLocation(segment, position + HEADER_SIZE, length));
+                position += HEADER_SIZE + length;
+            }
+        } catch (EOFException e) {
+            //torn header, handled by the caller like any other invalid record
+        }
+
+        return position;
+    }
+
+    //first position at or after from where a header fits the file and its payload matches the checksum, -1 if none
+    private long findNextRecord(String path, long from, long fileSize) throws IOException {
+
+        for (long window = from; window + HEADER_SIZE <= fileSize; window += RESYNC_WINDOW_BYTES) {
+
+            int windowLength = (int) Math.min(RESYNC_WINDOW_BYTES + HEADER_SIZE, fileSize - window);
+            ByteBuffer bytes = ByteBuffer.wrap(this.fileIOUtil.read(path, window, windowLength));
+
+            for (int offset = 0; offset + HEADER_SIZE <= windowLength && offset < RESYNC_WINDOW_BYTES; offset++) {
+                long candidate = window + offset;
+                int length = bytes.getInt(offset + Long.BYTES);
+                if (bytes.getLong(offset) <= 0 || length < 0 || candidate + HEADER_SIZE + length > fileSize) {
+                    continue;
+                }
+
+                int checksum = bytes.getInt(offset + Long.BYTES + Integer.BYTES);
+                if (checksum(this.fileIOUtil.read(path, candidate + HEADER_SIZE, length)) == checksum) {
+                    return candidate;
+                }
+            }
+        }
+
+        return -1;
+    }
+
+    private static int checksum(byte[] payload) {
+
+        CRC32 crc32 = new CRC32();
+        crc32.update(payload);
+
+        return (int) crc32.getValue();
+    }
+
+    private Path getPath(int segment) {
+        return this.directory.resolve(String.format("%s%06d%s", PREFIX, segment, SUFFIX));
+    }
+
+    private static final class RecordLocation {
+
+        private final int segment;
+        private final long offset;
+        private final int length;
+
+        private RecordLocation(int segment, long offset, int length) {
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        private int getSegment() {
+            return segment;
+        }
+
+        private long getOffset() {
+            return offset;
+        }
+
+        private int getLength() {
+            return length;
+        }
+    }
+
+    //only changed under the store lock, volatile so the gauges read current values
+    private static final class SegmentStats {
+
+        private volatile long totalBytes;
+        private volatile long liveBytes;
+
+        private void addTotal(long bytes) {
+            this.totalBytes += bytes;
+        }
+
+        private void addLive(long bytes) {
+            this.liveBytes += bytes;
+        }
+
+        private long getTotalBytes() {
+            return totalBytes;
+        }
+
+        private double getLiveRatio() {
+            return totalBytes == 0 ? 1.0 : (double) liveBytes / totalBytes;
+        }
+    }
+}
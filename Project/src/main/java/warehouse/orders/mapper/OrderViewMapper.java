@@ -0,0 +1,59 @@
+package warehouse.orders.mapper;
+
+import warehouse.customers.mapper.CustomerViewMapper;
+import warehouse.orderline.mapper.OrderLineViewMapper;
+import warehouse.orderline.model.OrderLineEntity;
+import warehouse.orderline.model.OrderLineViewServiceModel;
+import warehouse.orders.model.OrderEntity;
+import warehouse.orders.model.OrderViewBindingModel;
+import warehouse.orders.model.OrderViewServiceModel;
+
+public final class OrderViewMapper {
+
+    private OrderViewMapper() {
+    }
+
+    public static OrderViewServiceModel toServiceModel(OrderEntity orderEntity) {
+
+        OrderViewServiceModel orderViewServiceModel = toSummaryServiceModel(orderEntity);
+        for (OrderLineEntity orderLineEntity : orderEntity.getOrderLineEntities()) {
+            orderViewServiceModel.getOrderLineEntities().add(OrderLineViewMapper.toServiceModel(orderLineEntity));
+        }
+
+        return orderViewServiceModel;
+    }
+
+    //header and customer only, the list pages never render the order lines
+    public static OrderViewServiceModel toSummaryServiceModel(OrderEntity orderEntity) {
+
+        OrderViewServiceModel orderViewServiceModel = new OrderViewServiceModel();
+        orderViewServiceModel.setId(orderEntity.getId());
+        orderViewServiceModel.setCreatedOn(orderEntity.getCreatedOn());
+        orderViewServiceModel.setUpdatedOn(orderEntity.getUpdatedOn());
+        orderViewServiceModel.setCustomer(CustomerViewMapper.toServiceModel(orderEntity.getCustomer()));
+        orderViewServiceModel.setClosed(orderEntity.isClosed());
+        orderViewServiceModel.setArchives(orderEntity.isArchives());
+        orderViewServiceModel.setDeleted(orderEntity.isDeleted());
+        orderViewServiceModel.setTotal(orderEntity.getTotal());
+
+        return orderViewServiceModel;
+    }
+
+    public static OrderViewBindingModel toBindingModel(OrderViewServiceModel orderViewServiceModel) {
+
+        OrderViewBindingModel orderViewBindingModel = new OrderViewBindingModel();
+        orderViewBindingModel.setId(orderViewServiceModel.getId());
+        orderViewBindingModel.setCreatedOn(orderViewServiceModel.getCreatedOn());
+        orderViewBindingModel.setUpdatedOn(orderViewServiceModel.getUpdatedOn());
+        orderViewBindingModel.setCustomer(CustomerViewMapper.toBindingModel(orderViewServiceModel.getCustomer()));
+        for (OrderLineViewServiceModel orderLineViewServiceModel : orderViewServiceModel.getOrderLineEntities()) {
+            orderViewBindingModel.getOrderLineEntities().add(OrderLineViewMapper.toBindingModel(orderLineViewServiceModel));
+        }
+        orderViewBindingModel.setClosed(orderViewServiceModel.isClosed());
+        orderViewBindingModel.setArchives(orderViewServiceModel.isArchives());
+        orderViewBindingModel.setDeleted(orderViewServiceModel.isDeleted());
+        orderViewBindingModel.setTotal(orderViewServiceModel.getTotal());
+
+        return orderViewBindingModel;
+    }
+}
@@ -0,0 +1,87 @@
+package warehouse.orders.model;
+
+import warehouse.orderline.model.OrderLineAddServiceModel;
+import warehouse.orderline.model.OrderLineEntity;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+/**
+ * Difference between the stored lines of an order and an edited draft of it: lines to insert, update and remove,
+ * and the net stock change per item (positive takes stock, negative gives it back).
+ * Lines are matched by id, a draft line without a known id is a new one.
+ */
+public class OrderChangeSet {
+
+    private final List<OrderLineAddServiceModel> insertedLines;
+    private final Map<Long, OrderLineAddServiceModel> updatedLines;
+    private final Set<Long> removedLineIds;
+    private final Map<Long, Integer> stockDeltas;
+
+    private OrderChangeSet(List<OrderLineAddServiceModel> insertedLines,
+                           Map<Long, OrderLineAddServiceModel> updatedLines,
+                           Set<Long> removedLineIds,
+                           Map<Long, Integer> stockDeltas) {
+        this.insertedLines = Collections.unmodifiableList(insertedLines);
+        this.updatedLines = Collections.unmodifiableMap(updatedLines);
+        this.removedLineIds = Collections.unmodifiableSet(removedLineIds);
+        this.stockDeltas = Collections.unmodifiableMap(stockDeltas);
+    }
+
+    public static OrderChangeSet between(Collection<OrderLineEntity> storedLines,
+                                         Collection<OrderLineAddServiceModel> editedLines) {
+
+        Map<Long, OrderLineEntity> storedById = new LinkedHashMap<>(storedLines.size() * 2);
+        Map<Long, Integer> stockDeltas = new LinkedHashMap<>();
+
+        for (OrderLineEntity storedLine : storedLines) {
+            storedById.put(storedLine.getId(), storedLine);
+            stockDeltas.merge(storedLine.getItem().getId(), -storedLine.getQuantity(), Integer::sum);
+        }
+
+        List<OrderLineAddServiceModel> insertedLines = new ArrayList<>();
+        Map<Long, OrderLineAddServiceModel> updatedLines = new LinkedHashMap<>();
+        Set<Long> removedLineIds = new LinkedHashSet<>(storedById.keySet());
+
+        for (OrderLineAddServiceModel editedLine : editedLines) {
+
+            stockDeltas.merge(editedLine.getItem().getId(), editedLine.getQuantity(), Integer::sum);
+
+            OrderLineEntity storedLine = editedLine.getId() == null ? null : storedById.get(editedLine.getId());
+            if (storedLine == null || !removedLineIds.remove(storedLine.getId())) {
+                insertedLines.add(editedLine);
+            } else if (storedLine.getQuantity() != editedLine.getQuantity()
+                    || !sameAmount(storedLine.getSubtotal(), editedLine.getSubtotal())) {
+                updatedLines.put(storedLine.getId(), editedLine);
+            }
+        }
+
+        stockDeltas.values().removeIf(quantity -> quantity == 0);
+
+        return new OrderChangeSet(insertedLines, updatedLines, removedLineIds, stockDeltas);
+    }
+
+    private static boolean sameAmount(BigDecimal stored, BigDecimal edited) {
+        return stored == null ? edited == null : edited != null && stored.compareTo(edited) == 0;
+    }
+
+    public List<OrderLineAddServiceModel> getInsertedLines() {
+        return insertedLines;
+    }
+
+    public Map<Long, OrderLineAddServiceModel> getUpdatedLines() {
+        return updatedLines;
+    }
+
+    public Set<Long> getRemovedLineIds() {
+        return removedLineIds;
+    }
+
+    public Map<Long, Integer> getStockDeltas() {
+        return stockDeltas;
+    }
+
+    public boolean isEmpty() {
+        return insertedLines.isEmpty() && updatedLines.isEmpty() && removedLineIds.isEmpty();
+    }
+}
@@ -10,7 +10,21 @@ import java.time.LocalDateTime;
 import java.util.*;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_created_on", columnList = "created_on, id"),
+        @Index(name = "idx_orders_updated_on", columnList = "updated_on, id"),
+        @Index(name = "idx_orders_total", columnList = "total, id"),
+        @Index(name = "idx_orders_customer_id", columnList = "customer_id")})
+@NamedEntityGraphs({
+        @NamedEntityGraph(name = "Order.customer",
+                attributeNodes = @NamedAttributeNode(value = "customer", subgraph = "customer"),
+                subgraphs = @NamedSubgraph(name = "customer", attributeNodes = @NamedAttributeNode("addressEntity"))),
+        @NamedEntityGraph(name = "Order.detail",
+                attributeNodes = {@NamedAttributeNode(value = "customer", subgraph = "customer"),
+                        @NamedAttributeNode(value = "orderLineEntities", subgraph = "orderLines")},
+                subgraphs = {@NamedSubgraph(name = "customer", attributeNodes = @NamedAttributeNode("addressEntity")),
+                        @NamedSubgraph(name = "orderLines", attributeNodes = @NamedAttributeNode(value = "item", subgraph = "item")),
+                        @NamedSubgraph(name = "item", attributeNodes = {@NamedAttributeNode("category"), @NamedAttributeNode("supplier")})})})
 public class OrderEntity extends BaseEntity {
 
     private LocalDateTime createdOn;
@@ -44,7 +58,7 @@ public class OrderEntity extends BaseEntity {
     }
 
 
-    @OneToMany(mappedBy = "order", fetch = FetchType.EAGER, cascade = CascadeType.ALL, orphanRemoval = true)
+    @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
     @OrderBy(value = "id ASC")
     public Set<OrderLineEntity> getOrderLineEntities() {
         return orderLineEntities;
@@ -54,7 +68,7 @@ public class OrderEntity extends BaseEntity {
         this.orderLineEntities = orderLineEntities;
     }
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "customer_id", referencedColumnName = "id", nullable = false)
     public CustomerEntity getCustomer() {
         return customer;
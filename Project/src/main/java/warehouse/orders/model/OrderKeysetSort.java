@@ -0,0 +1,78 @@
+package warehouse.orders.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Optional;
+
+public enum OrderKeysetSort {
+
+    UPDATED("Updated", "updatedOn") {
+        @Override
+        public Comparable<?> valueOf(OrderEntity orderEntity) {
+            return orderEntity.getUpdatedOn();
+        }
+
+        @Override
+        public Comparable<?> parse(String value) {
+            return LocalDateTime.parse(value);
+        }
+    },
+    CREATED("Created", "createdOn") {
+        @Override
+        public Comparable<?> valueOf(OrderEntity orderEntity) {
+            return orderEntity.getCreatedOn();
+        }
+
+        @Override
+        public Comparable<?> parse(String value) {
+            return LocalDateTime.parse(value);
+        }
+    },
+    TOTAL("Total", "total") {
+        @Override
+        public Comparable<?> valueOf(OrderEntity orderEntity) {
+            return orderEntity.getTotal();
+        }
+
+        @Override
+        public Comparable<?> parse(String value) {
+            return new BigDecimal(value);
+        }
+
+        @Override
+        public String format(OrderEntity orderEntity) {
+            return orderEntity.getTotal().toPlainString();
+        }
+    };
+
+    private final String sortOption;
+    private final String property;
+
+    OrderKeysetSort(String sortOption, String property) {
+        this.sortOption = sortOption;
+        this.property = property;
+    }
+
+    public String getSortOption() {
+        return sortOption;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public abstract Comparable<?> valueOf(OrderEntity orderEntity);
+
+    public abstract Comparable<?> parse(String value);
+
+    public String format(OrderEntity orderEntity) {
+        return String.valueOf(this.valueOf(orderEntity));
+    }
+
+    public static Optional<OrderKeysetSort> fromSortOption(String sortOption) {
+        return Arrays.stream(values())
+                .filter(keysetSort -> keysetSort.getSortOption().equals(sortOption))
+                .findFirst();
+    }
+}
@@ -0,0 +1,10 @@
+package warehouse.orders.model;
+
+public interface OrderStatusCountView {
+
+    Long getCreated();
+
+    Long getCompleted();
+
+    Long getArchived();
+}
@@ -3,23 +3,30 @@ package warehouse.orders.orderdata;
 import warehouse.customers.model.CustomerViewBindingModel;
 import warehouse.items.model.ItemViewBindingModel;
 import warehouse.orderline.model.OrderLineViewBindingModel;
-
 import java.math.BigDecimal;
-import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.*;
 
+/**
+ * Session draft order: lines indexed by item id, ordered by item name, with a running total.
+ * Synchronized for concurrent AJAX updates; readers get an immutable snapshot of the lines.
+ */
 public class OrderData {
 
+    private static final Comparator<OrderLineViewBindingModel> BY_ITEM_NAME = Comparator
+            .comparing((OrderLineViewBindingModel o) -> o.getItem().getName())
+            .thenComparing(o -> o.getItem().getId());
+
     private Long id;
     private LocalDateTime createdOn;
     private LocalDateTime updatedOn;
     private CustomerViewBindingModel customer;
-    private Set<OrderLineViewBindingModel> orderLineEntities = new TreeSet<>(Comparator
-            .comparing((OrderLineViewBindingModel o) -> o.getItem().getName()));
+    private final Map<Long, OrderLineViewBindingModel> orderLinesByItemId = new HashMap<>();
+    private final NavigableSet<OrderLineViewBindingModel> orderLinesByItemName = new TreeSet<>(BY_ITEM_NAME);
+    private Set<OrderLineViewBindingModel> orderLinesSnapshot;
     private boolean isClosed;
     private boolean isArchives;
-    private BigDecimal total;
+    private BigDecimal total = BigDecimal.ZERO;
 
 
     public Long getId() {
@@ -54,12 +61,26 @@ public class OrderData {
         this.customer = customer;
     }
 
-    public Set<OrderLineViewBindingModel> getOrderLineEntities() {
-        return orderLineEntities;
+    public synchronized Set<OrderLineViewBindingModel> getOrderLineEntities() {
+        if (this.orderLinesSnapshot == null) {
+            this.orderLinesSnapshot = Collections.unmodifiableSet(new LinkedHashSet<>(this.orderLinesByItemName));
+        }
+        return this.orderLinesSnapshot;
     }
 
-    public void setOrderLineEntities(Set<OrderLineViewBindingModel> orderLineEntities) {
-        this.orderLineEntities = orderLineEntities;
+    public synchronized void setOrderLineEntities(Set<OrderLineViewBindingModel> orderLineEntities) {
+
+        this.orderLinesByItemId.clear();
+        this.orderLinesByItemName.clear();
+        this.total = BigDecimal.ZERO;
+
+        for (OrderLineViewBindingModel orderLineEntity : orderLineEntities) {
+            if (orderLineEntity.getSubtotal() == null) {
+                orderLineEntity.setSubtotal(calculateSubtotal(orderLineEntity.getItem().getPrice(), orderLineEntity.getQuantity()));
+            }
+            this.putOrderLine(orderLineEntity);
+        }
+        this.orderLinesSnapshot = null;
     }
 
     public boolean isClosed() {
@@ -78,87 +99,92 @@ public class OrderData {
         isArchives = archives;
     }
 
-    public BigDecimal getTotal() {
+    public synchronized BigDecimal getTotal() {
         return total;
     }
 
-    public void setTotal(BigDecimal total) {
-        this.total = total;
-    }
-
-    public OrderLineViewBindingModel getOrderLine(Long id) {
-        for (OrderLineViewBindingModel orderLineEntity : this.orderLineEntities) {
-            if (orderLineEntity.getItem().getId().equals(id)) {
-                return orderLineEntity;
-            }
-        }
-        return null;
+    public synchronized OrderLineViewBindingModel getOrderLine(Long id) {
+        return this.orderLinesByItemId.get(id);
     }
 
-    public int getOrderLineEntityCount() {
-        return this.orderLineEntities.size();
+    public synchronized int getOrderLineEntityCount() {
+        return this.orderLinesByItemId.size();
     }
 
-    public void addOrderLine(ItemViewBindingModel itemViewBindingModel, int quantity) {
+    public synchronized void addOrderLine(ItemViewBindingModel itemViewBindingModel, int quantity) {
 
-        OrderLineViewBindingModel orderLineEntity = getOrderLine(itemViewBindingModel.getId());
+        OrderLineViewBindingModel orderLineEntity = this.orderLinesByItemId.get(itemViewBindingModel.getId());
 
         if (orderLineEntity != null) {
-            orderLineEntity.setQuantity(orderLineEntity.getQuantity() + quantity);
-            BigDecimal subtotal = calculateSubtotal(orderLineEntity.getItem().getPrice(), orderLineEntity.getQuantity());
-            orderLineEntity.setSubtotal(subtotal);
+            this.replaceOrderLine(orderLineEntity, orderLineEntity.getQuantity() + quantity);
         } else {
             orderLineEntity = new OrderLineViewBindingModel();
-
             orderLineEntity.setItem(itemViewBindingModel);
             orderLineEntity.setQuantity(quantity);
-            BigDecimal subtotal = calculateSubtotal(orderLineEntity.getItem().getPrice(), orderLineEntity.getQuantity());
-            orderLineEntity.setSubtotal(subtotal);
-            this.orderLineEntities.add(orderLineEntity);
+            orderLineEntity.setSubtotal(calculateSubtotal(itemViewBindingModel.getPrice(), quantity));
+
+            this.putOrderLine(orderLineEntity);
+            this.orderLinesSnapshot = null;
         }
     }
 
-    private BigDecimal calculateSubtotal(BigDecimal price, int quantity) {
+    private static BigDecimal calculateSubtotal(BigDecimal price, int quantity) {
         BigDecimal subtotal = price.multiply(new BigDecimal(quantity));
         return subtotal;
     }
 
 
-    public void updateOrderLine(Long id, int quantity) {
+    public synchronized void updateOrderLine(Long id, int quantity) {
 
-        OrderLineViewBindingModel orderLineEntity = getOrderLine(id);
+        OrderLineViewBindingModel orderLineEntity = this.orderLinesByItemId.get(id);
 
         if (orderLineEntity != null) {
-            orderLineEntity.setQuantity(quantity);
-            BigDecimal subtotal = calculateSubtotal(orderLineEntity.getItem().getPrice(), orderLineEntity.getQuantity());
-            orderLineEntity.setSubtotal(subtotal);
+            this.replaceOrderLine(orderLineEntity, quantity);
         }
     }
 
-    public void removeOrderLine(Long id) { // throws ProductNotFoundException
+    public synchronized void removeOrderLine(Long id) { // throws ProductNotFoundException
 
-        OrderLineViewBindingModel orderLineEntity = getOrderLine(id);
+        OrderLineViewBindingModel orderLineEntity = this.orderLinesByItemId.remove(id);
 
         if (orderLineEntity != null) {
-            this.orderLineEntities.remove(orderLineEntity);
+            this.orderLinesByItemName.remove(orderLineEntity);
+            this.total = this.total.subtract(orderLineEntity.getSubtotal());
+            this.orderLinesSnapshot = null;
         }
     }
 
-    public void clear() {
-        this.orderLineEntities.clear();
-        this.total = new BigDecimal('0');
+    public synchronized void clear() {
+        this.orderLinesByItemId.clear();
+        this.orderLinesByItemName.clear();
+        this.orderLinesSnapshot = null;
+        this.total = BigDecimal.ZERO;
     }
 
-    public BigDecimal getTotalAmount() {
+    public synchronized BigDecimal getTotalAmount() {
+        return this.total;
+    }
 
-        total = new BigDecimal("0");
+    private void putOrderLine(OrderLineViewBindingModel orderLineEntity) {
 
-        for (OrderLineViewBindingModel orderLineEntity : this.orderLineEntities) {
-            BigDecimal price = orderLineEntity.getItem().getPrice();
-            BigDecimal quantity = new BigDecimal(orderLineEntity.getQuantity());
-            BigDecimal amount = price.multiply(quantity);
-            total = total.add(amount);
+        OrderLineViewBindingModel previous = this.orderLinesByItemId.put(orderLineEntity.getItem().getId(), orderLineEntity);
+        if (previous != null) {
+            this.orderLinesByItemName.remove(previous);
+            this.total = this.total.subtract(previous.getSubtotal());
         }
-        return total;
+        this.orderLinesByItemName.add(orderLineEntity);
+        this.total = this.total.add(orderLineEntity.getSubtotal());
+    }
+
+    private void replaceOrderLine(OrderLineViewBindingModel orderLineEntity, int quantity) {
+
+        OrderLineViewBindingModel updated = new OrderLineViewBindingModel();
+        updated.setId(orderLineEntity.getId());
+        updated.setItem(orderLineEntity.getItem());
+        updated.setQuantity(quantity);
+        updated.setSubtotal(calculateSubtotal(orderLineEntity.getItem().getPrice(), quantity));
+
+        this.putOrderLine(updated);
+        this.orderLinesSnapshot = null;
     }
 }
@@ -0,0 +1,229 @@
+package warehouse.orders.orderdata;
+
+import warehouse.addresses.model.AddressViewBindingModel;
+import warehouse.customers.model.CustomerViewBindingModel;
+import warehouse.items.model.ItemViewBindingModel;
+import warehouse.orderline.model.OrderLineViewBindingModel;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Compact binary form of a draft order: only the fields the order pages and the save path read,
+ * without class metadata, so a draft with a few lines stays well under a kilobyte.
+ */
+public final class OrderDataCodec {
+
+    private static final int FORMAT_VERSION = 1;
+
+    private OrderDataCodec() {
+    }
+
+    public static byte[] encode(OrderData orderData) {
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            writeLong(out, orderData.getId());
+            writeDateTime(out, orderData.getCreatedOn());
+            writeDateTime(out, orderData.getUpdatedOn());
+            out.writeBoolean(orderData.isClosed());
+            out.writeBoolean(orderData.isArchives());
+            writeCustomer(out, orderData.getCustomer());
+
+            Set<OrderLineViewBindingModel> orderLines = orderData.getOrderLineEntities();
+            out.writeInt(orderLines.size());
+            for (OrderLineViewBindingModel orderLine : orderLines) {
+                writeLong(out, orderLine.getId());
+                out.writeInt(orderLine.getQuantity());
+                writeDecimal(out, orderLine.getSubtotal());
+                writeItem(out, orderLine.getItem());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    public static OrderData decode(byte[] payload) {
+
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+
+            int formatVersion = in.readUnsignedByte();
+            if (formatVersion != FORMAT_VERSION) {
+                throw new IllegalArgumentException(String.format("Unsupported draft order format %d", formatVersion));
+            }
+
+            OrderData orderData = new OrderData();
+            orderData.setId(readLong(in));
+            orderData.setCreatedOn(readDateTime(in));
+            orderData.setUpdatedOn(readDateTime(in));
+            orderData.setClosed(in.readBoolean());
+            orderData.setArchives(in.readBoolean());
+            orderData.setCustomer(readCustomer(in));
+
+            int size = in.readInt();
+            Set<OrderLineViewBindingModel> orderLines = new LinkedHashSet<>(size * 2);
+            for (int i = 0; i < size; i++) {
+                OrderLineViewBindingModel orderLine = new OrderLineViewBindingModel();
+                orderLine.setId(readLong(in));
+                orderLine.setQuantity(in.readInt());
+                orderLine.setSubtotal(readDecimal(in));
+                orderLine.setItem(readItem(in));
+                orderLines.add(orderLine);
+            }
+            orderData.setOrderLineEntities(orderLines);
+
+            return orderData;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeCustomer(DataOutputStream out, CustomerViewBindingModel customer) throws IOException {
+
+        out.writeBoolean(customer != null);
+        if (customer == null) {
+            return;
+        }
+
+        writeLong(out, customer.getId());
+        writeString(out, customer.getCompanyName());
+        writeString(out, customer.getPersonName());
+        writeString(out, customer.getEmail());
+        out.writeBoolean(customer.isBlocked());
+
+        AddressViewBindingModel address = customer.getAddress();
+        out.writeBoolean(address != null);
+        if (address != null) {
+            writeLong(out, address.getId());
+            writeString(out, address.getRegion());
+            writeString(out, address.getCity());
+            writeString(out, address.getStreet());
+            writeString(out, address.getPhone());
+        }
+    }
+
+    private static CustomerViewBindingModel readCustomer(DataInputStream in) throws IOException {
+
+        if (!in.readBoolean()) {
+            return null;
+        }
+
+        CustomerViewBindingModel customer = new CustomerViewBindingModel();
+        customer.setId(readLong(in));
+        customer.setCompanyName(readString(in));
+        customer.setPersonName(readString(in));
+        customer.setEmail(readString(in));
+        customer.setBlocked(in.readBoolean());
+
+        if (in.readBoolean()) {
+            AddressViewBindingModel address = new AddressViewBindingModel();
+            address.setId(readLong(in));
+            address.setRegion(readString(in));
+            address.setCity(readString(in));
+            address.setStreet(readString(in));
+            address.setPhone(readString(in));
+            customer.setAddress(address);
+        }
+
+        return customer;
+    }
+
+    private static void writeItem(DataOutputStream out, ItemViewBindingModel item) throws IOException {
+
+        writeLong(out, item.getId());
+        writeString(out, item.getName());
+        writeString(out, item.getDescription());
+        writeDecimal(out, item.getPrice());
+        out.writeInt(item.getStock());
+        writeString(out, item.getLocation());
+        writeString(out, item.getCategory());
+        writeString(out, item.getSupplier());
+        out.writeBoolean(item.isBlocked());
+        writeString(out, item.getImg());
+    }
+
+    private static ItemViewBindingModel readItem(DataInputStream in) throws IOException {
+
+        ItemViewBindingModel item = new ItemViewBindingModel();
+        item.setId(readLong(in));
+        item.setName(readString(in));
+        item.setDescription(readString(in));
+        item.setPrice(readDecimal(in));
+        item.setStock(in.readInt());
+        item.setLocation(readString(in));
+        item.setCategory(readString(in));
+        item.setSupplier(readString(in));
+        item.setBlocked(in.readBoolean());
+        item.setImg(readString(in));
+
+        return item;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeLong(DataOutputStream out, Long value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value);
+        }
+    }
+
+    private static Long readLong(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readLong() : null;
+    }
+
+    private static void writeDecimal(DataOutputStream out, BigDecimal value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            byte[] unscaled = value.unscaledValue().toByteArray();
+            out.writeByte(value.scale());
+            out.writeByte(unscaled.length);
+            out.write(unscaled);
+        }
+    }
+
+    private static BigDecimal readDecimal(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        int scale = in.readByte();
+        byte[] unscaled = new byte[in.readUnsignedByte()];
+        in.readFully(unscaled);
+        return new BigDecimal(new BigInteger(unscaled), scale);
+    }
+
+    private static void writeDateTime(DataOutputStream out, LocalDateTime value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(value.getNano());
+        }
+    }
+
+    private static LocalDateTime readDateTime(DataInputStream in) throws IOException {
+        return in.readBoolean() ? LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC) : null;
+    }
+}
@@ -0,0 +1,59 @@
+package warehouse.orders.orderdata;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+import warehouse.orders.orderdata.service.OrderDataManager;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Set;
+
+/**
+ * Loads the user's drafts before an order or item page is rendered, for views whose handler did not touch them.
+ * Only the draft a view actually renders is read from the store, the other pages skip the lookup.
+ */
+@Component
+public class OrderDataInterceptor implements HandlerInterceptor {
+
+    private static final Set<String> ORDER_DATA_VIEWS = Set.of(
+            "orders/order-all",
+            "orders/order-add",
+            "items/item-all-order-add-item",
+            "fragments/draft-order-customer-data",
+            "fragments/draft-order-order-lines-table");
+
+    private static final Set<String> EDIT_ORDER_DATA_VIEWS = Set.of(
+            "orders/order-edit",
+            "orders/order-complete-open",
+            "orders/order-archive-open",
+            "items/item-all-order-edit",
+            "fragments/order-customer-data",
+            "fragments/order-edit-order-lines-table");
+
+    private final OrderDataManager orderDataManager;
+
+    @Autowired
+    public OrderDataInterceptor(OrderDataManager orderDataManager) {
+        this.orderDataManager = orderDataManager;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler, ModelAndView modelAndView) {
+
+        if (modelAndView == null || modelAndView.getViewName() == null || request.getUserPrincipal() == null) {
+            return;
+        }
+
+        //a fragment view is named "template :: selector"
+        String template = modelAndView.getViewName().split("::")[0].trim();
+
+        if (ORDER_DATA_VIEWS.contains(template)) {
+            this.orderDataManager.findOrderData();
+        }
+        if (EDIT_ORDER_DATA_VIEWS.contains(template)) {
+            this.orderDataManager.findEditOrderData();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package warehouse.orders.orderdata.model;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "draft_orders", indexes = @Index(name = "idx_draft_orders_updated_on", columnList = "updated_on"))
+public class DraftOrderEntity {
+
+    private String id;
+    private byte[] payload;
+    private int payloadSize;
+    private long version;
+    private LocalDateTime updatedOn;
+
+    @Id
+    @Column(name = "id", length = 128)
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    @Column(name = "payload", nullable = false, length = 1048576)
+    public byte[] getPayload() {
+        return payload;
+    }
+
+    public void setPayload(byte[] payload) {
+        this.payload = payload;
+    }
+
+    @Column(name = "payload_size", nullable = false)
+    public int getPayloadSize() {
+        return payloadSize;
+    }
+
+    public void setPayloadSize(int payloadSize) {
+        this.payloadSize = payloadSize;
+    }
+
+    @Column(name = "version", nullable = false)
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    @Column(name = "updated_on", nullable = false)
+    public LocalDateTime getUpdatedOn() {
+        return updatedOn;
+    }
+
+    public void setUpdatedOn(LocalDateTime updatedOn) {
+        this.updatedOn = updatedOn;
+    }
+}
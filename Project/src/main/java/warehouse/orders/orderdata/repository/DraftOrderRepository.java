@@ -0,0 +1,51 @@
+package warehouse.orders.orderdata.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import warehouse.orders.orderdata.model.DraftOrderEntity;
+import warehouse.orders.orderdata.store.DraftOrder;
+
+import javax.transaction.Transactional;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface DraftOrderRepository extends JpaRepository<DraftOrderEntity, String> {
+
+    //projection rather than the entity, so a retry after a lost update never sees a stale copy from the open session
+    @Query("SELECT new warehouse.orders.orderdata.store.DraftOrder(d.payload, d.version, d.updatedOn)" +
+            " FROM DraftOrderEntity d WHERE d.id = :id")
+    Optional<DraftOrder> findDraftById(@Param("id") String id);
+
+    //plain insert, so a draft created concurrently on another node fails on the primary key instead of being overwritten,
+    //in its own transaction so that failure never marks a caller's transaction rollback-only
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    @Modifying
+    @Query(value = "INSERT INTO draft_orders (id, payload, payload_size, version, updated_on)" +
+            " VALUES (:id, :payload, :payloadSize, 1, :updatedOn)", nativeQuery = true)
+    int insert(@Param("id") String id, @Param("payload") byte[] payload,
+               @Param("payloadSize") int payloadSize, @Param("updatedOn") LocalDateTime updatedOn);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE DraftOrderEntity d SET d.payload = :payload, d.payloadSize = :payloadSize," +
+            " d.version = d.version + 1, d.updatedOn = :updatedOn WHERE d.id = :id AND d.version = :version")
+    int compareAndSet(@Param("id") String id, @Param("payload") byte[] payload, @Param("payloadSize") int payloadSize,
+                      @Param("updatedOn") LocalDateTime updatedOn, @Param("version") long version);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM DraftOrderEntity d WHERE d.id = :id")
+    int deleteByKey(@Param("id") String id);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM DraftOrderEntity d WHERE d.updatedOn < :idleSince")
+    int deleteIdleSince(@Param("idleSince") LocalDateTime idleSince);
+
+    @Query("SELECT COALESCE(SUM(d.payloadSize), 0) FROM DraftOrderEntity d")
+    long sumPayloadSize();
+}
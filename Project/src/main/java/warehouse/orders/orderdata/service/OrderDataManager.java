@@ -1,54 +1,166 @@
 package warehouse.orders.orderdata.service;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 import warehouse.orders.orderdata.OrderData;
-
-import javax.servlet.http.HttpSession;
-
+import warehouse.orders.orderdata.OrderDataCodec;
+import warehouse.orders.orderdata.store.DraftOrder;
+import warehouse.orders.orderdata.store.DraftOrderStore;
+
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Draft orders of the current user, kept in the {@link DraftOrderStore} under "slot:username".
+ * A loaded draft is cached as a request attribute of the same name, which is what the order pages render.
+ * Unlike the session attributes they replace, drafts follow the user rather than the session: every login of the
+ * same user, on any node or after a restart, works on one shared draft per slot until it is saved or cancelled.
+ */
 @Service
 public class OrderDataManager {
 
-    public OrderData getOrderData(HttpSession session){
+    public static final String ORDER_DATA = "orderData";
+    public static final String EDIT_ORDER_DATA = "editOrderData";
 
-        OrderData orderData = (OrderData) session.getAttribute("orderData");
+    private static final int MAX_ATTEMPTS = 5;
 
-        if(orderData == null){
-            orderData = new OrderData();
-            setOrderData(session, orderData);
-        }
+    private final DraftOrderStore draftOrderStore;
+    private final Counter conflictCounter;
+    private final DistributionSummary payloadSummary;
 
-        return orderData;
+    @Autowired
+    public OrderDataManager(DraftOrderStore draftOrderStore, MeterRegistry meterRegistry) {
+        this.draftOrderStore = draftOrderStore;
+        this.conflictCounter = meterRegistry.counter("warehouse.orders.drafts.conflicts");
+        this.payloadSummary = DistributionSummary.builder("warehouse.orders.drafts.payload")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public OrderData getOrderData() {
+        return this.get(ORDER_DATA);
+    }
+
+    public Optional<OrderData> findOrderData() {
+        return this.find(ORDER_DATA);
+    }
+
+    public void setOrderData(OrderData orderData) {
+        this.update(ORDER_DATA, orderData, null);
     }
 
+    public OrderData updateOrderData(Consumer<OrderData> change) {
+        return this.update(ORDER_DATA, null, change);
+    }
 
+    public void removeOrderData() {
+        this.remove(ORDER_DATA);
+    }
 
-    public void setOrderData(HttpSession session, OrderData orderData){
-        session.setAttribute("orderData", orderData);
+    public OrderData getEditOrderData() {
+        return this.get(EDIT_ORDER_DATA);
     }
 
-    public void removeOrderData(HttpSession session){
-        session.removeAttribute("orderData");
+    public Optional<OrderData> findEditOrderData() {
+        return this.find(EDIT_ORDER_DATA);
     }
 
+    public void setEditOrderData(OrderData orderData) {
+        this.update(EDIT_ORDER_DATA, orderData, null);
+    }
+
+    public OrderData updateEditOrderData(Consumer<OrderData> change) {
+        return this.update(EDIT_ORDER_DATA, null, change);
+    }
 
+    public void removeEditOrderData() {
+        this.remove(EDIT_ORDER_DATA);
+    }
 
-    public OrderData getEditOrderData(HttpSession session){
+    private OrderData get(String slot) {
+        return this.find(slot).orElseGet(() -> {
+            OrderData orderData = new OrderData();
+            this.cache(slot, orderData);
+            return orderData;
+        });
+    }
 
-        OrderData orderData = (OrderData) session.getAttribute("editOrderData");
+    private Optional<OrderData> find(String slot) {
 
-        if(orderData == null){
-            orderData = new OrderData();
-            setEditOrderData(session, orderData);
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes != null && requestAttributes.getAttribute(slot, RequestAttributes.SCOPE_REQUEST) != null) {
+            return Optional.of((OrderData) requestAttributes.getAttribute(slot, RequestAttributes.SCOPE_REQUEST));
         }
 
+        Optional<OrderData> orderData = this.draftOrderStore.find(this.getKey(slot))
+                .map(d -> OrderDataCodec.decode(d.getPayload()));
+        orderData.ifPresent(o -> this.cache(slot, o));
+
         return orderData;
     }
 
-    public void setEditOrderData(HttpSession session, OrderData orderData){
-        session.setAttribute("editOrderData", orderData);
+    //either writes the given draft or applies the change to the stored one, retrying when another request got there first
+    private OrderData update(String slot, OrderData replacement, Consumer<OrderData> change) {
+
+        String key = this.getKey(slot);
+
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+
+            Optional<DraftOrder> current = this.draftOrderStore.find(key);
+            OrderData orderData = replacement;
+
+            if (change != null) {
+                orderData = current.map(d -> OrderDataCodec.decode(d.getPayload())).orElseGet(OrderData::new);
+                change.accept(orderData);
+            }
+
+            byte[] payload = OrderDataCodec.encode(orderData);
+            long version = current.map(DraftOrder::getVersion).orElse(DraftOrder.NEW_VERSION);
+
+            if (this.draftOrderStore.save(key, payload, version)) {
+                this.payloadSummary.record(payload.length);
+                this.cache(slot, orderData);
+                return orderData;
+            }
+
+            this.conflictCounter.increment();
+        }
+
+        throw new IllegalStateException(String.format("Draft order %s is being changed concurrently", key));
     }
 
-    public void removeEditOrderData(HttpSession session){
-        session.removeAttribute("editOrderData");
+    private void remove(String slot) {
+
+        this.draftOrderStore.remove(this.getKey(slot));
+
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes != null) {
+            requestAttributes.removeAttribute(slot, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    private void cache(String slot, OrderData orderData) {
+
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes != null) {
+            requestAttributes.setAttribute(slot, orderData, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    private String getKey(String slot) {
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            throw new IllegalStateException("Draft orders need an authenticated user");
+        }
+
+        return slot + ":" + authentication.getName();
     }
 }
@@ -0,0 +1,30 @@
+package warehouse.orders.orderdata.store;
+
+import java.time.LocalDateTime;
+
+public class DraftOrder {
+
+    public static final long NEW_VERSION = 0L;
+
+    private final byte[] payload;
+    private final long version;
+    private final LocalDateTime updatedOn;
+
+    public DraftOrder(byte[] payload, long version, LocalDateTime updatedOn) {
+        this.payload = payload;
+        this.version = version;
+        this.updatedOn = updatedOn;
+    }
+
+    public byte[] getPayload() {
+        return payload;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public LocalDateTime getUpdatedOn() {
+        return updatedOn;
+    }
+}
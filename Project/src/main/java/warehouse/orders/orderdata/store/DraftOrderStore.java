@@ -0,0 +1,23 @@
+package warehouse.orders.orderdata.store;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Keeps serialized draft orders outside the HTTP session so any node can serve the next request.
+ * Writes are conditional on the version that was read, {@link DraftOrder#NEW_VERSION} for a draft that does not exist yet.
+ */
+public interface DraftOrderStore {
+
+    Optional<DraftOrder> find(String key);
+
+    boolean save(String key, byte[] payload, long expectedVersion);
+
+    void remove(String key);
+
+    int evictIdleSince(LocalDateTime idleSince);
+
+    long count();
+
+    long sizeInBytes();
+}
@@ -0,0 +1,66 @@
+package warehouse.orders.orderdata.store.impl;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import warehouse.orders.orderdata.repository.DraftOrderRepository;
+import warehouse.orders.orderdata.store.DraftOrder;
+import warehouse.orders.orderdata.store.DraftOrderStore;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Component
+@ConditionalOnProperty(name = "orders.drafts.store", havingValue = "database", matchIfMissing = true)
+public class DatabaseDraftOrderStore implements DraftOrderStore {
+
+    private final DraftOrderRepository draftOrderRepository;
+
+    @Autowired
+    public DatabaseDraftOrderStore(DraftOrderRepository draftOrderRepository) {
+        this.draftOrderRepository = draftOrderRepository;
+    }
+
+    @Override
+    public Optional<DraftOrder> find(String key) {
+
+        return this.draftOrderRepository.findDraftById(key);
+    }
+
+    @Override
+    public boolean save(String key, byte[] payload, long expectedVersion) {
+
+        LocalDateTime now = LocalDateTime.now();
+
+        if (expectedVersion != DraftOrder.NEW_VERSION) {
+            return this.draftOrderRepository.compareAndSet(key, payload, payload.length, now, expectedVersion) == 1;
+        }
+
+        try {
+            return this.draftOrderRepository.insert(key, payload, payload.length, now) == 1;
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void remove(String key) {
+        this.draftOrderRepository.deleteByKey(key);
+    }
+
+    @Override
+    public int evictIdleSince(LocalDateTime idleSince) {
+        return this.draftOrderRepository.deleteIdleSince(idleSince);
+    }
+
+    @Override
+    public long count() {
+        return this.draftOrderRepository.count();
+    }
+
+    @Override
+    public long sizeInBytes() {
+        return this.draftOrderRepository.sumPayloadSize();
+    }
+}
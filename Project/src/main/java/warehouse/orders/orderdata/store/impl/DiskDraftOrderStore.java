@@ -0,0 +1,194 @@
+package warehouse.orders.orderdata.store.impl;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import warehouse.orders.orderdata.store.DraftOrder;
+import warehouse.orders.orderdata.store.DraftOrderStore;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * One file per draft under a local directory, written to a temp file and moved into place.
+ * Survives restarts of a single node; several nodes need the database store or a shared volume.
+ */
+@Component
+@ConditionalOnProperty(name = "orders.drafts.store", havingValue = "disk")
+public class DiskDraftOrderStore implements DraftOrderStore {
+
+    private static final String SUFFIX = ".draft";
+    private static final int LOCK_STRIPES = 64;
+
+    private final Path directory;
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    public DiskDraftOrderStore(@Value("${orders.drafts.disk.directory:${java.io.tmpdir}/warehouse-drafts}") String directory) {
+
+        this.directory = Paths.get(directory);
+        Arrays.setAll(this.locks, i -> new Object());
+
+        try {
+            Files.createDirectories(this.directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public Optional<DraftOrder> find(String key) {
+
+        Path path = this.getPath(key);
+
+        synchronized (this.getLock(key)) {
+            return this.read(path);
+        }
+    }
+
+    @Override
+    public boolean save(String key, byte[] payload, long expectedVersion) {
+
+        Path path = this.getPath(key);
+
+        synchronized (this.getLock(key)) {
+
+            long version = this.read(path).map(DraftOrder::getVersion).orElse(DraftOrder.NEW_VERSION);
+            if (version != expectedVersion) {
+                return false;
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES + payload.length);
+            buffer.putLong(version + 1).put(payload);
+
+            Path temp = null;
+            try {
+                temp = Files.createTempFile(this.directory, "draft", ".tmp");
+                Files.write(temp, buffer.array());
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                //a failed write or move would otherwise leave the temp file behind, the eviction only lists drafts
+                this.deleteQuietly(temp, e);
+                throw new UncheckedIOException(e);
+            }
+
+            return true;
+        }
+    }
+
+    @Override
+    public void remove(String key) {
+
+        synchronized (this.getLock(key)) {
+            try {
+                Files.deleteIfExists(this.getPath(key));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    @Override
+    public int evictIdleSince(LocalDateTime idleSince) {
+
+        FileTime threshold = FileTime.from(idleSince.atZone(ZoneId.systemDefault()).toInstant());
+        int evicted = 0;
+
+        try (Stream<Path> paths = this.list()) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                String key = this.getKey(path);
+                synchronized (this.getLock(key)) {
+                    if (Files.exists(path) && Files.getLastModifiedTime(path).compareTo(threshold) < 0) {
+                        Files.delete(path);
+                        evicted++;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return evicted;
+    }
+
+    @Override
+    public long count() {
+
+        try (Stream<Path> paths = this.list()) {
+            return paths.count();
+        }
+    }
+
+    @Override
+    public long sizeInBytes() {
+
+        try (Stream<Path> paths = this.list()) {
+            return paths.mapToLong(p -> p.toFile().length()).sum();
+        }
+    }
+
+    private Optional<DraftOrder> read(Path path) {
+
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+            long version = buffer.getLong();
+            byte[] payload = new byte[buffer.remaining()];
+            buffer.get(payload);
+            LocalDateTime updatedOn = LocalDateTime.ofInstant(Files.getLastModifiedTime(path).toInstant(), ZoneId.systemDefault());
+
+            return Optional.of(new DraftOrder(payload, version, updatedOn));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void deleteQuietly(Path temp, IOException cause) {
+
+        if (temp == null) {
+            return;
+        }
+
+        try {
+            Files.deleteIfExists(temp);
+        } catch (IOException e) {
+            cause.addSuppressed(e);
+        }
+    }
+
+    private Stream<Path> list() {
+
+        try {
+            return Files.list(this.directory).filter(p -> p.getFileName().toString().endsWith(SUFFIX));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Path getPath(String key) {
+
+        String fileName = Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+        return this.directory.resolve(fileName + SUFFIX);
+    }
+
+    private String getKey(Path path) {
+
+        String fileName = path.getFileName().toString();
+        byte[] key = Base64.getUrlDecoder().decode(fileName.substring(0, fileName.length() - SUFFIX.length()));
+        return new String(key, StandardCharsets.UTF_8);
+    }
+
+    private Object getLock(String key) {
+        return this.locks[Math.floorMod(key.hashCode(), LOCK_STRIPES)];
+    }
+}
@@ -0,0 +1,11 @@
+package warehouse.orders.repository;
+
+import warehouse.orders.model.OrderEntity;
+import warehouse.orders.model.OrderKeysetSort;
+
+import java.util.List;
+
+public interface OrderKeysetRepository {
+
+    List<OrderEntity> findKeysetPage(OrderKeysetSort sort, boolean ascending, Comparable<?> lastValue, Long lastId, int limit);
+}
@@ -0,0 +1,50 @@
+package warehouse.orders.repository;
+
+import warehouse.orders.model.OrderEntity;
+import warehouse.orders.model.OrderKeysetSort;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.*;
+import java.util.List;
+
+public class OrderKeysetRepositoryImpl implements OrderKeysetRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public List<OrderEntity> findKeysetPage(OrderKeysetSort sort, boolean ascending, Comparable<?> lastValue, Long lastId, int limit) {
+
+        CriteriaBuilder criteriaBuilder = this.entityManager.getCriteriaBuilder();
+        CriteriaQuery<OrderEntity> query = criteriaBuilder.createQuery(OrderEntity.class);
+        Root<OrderEntity> order = query.from(OrderEntity.class);
+
+        Path<Comparable> key = order.get(sort.getProperty());
+        Path<Long> id = order.get("id");
+        Comparable value = lastValue;
+
+        Predicate predicate = criteriaBuilder.isFalse(order.get("deleted"));
+
+        if (value != null) {
+            Predicate seek = ascending
+                    ? criteriaBuilder.or(criteriaBuilder.greaterThan(key, value),
+                    criteriaBuilder.and(criteriaBuilder.equal(key, value), criteriaBuilder.greaterThan(id, lastId)))
+                    : criteriaBuilder.or(criteriaBuilder.lessThan(key, value),
+                    criteriaBuilder.and(criteriaBuilder.equal(key, value), criteriaBuilder.lessThan(id, lastId)));
+            predicate = criteriaBuilder.and(predicate, seek);
+        }
+
+        query.select(order)
+                .where(predicate)
+                .orderBy(ascending
+                        ? List.of(criteriaBuilder.asc(key), criteriaBuilder.asc(id))
+                        : List.of(criteriaBuilder.desc(key), criteriaBuilder.desc(id)));
+
+        return this.entityManager.createQuery(query)
+                .setHint("javax.persistence.fetchgraph", this.entityManager.getEntityGraph("Order.customer"))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
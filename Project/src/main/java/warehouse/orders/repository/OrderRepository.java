@@ -2,47 +2,139 @@ package warehouse.orders.repository;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import warehouse.orders.export.model.ArchivedOrderLineRow;
 import warehouse.orders.model.OrderEntity;
+import warehouse.orders.model.OrderStatusCountView;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 @Repository
-public interface OrderRepository extends JpaRepository<OrderEntity, Long> {
+public interface OrderRepository extends JpaRepository<OrderEntity, Long>, OrderKeysetRepository {
+
+    @Override
+    @EntityGraph("Order.detail")
+    Optional<OrderEntity> findById(Long id);
 
+    @EntityGraph("Order.detail")
+    List<OrderEntity> findDistinctByIdInOrderByIdAsc(Collection<Long> ids);
+
+    @EntityGraph("Order.customer")
     Page<OrderEntity> findAllByDeletedFalse(Pageable pageable);
 
-    List<OrderEntity> findAllByUpdatedOnBeforeAndClosedFalseAndArchivesFalseAndDeletedFalse(LocalDateTime upTo);
+    long countByDeletedFalse();
+
+    @EntityGraph("Order.customer")
+    @Query("SELECT o FROM OrderEntity o JOIN o.customer c WHERE o.deleted = false" +
+            " AND lower(concat(c.companyName, ' ', c.personName, ' ', c.email)) LIKE :pattern")
+    Page<OrderEntity> search(@Param("pattern") String pattern, Pageable pageable);
 
-    @Query("SELECT o FROM OrderEntity o WHERE o.deleted = false AND CONCAT(concat(o.createdOn, ''), concat(o.updatedOn, ''), lower(o.customer.companyName), lower(o.customer.personName)," +
-            " concat(o.total, '')) LIKE lower(concat('%', ?1,'%'))")
-    Page<OrderEntity> search(String keyword, Pageable pageable);
+    @EntityGraph("Order.customer")
+    @Query(value = "SELECT o FROM OrderEntity o JOIN o.customer c WHERE o.deleted = false" +
+            " AND lower(concat(c.companyName, ' ', c.personName, ' ', c.email)) LIKE :pattern" +
+            " ORDER BY CASE WHEN lower(c.companyName) LIKE :prefix THEN 0" +
+            " WHEN lower(c.personName) LIKE :prefix THEN 1 ELSE 2 END, o.updatedOn DESC",
+            countQuery = "SELECT COUNT(o) FROM OrderEntity o JOIN o.customer c WHERE o.deleted = false" +
+                    " AND lower(concat(c.companyName, ' ', c.personName, ' ', c.email)) LIKE :pattern")
+    Page<OrderEntity> searchByRelevance(@Param("pattern") String pattern, @Param("prefix") String prefix,
+                                        Pageable pageable);
 
+    @EntityGraph("Order.customer")
     @Query("SELECT o FROM OrderEntity o WHERE o.closed = false AND o.archives = false AND o.deleted = false AND o.createdOn < o.updatedOn ORDER BY o.updatedOn DESC")
     Page<OrderEntity> findAllOrderByUpdatedOnDesc(Pageable pageable);
 
+    @EntityGraph("Order.customer")
     @Query("SELECT o FROM OrderEntity o WHERE o.closed = true AND o.archives = false AND o.deleted = false ORDER BY o.updatedOn DESC")
     Page<OrderEntity> findAllCompletedOrdersByUpdatedOnDesc(Pageable pageable);
 
+    @EntityGraph("Order.customer")
     @Query("SELECT o FROM OrderEntity o WHERE o.closed = false AND o.archives = false  AND o.deleted = false ORDER BY o.createdOn DESC")
     Page<OrderEntity> findAllOrdersByCreatedOnDesc(Pageable pageable);
 
-    List<OrderEntity> findAllByCreatedOnBetweenAndClosedFalseAndArchivesFalseAndDeletedFalse(LocalDateTime dateFrom, LocalDateTime dateTo);
-
-    List<OrderEntity> findAllByUpdatedOnBetweenAndClosedTrueAndArchivesFalse(LocalDateTime dateFrom, LocalDateTime dateTo);
-
-    List<OrderEntity> findAllByUpdatedOnBetweenAndClosedTrueAndArchivesTrue(LocalDateTime dateFrom, LocalDateTime dateTo);
-
-    List<OrderEntity> findAllByUpdatedOnBetweenAndArchivesTrueOrderByUpdatedOnAsc(LocalDateTime weekStart, LocalDateTime weekEnd);
+    @Query("SELECT" +
+            " SUM(CASE WHEN o.createdOn BETWEEN :dateFrom AND :dateTo AND o.closed = false AND o.archives = false" +
+            " AND o.deleted = false THEN 1 ELSE 0 END) AS created," +
+            " SUM(CASE WHEN o.updatedOn BETWEEN :dateFrom AND :dateTo AND o.closed = true AND o.archives = false" +
+            " THEN 1 ELSE 0 END) AS completed," +
+            " SUM(CASE WHEN o.updatedOn BETWEEN :dateFrom AND :dateTo AND o.closed = true AND o.archives = true" +
+            " THEN 1 ELSE 0 END) AS archived" +
+            " FROM OrderEntity o" +
+            " WHERE o.createdOn BETWEEN :dateFrom AND :dateTo OR o.updatedOn BETWEEN :dateFrom AND :dateTo")
+    OrderStatusCountView countByStatusBetween(@Param("dateFrom") LocalDateTime dateFrom, @Param("dateTo") LocalDateTime dateTo);
+
+    @Query("SELECT CAST(o.updatedOn AS date), SUM(o.total), MAX(o.updatedOn) FROM OrderEntity o WHERE o.archives = true" +
+            " GROUP BY CAST(o.updatedOn AS date) ORDER BY CAST(o.updatedOn AS date)")
+    List<Object[]> sumArchivedTurnoverByDay();
 
     List<OrderEntity> findAllByArchivesTrueOrderByUpdatedOnAsc();
 
-    List<OrderEntity> findAllByOrderByCreatedOnAsc();
+    //flat rows instead of entities, so nothing is kept in the persistence context while the cursor is walked
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query("SELECT new warehouse.orders.export.model.ArchivedOrderLineRow(o.id, o.createdOn, o.updatedOn, c.id, c.companyName," +
+            " o.total, l.id, i.id, i.name, l.quantity, l.subtotal)" +
+            " FROM OrderEntity o JOIN o.customer c LEFT JOIN o.orderLineEntities l LEFT JOIN l.item i" +
+            " WHERE o.archives = true AND o.deleted = false AND o.updatedOn >= :from AND o.updatedOn < :to" +
+            " ORDER BY o.id, l.id")
+    Stream<ArchivedOrderLineRow> streamArchivedOrderLines(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("SELECT MIN(o.createdOn) FROM OrderEntity o")
+    LocalDateTime findFirstCreatedOn();
+
+    @Query("SELECT MIN(o.updatedOn) FROM OrderEntity o WHERE o.archives = true")
+    LocalDateTime findFirstArchivedOn();
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE OrderEntity o SET o.closed = true, o.updatedOn = :updatedOn" +
+            " WHERE o.id = :id AND o.closed = false AND o.archives = false AND o.deleted = false")
+    int markAsCompleted(@Param("id") Long id, @Param("updatedOn") LocalDateTime updatedOn);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE OrderEntity o SET o.closed = false, o.updatedOn = :updatedOn" +
+            " WHERE o.id = :id AND o.closed = true AND o.archives = false AND o.deleted = false")
+    int markAsIncomplete(@Param("id") Long id, @Param("updatedOn") LocalDateTime updatedOn);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE OrderEntity o SET o.archives = true, o.updatedOn = :updatedOn" +
+            " WHERE o.id = :id AND o.closed = true AND o.archives = false AND o.deleted = false")
+    int markAsArchived(@Param("id") Long id, @Param("updatedOn") LocalDateTime updatedOn);
+
+    @Query("SELECT o.id FROM OrderEntity o WHERE o.updatedOn < :upTo AND o.closed = false AND o.archives = false" +
+            " AND o.deleted = false AND o.id > :lastId ORDER BY o.id ASC")
+    List<Long> findStaleOrderIds(@Param("upTo") LocalDateTime upTo, @Param("lastId") Long lastId, Pageable pageable);
+
+    //no fetch graph, PostgreSQL refuses FOR UPDATE on the nullable side of the outer join to the lines
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM OrderEntity o WHERE o.id = :id")
+    Optional<OrderEntity> findAndLockById(@Param("id") Long id);
+
+    //claims the candidates, an order deleted or edited concurrently is either waited for or no longer matches
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM OrderEntity o WHERE o.id IN :ids AND o.updatedOn < :upTo" +
+            " AND o.closed = false AND o.archives = false AND o.deleted = false ORDER BY o.id ASC")
+    List<OrderEntity> lockStaleOrders(@Param("ids") List<Long> ids, @Param("upTo") LocalDateTime upTo);
+
+    @Modifying
+    @Query("UPDATE OrderEntity o SET o.deleted = true WHERE o.id IN :ids AND o.updatedOn < :upTo" +
+            " AND o.closed = false AND o.archives = false AND o.deleted = false")
+    int markStaleAsDeleted(@Param("ids") List<Long> ids, @Param("upTo") LocalDateTime upTo);
 
 }
@@ -0,0 +1,43 @@
+package warehouse.orders.sales.model;
+
+import javax.persistence.Column;
+import javax.persistence.MappedSuperclass;
+import java.math.BigDecimal;
+
+/**
+ * Totals of the orders archived on one day, kept up to date when an order is archived.
+ */
+@MappedSuperclass
+public abstract class BaseDailySalesEntity {
+
+    private long quantity;
+    private BigDecimal turnover;
+    private long ordersCount;
+
+    @Column(name = "quantity", nullable = false)
+    public long getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(long quantity) {
+        this.quantity = quantity;
+    }
+
+    @Column(name = "turnover", nullable = false, precision = 19, scale = 2)
+    public BigDecimal getTurnover() {
+        return turnover;
+    }
+
+    public void setTurnover(BigDecimal turnover) {
+        this.turnover = turnover;
+    }
+
+    @Column(name = "orders_count", nullable = false)
+    public long getOrdersCount() {
+        return ordersCount;
+    }
+
+    public void setOrdersCount(long ordersCount) {
+        this.ordersCount = ordersCount;
+    }
+}
@@ -0,0 +1,47 @@
+package warehouse.orders.sales.model;
+
+import warehouse.customers.model.CustomerEntity;
+
+import javax.persistence.*;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "daily_customer_sales")
+@IdClass(DailyCustomerSalesId.class)
+public class DailyCustomerSalesEntity extends BaseDailySalesEntity {
+
+    private LocalDate saleDate;
+    private Long customerId;
+    private CustomerEntity customer;
+
+    @Id
+    @Column(name = "sale_date")
+    public LocalDate getSaleDate() {
+        return saleDate;
+    }
+
+    public void setSaleDate(LocalDate saleDate) {
+        this.saleDate = saleDate;
+    }
+
+    @Id
+    @Column(name = "customer_id")
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(Long customerId) {
+        this.customerId = customerId;
+    }
+
+    //read only, the rows are written over JDBC by DailySalesUpsertRepositoryImpl and by the rebuild statements of the repository
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "customer_id", referencedColumnName = "id", insertable = false, updatable = false)
+    public CustomerEntity getCustomer() {
+        return customer;
+    }
+
+    public void setCustomer(CustomerEntity customer) {
+        this.customer = customer;
+    }
+}
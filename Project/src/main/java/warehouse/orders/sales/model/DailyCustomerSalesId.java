@@ -0,0 +1,52 @@
+package warehouse.orders.sales.model;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+public class DailyCustomerSalesId implements Serializable {
+
+    private LocalDate saleDate;
+    private Long customerId;
+
+    public DailyCustomerSalesId() {
+    }
+
+    public DailyCustomerSalesId(LocalDate saleDate, Long customerId) {
+        this.saleDate = saleDate;
+        this.customerId = customerId;
+    }
+
+    public LocalDate getSaleDate() {
+        return saleDate;
+    }
+
+    public void setSaleDate(LocalDate saleDate) {
+        this.saleDate = saleDate;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(Long customerId) {
+        this.customerId = customerId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof DailyCustomerSalesId)) {
+            return false;
+        }
+        DailyCustomerSalesId that = (DailyCustomerSalesId) o;
+        return Objects.equals(saleDate, that.saleDate) && Objects.equals(customerId, that.customerId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(saleDate, customerId);
+    }
+}
@@ -0,0 +1,47 @@
+package warehouse.orders.sales.model;
+
+import warehouse.items.model.ItemEntity;
+
+import javax.persistence.*;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "daily_item_sales")
+@IdClass(DailyItemSalesId.class)
+public class DailyItemSalesEntity extends BaseDailySalesEntity {
+
+    private LocalDate saleDate;
+    private Long itemId;
+    private ItemEntity item;
+
+    @Id
+    @Column(name = "sale_date")
+    public LocalDate getSaleDate() {
+        return saleDate;
+    }
+
+    public void setSaleDate(LocalDate saleDate) {
+        this.saleDate = saleDate;
+    }
+
+    @Id
+    @Column(name = "item_id")
+    public Long getItemId() {
+        return itemId;
+    }
+
+    public void setItemId(Long itemId) {
+        this.itemId = itemId;
+    }
+
+    //read only, the rows are written over JDBC by DailySalesUpsertRepositoryImpl and by the rebuild statements of the repository
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "item_id", referencedColumnName = "id", insertable = false, updatable = false)
+    public ItemEntity getItem() {
+        return item;
+    }
+
+    public void setItem(ItemEntity item) {
+        this.item = item;
+    }
+}
@@ -0,0 +1,52 @@
+package warehouse.orders.sales.model;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+public class DailyItemSalesId implements Serializable {
+
+    private LocalDate saleDate;
+    private Long itemId;
+
+    public DailyItemSalesId() {
+    }
+
+    public DailyItemSalesId(LocalDate saleDate, Long itemId) {
+        this.saleDate = saleDate;
+        this.itemId = itemId;
+    }
+
+    public LocalDate getSaleDate() {
+        return saleDate;
+    }
+
+    public void setSaleDate(LocalDate saleDate) {
+        this.saleDate = saleDate;
+    }
+
+    public Long getItemId() {
+        return itemId;
+    }
+
+    public void setItemId(Long itemId) {
+        this.itemId = itemId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof DailyItemSalesId)) {
+            return false;
+        }
+        DailyItemSalesId that = (DailyItemSalesId) o;
+        return Objects.equals(saleDate, that.saleDate) && Objects.equals(itemId, that.itemId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(saleDate, itemId);
+    }
+}
@@ -0,0 +1,47 @@
+package warehouse.orders.sales.model;
+
+import warehouse.suppliers.model.SupplierEntity;
+
+import javax.persistence.*;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "daily_supplier_sales")
+@IdClass(DailySupplierSalesId.class)
+public class DailySupplierSalesEntity extends BaseDailySalesEntity {
+
+    private LocalDate saleDate;
+    private Long supplierId;
+    private SupplierEntity supplier;
+
+    @Id
+    @Column(name = "sale_date")
+    public LocalDate getSaleDate() {
+        return saleDate;
+    }
+
+    public void setSaleDate(LocalDate saleDate) {
+        this.saleDate = saleDate;
+    }
+
+    @Id
+    @Column(name = "supplier_id")
+    public Long getSupplierId() {
+        return supplierId;
+    }
+
+    public void setSupplierId(Long supplierId) {
+        this.supplierId = supplierId;
+    }
+
+    //read only, the rows are written over JDBC by DailySalesUpsertRepositoryImpl and by the rebuild statements of the repository
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "supplier_id", referencedColumnName = "id", insertable = false, updatable = false)
+    public SupplierEntity getSupplier() {
+        return supplier;
+    }
+
+    public void setSupplier(SupplierEntity supplier) {
+        this.supplier = supplier;
+    }
+}
@@ -0,0 +1,52 @@
+package warehouse.orders.sales.model;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+public class DailySupplierSalesId implements Serializable {
+
+    private LocalDate saleDate;
+    private Long supplierId;
+
+    public DailySupplierSalesId() {
+    }
+
+    public DailySupplierSalesId(LocalDate saleDate, Long supplierId) {
+        this.saleDate = saleDate;
+        this.supplierId = supplierId;
+    }
+
+    public LocalDate getSaleDate() {
+        return saleDate;
+    }
+
+    public void setSaleDate(LocalDate saleDate) {
+        this.saleDate = saleDate;
+    }
+
+    public Long getSupplierId() {
+        return supplierId;
+    }
+
+    public void setSupplierId(Long supplierId) {
+        this.supplierId = supplierId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof DailySupplierSalesId)) {
+            return false;
+        }
+        DailySupplierSalesId that = (DailySupplierSalesId) o;
+        return Objects.equals(saleDate, that.saleDate) && Objects.equals(supplierId, that.supplierId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(saleDate, supplierId);
+    }
+}
@@ -0,0 +1,43 @@
+package warehouse.orders.sales.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import warehouse.orders.sales.model.DailyCustomerSalesEntity;
+import warehouse.orders.sales.model.DailyCustomerSalesId;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailyCustomerSalesRepository extends JpaRepository<DailyCustomerSalesEntity, DailyCustomerSalesId> {
+
+    @Modifying
+    @Query(value = "INSERT INTO daily_customer_sales (sale_date, customer_id, quantity, turnover, orders_count)" +
+            " SELECT CAST(o.updated_on AS date), o.customer_id, COALESCE(SUM(ol.quantity), 0), COALESCE(SUM(ol.subtotal), 0)," +
+            " COUNT(DISTINCT o.id)" +
+            " FROM orders o JOIN order_lines ol ON ol.order_id = o.id" +
+            " WHERE o.is_archives = true" +
+            " GROUP BY CAST(o.updated_on AS date), o.customer_id", nativeQuery = true)
+    int insertFromArchivedOrders();
+
+    @Modifying
+    @Query("DELETE FROM DailyCustomerSalesEntity f")
+    int deleteAllFacts();
+
+    @Query("select c.companyName as company_name," +
+            " c.personName as person_name," +
+            " sum(f.turnover) as turnover," +
+            " sum(f.ordersCount) as orders_count," +
+            " sum(f.quantity) as items_count from DailyCustomerSalesEntity as f" +
+            " join f.customer as c" +
+            " join c.addressEntity as a" +
+            " where f.saleDate between :fromDate and :toDate" +
+            " and concat(lower(c.companyName), lower(c.personName), lower(c.email)," +
+            " lower(a.region),lower(a.city), lower(a.street), lower(a.phone)) LIKE lower(concat('%', :keyword,'%'))" +
+            " group by c.id order by c.companyName, c.personName, turnover desc")
+    List<Object[]> findCustomerTurnover(@Param("fromDate") LocalDate fromDate, @Param("toDate") LocalDate toDate, @Param("keyword") String keyword, Pageable pageable);
+}
@@ -0,0 +1,37 @@
+package warehouse.orders.sales.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import warehouse.orders.sales.model.DailyItemSalesEntity;
+import warehouse.orders.sales.model.DailyItemSalesId;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailyItemSalesRepository extends JpaRepository<DailyItemSalesEntity, DailyItemSalesId> {
+
+    @Modifying
+    @Query(value = "INSERT INTO daily_item_sales (sale_date, item_id, quantity, turnover, orders_count)" +
+            " SELECT CAST(o.updated_on AS date), ol.item_id, COALESCE(SUM(ol.quantity), 0), COALESCE(SUM(ol.subtotal), 0)," +
+            " COUNT(DISTINCT o.id)" +
+            " FROM orders o JOIN order_lines ol ON ol.order_id = o.id" +
+            " WHERE o.is_archives = true" +
+            " GROUP BY CAST(o.updated_on AS date), ol.item_id", nativeQuery = true)
+    int insertFromArchivedOrders();
+
+    @Modifying
+    @Query("DELETE FROM DailyItemSalesEntity f")
+    int deleteAllFacts();
+
+    @Query("select i.name as name, sum(f.quantity) as quantity, sum(f.turnover) as turnover" +
+            " from DailyItemSalesEntity as f" +
+            " join f.item as i" +
+            " where f.saleDate between :fromDate and :toDate" +
+            " group by i.name order by quantity desc, i.name asc")
+    List<Object[]> findTopItems(@Param("fromDate") LocalDate fromDate, @Param("toDate") LocalDate toDate, Pageable pageable);
+}
@@ -0,0 +1,8 @@
+package warehouse.orders.sales.repository;
+
+import java.time.LocalDate;
+
+public interface DailySalesUpsertRepository {
+
+    void addOrder(Long orderId, LocalDate saleDate);
+}
@@ -0,0 +1,138 @@
+package warehouse.orders.sales.repository;
+
+import org.hibernate.Session;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.time.LocalDate;
+
+@Repository
+public class DailySalesUpsertRepositoryImpl implements DailySalesUpsertRepository {
+
+    private static final String UNIQUE_VIOLATION = "23505";
+    private static final int MAX_ATTEMPTS = 3;
+
+    private static final String LOCK_ITEM_SALES = "SELECT f.item_id FROM daily_item_sales f" +
+            " WHERE f.sale_date = ? AND f.item_id IN (SELECT ol.item_id FROM order_lines ol WHERE ol.order_id = ?)" +
+            " ORDER BY f.item_id FOR UPDATE";
+    private static final String UPDATE_ITEM_SALES = "UPDATE daily_item_sales SET" +
+            " quantity = quantity + (SELECT COALESCE(SUM(ol.quantity), 0) FROM order_lines ol" +
+            " WHERE ol.order_id = ? AND ol.item_id = daily_item_sales.item_id)," +
+            " turnover = turnover + (SELECT COALESCE(SUM(ol.subtotal), 0) FROM order_lines ol" +
+            " WHERE ol.order_id = ? AND ol.item_id = daily_item_sales.item_id)," +
+            " orders_count = orders_count + 1" +
+            " WHERE sale_date = ? AND item_id IN (SELECT ol.item_id FROM order_lines ol WHERE ol.order_id = ?)";
+    private static final String INSERT_ITEM_SALES = "INSERT INTO daily_item_sales (sale_date, item_id, quantity, turnover, orders_count)" +
+            " SELECT ?, ol.item_id, COALESCE(SUM(ol.quantity), 0), COALESCE(SUM(ol.subtotal), 0), 1" +
+            " FROM order_lines ol WHERE ol.order_id = ? AND NOT EXISTS (SELECT 1 FROM daily_item_sales f" +
+            " WHERE f.sale_date = ? AND f.item_id = ol.item_id)" +
+            " GROUP BY ol.item_id ORDER BY ol.item_id";
+
+    private static final String LOCK_SUPPLIER_SALES = "SELECT f.supplier_id FROM daily_supplier_sales f" +
+            " WHERE f.sale_date = ? AND f.supplier_id IN (SELECT i.supplier_id FROM order_lines ol" +
+            " JOIN items i ON i.id = ol.item_id WHERE ol.order_id = ?)" +
+            " ORDER BY f.supplier_id FOR UPDATE";
+    private static final String UPDATE_SUPPLIER_SALES = "UPDATE daily_supplier_sales SET" +
+            " quantity = quantity + (SELECT COALESCE(SUM(ol.quantity), 0) FROM order_lines ol JOIN items i ON i.id = ol.item_id" +
+            " WHERE ol.order_id = ? AND i.supplier_id = daily_supplier_sales.supplier_id)," +
+            " turnover = turnover + (SELECT COALESCE(SUM(ol.subtotal), 0) FROM order_lines ol JOIN items i ON i.id = ol.item_id" +
+            " WHERE ol.order_id = ? AND i.supplier_id = daily_supplier_sales.supplier_id)," +
+            " orders_count = orders_count + 1" +
+            " WHERE sale_date = ? AND supplier_id IN (SELECT i.supplier_id FROM order_lines ol" +
+            " JOIN items i ON i.id = ol.item_id WHERE ol.order_id = ?)";
+    private static final String INSERT_SUPPLIER_SALES = "INSERT INTO daily_supplier_sales (sale_date, supplier_id, quantity, turnover, orders_count)" +
+            " SELECT ?, i.supplier_id, COALESCE(SUM(ol.quantity), 0), COALESCE(SUM(ol.subtotal), 0), 1" +
+            " FROM order_lines ol JOIN items i ON i.id = ol.item_id" +
+            " WHERE ol.order_id = ? AND NOT EXISTS (SELECT 1 FROM daily_supplier_sales f" +
+            " WHERE f.sale_date = ? AND f.supplier_id = i.supplier_id)" +
+            " GROUP BY i.supplier_id ORDER BY i.supplier_id";
+
+    private static final String LOCK_CUSTOMER_SALES = "SELECT f.customer_id FROM daily_customer_sales f" +
+            " WHERE f.sale_date = ? AND f.customer_id = (SELECT o.customer_id FROM orders o WHERE o.id = ?) FOR UPDATE";
+    private static final String UPDATE_CUSTOMER_SALES = "UPDATE daily_customer_sales SET" +
+            " quantity = quantity + (SELECT COALESCE(SUM(ol.quantity), 0) FROM order_lines ol WHERE ol.order_id = ?)," +
+            " turnover = turnover + (SELECT COALESCE(SUM(ol.subtotal), 0) FROM order_lines ol WHERE ol.order_id = ?)," +
+            " orders_count = orders_count + 1" +
+            " WHERE sale_date = ? AND customer_id = (SELECT o.customer_id FROM orders o WHERE o.id = ?)" +
+            " AND EXISTS (SELECT 1 FROM order_lines ol WHERE ol.order_id = ?)";
+    private static final String INSERT_CUSTOMER_SALES = "INSERT INTO daily_customer_sales (sale_date, customer_id, quantity, turnover, orders_count)" +
+            " SELECT ?, o.customer_id, COALESCE(SUM(ol.quantity), 0), COALESCE(SUM(ol.subtotal), 0), 1" +
+            " FROM orders o JOIN order_lines ol ON ol.order_id = o.id" +
+            " WHERE o.id = ? AND NOT EXISTS (SELECT 1 FROM daily_customer_sales f" +
+            " WHERE f.sale_date = ? AND f.customer_id = o.customer_id)" +
+            " GROUP BY o.customer_id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Adds the lines of an order to the daily item, supplier and customer totals of the current transaction.
+     * The rows the day already has are locked in key order and updated, then the missing keys are inserted in key order.
+     * A transaction archiving an order with the same new key at the same moment makes the insert fail on the
+     * primary key; the work is then rolled back to a savepoint and redone, when the update finds the other row.
+     * Plain JDBC, so the failed attempt never marks the caller's transaction rollback-only.
+     */
+    @Override
+    public void addOrder(Long orderId, LocalDate saleDate) {
+
+        Session session = this.entityManager.unwrap(Session.class);
+        session.flush();
+
+        session.doWork(connection -> {
+            for (int attempt = 1; ; attempt++) {
+                Savepoint savepoint = connection.setSavepoint();
+                try {
+                    lock(connection, LOCK_ITEM_SALES, saleDate, orderId);
+                    update(connection, UPDATE_ITEM_SALES, orderId, orderId, saleDate, orderId);
+                    update(connection, INSERT_ITEM_SALES, saleDate, orderId, saleDate);
+
+                    lock(connection, LOCK_SUPPLIER_SALES, saleDate, orderId);
+                    update(connection, UPDATE_SUPPLIER_SALES, orderId, orderId, saleDate, orderId);
+                    update(connection, INSERT_SUPPLIER_SALES, saleDate, orderId, saleDate);
+
+                    lock(connection, LOCK_CUSTOMER_SALES, saleDate, orderId);
+                    update(connection, UPDATE_CUSTOMER_SALES, orderId, orderId, saleDate, orderId, orderId);
+                    update(connection, INSERT_CUSTOMER_SALES, saleDate, orderId, saleDate);
+
+                    connection.releaseSavepoint(savepoint);
+                    return;
+                } catch (SQLException e) {
+                    connection.rollback(savepoint);
+                    if (!UNIQUE_VIOLATION.equals(e.getSQLState()) || attempt == MAX_ATTEMPTS) {
+                        throw e;
+                    }
+                }
+            }
+        });
+    }
+
+    private static void lock(Connection connection, String sql, Object... parameters) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            bind(statement, parameters);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    //the rows are locked as they are read
+                }
+            }
+        }
+    }
+
+    private static void update(Connection connection, String sql, Object... parameters) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            bind(statement, parameters);
+            statement.executeUpdate();
+        }
+    }
+
+    private static void bind(PreparedStatement statement, Object... parameters) throws SQLException {
+        for (int i = 0; i < parameters.length; i++) {
+            statement.setObject(i + 1, parameters[i]);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package warehouse.orders.sales.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import warehouse.orders.sales.model.DailySupplierSalesEntity;
+import warehouse.orders.sales.model.DailySupplierSalesId;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailySupplierSalesRepository extends JpaRepository<DailySupplierSalesEntity, DailySupplierSalesId> {
+
+    @Modifying
+    @Query(value = "INSERT INTO daily_supplier_sales (sale_date, supplier_id, quantity, turnover, orders_count)" +
+            " SELECT CAST(o.updated_on AS date), i.supplier_id, COALESCE(SUM(ol.quantity), 0), COALESCE(SUM(ol.subtotal), 0)," +
+            " COUNT(DISTINCT o.id)" +
+            " FROM orders o JOIN order_lines ol ON ol.order_id = o.id JOIN items i ON i.id = ol.item_id" +
+            " WHERE o.is_archives = true" +
+            " GROUP BY CAST(o.updated_on AS date), i.supplier_id", nativeQuery = true)
+    int insertFromArchivedOrders();
+
+    @Modifying
+    @Query("DELETE FROM DailySupplierSalesEntity f")
+    int deleteAllFacts();
+
+    @Query("select s.name as name, sum(f.turnover) as turnover from DailySupplierSalesEntity as f" +
+            " join f.supplier as s" +
+            " where f.saleDate between :fromDate and :toDate" +
+            " group by s.id" +
+            " order by turnover desc, s.name")
+    List<Object[]> findTopSuppliers(@Param("fromDate") LocalDate fromDate, @Param("toDate") LocalDate toDate, Pageable pageable);
+
+    @Query("select s.name as name, sum(f.turnover) as turnover, sum(f.quantity) as quantity from DailySupplierSalesEntity as f" +
+            " join f.supplier as s" +
+            " join s.addressEntity as a" +
+            " where f.saleDate between :fromDate and :toDate" +
+            " and concat(lower(s.name), lower(s.email), lower(a.region), lower(a.city)," +
+            " lower(a.street), lower(a.phone)) like lower(concat('%', :keyword,'%'))" +
+            " group by s.id" +
+            " order by s.name, turnover desc")
+    List<Object[]> findSupplierTurnover(@Param("fromDate") LocalDate fromDate, @Param("toDate") LocalDate toDate, @Param("keyword") String keyword, Pageable pageable);
+}
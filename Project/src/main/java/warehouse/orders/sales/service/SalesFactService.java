@@ -0,0 +1,24 @@
+package warehouse.orders.sales.service;
+
+import java.time.LocalDate;
+
+public interface SalesFactService {
+
+    /**
+     * Adds the lines of an archived order to the daily item, supplier and customer totals,
+     * meant to run in the transaction that archives the order.
+     */
+    void addArchivedOrder(Long orderId, LocalDate archivedOn);
+
+    /**
+     * Recomputes all daily totals from the archived orders. A maintenance task: an order archived while it runs
+     * can be counted twice or not at all, so it is meant for a repair or an empty database, with archiving stopped.
+     */
+    void rebuild();
+
+    /**
+     * Rebuilds the daily totals of a database that has archived orders from before they existed.
+     * Runs once at startup, before the application reports it is ready for traffic, and does nothing once totals exist.
+     */
+    void backfill();
+}
@@ -0,0 +1,70 @@
+package warehouse.orders.sales.service.impl;
+
+import org.apache.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import warehouse.orders.repository.OrderRepository;
+import warehouse.orders.sales.repository.DailyCustomerSalesRepository;
+import warehouse.orders.sales.repository.DailyItemSalesRepository;
+import warehouse.orders.sales.repository.DailySalesUpsertRepository;
+import warehouse.orders.sales.repository.DailySupplierSalesRepository;
+import warehouse.orders.sales.service.SalesFactService;
+
+import javax.transaction.Transactional;
+import java.time.LocalDate;
+
+@Service
+public class SalesFactServiceImpl implements SalesFactService {
+
+    private static final Logger logger = Logger.getLogger(SalesFactServiceImpl.class);
+
+    private final DailyItemSalesRepository dailyItemSalesRepository;
+    private final DailySupplierSalesRepository dailySupplierSalesRepository;
+    private final DailyCustomerSalesRepository dailyCustomerSalesRepository;
+    private final DailySalesUpsertRepository dailySalesUpsertRepository;
+    private final OrderRepository orderRepository;
+
+    @Autowired
+    public SalesFactServiceImpl(DailyItemSalesRepository dailyItemSalesRepository,
+                                DailySupplierSalesRepository dailySupplierSalesRepository,
+                                DailyCustomerSalesRepository dailyCustomerSalesRepository,
+                                DailySalesUpsertRepository dailySalesUpsertRepository,
+                                OrderRepository orderRepository) {
+        this.dailyItemSalesRepository = dailyItemSalesRepository;
+        this.dailySupplierSalesRepository = dailySupplierSalesRepository;
+        this.dailyCustomerSalesRepository = dailyCustomerSalesRepository;
+        this.dailySalesUpsertRepository = dailySalesUpsertRepository;
+        this.orderRepository = orderRepository;
+    }
+
+    @Override
+    @Transactional
+    public void addArchivedOrder(Long orderId, LocalDate archivedOn) {
+        this.dailySalesUpsertRepository.addOrder(orderId, archivedOn);
+    }
+
+    @Override
+    @Transactional
+    public void rebuild() {
+
+        this.dailyItemSalesRepository.deleteAllFacts();
+        this.dailySupplierSalesRepository.deleteAllFacts();
+        this.dailyCustomerSalesRepository.deleteAllFacts();
+
+        int items = this.dailyItemSalesRepository.insertFromArchivedOrders();
+        int suppliers = this.dailySupplierSalesRepository.insertFromArchivedOrders();
+        int customers = this.dailyCustomerSalesRepository.insertFromArchivedOrders();
+
+        logger.info(String.format("Daily sales rebuilt, %d item, %d supplier and %d customer rows",
+                items, suppliers, customers));
+    }
+
+    @Override
+    @Transactional
+    public void backfill() {
+
+        if (this.dailyCustomerSalesRepository.count() == 0 && this.orderRepository.findFirstArchivedOn() != null) {
+            this.rebuild();
+        }
+    }
+}
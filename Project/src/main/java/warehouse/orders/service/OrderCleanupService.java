@@ -0,0 +1,11 @@
+package warehouse.orders.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OrderCleanupService {
+
+    List<Long> findStaleOrderIds(LocalDateTime upTo, Long lastId, int chunkSize);
+
+    int deleteStaleOrders(List<Long> ids, LocalDateTime upTo);
+}
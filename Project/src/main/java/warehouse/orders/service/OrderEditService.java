@@ -0,0 +1,15 @@
+package warehouse.orders.service;
+
+import org.springframework.validation.annotation.Validated;
+import warehouse.orders.model.OrderAddServiceModel;
+import warehouse.orders.model.OrderChangeSet;
+import warehouse.validated.OnUpdateOrder;
+
+import javax.validation.Valid;
+
+@Validated
+public interface OrderEditService {
+
+    @Validated(OnUpdateOrder.class)
+    OrderChangeSet applyEdit(@Valid OrderAddServiceModel orderAddServiceModel);
+}
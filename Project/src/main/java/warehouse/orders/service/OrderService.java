@@ -2,20 +2,19 @@ package warehouse.orders.service;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.validation.annotation.Validated;
 import warehouse.orders.model.OrderAddServiceModel;
 import warehouse.orders.model.OrderEntity;
-import warehouse.orders.model.OrderViewBindingModel;
+import warehouse.orders.model.OrderKeysetSort;
 import warehouse.orders.model.OrderViewServiceModel;
+import warehouse.pagination.KeysetPage;
 import warehouse.validated.OnCreate;
 import warehouse.validated.OnCreateOrder;
 import warehouse.validated.OnUpdate;
 import warehouse.validated.OnUpdateOrder;
 
 import javax.validation.Valid;
-import java.io.IOException;
-import java.math.BigDecimal;
-import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -29,6 +28,9 @@ public interface OrderService {
     @Validated(OnUpdateOrder.class)
     OrderAddServiceModel editOrder(@Valid OrderAddServiceModel orderAddServiceModel);
 
+    @Validated(OnCreateOrder.class)
+    OrderAddServiceModel placeOrder(@Valid OrderAddServiceModel orderAddServiceModel);
+
     Page<OrderViewServiceModel> search(String keyword, Pageable pageable);
 
     List<OrderViewServiceModel> findAllPageableOrderByUpdated();
@@ -39,26 +41,15 @@ public interface OrderService {
 
     OrderViewServiceModel findById(Long id);
 
-    @Validated(OnUpdateOrder.class)
-    OrderAddServiceModel completeOrder(@Valid OrderAddServiceModel orderAddServiceModel);
-
-    @Validated(OnUpdateOrder.class)
-    OrderAddServiceModel incompleteOrder(@Valid OrderAddServiceModel orderAddServiceModel);
-
-    @Validated(OnUpdateOrder.class)
-    OrderAddServiceModel archiveOrder(@Valid OrderAddServiceModel orderAddServiceModel);
-
     long getRepositoryCount();
 
     Page<OrderViewServiceModel> findAllPageable(Pageable pageable);
 
-    HashMap<String, Integer> getPieChartMap(String fromDate, String toDate);
-
-    HashMap<LocalDate, BigDecimal> getLastWeek();
+    KeysetPage<OrderViewServiceModel> findAllKeyset(OrderKeysetSort keysetSort, Sort.Direction direction, String cursor, int pageSize);
 
-    HashMap<Integer, String> getWeekDatesMap();
+    long getActiveOrdersCount();
 
-    HashMap<Integer, BigDecimal> getWeekDatesTurnoverMap();
+    HashMap<String, Integer> getPieChartMap(String fromDate, String toDate);
 
     LocalDateTime getDateTimeFirstArchiveOrder();
 
@@ -66,11 +57,7 @@ public interface OrderService {
 
     HashMap<String, String> getTimeBordersMap(String fromDate, String toDate);
 
-    List<OrderViewServiceModel> getAllByUpdatedOnBeforeAndClosedFalseAndArchivesFalse(LocalDateTime upTo);
-
     void markAsDeleted(Long id);
 
-    void exportArchivedOrder(OrderViewBindingModel orderViewBindingModel) throws IOException;
-
     void initOrders();
 }
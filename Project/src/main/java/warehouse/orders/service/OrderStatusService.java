@@ -0,0 +1,16 @@
+package warehouse.orders.service;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface OrderStatusService {
+
+    boolean completeOrder(Long id);
+
+    boolean incompleteOrder(Long id);
+
+    /**
+     * Returns the time the order was archived at, empty when the order was not in a state to archive.
+     */
+    Optional<LocalDateTime> archiveOrder(Long id);
+}
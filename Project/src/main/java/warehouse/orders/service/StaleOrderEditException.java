@@ -0,0 +1,15 @@
+package warehouse.orders.service;
+
+public class StaleOrderEditException extends RuntimeException {
+
+    private final Long orderId;
+
+    public StaleOrderEditException(Long orderId) {
+        super("Order with id " + orderId + " was changed after the edit was started");
+        this.orderId = orderId;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+}
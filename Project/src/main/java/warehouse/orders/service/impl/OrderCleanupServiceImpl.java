@@ -0,0 +1,77 @@
+package warehouse.orders.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import warehouse.items.repository.ItemRepository;
+import warehouse.orderline.repository.OrderLineRepository;
+import warehouse.orders.model.OrderEntity;
+import warehouse.orders.repository.OrderRepository;
+import warehouse.orders.service.OrderCleanupService;
+
+import javax.transaction.Transactional;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+public class OrderCleanupServiceImpl implements OrderCleanupService {
+
+    private final OrderRepository orderRepository;
+    private final OrderLineRepository orderLineRepository;
+    private final ItemRepository itemRepository;
+    private final Counter deletedOrdersCounter;
+    private final Counter restoredItemsCounter;
+    private final Timer chunkTimer;
+
+    @Autowired
+    public OrderCleanupServiceImpl(OrderRepository orderRepository,
+                                   OrderLineRepository orderLineRepository,
+                                   ItemRepository itemRepository,
+                                   MeterRegistry meterRegistry) {
+        this.orderRepository = orderRepository;
+        this.orderLineRepository = orderLineRepository;
+        this.itemRepository = itemRepository;
+        this.deletedOrdersCounter = meterRegistry.counter("warehouse.orders.cleanup.deleted");
+        this.restoredItemsCounter = meterRegistry.counter("warehouse.orders.cleanup.restored.items");
+        this.chunkTimer = meterRegistry.timer("warehouse.orders.cleanup.chunk");
+    }
+
+    @Override
+    public List<Long> findStaleOrderIds(LocalDateTime upTo, Long lastId, int chunkSize) {
+
+        return this.orderRepository.findStaleOrderIds(upTo, lastId, PageRequest.of(0, chunkSize));
+    }
+
+    @Override
+    @Transactional
+    public int deleteStaleOrders(List<Long> ids, LocalDateTime upTo) {
+
+        return this.chunkTimer.record(() -> {
+
+            //the locked orders cannot change until commit, so the update flips exactly these and their stock is restored once
+            List<Long> lockedIds = this.orderRepository.lockStaleOrders(ids, upTo).stream()
+                    .map(OrderEntity::getId)
+                    .collect(Collectors.toList());
+
+            if (lockedIds.isEmpty()) {
+                return 0;
+            }
+
+            int deleted = this.orderRepository.markStaleAsDeleted(lockedIds, upTo);
+            List<Object[]> quantitiesByItem = this.orderLineRepository.sumQuantitiesByItemForDeletedOrders(lockedIds);
+
+            for (Object[] row : quantitiesByItem) {
+                this.itemRepository.increaseStock((Long) row[0], ((Number) row[1]).intValue());
+            }
+
+            this.deletedOrdersCounter.increment(deleted);
+            this.restoredItemsCounter.increment(quantitiesByItem.size());
+
+            return deleted;
+        });
+    }
+}
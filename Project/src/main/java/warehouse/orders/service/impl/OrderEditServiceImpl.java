@@ -0,0 +1,112 @@
+package warehouse.orders.service.impl;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+import warehouse.items.repository.ItemRepository;
+import warehouse.items.service.ItemService;
+import warehouse.orderline.model.OrderLineAddServiceModel;
+import warehouse.orderline.model.OrderLineEntity;
+import warehouse.orders.model.OrderAddServiceModel;
+import warehouse.orders.model.OrderChangeSet;
+import warehouse.orders.model.OrderEntity;
+import warehouse.orders.repository.OrderRepository;
+import warehouse.orders.service.OrderEditService;
+import warehouse.orders.service.StaleOrderEditException;
+import warehouse.utils.validation.ValidationUtil;
+
+import javax.persistence.EntityNotFoundException;
+import javax.transaction.Transactional;
+import javax.validation.ConstraintViolationException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Saves an edited order by applying only the lines that changed, in the same transaction as the stock reservation.
+ * Inserts and updates are flushed as JDBC batches, removed lines go through orphan removal.
+ * The order row stays locked until commit and an edit started before the order's last update is rejected,
+ * so two overlapping edits can never merge into lines neither of them saw.
+ */
+@Service
+public class OrderEditServiceImpl implements OrderEditService {
+
+    private final OrderRepository orderRepository;
+    private final ItemRepository itemRepository;
+    private final ItemService itemService;
+    private final ValidationUtil validationUtil;
+    private final DistributionSummary changedLinesSummary;
+
+    @Autowired
+    public OrderEditServiceImpl(OrderRepository orderRepository,
+                                ItemRepository itemRepository,
+                                @Lazy ItemService itemService,
+                                ValidationUtil validationUtil,
+                                MeterRegistry meterRegistry) {
+        this.orderRepository = orderRepository;
+        this.itemRepository = itemRepository;
+        this.itemService = itemService;
+        this.validationUtil = validationUtil;
+        this.changedLinesSummary = meterRegistry.summary("warehouse.orders.edits.changed.lines");
+    }
+
+    @Override
+    @Transactional
+    public OrderChangeSet applyEdit(OrderAddServiceModel orderAddServiceModel) {
+
+        //a line with a quantity below 1 would hand stock back to the item, so it never reaches reserveStock
+        if (!this.validationUtil.isValid(orderAddServiceModel)) {
+            throw new ConstraintViolationException(this.validationUtil.getViolations(orderAddServiceModel));
+        }
+
+        OrderEntity orderEntity = this.orderRepository.findAndLockById(orderAddServiceModel.getId())
+                .orElseThrow(() -> new EntityNotFoundException("Not found order with id: " + orderAddServiceModel.getId()));
+
+        if (orderAddServiceModel.getUpdatedOn() != null
+                && !orderAddServiceModel.getUpdatedOn().equals(orderEntity.getUpdatedOn())) {
+            throw new StaleOrderEditException(orderEntity.getId());
+        }
+
+        OrderChangeSet changeSet = OrderChangeSet.between(orderEntity.getOrderLineEntities(), orderAddServiceModel.getOrderLineEntities());
+
+        this.changedLinesSummary.record(changeSet.getInsertedLines().size()
+                + changeSet.getUpdatedLines().size()
+                + changeSet.getRemovedLineIds().size());
+
+        if (changeSet.isEmpty()) {
+            return changeSet;
+        }
+
+        //throws before any line is touched, so a short item leaves the order as it was
+        this.itemService.reserveStock(changeSet.getStockDeltas());
+
+        orderEntity.getOrderLineEntities().removeIf(l -> changeSet.getRemovedLineIds().contains(l.getId()));
+
+        for (OrderLineEntity orderLineEntity : orderEntity.getOrderLineEntities()) {
+            OrderLineAddServiceModel updatedLine = changeSet.getUpdatedLines().get(orderLineEntity.getId());
+            if (updatedLine != null) {
+                orderLineEntity.setQuantity(updatedLine.getQuantity());
+                orderLineEntity.setSubtotal(updatedLine.getSubtotal());
+            }
+        }
+
+        for (OrderLineAddServiceModel insertedLine : changeSet.getInsertedLines()) {
+            OrderLineEntity orderLineEntity = new OrderLineEntity();
+            orderLineEntity.setItem(this.itemRepository.getOne(insertedLine.getItem().getId()));
+            orderLineEntity.setQuantity(insertedLine.getQuantity());
+            orderLineEntity.setSubtotal(insertedLine.getSubtotal());
+            orderLineEntity.setOrder(orderEntity);
+            orderEntity.getOrderLineEntities().add(orderLineEntity);
+        }
+
+        BigDecimal total = orderEntity.getOrderLineEntities().stream()
+                .map(OrderLineEntity::getSubtotal)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        orderEntity.setTotal(total);
+        orderEntity.setUpdatedOn(LocalDateTime.now());
+
+        return changeSet;
+    }
+}
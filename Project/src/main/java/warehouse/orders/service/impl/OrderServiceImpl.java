@@ -1,35 +1,38 @@
 package warehouse.orders.service.impl;
 
-import com.google.gson.Gson;
 import org.apache.log4j.Logger;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.data.domain.*;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
-import warehouse.constants.GlobalConstants;
+import org.springframework.web.server.ResponseStatusException;
 import warehouse.customers.service.CustomerService;
 import warehouse.items.service.ItemService;
 import warehouse.orderline.model.OrderLineEntity;
 import warehouse.orderline.service.OrderLineService;
+import warehouse.orders.mapper.OrderViewMapper;
 import warehouse.orders.model.OrderEntity;
+import warehouse.orders.model.OrderKeysetSort;
+import warehouse.orders.model.OrderStatusCountView;
 import warehouse.orders.model.OrderAddServiceModel;
-import warehouse.orders.model.OrderViewBindingModel;
 import warehouse.orders.model.OrderViewServiceModel;
 import warehouse.orders.repository.OrderRepository;
 import warehouse.orders.service.OrderService;
-import warehouse.utils.file.FileIOUtil;
+import warehouse.pagination.Cursor;
+import warehouse.pagination.KeysetPage;
+import warehouse.utils.search.SearchPatterns;
 import warehouse.utils.time.TimeBordersConvertor;
 import warehouse.utils.validation.ValidationUtil;
 
 import javax.persistence.EntityNotFoundException;
 import javax.transaction.Transactional;
 import javax.validation.ConstraintViolationException;
-import java.io.IOException;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -43,20 +46,17 @@ public class OrderServiceImpl implements OrderService {
     private final OrderRepository orderRepository;
     private final ModelMapper modelMapper;
     private final TimeBordersConvertor timeBordersConvertor;
-    private final Gson gson;
-    private final FileIOUtil fileIOUtil;
     private final OrderLineService orderLineService;
     private final CustomerService customerService;
     private final ValidationUtil validationUtil;
     private final ItemService itemService;
+    private volatile LocalDateTime firstArchiveOrder;
 
 
     @Autowired
     public OrderServiceImpl(OrderRepository orderRepository,
                             ModelMapper modelMapper,
                             TimeBordersConvertor timeBordersConvertor,
-                            Gson gson,
-                            FileIOUtil fileIOUtil,
                             @Lazy OrderLineService orderLineService,
                             CustomerService customerService,
                             ValidationUtil validationUtil,
@@ -64,8 +64,6 @@ public class OrderServiceImpl implements OrderService {
         this.orderRepository = orderRepository;
         this.modelMapper = modelMapper;
         this.timeBordersConvertor = timeBordersConvertor;
-        this.gson = gson;
-        this.fileIOUtil = fileIOUtil;
         this.orderLineService = orderLineService;
         this.customerService = customerService;
         this.validationUtil = validationUtil;
@@ -124,109 +122,90 @@ public class OrderServiceImpl implements OrderService {
     }
 
     @Override
-    public OrderAddServiceModel completeOrder(OrderAddServiceModel orderAddServiceModel) {
-
-        if (this.validationUtil.isValid(orderAddServiceModel)) {
-
-            OrderEntity orderEntity = this.modelMapper.map(orderAddServiceModel, OrderEntity.class);
-
-            orderEntity.setClosed(true);
-            orderEntity.setUpdatedOn(LocalDateTime.now());
-
-            Set<OrderLineEntity> orderLineEntities = this.getOrderLineEntities(orderEntity);
-
-            orderEntity.setOrderLineEntities(orderLineEntities);
-
-            orderEntity = this.orderRepository.saveAndFlush(orderEntity);
-            orderAddServiceModel = this.modelMapper.map(orderEntity, OrderAddServiceModel.class);
-
-        } else {
-
-            throw new ConstraintViolationException(this.validationUtil.getViolations(orderAddServiceModel));
+    @Transactional
+    public OrderAddServiceModel placeOrder(OrderAddServiceModel orderAddServiceModel) {
 
-        }
+        this.itemService.saveOrderUpdateStock(orderAddServiceModel);
 
-        return orderAddServiceModel;
+        return this.addOrder(orderAddServiceModel);
     }
 
     @Override
-    public OrderAddServiceModel incompleteOrder(OrderAddServiceModel orderAddServiceModel) {
-
-        if (this.validationUtil.isValid(orderAddServiceModel)) {
-
-            OrderEntity orderEntity = this.modelMapper.map(orderAddServiceModel, OrderEntity.class);
-
-            orderEntity.setClosed(false);
-            orderEntity.setUpdatedOn(LocalDateTime.now());
-
-            Set<OrderLineEntity> orderLineEntities = this.getOrderLineEntities(orderEntity);
-
-            orderEntity.setOrderLineEntities(orderLineEntities);
-
-            orderEntity = this.orderRepository.saveAndFlush(orderEntity);
-            orderAddServiceModel = this.modelMapper.map(orderEntity, OrderAddServiceModel.class);
-
-        } else {
-
-            throw new ConstraintViolationException(this.validationUtil.getViolations(orderAddServiceModel));
-
-        }
-
-        return orderAddServiceModel;
+    public long getRepositoryCount() {
+        return this.orderRepository.count();
     }
 
     @Override
-    public OrderAddServiceModel archiveOrder(OrderAddServiceModel orderAddServiceModel) {
-
-        if (this.validationUtil.isValid(orderAddServiceModel)) {
-
-            OrderEntity orderEntity = this.modelMapper.map(orderAddServiceModel, OrderEntity.class);
-
-            orderEntity.setArchives(true);
-            orderEntity.setUpdatedOn(LocalDateTime.now());
-
-            Set<OrderLineEntity> orderLineEntities = this.getOrderLineEntities(orderEntity);
-
-            orderEntity.setOrderLineEntities(orderLineEntities);
-
-            orderEntity = this.orderRepository.saveAndFlush(orderEntity);
-            orderAddServiceModel = this.modelMapper.map(orderEntity, OrderAddServiceModel.class);
+    public Page<OrderViewServiceModel> findAllPageable(Pageable pageable) {
 
-        } else {
+        Page<OrderEntity> orderEntities = this.orderRepository.findAllByDeletedFalse(pageable);
 
-            throw new ConstraintViolationException(this.validationUtil.getViolations(orderAddServiceModel));
+        List<OrderViewServiceModel> orderViewServiceModels = orderEntities.stream()
+                .map(OrderViewMapper::toSummaryServiceModel)
+                .collect(Collectors.toList());
 
-        }
+        Page<OrderViewServiceModel> orderViewServiceModelsPage = new PageImpl<>(orderViewServiceModels, pageable, orderEntities.getTotalElements());
 
-        return orderAddServiceModel;
+        return orderViewServiceModelsPage;
     }
 
     @Override
-    public long getRepositoryCount() {
-        return this.orderRepository.count();
-    }
+    public KeysetPage<OrderViewServiceModel> findAllKeyset(OrderKeysetSort keysetSort, Sort.Direction direction,
+                                                          String cursor, int pageSize) {
+
+        String sort = keysetSort.name() + "_" + direction.name();
+        Cursor position = this.decodeCursor(cursor, sort);
+        Comparable<?> positionValue = position == null ? null : this.parseCursorValue(cursor, keysetSort, position);
+        boolean backward = position != null && position.isBackward();
+        boolean ascending = direction.isAscending() != backward;
+
+        List<OrderEntity> orderEntities = new ArrayList<>(this.orderRepository.findKeysetPage(keysetSort, ascending,
+                positionValue,
+                position == null ? null : position.getId(),
+                pageSize + 1));
+
+        boolean hasMore = orderEntities.size() > pageSize;
+        if (hasMore) {
+            orderEntities = orderEntities.subList(0, pageSize);
+        }
+        if (backward) {
+            Collections.reverse(orderEntities);
+        }
 
-    @Override
-    public Page<OrderViewServiceModel> findAllPageable(Pageable pageable) {
+        boolean hasPrevious = backward ? hasMore : position != null;
+        boolean hasNext = backward || hasMore;
 
-        Page<OrderEntity> orderEntities = this.orderRepository.findAllByDeletedFalse(pageable);
+        String previousCursor = null;
+        String nextCursor = null;
+        if (!orderEntities.isEmpty()) {
+            OrderEntity first = orderEntities.get(0);
+            OrderEntity last = orderEntities.get(orderEntities.size() - 1);
+            previousCursor = hasPrevious ? new Cursor(true, sort, first.getId(), keysetSort.format(first)).encode() : null;
+            nextCursor = hasNext ? new Cursor(false, sort, last.getId(), keysetSort.format(last)).encode() : null;
+        }
 
         List<OrderViewServiceModel> orderViewServiceModels = orderEntities.stream()
-                .map(orderEntity -> this.modelMapper.map(orderEntity, OrderViewServiceModel.class))
+                .map(OrderViewMapper::toSummaryServiceModel)
                 .collect(Collectors.toList());
 
-        Page<OrderViewServiceModel> orderViewServiceModelsPage = new PageImpl<>(orderViewServiceModels, pageable, orderEntities.getTotalElements());
+        return new KeysetPage<>(orderViewServiceModels, previousCursor, nextCursor);
+    }
 
-        return orderViewServiceModelsPage;
+    @Override
+    public long getActiveOrdersCount() {
+        return this.orderRepository.countByDeletedFalse();
     }
 
     @Override
     public Page<OrderViewServiceModel> search(String keyword, Pageable pageable) {
 
-        Page<OrderEntity> orderEntities = this.orderRepository.search(keyword, pageable);
+        String pattern = SearchPatterns.contains(keyword);
+        Page<OrderEntity> orderEntities = pageable.getSort().isSorted()
+                ? this.orderRepository.search(pattern, pageable)
+                : this.orderRepository.searchByRelevance(pattern, SearchPatterns.startsWith(keyword), pageable);
 
         List<OrderViewServiceModel> orderViewServiceModels = orderEntities.stream()
-                .map(orderEntity -> this.modelMapper.map(orderEntity, OrderViewServiceModel.class))
+                .map(OrderViewMapper::toSummaryServiceModel)
                 .collect(Collectors.toList());
         Page<OrderViewServiceModel> orderViewServiceModelsPage = new PageImpl<>(orderViewServiceModels, pageable, orderEntities.getTotalElements());
         return orderViewServiceModelsPage;
@@ -242,7 +221,7 @@ public class OrderServiceImpl implements OrderService {
 
         List<OrderViewServiceModel> orderViewServiceModels = orderEntityList
                 .stream()
-                .map(orderEntity -> this.modelMapper.map(orderEntity, OrderViewServiceModel.class))
+                .map(OrderViewMapper::toSummaryServiceModel)
                 .collect(Collectors.toList());
 
         return orderViewServiceModels;
@@ -258,7 +237,7 @@ public class OrderServiceImpl implements OrderService {
 
         List<OrderViewServiceModel> orderViewServiceModels = orderEntityList
                 .stream()
-                .map(orderEntity -> this.modelMapper.map(orderEntity, OrderViewServiceModel.class))
+                .map(OrderViewMapper::toSummaryServiceModel)
                 .collect(Collectors.toList());
 
         return orderViewServiceModels;
@@ -273,7 +252,7 @@ public class OrderServiceImpl implements OrderService {
 
         List<OrderViewServiceModel> orderViewServiceModels = orderEntityList
                 .stream()
-                .map(orderEntity -> this.modelMapper.map(orderEntity, OrderViewServiceModel.class))
+                .map(OrderViewMapper::toSummaryServiceModel)
                 .collect(Collectors.toList());
 
         return orderViewServiceModels;
@@ -284,98 +263,27 @@ public class OrderServiceImpl implements OrderService {
 
         OrderEntity orderEntity = this.orderRepository.findById(id).orElseThrow(() -> new EntityNotFoundException("Not found category with id: " + id));
 
-        OrderViewServiceModel orderViewServiceModel = this.modelMapper.map(orderEntity, OrderViewServiceModel.class);
+        OrderViewServiceModel orderViewServiceModel = OrderViewMapper.toServiceModel(orderEntity);
 
         return (orderViewServiceModel);
     }
 
-    @Override
-    public HashMap<LocalDate, BigDecimal> getLastWeek() {
-
-        HashMap<LocalDate, BigDecimal> lastWeekMap = new LinkedHashMap<>();
-
-        LocalDateTime[] startEnd = this.getStartAndEndOfLastWeek();
-        LocalDateTime weekStart = startEnd[0];
-        LocalDateTime weekEnd = startEnd[1];
-
-        List<OrderEntity> lastWeekOrders = this.orderRepository.findAllByUpdatedOnBetweenAndArchivesTrueOrderByUpdatedOnAsc(weekStart, weekEnd);
-
-        for (int i = 0; i < 7; i++) {
-            LocalDate currentDate = weekStart.plusDays(i).toLocalDate();
-            lastWeekMap.put(currentDate, new BigDecimal(String.valueOf("0")));
-        }
-
-        for (OrderEntity order : lastWeekOrders) {
-            LocalDate orderDate = order.getUpdatedOn().toLocalDate();
-            BigDecimal newTotal = order.getTotal();
-            BigDecimal currentTotal = lastWeekMap.get(orderDate);
-            BigDecimal total = currentTotal.add(newTotal);
-            lastWeekMap.put(orderDate, total);
-        }
-        return lastWeekMap;
-    }
-
-    @Override
-    public HashMap<Integer, String> getWeekDatesMap() {
-
-        HashMap<Integer, String> weekDatesMap = new LinkedHashMap<>();
-
-        int key = 0;
-
-        HashMap<LocalDate, BigDecimal> lastWeekMap = this.getLastWeek();
-
-        for (Map.Entry<LocalDate, BigDecimal> entry : lastWeekMap.entrySet()) {
-            DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern("dd.MM.yyyy");
-            weekDatesMap.put(++key, dateTimeFormatter.format(entry.getKey()));
-        }
-        return weekDatesMap;
-    }
-
-    @Override
-    public HashMap<Integer, BigDecimal> getWeekDatesTurnoverMap() {
-
-        HashMap<Integer, BigDecimal> weekDatesTurnoverMap = new LinkedHashMap<>();
-
-        int key = 0;
-
-        HashMap<LocalDate, BigDecimal> lastWeekMap = this.getLastWeek();
-
-        for (Map.Entry<LocalDate, BigDecimal> entry : lastWeekMap.entrySet()) {
-            weekDatesTurnoverMap.put(++key, entry.getValue());
-        }
-        return weekDatesTurnoverMap;
-    }
-
     @Override
     public LocalDateTime getDateTimeFirstArchiveOrder() {
 
-        List<OrderEntity> orderEntities = this.orderRepository.findAllByArchivesTrueOrderByUpdatedOnAsc();
-
-        LocalDateTime localDateTime;
-        if (orderEntities.isEmpty()) {
-            localDateTime = LocalDateTime.now();
-        } else {
-            localDateTime = orderEntities.get(0).getUpdatedOn();
+        if (this.firstArchiveOrder == null) {
+            this.firstArchiveOrder = this.orderRepository.findFirstArchivedOn();
         }
 
-        return localDateTime;
+        return this.firstArchiveOrder == null ? LocalDateTime.now() : this.firstArchiveOrder;
     }
 
     @Override
     public LocalDateTime getDateTimeFirstCreatedOrder() {
 
-        List<OrderEntity> orderEntities = this.orderRepository.findAllByOrderByCreatedOnAsc();
+        LocalDateTime firstCreatedOn = this.orderRepository.findFirstCreatedOn();
 
-
-        LocalDateTime localDateTime;
-        if (orderEntities.isEmpty()) {
-            localDateTime = LocalDateTime.now();
-        } else {
-            localDateTime = orderEntities.get(0).getCreatedOn();
-        }
-
-
-        return localDateTime;
+        return firstCreatedOn == null ? LocalDateTime.now() : firstCreatedOn;
     }
 
     @Override
@@ -386,19 +294,16 @@ public class OrderServiceImpl implements OrderService {
         LocalDateTime[] timeBordersDateTime = this.timeBordersConvertor
                 .getTimeBordersAsLocalDateTime(fromDate, toDate, this.getDateTimeFirstCreatedOrder());
 
-        int created = this.orderRepository
-                .findAllByCreatedOnBetweenAndClosedFalseAndArchivesFalseAndDeletedFalse(timeBordersDateTime[0],
-                        timeBordersDateTime[1]).size();
+        OrderStatusCountView orderStatusCount = this.orderRepository
+                .countByStatusBetween(timeBordersDateTime[0], timeBordersDateTime[1]);
+
+        int created = this.getCount(orderStatusCount.getCreated());
         orderMap.put("created", created);
 
-        int completed = this.orderRepository
-                .findAllByUpdatedOnBetweenAndClosedTrueAndArchivesFalse(timeBordersDateTime[0],
-                        timeBordersDateTime[1]).size();
+        int completed = this.getCount(orderStatusCount.getCompleted());
         orderMap.put("completed", completed);
 
-        int archive = this.orderRepository
-                .findAllByUpdatedOnBetweenAndClosedTrueAndArchivesTrue(timeBordersDateTime[0],
-                        timeBordersDateTime[1]).size();
+        int archive = this.getCount(orderStatusCount.getArchived());
         orderMap.put("archive", archive);
 
         int totalOrders = created + completed + archive;
@@ -425,41 +330,24 @@ public class OrderServiceImpl implements OrderService {
     }
 
     @Override
-    public List<OrderViewServiceModel> getAllByUpdatedOnBeforeAndClosedFalseAndArchivesFalse(LocalDateTime upTo) {
-
-        List<OrderEntity> orderEntityList = this.orderRepository.findAllByUpdatedOnBeforeAndClosedFalseAndArchivesFalseAndDeletedFalse(upTo);
-
-        List<OrderViewServiceModel> orderViewServiceModels = orderEntityList
-                .stream()
-                .map(orderEntity -> this.modelMapper.map(orderEntity, OrderViewServiceModel.class))
-                .collect(Collectors.toList());
-        return orderViewServiceModels;
-    }
-
-    @Override
+    @Transactional
     public void markAsDeleted(Long id) {
 
         OrderEntity orderEntity = this.orderRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Not found category with id: " + id));
 
-        Set<OrderLineEntity> orderLineEntities = orderEntity.getOrderLineEntities();
+        Map<Long, Integer> quantitiesByItemId = new LinkedHashMap<>();
 
-        for (OrderLineEntity orderLineEntity : orderLineEntities) {
-            this.itemService.increaseItemStock(orderLineEntity.getItem().getId(), orderLineEntity.getQuantity());
+        for (OrderLineEntity orderLineEntity : orderEntity.getOrderLineEntities()) {
+            quantitiesByItemId.merge(orderLineEntity.getItem().getId(), -orderLineEntity.getQuantity(), Integer::sum);
         }
 
+        this.itemService.reserveStock(quantitiesByItemId);
+
         orderEntity.setDeleted(true);
         this.orderRepository.saveAndFlush(orderEntity);
     }
 
-    @Override
-    public void exportArchivedOrder(OrderViewBindingModel orderViewBindingModel) throws IOException {
-
-        String json = this.gson.toJson(orderViewBindingModel);
-        this.fileIOUtil.write(json, GlobalConstants.EXPORT_FILE_PATH + "order_" + orderViewBindingModel.getId() + ".json");
-        logger.info(String.format("Exported file - order %s", orderViewBindingModel.getId()));
-    }
-
     @Override
     @Transactional
     public void initOrders() {
@@ -508,6 +396,8 @@ public class OrderServiceImpl implements OrderService {
                 archivedOrderEntity.setUpdatedOn(weekStart.plusDays(++counter));
                 this.orderRepository.saveAndFlush(archivedOrderEntity);
             }
+
+            this.firstArchiveOrder = null;
         }
     }
 
@@ -527,6 +417,47 @@ public class OrderServiceImpl implements OrderService {
         return startEnd;
     }
 
+    //a cursor issued for another sort would seek on the wrong column, so it is rejected like a malformed one
+    private Cursor decodeCursor(String cursor, String sort) {
+
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+
+        Cursor position;
+        try {
+            position = Cursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw this.invalidCursor(cursor);
+        }
+
+        if (!position.getSort().equals(sort)) {
+            throw this.invalidCursor(cursor);
+        }
+
+        return position;
+    }
+
+    private Comparable<?> parseCursorValue(String cursor, OrderKeysetSort keysetSort, Cursor position) {
+
+        try {
+            return keysetSort.parse(position.getValue());
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw this.invalidCursor(cursor);
+        }
+    }
+
+    private ResponseStatusException invalidCursor(String cursor) {
+
+        logger.warn(String.format("Rejecting invalid order list cursor %s", cursor));
+
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+    }
+
+    private int getCount(Long count) {
+        return count == null ? 0 : count.intValue();
+    }
+
     private Set<OrderLineEntity> getOrderLineEntities(OrderEntity orderEntity) {
 
         Set<OrderLineEntity> orderLineEntities = orderEntity.getOrderLineEntities();
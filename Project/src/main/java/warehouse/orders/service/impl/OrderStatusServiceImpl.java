@@ -0,0 +1,76 @@
+package warehouse.orders.service.impl;
+
+import org.apache.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import warehouse.orders.export.repository.ArchiveExportRepository;
+import warehouse.orders.repository.OrderRepository;
+import warehouse.orders.sales.service.SalesFactService;
+import warehouse.orders.service.OrderStatusService;
+
+import javax.transaction.Transactional;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Service
+public class OrderStatusServiceImpl implements OrderStatusService {
+
+    private static final Logger logger = Logger.getLogger(OrderStatusServiceImpl.class);
+
+    private final OrderRepository orderRepository;
+    private final ArchiveExportRepository archiveExportRepository;
+    private final SalesFactService salesFactService;
+
+    @Autowired
+    public OrderStatusServiceImpl(OrderRepository orderRepository,
+                                  ArchiveExportRepository archiveExportRepository,
+                                  SalesFactService salesFactService) {
+        this.orderRepository = orderRepository;
+        this.archiveExportRepository = archiveExportRepository;
+        this.salesFactService = salesFactService;
+    }
+
+    @Override
+    @Transactional
+    public boolean completeOrder(Long id) {
+
+        int updated = this.orderRepository.markAsCompleted(id, LocalDateTime.now());
+
+        return this.isTransitioned(updated, id, "complete");
+    }
+
+    @Override
+    @Transactional
+    public boolean incompleteOrder(Long id) {
+
+        int updated = this.orderRepository.markAsIncomplete(id, LocalDateTime.now());
+
+        return this.isTransitioned(updated, id, "incomplete");
+    }
+
+    @Override
+    @Transactional
+    public Optional<LocalDateTime> archiveOrder(Long id) {
+
+        LocalDateTime archivedOn = LocalDateTime.now();
+        int updated = this.orderRepository.markAsArchived(id, archivedOn);
+
+        //the export and the daily sales are updated in the same transaction, so neither can miss an archived order
+        if (updated > 0) {
+            this.archiveExportRepository.insert(id, archivedOn);
+            this.salesFactService.addArchivedOrder(id, archivedOn.toLocalDate());
+        }
+
+        return this.isTransitioned(updated, id, "archive") ? Optional.of(archivedOn) : Optional.empty();
+    }
+
+    private boolean isTransitioned(int updated, Long id, String transition) {
+
+        if (updated == 0) {
+            logger.info(String.format("Order %s not in a state to %s", id, transition));
+            return false;
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,52 @@
+package warehouse.orders.shedule;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.log4j.Logger;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import warehouse.orders.export.ArchiveExportQueue;
+import warehouse.orders.export.service.ArchiveExportService;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class ArchiveExportScheduler {
+
+    private static final Logger logger = Logger.getLogger(ArchiveExportScheduler.class);
+
+    private final ArchiveExportQueue archiveExportQueue;
+    private final ArchiveExportService archiveExportService;
+    private final AtomicLong backlog = new AtomicLong();
+    private final AtomicLong lagSeconds = new AtomicLong();
+
+    public ArchiveExportScheduler(ArchiveExportQueue archiveExportQueue,
+                                  ArchiveExportService archiveExportService,
+                                  MeterRegistry meterRegistry) {
+
+        this.archiveExportQueue = archiveExportQueue;
+        this.archiveExportService = archiveExportService;
+        meterRegistry.gauge("warehouse.orders.export.backlog", this.backlog);
+        meterRegistry.gauge("warehouse.orders.export.lag.seconds", this.lagSeconds);
+    }
+
+
+    //also the recovery path after a restart, a full queue or a failed batch
+    @Scheduled(fixedDelayString = "${orders.export.sweep-interval-ms:60000}",
+            initialDelayString = "${orders.export.sweep-initial-delay-ms:10000}")
+    public void sweepPendingExports() {
+
+        int submitted = this.archiveExportQueue.sweep();
+
+        //gauges are refreshed here rather than on every scrape, the backlog lives in the database
+        LocalDateTime oldestPending = this.archiveExportService.findOldestPending();
+        this.backlog.set(this.archiveExportService.countPending());
+        this.lagSeconds.set(oldestPending == null ? 0 : Duration.between(oldestPending, LocalDateTime.now()).getSeconds());
+
+        if (submitted > 0) {
+            logger.info(String.format("Queued %d pending archive exports, %d pending in total, oldest %d seconds ago",
+                    submitted, this.backlog.get(), this.lagSeconds.get()));
+        }
+    }
+}
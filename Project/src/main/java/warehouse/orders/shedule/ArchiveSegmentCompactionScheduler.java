@@ -0,0 +1,30 @@
+package warehouse.orders.shedule;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import warehouse.orders.export.store.ArchiveSegmentStore;
+
+import java.io.IOException;
+
+@Component
+public class ArchiveSegmentCompactionScheduler {
+
+    private final ArchiveSegmentStore archiveSegmentStore;
+    private final double minLiveRatio;
+
+    public ArchiveSegmentCompactionScheduler(ArchiveSegmentStore archiveSegmentStore,
+                                             @Value("${orders.export.compaction-min-live-ratio:0.5}") double minLiveRatio) {
+
+        this.archiveSegmentStore = archiveSegmentStore;
+        this.minLiveRatio = minLiveRatio;
+    }
+
+
+    @Scheduled(fixedDelayString = "${orders.export.compaction-interval-ms:3600000}",
+            initialDelayString = "${orders.export.compaction-interval-ms:3600000}")
+    public void compactSegments() throws IOException {
+
+        this.archiveSegmentStore.compact(this.minLiveRatio);
+    }
+}
@@ -0,0 +1,53 @@
+package warehouse.orders.shedule;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import warehouse.orders.orderdata.store.DraftOrderStore;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.time.temporal.ChronoUnit.HOURS;
+
+@Component
+public class DraftOrderEvictionScheduler {
+
+    private final DraftOrderStore draftOrderStore;
+    private final int idleHours;
+    private final Counter evictedCounter;
+    private final AtomicLong draftCount = new AtomicLong();
+    private final AtomicLong draftBytes = new AtomicLong();
+    private static final Logger logger = Logger.getLogger(DraftOrderEvictionScheduler.class);
+
+    public DraftOrderEvictionScheduler(DraftOrderStore draftOrderStore,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${orders.drafts.idle-hours:72}") int idleHours) {
+
+        this.draftOrderStore = draftOrderStore;
+        this.idleHours = idleHours;
+        this.evictedCounter = meterRegistry.counter("warehouse.orders.drafts.evicted");
+        meterRegistry.gauge("warehouse.orders.drafts.count", this.draftCount);
+        meterRegistry.gauge("warehouse.orders.drafts.bytes", this.draftBytes);
+    }
+
+
+    @Scheduled(fixedDelayString = "${orders.drafts.eviction-interval-ms:600000}")
+    public void evictIdleDrafts() {
+
+        int evicted = this.draftOrderStore.evictIdleSince(LocalDateTime.now().minus(this.idleHours, HOURS));
+        this.evictedCounter.increment(evicted);
+
+        //gauges are refreshed here rather than on every scrape, counting the store is not free
+        this.draftCount.set(this.draftOrderStore.count());
+        this.draftBytes.set(this.draftOrderStore.sizeInBytes());
+
+        if (evicted > 0) {
+            logger.info(String.format("Evicted %d draft orders idle for more than %d hours, %d left (%d bytes)",
+                    evicted, this.idleHours, this.draftCount.get(), this.draftBytes.get()));
+        }
+    }
+}
@@ -1,45 +1,65 @@
 package warehouse.orders.shedule;
 
 import org.apache.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import warehouse.orders.model.OrderViewServiceModel;
-import warehouse.orders.service.OrderService;
+import warehouse.orders.service.OrderCleanupService;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 import static java.time.temporal.ChronoUnit.HOURS;
-import static java.time.temporal.ChronoUnit.MINUTES;
 
 @Component
 public class OrdersCleanupScheduler {
 
-    private final OrderService orderService;
+    private final OrderCleanupService orderCleanupService;
+    private final int chunkSize;
     private static final Logger logger = Logger.getLogger(OrdersCleanupScheduler.class);
 
-    public OrdersCleanupScheduler(OrderService orderService) {
+    public OrdersCleanupScheduler(OrderCleanupService orderCleanupService,
+                                  @Value("${orders.cleanup.chunk-size:500}") int chunkSize) {
 
-        this.orderService = orderService;
+        this.orderCleanupService = orderCleanupService;
+        this.chunkSize = chunkSize;
     }
 
 
     @Scheduled(cron = "${spring.cron}")
     public void cleanUpOldOrders() {
         LocalDateTime upTo = LocalDateTime.now().minus(168, HOURS);
-        List<OrderViewServiceModel> orderViewServiceModels = this.orderService
-                .getAllByUpdatedOnBeforeAndClosedFalseAndArchivesFalse(upTo);
-        if (!orderViewServiceModels.isEmpty()) {
-            for (OrderViewServiceModel order : orderViewServiceModels) {
-                logger.info(String.format("Deleted order %s", order.getId()));
-                this.orderService.markAsDeleted(order.getId());
-            }
+        long startedAt = System.nanoTime();
+        long lastId = 0L;
+        int deleted = 0;
+        int chunks = 0;
+
+        List<Long> ids = this.orderCleanupService.findStaleOrderIds(upTo, lastId, this.chunkSize);
+
+        while (!ids.isEmpty()) {
+            deleted += this.orderCleanupService.deleteStaleOrders(ids, upTo);
+            lastId = ids.get(ids.size() - 1);
+            chunks++;
+
+            logger.info(String.format("Cleanup chunk %d: %d orders deleted so far (last id %d, %.1f orders/s)",
+                    chunks, deleted, lastId, this.getRate(deleted, startedAt)));
+
+            ids = this.orderCleanupService.findStaleOrderIds(upTo, lastId, this.chunkSize);
         }
-        else {
+
+        if (deleted == 0) {
             logger.info("No old orders");
+        } else {
+            logger.info(String.format("Deleted %d old orders in %d chunks (%.1f orders/s)",
+                    deleted, chunks, this.getRate(deleted, startedAt)));
         }
 
     }
 
+    private double getRate(int deleted, long startedAt) {
+        double seconds = (System.nanoTime() - startedAt) / 1_000_000_000.0;
+        return seconds > 0 ? deleted / seconds : deleted;
+    }
+
 
 }
@@ -0,0 +1,22 @@
+package warehouse.orders.shedule;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import warehouse.orders.sales.service.SalesFactService;
+
+@Component
+public class SalesFactRebuildScheduler {
+
+    private final SalesFactService salesFactService;
+
+    public SalesFactRebuildScheduler(SalesFactService salesFactService) {
+        this.salesFactService = salesFactService;
+    }
+
+    //off unless a cron is configured, the totals are kept current on archiving and only need a rebuild after a repair,
+    //scheduled for a window when no orders are archived
+    @Scheduled(cron = "${orders.sales.rebuild-cron:-}")
+    public void rebuildSalesFacts() {
+        this.salesFactService.rebuild();
+    }
+}
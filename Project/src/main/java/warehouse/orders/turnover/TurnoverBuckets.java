@@ -0,0 +1,78 @@
+package warehouse.orders.turnover;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+public class TurnoverBuckets {
+
+    private static final int INITIAL_DAYS = 64;
+
+    private long firstEpochDay;
+    private int days;
+
+    //running totals, prefixCents[i] is the turnover of the first i days, the array grows by doubling
+    private long[] prefixCents;
+
+    public TurnoverBuckets(LocalDate firstDay) {
+        this.firstEpochDay = firstDay.toEpochDay();
+        this.days = 0;
+        this.prefixCents = new long[INITIAL_DAYS + 1];
+    }
+
+    public synchronized void add(LocalDate day, long cents) {
+
+        long epochDay = day.toEpochDay();
+
+        if (this.days == 0) {
+            this.firstEpochDay = epochDay;
+        } else if (epochDay < this.firstEpochDay) {
+            this.prepend((int) (this.firstEpochDay - epochDay));
+        }
+
+        int index = (int) (epochDay - this.firstEpochDay);
+        if (index >= this.days) {
+            this.append(index + 1);
+        }
+
+        //only the totals from the changed day forward move, for the current day that is the last one
+        for (int i = index + 1; i <= this.days; i++) {
+            this.prefixCents[i] += cents;
+        }
+    }
+
+    public synchronized long sum(LocalDate fromDay, LocalDate toDay) {
+
+        long from = Math.max(fromDay.toEpochDay() - this.firstEpochDay, 0);
+        long to = Math.min(toDay.toEpochDay() - this.firstEpochDay, this.days - 1);
+
+        if (from > to) {
+            return 0;
+        }
+
+        return this.prefixCents[(int) to + 1] - this.prefixCents[(int) from];
+    }
+
+    private void append(int newDays) {
+
+        this.ensureCapacity(newDays);
+        Arrays.fill(this.prefixCents, this.days + 1, newDays + 1, this.prefixCents[this.days]);
+        this.days = newDays;
+    }
+
+    private void prepend(int shift) {
+
+        this.ensureCapacity(this.days + shift);
+        System.arraycopy(this.prefixCents, 1, this.prefixCents, shift + 1, this.days);
+        Arrays.fill(this.prefixCents, 1, shift + 1, 0);
+        this.firstEpochDay -= shift;
+        this.days += shift;
+    }
+
+    private void ensureCapacity(int newDays) {
+
+        int capacity = this.prefixCents.length - 1;
+        if (newDays > capacity) {
+            this.prefixCents = Arrays.copyOf(this.prefixCents, Math.max(newDays, capacity * 2) + 1);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package warehouse.orders.turnover.service;
+
+import warehouse.orders.turnover.TurnoverGranularity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+
+public interface TurnoverSeriesService {
+
+    void rebuild();
+
+    void addTurnover(LocalDateTime archivedOn, BigDecimal amount);
+
+    LinkedHashMap<LocalDate, BigDecimal> getSeries(LocalDate fromDate, LocalDate toDate, TurnoverGranularity granularity);
+
+    LinkedHashMap<String, BigDecimal> getTurnoverMap(String fromDate, String toDate, TurnoverGranularity granularity);
+
+    String[] getTimeBorders(String fromDate, String toDate);
+}
@@ -0,0 +1,179 @@
+package warehouse.orders.turnover.service.impl;
+
+import org.apache.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import warehouse.orders.repository.OrderRepository;
+import warehouse.orders.turnover.TurnoverBuckets;
+import warehouse.orders.turnover.TurnoverGranularity;
+import warehouse.orders.turnover.service.TurnoverSeriesService;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Service
+public class TurnoverSeriesServiceImpl implements TurnoverSeriesService {
+
+    private static final Logger logger = Logger.getLogger(TurnoverSeriesServiceImpl.class);
+
+    private static final DateTimeFormatter BORDER_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final DateTimeFormatter LABEL_FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+
+    private final OrderRepository orderRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private TurnoverBuckets buckets = new TurnoverBuckets(LocalDate.now());
+    //turnover archived while a rebuild is reading the archive, replayed onto the rebuilt buckets past the watermark
+    private List<Object[]> pendingTurnover;
+
+    @Autowired
+    public TurnoverSeriesServiceImpl(OrderRepository orderRepository) {
+        this.orderRepository = orderRepository;
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+
+        this.lock.writeLock().lock();
+        try {
+            this.pendingTurnover = new ArrayList<>();
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+
+        List<Object[]> dailyTurnover = this.orderRepository.sumArchivedTurnoverByDay();
+
+        //the latest archive time the query saw, read in the same statement as the sums
+        LocalDateTime watermark = null;
+        TurnoverBuckets rebuilt = new TurnoverBuckets(LocalDate.now());
+        for (Object[] row : dailyTurnover) {
+            rebuilt.add(((Date) row[0]).toLocalDate(), this.toCents((BigDecimal) row[1]));
+            LocalDateTime latest = (LocalDateTime) row[2];
+            if (watermark == null || latest.isAfter(watermark)) {
+                watermark = latest;
+            }
+        }
+
+        this.lock.writeLock().lock();
+        try {
+            for (Object[] pending : this.pendingTurnover) {
+                LocalDateTime archivedOn = (LocalDateTime) pending[0];
+                //an order archived at or before the watermark is already in the sums
+                if (watermark == null || archivedOn.isAfter(watermark)) {
+                    rebuilt.add(archivedOn.toLocalDate(), (long) pending[1]);
+                }
+            }
+            this.pendingTurnover = null;
+            this.buckets = rebuilt;
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+
+        logger.info(String.format("Turnover series rebuilt from %d archive days", dailyTurnover.size()));
+    }
+
+    @Override
+    public void addTurnover(LocalDateTime archivedOn, BigDecimal amount) {
+
+        if (archivedOn == null || amount == null) {
+            return;
+        }
+
+        this.lock.writeLock().lock();
+        try {
+            long cents = this.toCents(amount);
+            this.buckets.add(archivedOn.toLocalDate(), cents);
+            if (this.pendingTurnover != null) {
+                this.pendingTurnover.add(new Object[]{archivedOn, cents});
+            }
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public LinkedHashMap<LocalDate, BigDecimal> getSeries(LocalDate fromDate, LocalDate toDate,
+                                                          TurnoverGranularity granularity) {
+
+        LinkedHashMap<LocalDate, BigDecimal> series = new LinkedHashMap<>();
+
+        this.lock.readLock().lock();
+        try {
+            LocalDate bucketStart = granularity.bucketStart(fromDate);
+            while (!bucketStart.isAfter(toDate)) {
+                LocalDate nextBucketStart = granularity.nextBucketStart(bucketStart);
+                LocalDate from = bucketStart.isBefore(fromDate) ? fromDate : bucketStart;
+                LocalDate to = nextBucketStart.isAfter(toDate) ? toDate : nextBucketStart.minusDays(1);
+
+                series.put(from, BigDecimal.valueOf(this.buckets.sum(from, to), 2));
+
+                bucketStart = nextBucketStart;
+            }
+        } finally {
+            this.lock.readLock().unlock();
+        }
+
+        return series;
+    }
+
+    @Override
+    public LinkedHashMap<String, BigDecimal> getTurnoverMap(String fromDate, String toDate,
+                                                            TurnoverGranularity granularity) {
+
+        LinkedHashMap<String, BigDecimal> turnoverMap = new LinkedHashMap<>();
+
+        LocalDate from;
+        LocalDate to;
+        try {
+            from = LocalDate.parse(fromDate, BORDER_FORMATTER);
+            to = LocalDate.parse(toDate, BORDER_FORMATTER);
+        } catch (DateTimeParseException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid date, expected dd/MM/yyyy", e);
+        }
+
+        for (Map.Entry<LocalDate, BigDecimal> entry : this.getSeries(from, to, granularity).entrySet()) {
+            turnoverMap.put(LABEL_FORMATTER.format(entry.getKey()), entry.getValue());
+        }
+
+        return turnoverMap;
+    }
+
+    @Override
+    public String[] getTimeBorders(String fromDate, String toDate) {
+
+        String[] timeBorders = new String[2];
+
+        if (fromDate.equals("") && toDate.equals("")) {
+            LocalDate lastWeekStart = LocalDate.now().minusWeeks(1)
+                    .with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            fromDate = BORDER_FORMATTER.format(lastWeekStart);
+            toDate = BORDER_FORMATTER.format(lastWeekStart.plusDays(6));
+        }
+
+        timeBorders[0] = fromDate;
+        timeBorders[1] = toDate;
+
+        return timeBorders;
+    }
+
+    private long toCents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+}
@@ -0,0 +1,56 @@
+package warehouse.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public class Cursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final boolean backward;
+    private final String sort;
+    private final long id;
+    private final String value;
+
+    public Cursor(boolean backward, String sort, long id, String value) {
+        this.backward = backward;
+        this.sort = sort;
+        this.id = id;
+        this.value = value;
+    }
+
+    public boolean isBackward() {
+        return backward;
+    }
+
+    public String getSort() {
+        return sort;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public String encode() {
+
+        String raw = (this.backward ? "B" : "F") + SEPARATOR + this.sort + SEPARATOR + this.id + SEPARATOR + this.value;
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Cursor decode(String token) {
+
+        String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        String[] parts = raw.split("\\" + SEPARATOR, 4);
+
+        if (parts.length != 4 || !(parts[0].equals("B") || parts[0].equals("F"))) {
+            throw new IllegalArgumentException("Malformed cursor: " + token);
+        }
+
+        return new Cursor(parts[0].equals("B"), parts[1], Long.parseLong(parts[2]), parts[3]);
+    }
+}
@@ -0,0 +1,45 @@
+package warehouse.pagination;
+
+public class CursorPagerModel {
+
+    private final String previousCursor;
+
+    private final String nextCursor;
+
+    private final Long totalElements;
+
+    public CursorPagerModel(KeysetPage<?> keysetPage, Long totalElements) {
+        this.previousCursor = keysetPage.getPreviousCursor();
+        this.nextCursor = keysetPage.getNextCursor();
+        this.totalElements = totalElements;
+    }
+
+    public String getPreviousCursor() {
+        return previousCursor;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public Long getTotalElements() {
+        return totalElements;
+    }
+
+    public boolean hasPrevious() {
+        return previousCursor != null;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    public boolean isCounted() {
+        return totalElements != null;
+    }
+
+    @Override
+    public String toString() {
+        return "CursorPager [previous=" + previousCursor + ", next=" + nextCursor + "]";
+    }
+}
@@ -0,0 +1,36 @@
+package warehouse.pagination;
+
+import java.util.List;
+
+public class KeysetPage<T> {
+
+    private final List<T> content;
+    private final String previousCursor;
+    private final String nextCursor;
+
+    public KeysetPage(List<T> content, String previousCursor, String nextCursor) {
+        this.content = content;
+        this.previousCursor = previousCursor;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public String getPreviousCursor() {
+        return previousCursor;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasPrevious() {
+        return previousCursor != null;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
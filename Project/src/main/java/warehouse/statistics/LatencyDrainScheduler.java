@@ -0,0 +1,20 @@
+package warehouse.statistics;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class LatencyDrainScheduler {
+
+    private final StatsService statsService;
+
+    public LatencyDrainScheduler(StatsService statsService) {
+        this.statsService = statsService;
+    }
+
+    //moves recorded latencies into the bucket of the minute they were recorded in, give or take the interval
+    @Scheduled(fixedRateString = "${stats.latency.drain-interval-ms:5000}")
+    public void drainLatencies() {
+        this.statsService.drainLatencies();
+    }
+}
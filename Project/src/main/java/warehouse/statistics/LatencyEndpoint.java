@@ -0,0 +1,27 @@
+package warehouse.statistics;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-handler latency percentiles over the last 1, 5 and 60 minutes at /actuator/latency.
+ */
+@Component
+@Endpoint(id = "latency")
+public class LatencyEndpoint {
+
+    private final StatsService statsService;
+
+    public LatencyEndpoint(StatsService statsService) {
+        this.statsService = statsService;
+    }
+
+    @ReadOperation
+    public Map<String, List<LatencySnapshot>> latency() {
+        return this.statsService.getLatencyWindows();
+    }
+}
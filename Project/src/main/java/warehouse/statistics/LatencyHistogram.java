@@ -0,0 +1,82 @@
+package warehouse.statistics;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latencies of one handler. Requests record into a wait-free {@link Recorder}, which does not allocate;
+ * its interval is drained into one bucket per minute of the last hour, and a window is the sum of its buckets.
+ * Values are kept in microseconds with two significant digits and capped at one minute.
+ */
+public class LatencyHistogram {
+
+    static final int MINUTES = 60;
+    private static final long HIGHEST_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final int SIGNIFICANT_DIGITS = 2;
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final String handler;
+    private final Recorder recorder = new Recorder(1, HIGHEST_MICROS, SIGNIFICANT_DIGITS);
+    private final Histogram[] buckets = new Histogram[MINUTES];
+    private final long[] bucketMinutes = new long[MINUTES];
+    private Histogram interval;
+
+    public LatencyHistogram(String handler) {
+        this.handler = handler;
+    }
+
+    public String getHandler() {
+        return handler;
+    }
+
+    public void record(long elapsedNanos) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(elapsedNanos);
+        this.recorder.recordValue(Math.max(1, Math.min(HIGHEST_MICROS, micros)));
+    }
+
+    public synchronized void drain(long minute) {
+
+        this.interval = this.recorder.getIntervalHistogram(this.interval);
+        if (this.interval.getTotalCount() == 0) {
+            return;
+        }
+
+        //buckets are only allocated for minutes that had requests, and reused an hour later
+        int index = (int) (minute % MINUTES);
+        Histogram bucket = this.buckets[index];
+        if (bucket == null) {
+            bucket = new Histogram(1, HIGHEST_MICROS, SIGNIFICANT_DIGITS);
+            this.buckets[index] = bucket;
+        } else if (this.bucketMinutes[index] != minute) {
+            bucket.reset();
+        }
+
+        this.bucketMinutes[index] = minute;
+        bucket.add(this.interval);
+    }
+
+    /**
+     * The current minute and the ones before it, up to the given number of minutes.
+     */
+    public synchronized LatencySnapshot snapshot(long minute, int windowMinutes) {
+
+        this.drain(minute);
+
+        Histogram window = new Histogram(1, HIGHEST_MICROS, SIGNIFICANT_DIGITS);
+        for (long m = minute; m > minute - Math.min(windowMinutes, MINUTES); m--) {
+            int index = (int) (m % MINUTES);
+            if (this.buckets[index] != null && this.bucketMinutes[index] == m) {
+                window.add(this.buckets[index]);
+            }
+        }
+
+        return new LatencySnapshot(this.handler,
+                window.getTotalCount(),
+                window.getValueAtPercentile(50) / MICROS_PER_MILLI,
+                window.getValueAtPercentile(95) / MICROS_PER_MILLI,
+                window.getValueAtPercentile(99) / MICROS_PER_MILLI,
+                window.getMaxValue() / MICROS_PER_MILLI);
+    }
+}
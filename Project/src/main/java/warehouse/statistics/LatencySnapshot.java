@@ -0,0 +1,47 @@
+package warehouse.statistics;
+
+/**
+ * Latency percentiles of one handler over a window, in milliseconds.
+ */
+public class LatencySnapshot {
+
+    private final String handler;
+    private final long count;
+    private final double p50;
+    private final double p95;
+    private final double p99;
+    private final double max;
+
+    public LatencySnapshot(String handler, long count, double p50, double p95, double p99, double max) {
+        this.handler = handler;
+        this.count = count;
+        this.p50 = p50;
+        this.p95 = p95;
+        this.p99 = p99;
+        this.max = max;
+    }
+
+    public String getHandler() {
+        return handler;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getP50() {
+        return p50;
+    }
+
+    public double getP95() {
+        return p95;
+    }
+
+    public double getP99() {
+        return p99;
+    }
+
+    public double getMax() {
+        return max;
+    }
+}
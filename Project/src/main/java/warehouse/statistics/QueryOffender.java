@@ -0,0 +1,69 @@
+package warehouse.statistics;
+
+import java.time.LocalDateTime;
+
+/**
+ * The request with the most SQL statements seen so far for a handler that went over the query budget
+ * or repeated a statement.
+ */
+public class QueryOffender {
+
+    private final String handler;
+    private final String URI;
+    private final int statements;
+    private final double jdbcMillis;
+    private final int entitiesLoaded;
+    private final String repeatedStatement;
+    private final int repeatCount;
+    private final long occurrences;
+    private final LocalDateTime lastSeen;
+
+    public QueryOffender(String handler, String URI, int statements, double jdbcMillis, int entitiesLoaded,
+                         String repeatedStatement, int repeatCount, long occurrences, LocalDateTime lastSeen) {
+        this.handler = handler;
+        this.URI = URI;
+        this.statements = statements;
+        this.jdbcMillis = jdbcMillis;
+        this.entitiesLoaded = entitiesLoaded;
+        this.repeatedStatement = repeatedStatement;
+        this.repeatCount = repeatCount;
+        this.occurrences = occurrences;
+        this.lastSeen = lastSeen;
+    }
+
+    public String getHandler() {
+        return handler;
+    }
+
+    public String getURI() {
+        return URI;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public double getJdbcMillis() {
+        return jdbcMillis;
+    }
+
+    public int getEntitiesLoaded() {
+        return entitiesLoaded;
+    }
+
+    public String getRepeatedStatement() {
+        return repeatedStatement;
+    }
+
+    public int getRepeatCount() {
+        return repeatCount;
+    }
+
+    public long getOccurrences() {
+        return occurrences;
+    }
+
+    public LocalDateTime getLastSeen() {
+        return lastSeen;
+    }
+}
@@ -0,0 +1,67 @@
+package warehouse.statistics;
+
+import org.hibernate.BaseSessionEventListener;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hooks Hibernate so every statement prepared and JDBC execution is added to the
+ * {@link RequestQueryStats} of the current request. Entity loads are counted by {@link EntityLoadListener}.
+ */
+@Configuration
+public class QueryStatsConfiguration {
+
+    @Bean
+    public HibernatePropertiesCustomizer queryStatsHibernatePropertiesCustomizer() {
+
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, (StatementInspector) QueryStatsConfiguration::inspect);
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, JdbcTimeListener.class.getName());
+        };
+    }
+
+    private static String inspect(String sql) {
+
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats != null) {
+            stats.onStatement(sql);
+        }
+
+        return sql;
+    }
+
+    /**
+     * Created by Hibernate for every session.
+     */
+    public static class JdbcTimeListener extends BaseSessionEventListener {
+
+        @Override
+        public void jdbcExecuteStatementStart() {
+            RequestQueryStats stats = RequestQueryStats.current();
+            if (stats != null) {
+                stats.onExecuteStart();
+            }
+        }
+
+        @Override
+        public void jdbcExecuteStatementEnd() {
+            RequestQueryStats stats = RequestQueryStats.current();
+            if (stats != null) {
+                stats.onExecuteEnd();
+            }
+        }
+
+        @Override
+        public void jdbcExecuteBatchStart() {
+            this.jdbcExecuteStatementStart();
+        }
+
+        @Override
+        public void jdbcExecuteBatchEnd() {
+            this.jdbcExecuteStatementEnd();
+        }
+    }
+}
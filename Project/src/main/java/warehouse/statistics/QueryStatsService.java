@@ -0,0 +1,103 @@
+package warehouse.statistics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Flags requests that run more SQL statements than the query budget or run the same statement shape
+ * too many times, which is what an N+1 looks like, and keeps the worst request of each flagged handler.
+ */
+@Service
+public class QueryStatsService {
+
+    private final int queryBudget;
+    private final int repeatThreshold;
+    private final int maxOffenders;
+    private final DistributionSummary statementsSummary;
+    private final Counter flaggedCounter;
+    //one entry per handler, so bounded by the number of handlers
+    private final Map<String, QueryOffender> offenders = new ConcurrentHashMap<>();
+
+    @Autowired
+    public QueryStatsService(MeterRegistry meterRegistry,
+                             @Value("${stats.sql.query-budget:50}") int queryBudget,
+                             @Value("${stats.sql.repeat-threshold:10}") int repeatThreshold,
+                             @Value("${stats.sql.max-offenders:20}") int maxOffenders) {
+
+        this.queryBudget = queryBudget;
+        this.repeatThreshold = repeatThreshold;
+        this.maxOffenders = maxOffenders;
+        this.statementsSummary = meterRegistry.summary("warehouse.sql.statements");
+        this.flaggedCounter = meterRegistry.counter("warehouse.sql.flagged");
+    }
+
+    /**
+     * Returns true when the request was flagged.
+     */
+    public boolean record(Object handler, String URI, RequestQueryStats stats) {
+
+        this.statementsSummary.record(stats.getStatements());
+
+        boolean overBudget = stats.getStatements() > this.queryBudget;
+        //no shape can repeat more often than the request ran statements, so most requests are never normalised
+        Map.Entry<String, Integer> mostRepeated = overBudget || stats.getStatements() >= this.repeatThreshold
+                ? stats.getMostRepeated()
+                : null;
+        boolean repeated = mostRepeated != null && mostRepeated.getValue() >= this.repeatThreshold;
+
+        if (!overBudget && !repeated) {
+            return false;
+        }
+
+        this.flaggedCounter.increment();
+
+        String handlerName = StatsService.getHandlerName(StatsService.getHandlerKey(handler));
+        this.offenders.compute(handlerName, (k, previous) -> {
+
+            long occurrences = previous == null ? 1 : previous.getOccurrences() + 1;
+            if (previous != null && previous.getStatements() >= stats.getStatements()) {
+                return new QueryOffender(k, previous.getURI(), previous.getStatements(), previous.getJdbcMillis(),
+                        previous.getEntitiesLoaded(), previous.getRepeatedStatement(), previous.getRepeatCount(),
+                        occurrences, LocalDateTime.now());
+            }
+
+            return new QueryOffender(k, URI, stats.getStatements(), stats.getJdbcNanos() / 1_000_000.0,
+                    stats.getEntitiesLoaded(),
+                    mostRepeated == null ? null : mostRepeated.getKey(),
+                    mostRepeated == null ? 0 : mostRepeated.getValue(),
+                    occurrences, LocalDateTime.now());
+        });
+
+        return true;
+    }
+
+    /**
+     * Worst offenders first, by the number of statements of their worst request.
+     */
+    public List<QueryOffender> getOffenders() {
+        return this.offenders.values().stream()
+                .sorted(Comparator.comparingInt(QueryOffender::getStatements).reversed()
+                        .thenComparing(QueryOffender::getHandler))
+                .limit(this.maxOffenders)
+                .collect(Collectors.toList());
+    }
+
+    public int getQueryBudget() {
+        return queryBudget;
+    }
+
+    public int getRepeatThreshold() {
+        return repeatThreshold;
+    }
+}
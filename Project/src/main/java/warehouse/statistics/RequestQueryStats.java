@@ -0,0 +1,104 @@
+package warehouse.statistics;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * SQL statements, JDBC time and entity loads of the request handled by the current thread.
+ * Filled in by the Hibernate hooks of {@link QueryStatsConfiguration}, which do nothing outside a request.
+ */
+public class RequestQueryStats {
+
+    private static final ThreadLocal<RequestQueryStats> CURRENT = new ThreadLocal<>();
+
+    private static final int MAX_STATEMENTS = 256;
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern NUMBER = Pattern.compile("\\b\\d+\\b");
+    private static final Pattern STRING = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private int statements;
+    private long jdbcNanos;
+    private long executeStart;
+    private int entitiesLoaded;
+    //counted by their SQL text and only collapsed into shapes when read, so a statement is normalised once per request
+    private final Map<String, Integer> statementCounts = new HashMap<>();
+    private Map.Entry<String, Integer> mostRepeated;
+
+    public static void begin() {
+        CURRENT.set(new RequestQueryStats());
+    }
+
+    public static RequestQueryStats current() {
+        return CURRENT.get();
+    }
+
+    public static RequestQueryStats end() {
+        RequestQueryStats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats;
+    }
+
+    /**
+     * The statement with literals, whitespace and batch fetch IN lists collapsed,
+     * so the same query with different parameters has the same shape.
+     */
+    static String shapeOf(String sql) {
+        String shape = STRING.matcher(sql).replaceAll("?");
+        shape = NUMBER.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("(?)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+
+    void onStatement(String sql) {
+
+        this.statements++;
+        this.mostRepeated = null;
+
+        //past the limit only statements already seen are counted, a request with that many distinct queries is flagged anyway
+        if (this.statementCounts.size() < MAX_STATEMENTS || this.statementCounts.containsKey(sql)) {
+            this.statementCounts.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    void onExecuteStart() {
+        this.executeStart = System.nanoTime();
+    }
+
+    void onExecuteEnd() {
+        if (this.executeStart != 0) {
+            this.jdbcNanos += System.nanoTime() - this.executeStart;
+            this.executeStart = 0;
+        }
+    }
+
+    void onEntityLoaded() {
+        this.entitiesLoaded++;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getJdbcNanos() {
+        return jdbcNanos;
+    }
+
+    public int getEntitiesLoaded() {
+        return entitiesLoaded;
+    }
+
+    public Map.Entry<String, Integer> getMostRepeated() {
+
+        if (this.mostRepeated == null) {
+            Map<String, Integer> shapes = new HashMap<>();
+            this.statementCounts.forEach((sql, count) -> shapes.merge(shapeOf(sql), count, Integer::sum));
+            this.mostRepeated = shapes.entrySet().stream()
+                    .max(Map.Entry.comparingByValue())
+                    .orElse(null);
+        }
+
+        return this.mostRepeated;
+    }
+}
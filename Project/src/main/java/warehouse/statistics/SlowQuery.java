@@ -0,0 +1,44 @@
+package warehouse.statistics;
+
+import java.time.LocalDateTime;
+
+/**
+ * One repository call that took longer than the slow query threshold. Parameters are described by type
+ * and size only, never by value.
+ */
+public class SlowQuery {
+
+    private final String method;
+    private final String parameters;
+    private final long rows;
+    private final double durationMillis;
+    private final LocalDateTime recordedOn;
+
+    public SlowQuery(String method, String parameters, long rows, double durationMillis, LocalDateTime recordedOn) {
+        this.method = method;
+        this.parameters = parameters;
+        this.rows = rows;
+        this.durationMillis = durationMillis;
+        this.recordedOn = recordedOn;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getParameters() {
+        return parameters;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public double getDurationMillis() {
+        return durationMillis;
+    }
+
+    public LocalDateTime getRecordedOn() {
+        return recordedOn;
+    }
+}
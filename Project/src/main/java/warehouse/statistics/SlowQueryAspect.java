@@ -0,0 +1,131 @@
+package warehouse.statistics;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.BaseStream;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Times every call to a Spring Data repository and hands the slow ones to {@link SlowQueryService}.
+ * Calls returning a stream are timed until the stream is closed, so the time spent reading its rows is included.
+ */
+@Component
+@Aspect
+public class SlowQueryAspect {
+
+    private static final long UNKNOWN_ROWS = -1;
+
+    private final SlowQueryService slowQueryService;
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    @Autowired
+    public SlowQueryAspect(SlowQueryService slowQueryService) {
+        this.slowQueryService = slowQueryService;
+    }
+
+    @Pointcut("execution(public * org.springframework.data.repository.Repository+.*(..))")
+    private void repositoryMethod(){}
+
+    @Around("repositoryMethod()")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+
+        long start = System.nanoTime();
+        Object result = joinPoint.proceed();
+
+        if (result instanceof Stream) {
+            //the rows are fetched while the caller reads the stream, and callers close it when they are done.
+            //Hibernate's stream ignores close handlers added after it is created, so it is wrapped instead
+            Stream<?> stream = (Stream<?>) result;
+            long[] rows = new long[1];
+            return StreamSupport.stream(stream.spliterator(), stream.isParallel())
+                    .onClose(stream::close)
+                    .onClose(() -> this.recordIfSlow(joinPoint, rows[0], System.nanoTime() - start))
+                    .peek(row -> rows[0]++);
+        }
+
+        this.recordIfSlow(joinPoint, countRows(result), System.nanoTime() - start);
+
+        return result;
+    }
+
+    private void recordIfSlow(ProceedingJoinPoint joinPoint, long rows, long elapsedNanos) {
+        if (this.slowQueryService.isSlow(elapsedNanos)) {
+            this.slowQueryService.record(this.getMethodName(joinPoint), describeParameters(joinPoint.getArgs()),
+                    rows, elapsedNanos);
+        }
+    }
+
+    private String getMethodName(ProceedingJoinPoint joinPoint) {
+
+        Class<?> targetClass = joinPoint.getTarget().getClass();
+        String repository = this.repositoryNames.computeIfAbsent(targetClass, c -> Arrays.stream(c.getInterfaces())
+                .filter(i -> i.getName().startsWith("warehouse."))
+                .map(Class::getSimpleName)
+                .findFirst()
+                .orElse(joinPoint.getSignature().getDeclaringType().getSimpleName()));
+
+        return repository + "#" + joinPoint.getSignature().getName();
+    }
+
+    static String describeParameters(Object[] args) {
+        return Arrays.stream(args)
+                .map(SlowQueryAspect::describe)
+                .collect(Collectors.joining(", "));
+    }
+
+    static long countRows(Object result) {
+
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        }
+        if (result instanceof Slice) {
+            return ((Slice<?>) result).getNumberOfElements();
+        }
+        if (result instanceof Optional) {
+            return ((Optional<?>) result).isPresent() ? 1 : 0;
+        }
+        if (result instanceof Object[]) {
+            return ((Object[]) result).length;
+        }
+        if (result instanceof Iterable || result instanceof BaseStream) {
+            return UNKNOWN_ROWS;
+        }
+
+        return 1;
+    }
+
+    private static String describe(Object arg) {
+
+        if (arg == null) {
+            return "null";
+        }
+        if (arg instanceof Collection) {
+            return arg.getClass().getSimpleName() + "[" + ((Collection<?>) arg).size() + "]";
+        }
+        if (arg instanceof Object[]) {
+            return arg.getClass().getComponentType().getSimpleName() + "[" + ((Object[]) arg).length + "]";
+        }
+        if (arg instanceof Pageable) {
+            Pageable pageable = (Pageable) arg;
+            return pageable.isPaged()
+                    ? "Pageable(" + pageable.getPageNumber() + ", " + pageable.getPageSize() + ")"
+                    : "Pageable(unpaged)";
+        }
+
+        return arg.getClass().getSimpleName();
+    }
+}
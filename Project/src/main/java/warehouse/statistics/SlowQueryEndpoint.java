@@ -0,0 +1,35 @@
+package warehouse.statistics;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Slow repository calls at /actuator/slowqueries, totals per method and the latest calls newest first.
+ */
+@Component
+@Endpoint(id = "slowqueries")
+public class SlowQueryEndpoint {
+
+    private final SlowQueryService slowQueryService;
+
+    public SlowQueryEndpoint(SlowQueryService slowQueryService) {
+        this.slowQueryService = slowQueryService;
+    }
+
+    @ReadOperation
+    public Map<String, Object> slowQueries() {
+
+        Map<String, Object> slowQueries = new LinkedHashMap<>();
+        slowQueries.put("thresholdMs", this.slowQueryService.getThresholdMillis());
+        slowQueries.put("methods", this.slowQueryService.getSummaries());
+        slowQueries.put("latest", this.slowQueryService
+                .getSlowQueries(PageRequest.of(0, this.slowQueryService.getCapacity())).getContent());
+
+        return slowQueries;
+    }
+}
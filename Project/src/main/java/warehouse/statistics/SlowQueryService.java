@@ -0,0 +1,116 @@
+package warehouse.statistics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Repository calls slower than the threshold, the latest in a fixed ring that overwrites the oldest
+ * and totals per repository method since startup.
+ */
+@Service
+public class SlowQueryService {
+
+    private final long thresholdNanos;
+    private final AtomicReferenceArray<SlowQuery> slowQueries;
+    private final int mask;
+    private final AtomicLong sequence = new AtomicLong();
+    //one entry per repository method, so bounded by the number of methods
+    private final Map<String, Totals> totals = new ConcurrentHashMap<>();
+    private final Counter slowCounter;
+
+    @Autowired
+    public SlowQueryService(MeterRegistry meterRegistry,
+                            @Value("${stats.slow-query.threshold-ms:200}") long thresholdMillis,
+                            @Value("${stats.slow-query.capacity:512}") int capacity) {
+
+        int size = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        this.slowQueries = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+        this.slowCounter = meterRegistry.counter("warehouse.repository.slow");
+    }
+
+    public boolean isSlow(long elapsedNanos) {
+        return elapsedNanos >= this.thresholdNanos;
+    }
+
+    public void record(String method, String parameters, long rows, long elapsedNanos) {
+
+        double durationMillis = elapsedNanos / 1_000_000.0;
+        this.slowQueries.set((int) (this.sequence.getAndIncrement() & this.mask),
+                new SlowQuery(method, parameters, rows, durationMillis, LocalDateTime.now()));
+
+        Totals methodTotals = this.totals.computeIfAbsent(method, k -> new Totals());
+        methodTotals.count.increment();
+        methodTotals.nanos.add(elapsedNanos);
+        methodTotals.maxNanos.accumulate(elapsedNanos);
+
+        this.slowCounter.increment();
+    }
+
+    /**
+     * Newest first.
+     */
+    public Page<SlowQuery> getSlowQueries(Pageable pageable) {
+
+        long next = this.sequence.get();
+        long available = Math.min(next, this.slowQueries.length());
+        long end = Math.min(available, pageable.getOffset() + pageable.getPageSize());
+
+        List<SlowQuery> content = new ArrayList<>((int) Math.max(end - pageable.getOffset(), 0));
+        for (long i = pageable.getOffset(); i < end; i++) {
+            SlowQuery slowQuery = this.slowQueries.get((int) ((next - 1 - i) & this.mask));
+            if (slowQuery != null) {
+                content.add(slowQuery);
+            }
+        }
+
+        return new PageImpl<>(content, pageable, available);
+    }
+
+    /**
+     * Methods with the most total slow time first.
+     */
+    public List<SlowQuerySummary> getSummaries() {
+        return this.totals.entrySet().stream()
+                .map(e -> new SlowQuerySummary(e.getKey(), e.getValue().count.sum(),
+                        e.getValue().nanos.sum() / 1_000_000.0, e.getValue().maxNanos.get() / 1_000_000.0))
+                .sorted(Comparator.comparingDouble(SlowQuerySummary::getTotalMillis).reversed()
+                        .thenComparing(SlowQuerySummary::getMethod))
+                .collect(Collectors.toList());
+    }
+
+    public long getThresholdMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(thresholdNanos);
+    }
+
+    public int getCapacity() {
+        return this.slowQueries.length();
+    }
+
+    private static final class Totals {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    }
+}
@@ -0,0 +1,35 @@
+package warehouse.statistics;
+
+/**
+ * Slow calls of one repository method since startup.
+ */
+public class SlowQuerySummary {
+
+    private final String method;
+    private final long count;
+    private final double totalMillis;
+    private final double maxMillis;
+
+    public SlowQuerySummary(String method, long count, double totalMillis, double maxMillis) {
+        this.method = method;
+        this.count = count;
+        this.totalMillis = totalMillis;
+        this.maxMillis = maxMillis;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getTotalMillis() {
+        return totalMillis;
+    }
+
+    public double getMaxMillis() {
+        return maxMillis;
+    }
+}
@@ -1,24 +1,35 @@
 package warehouse.statistics;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import warehouse.pagination.PagerModel;
 
 import java.time.format.DateTimeFormatter;
 
+import static warehouse.constants.GlobalConstants.*;
+
 @Controller
 @PreAuthorize("hasRole('ADMIN')")
 public class StatsController {
 
     private final StatsService statsService;
     private final UnauthorizedErrorService unauthorizedErrorService;
+    private final QueryStatsService queryStatsService;
+    private final SlowQueryService slowQueryService;
 
     @Autowired
-    public StatsController(StatsService statsService, UnauthorizedErrorService unauthorizedErrorService) {
+    public StatsController(StatsService statsService, UnauthorizedErrorService unauthorizedErrorService,
+                           QueryStatsService queryStatsService, SlowQueryService slowQueryService) {
         this.statsService = statsService;
         this.unauthorizedErrorService = unauthorizedErrorService;
+        this.queryStatsService = queryStatsService;
+        this.slowQueryService = slowQueryService;
     }
 
     @GetMapping("/stats")
@@ -30,16 +41,56 @@ public class StatsController {
         DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
         String startedOn = dateTimeFormatter.format(this.statsService.getStartedOn());
         model.addAttribute("startedOn", startedOn);
+        model.addAttribute("latencyWindows", this.statsService.getLatencyWindows());
+        model.addAttribute("queryOffenders", this.queryStatsService.getOffenders());
+        model.addAttribute("queryBudget", this.queryStatsService.getQueryBudget());
+        model.addAttribute("repeatThreshold", this.queryStatsService.getRepeatThreshold());
 
         return "stats/requests-stats";
     }
 
     @GetMapping("/unauthorized")
-    public String getUnauthorizedErrors(Model model){
+    public String getUnauthorizedErrors(Model model,
+                                        @RequestParam(name = "pageSize", defaultValue = DEFAULT_PAGE_SIZE) Integer pageSize,
+                                        @RequestParam(name = "page", defaultValue = "0") Integer page){
+
+        page = page < 1 ? 0 : page - 1;
+
+        Page<UnauthorizedError> unauthorizedErrors = unauthorizedErrorService.getUnauthorizedErrors(PageRequest.of(page, pageSize));
+        PagerModel pager = new PagerModel(unauthorizedErrors.getTotalPages(), unauthorizedErrors.getNumber(), BUTTONS_TO_SHOW);
 
-        model.addAttribute("unauthorizedErrors", unauthorizedErrorService.getUnauthorizedErrorList());
+        model.addAttribute("unauthorizedErrors", unauthorizedErrors);
+        model.addAttribute("unauthorizedErrorCounts", unauthorizedErrorService.getCounts());
+        model.addAttribute("windowMinutes", unauthorizedErrorService.getWindowMinutes());
+        model.addAttribute("result", unauthorizedErrors);
+        model.addAttribute("selectedPageSize", pageSize);
+        model.addAttribute("pageSizes", PAGE_SIZES);
+        model.addAttribute("pager", pager);
+        model.addAttribute("path", "/unauthorized");
 
         return "stats/unauthorized-errors";
     }
 
+    @GetMapping("/slow-queries")
+    public String getSlowQueries(Model model,
+                                 @RequestParam(name = "pageSize", defaultValue = DEFAULT_PAGE_SIZE) Integer pageSize,
+                                 @RequestParam(name = "page", defaultValue = "0") Integer page) {
+
+        page = page < 1 ? 0 : page - 1;
+
+        Page<SlowQuery> slowQueries = slowQueryService.getSlowQueries(PageRequest.of(page, pageSize));
+        PagerModel pager = new PagerModel(slowQueries.getTotalPages(), slowQueries.getNumber(), BUTTONS_TO_SHOW);
+
+        model.addAttribute("slowQueries", slowQueries);
+        model.addAttribute("slowQuerySummaries", slowQueryService.getSummaries());
+        model.addAttribute("thresholdMillis", slowQueryService.getThresholdMillis());
+        model.addAttribute("result", slowQueries);
+        model.addAttribute("selectedPageSize", pageSize);
+        model.addAttribute("pageSizes", PAGE_SIZES);
+        model.addAttribute("pager", pager);
+        model.addAttribute("path", "/slow-queries");
+
+        return "stats/slow-queries";
+    }
+
 }
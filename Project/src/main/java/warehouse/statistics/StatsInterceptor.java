@@ -2,41 +2,73 @@ package warehouse.statistics;
 import org.apache.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
-import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import warehouse.utils.log.EventLog;
 
+import javax.servlet.DispatcherType;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 @Component
-public class StatsInterceptor implements HandlerInterceptor {
+public class StatsInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String START_ATTRIBUTE = StatsInterceptor.class.getName() + ".start";
 
     private final StatsService statsService;
+    private final QueryStatsService queryStatsService;
+    private final EventLog eventLog;
     private static final Logger logger = Logger.getLogger(StatsInterceptor.class);
 
     @Autowired
-    public StatsInterceptor(StatsService statsService) {
+    public StatsInterceptor(StatsService statsService, QueryStatsService queryStatsService, EventLog eventLog) {
         this.statsService = statsService;
+        this.queryStatsService = queryStatsService;
+        this.eventLog = eventLog;
     }
 
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
 
-        statsService.incRequestsCount();
-        logger.info("[preHandle][" + request + "]" + "[" + request.getMethod()
-                + "]" + "[" + request.getRequestURI() + "]");
+        //an async request is dispatched again to complete, it keeps the count and start of its first dispatch
+        if (request.getDispatcherType() != DispatcherType.ASYNC) {
+            statsService.incRequestsCount();
+            request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        }
+        RequestQueryStats.begin();
 
         return true;
     }
 
+    //afterCompletion only runs for the final dispatch, so the thread is released here without leaving the stats bound to it
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestQueryStats.end();
+    }
+
     @Override
     public void afterCompletion(HttpServletRequest request, HttpServletResponse response,Object handler, Exception ex) throws Exception {
 
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        long elapsedNanos = start == null ? -1 : System.nanoTime() - (Long) start;
+        if (elapsedNanos >= 0) {
+            statsService.recordLatency(handler, elapsedNanos);
+        }
+
+        RequestQueryStats queryStats = RequestQueryStats.end();
+        if (queryStats != null && queryStatsService.record(handler, request.getRequestURI(), queryStats)) {
+            eventLog.warn(logger, "[{}][{} SQL statements][{} entities loaded][{}]", request.getRequestURI(),
+                    queryStats.getStatements(), queryStats.getEntitiesLoaded(), queryStats.getMostRepeated());
+        }
+
         if (ex != null){
             statsService.incErrorsCount();
-            logger.error("[preHandle][" + request + "]" + "[" + request.getMethod()
-                    + "][" + request.getRequestURI() + "][exception: " + ex + "]");
+            eventLog.error(logger, "[{}][{}][{}]", request.getMethod(), request.getRequestURI(), response.getStatus(), ex);
+            return;
         }
 
+        eventLog.info(logger, "[{}][{}][{}][{} ms]", request.getMethod(), request.getRequestURI(), response.getStatus(),
+                elapsedNanos < 0 ? -1 : elapsedNanos / 1_000_000);
+
     }
 
 }
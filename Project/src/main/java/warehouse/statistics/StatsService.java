@@ -1,16 +1,27 @@
 package warehouse.statistics;
 
 import org.springframework.stereotype.Service;
+import org.springframework.web.method.HandlerMethod;
 
 
+import java.lang.reflect.Method;
 import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
 @Service
 public class StatsService {
 
+    public static final int[] LATENCY_WINDOW_MINUTES = {1, 5, 60};
+
     private AtomicInteger requestCount = new AtomicInteger(0);
     private AtomicInteger errorsCount = new AtomicInteger(0);
     private LocalDateTime startedOn = LocalDateTime.now();
+    //keyed by the handler method, which is the same instance on every request and hashes without allocating
+    private final Map<Object, LatencyHistogram> latencies = new ConcurrentHashMap<>();
 
     public void incRequestsCount() {
         requestCount.incrementAndGet();
@@ -31,4 +42,59 @@ public class StatsService {
     public LocalDateTime getStartedOn() {
         return startedOn;
     }
+
+    public void recordLatency(Object handler, long elapsedNanos) {
+
+        Object key = getHandlerKey(handler);
+
+        LatencyHistogram latencyHistogram = this.latencies.get(key);
+        if (latencyHistogram == null) {
+            latencyHistogram = this.latencies.computeIfAbsent(key, k -> new LatencyHistogram(getHandlerName(k)));
+        }
+
+        latencyHistogram.record(elapsedNanos);
+    }
+
+    public void drainLatencies() {
+        long minute = currentMinute();
+        this.latencies.values().forEach(l -> l.drain(minute));
+    }
+
+    /**
+     * Latencies per handler for each of the {@link #LATENCY_WINDOW_MINUTES}, slowest p99 first.
+     */
+    public Map<String, List<LatencySnapshot>> getLatencyWindows() {
+
+        long minute = currentMinute();
+        Map<String, List<LatencySnapshot>> windows = new LinkedHashMap<>();
+
+        for (int windowMinutes : LATENCY_WINDOW_MINUTES) {
+            windows.put(windowMinutes + "m", this.latencies.values().stream()
+                    .map(l -> l.snapshot(minute, windowMinutes))
+                    .filter(s -> s.getCount() > 0)
+                    .sorted(Comparator.comparingDouble(LatencySnapshot::getP99).reversed()
+                            .thenComparing(LatencySnapshot::getHandler))
+                    .collect(Collectors.toList()));
+        }
+
+        return windows;
+    }
+
+    private static long currentMinute() {
+        return TimeUnit.MILLISECONDS.toMinutes(System.currentTimeMillis());
+    }
+
+    static Object getHandlerKey(Object handler) {
+        return handler instanceof HandlerMethod ? ((HandlerMethod) handler).getMethod() : handler.getClass();
+    }
+
+    static String getHandlerName(Object key) {
+
+        if (key instanceof Method) {
+            Method method = (Method) key;
+            return method.getDeclaringClass().getSimpleName() + "#" + method.getName();
+        }
+
+        return ((Class<?>) key).getSimpleName();
+    }
 }
@@ -0,0 +1,34 @@
+package warehouse.statistics;
+
+import java.time.LocalDateTime;
+
+public class UnauthorizedErrorCount {
+
+    private final String username;
+    private final String URI;
+    private final long count;
+    private final LocalDateTime lastSeen;
+
+    public UnauthorizedErrorCount(String username, String URI, long count, LocalDateTime lastSeen) {
+        this.username = username;
+        this.URI = URI;
+        this.count = count;
+        this.lastSeen = lastSeen;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getURI() {
+        return URI;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public LocalDateTime getLastSeen() {
+        return lastSeen;
+    }
+}
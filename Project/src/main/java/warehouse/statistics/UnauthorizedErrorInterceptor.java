@@ -7,7 +7,6 @@ import org.springframework.web.servlet.HandlerInterceptor;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import java.time.LocalDateTime;
 
 @Component
 public class UnauthorizedErrorInterceptor implements HandlerInterceptor {
@@ -34,9 +33,8 @@ public class UnauthorizedErrorInterceptor implements HandlerInterceptor {
             if (ex != null && ("Access is denied").equals(ex.getMessage())) {
                 Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
                 String currentPrincipalName = authentication.getName();
-                UnauthorizedError unauthorizedError = new UnauthorizedError(request.getRequestURI(), currentPrincipalName, LocalDateTime.now());
 
-                this.unauthorizedErrorService.getUnauthorizedErrorList().add(unauthorizedError);
+                this.unauthorizedErrorService.record(request.getRequestURI(), currentPrincipalName);
             }
 
 
@@ -1,25 +1,156 @@
 package warehouse.statistics;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.Collectors;
 
+/**
+ * Latest unauthorized requests in a fixed ring that overwrites the oldest, and their counts per user and URI
+ * over a time window. Both are written without locks from the request threads and have a fixed upper size,
+ * pairs beyond the key limit are counted together under "*".
+ */
 @Service
 public class UnauthorizedErrorService {
 
-   private Set<UnauthorizedError> unauthorizedErrorList;
+    static final String OTHER = "*";
 
-    public UnauthorizedErrorService() {
-        this.unauthorizedErrorList = new HashSet<>();
+    private final AtomicReferenceArray<UnauthorizedError> events;
+    private final int mask;
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<Key, Aggregate> aggregates = new ConcurrentHashMap<>();
+    private final int windowMinutes;
+    private final int maxKeys;
+
+    public UnauthorizedErrorService(@Value("${stats.unauthorized.capacity:1024}") int capacity,
+                                    @Value("${stats.unauthorized.window-minutes:60}") int windowMinutes,
+                                    @Value("${stats.unauthorized.max-keys:1000}") int maxKeys) {
+
+        int size = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        this.events = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+        this.windowMinutes = windowMinutes;
+        this.maxKeys = maxKeys;
+    }
+
+    public void record(String URI, String username) {
+
+        LocalDateTime now = LocalDateTime.now();
+        this.events.set((int) (this.sequence.getAndIncrement() & this.mask), new UnauthorizedError(URI, username, now));
+
+        Key key = new Key(username, URI);
+        Aggregate aggregate = this.aggregates.get(key);
+        if (aggregate == null) {
+            if (this.aggregates.size() >= this.maxKeys) {
+                key = new Key(OTHER, OTHER);
+            }
+            aggregate = this.aggregates.computeIfAbsent(key, k -> new Aggregate(this.windowMinutes));
+        }
+
+        aggregate.counter.increment(currentMinute());
+        aggregate.lastSeen = now;
     }
 
-    public Set<UnauthorizedError> getUnauthorizedErrorList() {
-        return unauthorizedErrorList;
+    /**
+     * Newest first, a page only reads its own slots of the ring.
+     */
+    public Page<UnauthorizedError> getUnauthorizedErrors(Pageable pageable) {
+
+        long next = this.sequence.get();
+        long available = Math.min(next, this.events.length());
+        long end = Math.min(available, pageable.getOffset() + pageable.getPageSize());
+
+        List<UnauthorizedError> content = new ArrayList<>((int) Math.max(end - pageable.getOffset(), 0));
+        for (long i = pageable.getOffset(); i < end; i++) {
+            //a slot being overwritten at this moment may still show its previous event
+            UnauthorizedError unauthorizedError = this.events.get((int) ((next - 1 - i) & this.mask));
+            if (unauthorizedError != null) {
+                content.add(unauthorizedError);
+            }
+        }
+
+        return new PageImpl<>(content, pageable, available);
     }
 
-    public UnauthorizedErrorService setUnauthorizedErrorList(Set<UnauthorizedError> unauthorizedErrorList) {
-        this.unauthorizedErrorList = unauthorizedErrorList;
-        return this;
+    /**
+     * Counts per user and URI within the window, highest first. Pairs with nothing left in the window are dropped.
+     */
+    public List<UnauthorizedErrorCount> getCounts() {
+
+        long minute = currentMinute();
+        List<UnauthorizedErrorCount> counts = new ArrayList<>();
+
+        this.aggregates.forEach((key, aggregate) -> {
+            long count = aggregate.counter.sum(minute);
+            if (count == 0) {
+                this.aggregates.remove(key, aggregate);
+            } else {
+                counts.add(new UnauthorizedErrorCount(key.username, key.URI, count, aggregate.lastSeen));
+            }
+        });
+
+        return counts.stream()
+                .sorted(Comparator.comparingLong(UnauthorizedErrorCount::getCount).reversed()
+                        .thenComparing(UnauthorizedErrorCount::getUsername)
+                        .thenComparing(UnauthorizedErrorCount::getURI))
+                .collect(Collectors.toList());
+    }
+
+    public int getWindowMinutes() {
+        return windowMinutes;
+    }
+
+    private static long currentMinute() {
+        return TimeUnit.MILLISECONDS.toMinutes(System.currentTimeMillis());
+    }
+
+    private static final class Key {
+
+        private final String username;
+        private final String URI;
+
+        private Key(String username, String URI) {
+            this.username = username;
+            this.URI = URI;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return username.equals(key.username) && URI.equals(key.URI);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * username.hashCode() + URI.hashCode();
+        }
+    }
+
+    private static final class Aggregate {
+
+        private final WindowedCounter counter;
+        private volatile LocalDateTime lastSeen;
+
+        private Aggregate(int windowMinutes) {
+            this.counter = new WindowedCounter(windowMinutes);
+        }
     }
 }
@@ -0,0 +1,48 @@
+package warehouse.statistics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Count over the last minutes, one striped {@link LongAdder} per minute reused as the window moves on.
+ * An increment racing the rollover of its minute may be lost, which is fine for statistics.
+ */
+public class WindowedCounter {
+
+    private final LongAdder[] buckets;
+    private final AtomicLongArray bucketMinutes;
+
+    public WindowedCounter(int windowMinutes) {
+        this.buckets = new LongAdder[windowMinutes];
+        this.bucketMinutes = new AtomicLongArray(windowMinutes);
+        for (int i = 0; i < windowMinutes; i++) {
+            this.buckets[i] = new LongAdder();
+            this.bucketMinutes.set(i, -1);
+        }
+    }
+
+    public void increment(long minute) {
+
+        int index = (int) (minute % this.buckets.length);
+        long bucketMinute = this.bucketMinutes.get(index);
+
+        if (bucketMinute != minute && this.bucketMinutes.compareAndSet(index, bucketMinute, minute)) {
+            this.buckets[index].reset();
+        }
+
+        this.buckets[index].increment();
+    }
+
+    public long sum(long minute) {
+
+        long sum = 0;
+        for (int i = 0; i < this.buckets.length; i++) {
+            long bucketMinute = this.bucketMinutes.get(i);
+            if (bucketMinute > minute - this.buckets.length && bucketMinute <= minute) {
+                sum += this.buckets[i].sum();
+            }
+        }
+
+        return sum;
+    }
+}
@@ -0,0 +1,36 @@
+package warehouse.suppliers.mapper;
+
+import warehouse.addresses.mapper.AddressViewMapper;
+import warehouse.suppliers.model.SupplierEntity;
+import warehouse.suppliers.model.SupplierServiceModel;
+import warehouse.suppliers.model.SupplierViewBindingModel;
+
+public final class SupplierViewMapper {
+
+    private SupplierViewMapper() {
+    }
+
+    public static SupplierServiceModel toServiceModel(SupplierEntity supplierEntity) {
+
+        SupplierServiceModel supplierServiceModel = new SupplierServiceModel();
+        supplierServiceModel.setId(supplierEntity.getId());
+        supplierServiceModel.setName(supplierEntity.getName());
+        supplierServiceModel.setEmail(supplierEntity.getEmail());
+        supplierServiceModel.setBlocked(supplierEntity.isBlocked());
+        supplierServiceModel.setAddress(AddressViewMapper.toServiceModel(supplierEntity.getAddressEntity()));
+
+        return supplierServiceModel;
+    }
+
+    public static SupplierViewBindingModel toBindingModel(SupplierServiceModel supplierServiceModel) {
+
+        SupplierViewBindingModel supplierViewBindingModel = new SupplierViewBindingModel();
+        supplierViewBindingModel.setId(supplierServiceModel.getId());
+        supplierViewBindingModel.setName(supplierServiceModel.getName());
+        supplierViewBindingModel.setEmail(supplierServiceModel.getEmail());
+        supplierViewBindingModel.setBlocked(supplierServiceModel.isBlocked());
+        supplierViewBindingModel.setAddress(AddressViewMapper.toBindingModel(supplierServiceModel.getAddress()));
+
+        return supplierViewBindingModel;
+    }
+}
@@ -10,6 +10,7 @@ import java.util.Set;
 
 @Entity
 @Table(name = "suppliers")
+@NamedEntityGraph(name = "Supplier.address", attributeNodes = @NamedAttributeNode("addressEntity"))
 public class SupplierEntity extends BaseEntity {
 
     private String name;
@@ -36,7 +37,7 @@ public class SupplierEntity extends BaseEntity {
         this.email = email;
     }
 
-    @OneToMany(mappedBy = "supplier", fetch = FetchType.EAGER, cascade = CascadeType.PERSIST)
+    @OneToMany(mappedBy = "supplier", cascade = CascadeType.PERSIST)
     public Set<ItemEntity> getItems() {
         return items;
     }
@@ -66,7 +67,7 @@ public class SupplierEntity extends BaseEntity {
         this.items.clear();
     }
 
-    @OneToOne(cascade = CascadeType.ALL)
+    @OneToOne(fetch = FetchType.LAZY, cascade = CascadeType.ALL)
     @JoinColumn(name = "address_id", referencedColumnName = "id", nullable = false)
     public AddressEntity getAddressEntity() {
         return addressEntity;
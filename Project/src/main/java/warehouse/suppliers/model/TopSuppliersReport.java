@@ -0,0 +1,34 @@
+package warehouse.suppliers.model;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+
+public class TopSuppliersReport {
+
+    private HashMap<Integer, String> namesMap = new HashMap<>();
+    private HashMap<Integer, BigDecimal> turnoverMap = new HashMap<>();
+
+    public HashMap<Integer, String> getNamesMap() {
+        return namesMap;
+    }
+
+    public void setNamesMap(HashMap<Integer, String> namesMap) {
+        this.namesMap = namesMap;
+    }
+
+    public HashMap<Integer, BigDecimal> getTurnoverMap() {
+        return turnoverMap;
+    }
+
+    public void setTurnoverMap(HashMap<Integer, BigDecimal> turnoverMap) {
+        this.turnoverMap = turnoverMap;
+    }
+
+    public String getFromDate() {
+        return namesMap.get(1);
+    }
+
+    public String getToDate() {
+        return namesMap.get(2);
+    }
+}
@@ -6,12 +6,11 @@ import org.springframework.validation.annotation.Validated;
 import warehouse.suppliers.model.SupplierEntity;
 import warehouse.suppliers.model.SupplierServiceModel;
 import warehouse.suppliers.model.SupplierTurnoverViewModel;
+import warehouse.suppliers.model.TopSuppliersReport;
 import warehouse.validated.OnCreate;
 import warehouse.validated.OnUpdate;
 
 import javax.validation.Valid;
-import java.math.BigDecimal;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Optional;
 @Validated
@@ -43,9 +42,7 @@ public interface SupplierService {
 
     SupplierServiceModel unblock(Long id);
 
-    HashMap<Integer, String> getTopSuppliersNamesMap(String fromDate, String toDate);
-
-    HashMap<Integer, BigDecimal> getTopSuppliersTurnoverMap(String fromDate, String toDate);
+    TopSuppliersReport getTopSuppliersReport(String fromDate, String toDate);
 
     List<SupplierTurnoverViewModel> getSupplierTurnover(String keyword, String fromDate, String toDate);
 
@@ -11,10 +11,13 @@ import org.springframework.stereotype.Service;
 import org.springframework.validation.annotation.Validated;
 import warehouse.addresses.model.AddressEntity;
 import warehouse.addresses.service.AddressService;
+import warehouse.orders.sales.repository.DailySupplierSalesRepository;
 import warehouse.orders.service.OrderService;
+import warehouse.suppliers.mapper.SupplierViewMapper;
 import warehouse.suppliers.model.SupplierEntity;
 import warehouse.suppliers.model.SupplierServiceModel;
 import warehouse.suppliers.model.SupplierTurnoverViewModel;
+import warehouse.suppliers.model.TopSuppliersReport;
 import warehouse.suppliers.repository.SupplierRepository;
 import warehouse.suppliers.service.SupplierService;
 import warehouse.utils.time.TimeBordersConvertor;
@@ -42,15 +45,17 @@ public class SupplierServiceImpl implements SupplierService {
     private final TimeBordersConvertor timeBordersConvertor;
     private final AddressService addressService;
     private final ValidationUtil validationUtil;
+    private final DailySupplierSalesRepository dailySupplierSalesRepository;
 
     @Autowired
-    public SupplierServiceImpl(SupplierRepository supplierRepository, ModelMapper modelMapper, OrderService orderService, TimeBordersConvertor timeBordersConvertor, AddressService addressService, ValidationUtil validationUtil) {
+    public SupplierServiceImpl(SupplierRepository supplierRepository, ModelMapper modelMapper, OrderService orderService, TimeBordersConvertor timeBordersConvertor, AddressService addressService, ValidationUtil validationUtil, DailySupplierSalesRepository dailySupplierSalesRepository) {
         this.supplierRepository = supplierRepository;
         this.modelMapper = modelMapper;
         this.orderService = orderService;
         this.timeBordersConvertor = timeBordersConvertor;
         this.addressService = addressService;
         this.validationUtil = validationUtil;
+        this.dailySupplierSalesRepository = dailySupplierSalesRepository;
     }
 
     @Override
@@ -79,7 +84,7 @@ public class SupplierServiceImpl implements SupplierService {
     public List<SupplierServiceModel> findAll() {
         return this.supplierRepository.findAll()
                 .stream()
-                .map(supplierEntity -> this.modelMapper.map(supplierEntity, SupplierServiceModel.class))
+                .map(SupplierViewMapper::toServiceModel)
                 .collect(Collectors.toList());
     }
 
@@ -91,7 +96,7 @@ public class SupplierServiceImpl implements SupplierService {
         Page<SupplierEntity> supplierEntities = this.supplierRepository.findAll(pageable);
 
         List<SupplierServiceModel> supplierServiceModels = supplierEntities.stream()
-                .map(supplierEntity -> this.modelMapper.map(supplierEntity, SupplierServiceModel.class)).collect(Collectors.toList());
+                .map(SupplierViewMapper::toServiceModel).collect(Collectors.toList());
 
         Page<SupplierServiceModel> orderViewServiceModelsPage = new PageImpl<>(supplierServiceModels, pageable, supplierEntities.getTotalElements());
 
@@ -117,7 +122,7 @@ public class SupplierServiceImpl implements SupplierService {
         Page<SupplierEntity> supplierEntities = this.supplierRepository.search(keyword, pageable);
 
         List<SupplierServiceModel> supplierServiceModels = supplierEntities.stream()
-                .map(supplierEntity -> this.modelMapper.map(supplierEntity, SupplierServiceModel.class)).collect(Collectors.toList());
+                .map(SupplierViewMapper::toServiceModel).collect(Collectors.toList());
 
         Page<SupplierServiceModel> orderViewServiceModelsPage = new PageImpl<>(supplierServiceModels, pageable, supplierEntities.getTotalElements());
 
@@ -206,38 +211,28 @@ public class SupplierServiceImpl implements SupplierService {
 
     @Override
     @PreAuthorize("hasAnyRole('ADMIN','MANAGER')")
-    public HashMap<Integer, String> getTopSuppliersNamesMap(String fromDate, String toDate) {
+    public TopSuppliersReport getTopSuppliersReport(String fromDate, String toDate) {
 
-        HashMap<Integer, String> suppliersNamesMap = new HashMap<>();
+        TopSuppliersReport topSuppliersReport = new TopSuppliersReport();
 
+        LocalDateTime firstArchiveOrder = this.orderService.getDateTimeFirstArchiveOrder();
         LocalDateTime[] timeBorders = this.timeBordersConvertor
-                .getTimeBordersAsLocalDateTime(fromDate, toDate, this.orderService.getDateTimeFirstArchiveOrder());
+                .getTimeBordersAsLocalDateTime(fromDate, toDate, firstArchiveOrder);
         String[] timeBordersPieChart = this.timeBordersConvertor
-                .getTimeBordersAsString(fromDate, toDate, this.orderService.getDateTimeFirstArchiveOrder());
-
-        List<Object[]> result = this.supplierRepository.findTopSuppliers(timeBorders[0], timeBorders[1], PageRequest.of(0, 5));
-
-        return this.timeBordersConvertor.getBordersAndNamesMap(suppliersNamesMap, timeBordersPieChart, result);
-    }
+                .getTimeBordersAsString(fromDate, toDate, firstArchiveOrder);
 
-    @Override
-    @PreAuthorize("hasAnyRole('ADMIN','MANAGER')")
-    public HashMap<Integer, BigDecimal> getTopSuppliersTurnoverMap(String fromDate, String toDate) {
+        List<Object[]> result = this.dailySupplierSalesRepository.findTopSuppliers(timeBorders[0].toLocalDate(),
+                timeBorders[1].minusNanos(1).toLocalDate(), PageRequest.of(0, 5));
 
-        HashMap<Integer, BigDecimal> suppliersTurnoverMap = new HashMap<>();
-
-        LocalDateTime[] timeBorders = this.timeBordersConvertor
-                .getTimeBordersAsLocalDateTime(fromDate, toDate, this.orderService.getDateTimeFirstArchiveOrder());
-
-        List<Object[]> result = this.supplierRepository.findTopSuppliers(timeBorders[0], timeBorders[1], PageRequest.of(0, 5));
+        topSuppliersReport.setNamesMap(this.timeBordersConvertor
+                .getBordersAndNamesMap(new HashMap<>(), timeBordersPieChart, result));
 
         int key = 2;
-
         for (Object[] objects : result) {
-            suppliersTurnoverMap.put(++key, new BigDecimal(String.valueOf(objects[1])));
+            topSuppliersReport.getTurnoverMap().put(++key, new BigDecimal(String.valueOf(objects[1])));
         }
 
-        return suppliersTurnoverMap;
+        return topSuppliersReport;
     }
 
 
@@ -250,7 +245,8 @@ public class SupplierServiceImpl implements SupplierService {
         LocalDateTime[] timeBorders = this.timeBordersConvertor
                 .getTimeBordersAsLocalDateTime(fromDate, toDate, this.orderService.getDateTimeFirstArchiveOrder());
 
-        List<Object[]> result = this.supplierRepository.findSupplierTurnover(timeBorders[0], timeBorders[1], keyword, PageRequest.of(0, 5));
+        List<Object[]> result = this.dailySupplierSalesRepository.findSupplierTurnover(timeBorders[0].toLocalDate(),
+                timeBorders[1].minusNanos(1).toLocalDate(), keyword, PageRequest.of(0, 5));
 
         for (Object[] objects : result) {
             SupplierTurnoverViewModel supplier = new SupplierTurnoverViewModel();
@@ -10,6 +10,10 @@ import java.util.Set;
 
 @Entity
 @Table(name = "users")
+@NamedEntityGraphs({
+        @NamedEntityGraph(name = "User.department", attributeNodes = @NamedAttributeNode("department")),
+        @NamedEntityGraph(name = "User.rolesAndDepartment",
+                attributeNodes = {@NamedAttributeNode("roles"), @NamedAttributeNode("department")})})
 public class UserEntity extends BaseEntity {
 
 
@@ -53,7 +57,7 @@ public class UserEntity extends BaseEntity {
         this.email = email;
     }
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "department_id", referencedColumnName = "id", nullable = false)
     public DepartmentEntity getDepartment() {
         return department;
@@ -67,7 +71,7 @@ public class UserEntity extends BaseEntity {
         isEnabled = enabled;
     }
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    @ManyToMany
     @JoinTable(name = "users_roles",
     joinColumns = @JoinColumn(name = "user_id", referencedColumnName = "id"),
     inverseJoinColumns = @JoinColumn(name = "role_id", referencedColumnName = "id"))
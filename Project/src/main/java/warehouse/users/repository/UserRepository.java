@@ -2,6 +2,7 @@ package warehouse.users.repository;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
@@ -16,8 +17,18 @@ import java.util.Optional;
 @Repository
 public interface UserRepository extends JpaRepository<UserEntity, Long>, JpaSpecificationExecutor<UserEntity> {
 
+    @Override
+    @EntityGraph("User.rolesAndDepartment")
+    Optional<UserEntity> findById(Long id);
+
+    @Override
+    @EntityGraph("User.department")
+    Page<UserEntity> findAll(Pageable pageable);
+
+    @EntityGraph("User.rolesAndDepartment")
     Optional<UserEntity> findByUsername(String username);
 
+    @EntityGraph("User.department")
     @Query("SELECT u FROM UserEntity u WHERE CONCAT(lower(u.username)," +
             " lower(u.email), lower(u.department.departmentName)) LIKE lower(concat('%', ?1,'%'))")
     Page<UserEntity> search(String keyword, Pageable pageable);
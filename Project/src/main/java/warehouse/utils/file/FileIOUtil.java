@@ -1,8 +1,22 @@
 package warehouse.utils.file;
 
 import java.io.IOException;
+import java.io.InputStream;
 
 public interface FileIOUtil {
     String readFileContent(String filePath) throws IOException;
     void write(String content, String filePath) throws IOException;
+
+    /**
+     * Appends the content under an exclusive file lock and forces it to disk, returns the position it was written at.
+     */
+    long append(String filePath, byte[] content) throws IOException;
+
+    byte[] read(String filePath, long position, int length) throws IOException;
+
+    InputStream openInputStream(String filePath, long position) throws IOException;
+
+    long size(String filePath) throws IOException;
+
+    void truncate(String filePath, long size) throws IOException;
 }
@@ -2,14 +2,29 @@ package warehouse.utils.file.impl;
 
 import warehouse.utils.file.FileIOUtil;
 
+import java.io.BufferedInputStream;
+import java.io.EOFException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 public class FileIOUtilImpl implements FileIOUtil {
+
+    private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+    private static final Map<Path, Object> APPEND_MONITORS = new ConcurrentHashMap<>();
+
     @Override
     public String readFileContent(String filePath) throws IOException {
         return Files.readAllLines(Paths.get(filePath))
@@ -23,4 +38,66 @@ public class FileIOUtilImpl implements FileIOUtil {
         Files.write(Paths.get(filePath),
                 Collections.singleton(content), StandardCharsets.UTF_8);
     }
+
+    @Override
+    public long append(String filePath, byte[] content) throws IOException {
+
+        Path path = Paths.get(filePath).toAbsolutePath().normalize();
+
+        //the file lock keeps out other processes, the monitor other channels of this JVM, which a file lock cannot
+        synchronized (APPEND_MONITORS.computeIfAbsent(path, p -> new Object())) {
+            try (FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+                 FileLock ignored = channel.lock()) {
+
+                long position = channel.size();
+                ByteBuffer buffer = ByteBuffer.wrap(content);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+
+                return position;
+            }
+        }
+    }
+
+    @Override
+    public byte[] read(String filePath, long position, int length) throws IOException {
+
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+
+            ByteBuffer buffer = ByteBuffer.allocate(length);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, position + buffer.position()) < 0) {
+                    throw new EOFException(String.format("%s ends before %d", filePath, position + length));
+                }
+            }
+
+            return buffer.array();
+        }
+    }
+
+    @Override
+    public InputStream openInputStream(String filePath, long position) throws IOException {
+
+        FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ);
+        channel.position(position);
+
+        return new BufferedInputStream(Channels.newInputStream(channel), STREAM_BUFFER_SIZE);
+    }
+
+    @Override
+    public long size(String filePath) throws IOException {
+        return Files.size(Paths.get(filePath));
+    }
+
+    @Override
+    public void truncate(String filePath, long size) throws IOException {
+
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.WRITE)) {
+            channel.truncate(size);
+            channel.force(false);
+        }
+    }
 }
@@ -0,0 +1,36 @@
+package warehouse.utils.log;
+
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+
+/**
+ * Hands log events to a background writer. Messages are patterns with {} placeholders,
+ * filled in by the writer, so the caller neither formats nor waits on the log file.
+ */
+public interface EventLog {
+
+    void log(Logger logger, Level level, String pattern, int argCount,
+             Object arg1, Object arg2, Object arg3, Object arg4, Throwable throwable);
+
+    long getDropped();
+
+    default void info(Logger logger, String pattern, Object arg1) {
+        this.log(logger, Level.INFO, pattern, 1, arg1, null, null, null, null);
+    }
+
+    default void info(Logger logger, String pattern, Object arg1, Object arg2) {
+        this.log(logger, Level.INFO, pattern, 2, arg1, arg2, null, null, null);
+    }
+
+    default void info(Logger logger, String pattern, Object arg1, Object arg2, Object arg3, Object arg4) {
+        this.log(logger, Level.INFO, pattern, 4, arg1, arg2, arg3, arg4, null);
+    }
+
+    default void warn(Logger logger, String pattern, Object arg1, Object arg2, Object arg3, Object arg4) {
+        this.log(logger, Level.WARN, pattern, 4, arg1, arg2, arg3, arg4, null);
+    }
+
+    default void error(Logger logger, String pattern, Object arg1, Object arg2, Object arg3, Throwable throwable) {
+        this.log(logger, Level.ERROR, pattern, 3, arg1, arg2, arg3, null, throwable);
+    }
+}
@@ -0,0 +1,10 @@
+package warehouse.utils.log;
+
+/**
+ * What a caller does when the event log buffer is full: drop the event right away,
+ * or wait for room up to the configured timeout and drop it only then.
+ */
+public enum OverflowPolicy {
+    DROP,
+    BLOCK
+}
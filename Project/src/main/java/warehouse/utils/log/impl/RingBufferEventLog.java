@@ -0,0 +1,236 @@
+package warehouse.utils.log.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+import org.apache.log4j.spi.LoggingEvent;
+import org.springframework.beans.factory.DisposableBean;
+import warehouse.utils.log.EventLog;
+import warehouse.utils.log.OverflowPolicy;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Fixed ring of reusable event slots written by any thread and drained by a single writer thread,
+ * which is then the only one formatting messages and taking the appender lock.
+ * A producer claims a sequence, fills the slot and publishes it by writing the sequence into the slot;
+ * the writer frees the slot by advancing the consumed sequence. An idle writer parks until a producer
+ * publishes, and events keep the time they were logged at, not the time they were written.
+ */
+public class RingBufferEventLog implements EventLog, DisposableBean {
+
+    private static final Logger logger = Logger.getLogger(RingBufferEventLog.class);
+    private static final String FQCN = RingBufferEventLog.class.getName();
+    private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final String PLACEHOLDER = "{}";
+
+    private final Slot[] slots;
+    private final int mask;
+    private final OverflowPolicy overflowPolicy;
+    private final long blockTimeoutNanos;
+    private final AtomicLong claimed = new AtomicLong();
+    private final Counter droppedCounter;
+    private final AtomicLong dropped = new AtomicLong();
+    private final StringBuilder message = new StringBuilder(256);
+    private final Thread writer;
+
+    private volatile long consumed;
+    private volatile boolean running = true;
+    private volatile boolean writerParked;
+
+    public RingBufferEventLog(int capacity, OverflowPolicy overflowPolicy, long blockTimeoutMillis, MeterRegistry meterRegistry) {
+
+        int size = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        this.slots = new Slot[size];
+        for (int i = 0; i < size; i++) {
+            this.slots[i] = new Slot();
+        }
+        this.mask = size - 1;
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(blockTimeoutMillis);
+        this.droppedCounter = meterRegistry.counter("warehouse.eventlog.dropped");
+        meterRegistry.gauge("warehouse.eventlog.depth", this, e -> e.claimed.get() - e.consumed);
+
+        this.writer = new Thread(this::drain, "event-log-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    @Override
+    public void log(Logger target, Level level, String pattern, int argCount,
+                    Object arg1, Object arg2, Object arg3, Object arg4, Throwable throwable) {
+
+        if (!target.isEnabledFor(level)) {
+            return;
+        }
+
+        long sequence = this.claim();
+        if (sequence < 0) {
+            this.dropped.incrementAndGet();
+            this.droppedCounter.increment();
+            return;
+        }
+
+        Slot slot = this.slots[(int) (sequence & this.mask)];
+        slot.timeStamp = System.currentTimeMillis();
+        slot.logger = target;
+        slot.level = level;
+        slot.pattern = pattern;
+        slot.argCount = argCount;
+        slot.arg1 = arg1;
+        slot.arg2 = arg2;
+        slot.arg3 = arg3;
+        slot.arg4 = arg4;
+        slot.throwable = throwable;
+        slot.published = sequence;
+
+        if (this.writerParked) {
+            LockSupport.unpark(this.writer);
+        }
+    }
+
+    @Override
+    public long getDropped() {
+        return this.dropped.get();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+
+        this.running = false;
+        LockSupport.unpark(this.writer);
+        this.writer.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    //returns -1 when the event has to be dropped
+    private long claim() {
+
+        long deadline = 0;
+
+        while (true) {
+
+            long current = this.claimed.get();
+
+            if (current - this.consumed >= this.slots.length) {
+
+                if (this.overflowPolicy == OverflowPolicy.DROP || !this.running) {
+                    return -1;
+                }
+                if (deadline == 0) {
+                    deadline = System.nanoTime() + this.blockTimeoutNanos;
+                } else if (System.nanoTime() - deadline > 0) {
+                    return -1;
+                }
+
+                LockSupport.parkNanos(FULL_PARK_NANOS);
+                continue;
+            }
+
+            if (this.claimed.compareAndSet(current, current + 1)) {
+                return current;
+            }
+        }
+    }
+
+    private void drain() {
+
+        long next = 0;
+
+        while (true) {
+
+            Slot slot = this.slots[(int) (next & this.mask)];
+
+            if (slot.published != next) {
+                if (this.running) {
+                    this.awaitPublish(slot, next);
+                } else if (next == this.claimed.get()) {
+                    return;
+                } else {
+                    //a producer claimed the slot before shutdown and is still filling it
+                    Thread.yield();
+                }
+                continue;
+            }
+
+            try {
+                slot.logger.callAppenders(new LoggingEvent(FQCN, slot.logger, slot.timeStamp, slot.level, this.format(slot), slot.throwable));
+            } catch (RuntimeException e) {
+                logger.error("Could not write log event", e);
+            }
+
+            slot.clear();
+            this.consumed = ++next;
+        }
+    }
+
+    //the flag is raised before the re-check, so a producer publishing in between sees it and unparks the writer
+    private void awaitPublish(Slot slot, long sequence) {
+
+        this.writerParked = true;
+        if (slot.published != sequence && this.running) {
+            LockSupport.park(this);
+        }
+        this.writerParked = false;
+    }
+
+    private String format(Slot slot) {
+
+        StringBuilder builder = this.message;
+        builder.setLength(0);
+
+        String pattern = slot.pattern;
+        int start = 0;
+
+        for (int i = 0; i < slot.argCount; i++) {
+            int placeholder = pattern.indexOf(PLACEHOLDER, start);
+            if (placeholder < 0) {
+                break;
+            }
+            builder.append(pattern, start, placeholder).append(slot.arg(i));
+            start = placeholder + PLACEHOLDER.length();
+        }
+
+        return builder.append(pattern, start, pattern.length()).toString();
+    }
+
+    private static final class Slot {
+
+        private volatile long published = -1;
+        private long timeStamp;
+        private Logger logger;
+        private Level level;
+        private String pattern;
+        private int argCount;
+        private Object arg1;
+        private Object arg2;
+        private Object arg3;
+        private Object arg4;
+        private Throwable throwable;
+
+        private Object arg(int index) {
+            switch (index) {
+                case 0:
+                    return arg1;
+                case 1:
+                    return arg2;
+                case 2:
+                    return arg3;
+                default:
+                    return arg4;
+            }
+        }
+
+        private void clear() {
+            logger = null;
+            pattern = null;
+            arg1 = null;
+            arg2 = null;
+            arg3 = null;
+            arg4 = null;
+            throwable = null;
+        }
+    }
+}
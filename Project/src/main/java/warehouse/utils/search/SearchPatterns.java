@@ -0,0 +1,22 @@
+package warehouse.utils.search;
+
+public final class SearchPatterns {
+
+    private SearchPatterns() {
+    }
+
+    public static String contains(String keyword) {
+        return "%" + escape(keyword) + "%";
+    }
+
+    public static String startsWith(String keyword) {
+        return escape(keyword) + "%";
+    }
+
+    private static String escape(String keyword) {
+        return keyword.trim().toLowerCase()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
@@ -0,0 +1,19 @@
+-- Migrates an existing PostgreSQL schema from IDENTITY (serial) ids to the pooled
+-- sequences used by BaseEntity (one <table>_id_seq per table, allocation size 50).
+-- Run once, with the application stopped, before deploying the new version.
+
+DO $$
+DECLARE
+    table_name text;
+    sequence_name text;
+BEGIN
+    FOREACH table_name IN ARRAY ARRAY['addresses', 'categories', 'customers', 'departments', 'items',
+                                      'order_lines', 'orders', 'roles', 'suppliers', 'users']
+    LOOP
+        sequence_name := table_name || '_id_seq';
+
+        EXECUTE format('CREATE SEQUENCE IF NOT EXISTS %I', sequence_name);
+        EXECUTE format('ALTER SEQUENCE %I INCREMENT BY 50', sequence_name);
+        EXECUTE format('SELECT setval(%L, (SELECT COALESCE(MAX(id), 0) + 1 FROM %I))', sequence_name, table_name);
+    END LOOP;
+END $$;
@@ -0,0 +1,15 @@
+-- Trigram indexes backing the order and customer search in OrderRepository and CustomerRepository.
+-- The indexed expressions must stay identical to the lower(concat(...)) expressions in those queries,
+-- otherwise PostgreSQL falls back to sequential scans.
+-- CONCURRENTLY cannot run inside a transaction block, so run this file with autocommit on.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_customers_search_trgm
+    ON customers USING gin (lower((company_name || ' ' || person_name || ' ' || email)) gin_trgm_ops);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_addresses_search_trgm
+    ON addresses USING gin (lower((region || ' ' || city || ' ' || street || ' ' || phone)) gin_trgm_ops);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_orders_customer_id
+    ON orders (customer_id);
@@ -331,6 +331,27 @@ public class CustomerControllerIntegrationTests {
                 andExpect(status().isForbidden());
     }
 
+    @Test
+    @Order(18)
+    @WithMockUser(username = "manager_1", password = "mmm", roles = {"USER", "MANAGER"})
+    public void testGetAllMethodSearchesByRelevance() throws Exception {
+
+        //every matching company starts with the keyword, so ties fall back to the company name ascending
+        mockMvc.perform(get("/customers/all/pageable").
+                param("keyword", "company_name").
+                param("sortOption", "Relevance").
+                param("sortDirection", "desc")).
+                andExpect(status().isOk()).
+                andExpect(model().attribute("selectedSortOption", equalTo("Relevance"))).
+                andExpect(model().attribute("customers", hasProperty("content", contains(
+                        hasProperty("companyName", equalTo("Company_Name_2")),
+                        hasProperty("companyName", equalTo("Company_Name_3")),
+                        hasProperty("companyName", equalTo("Company_Name_4")),
+                        hasProperty("companyName", equalTo("Company_Name_5")),
+                        hasProperty("companyName", equalTo("Company_Name_6")))))).
+                andExpect(view().name("customers/customer-all"));
+    }
+
 
     private CustomerAddBindingModel createCustomerAddBindingModel() {
         CustomerAddBindingModel customerAddBindingModel = new CustomerAddBindingModel();
@@ -21,6 +21,7 @@ import warehouse.customers.model.CustomerTurnoverViewModel;
 import warehouse.customers.repository.CustomerRepository;
 import warehouse.customers.service.CustomerService;
 import warehouse.customers.service.impl.CustomerServiceImpl;
+import warehouse.orders.sales.repository.DailyCustomerSalesRepository;
 import warehouse.orders.service.OrderService;
 import warehouse.suppliers.model.SupplierEntity;
 import warehouse.suppliers.model.SupplierServiceModel;
@@ -31,6 +32,7 @@ import warehouse.utils.validation.ValidationUtil;
 import javax.persistence.EntityNotFoundException;
 import javax.validation.ConstraintViolationException;
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -60,6 +62,8 @@ public class CustomerServiceUnitTests {
     AddressService mockAddressService;
     @Mock
     ValidationUtil mockValidationUtil;
+    @Mock
+    DailyCustomerSalesRepository mockDailyCustomerSalesRepository;
 
     @BeforeEach
     public void SetUp(){
@@ -68,7 +72,8 @@ public class CustomerServiceUnitTests {
                 mockTimeBordersConvertor,
                 mockOrderService,
                 mockAddressService,
-                mockValidationUtil);
+                mockValidationUtil,
+                mockDailyCustomerSalesRepository);
 
         this.customerEntity = this.createExistingCustomerEntity();
         this.customerServiceModel = this.createCustomerServiceModel();
@@ -202,6 +207,21 @@ public class CustomerServiceUnitTests {
         Assertions.assertEquals(customerServiceModelPage.getTotalPages(), 1);
     }
 
+    @Test
+    @MockitoSettings(strictness = Strictness.WARN)
+    public void testSearchMethodWithoutSortRanksByRelevance(){
+
+        Pageable unsorted = PageRequest.of(0, 1);
+        Page<CustomerEntity> customerEntities = new PageImpl<>(List.of(customerEntity), unsorted, 1L);
+
+        when(mockCustomerRepository.searchByRelevance("%company\\_1%", "company\\_1%", unsorted)).thenReturn(customerEntities);
+
+        Page<CustomerServiceModel> customerServiceModelPage = customerServiceToTest.search(" Company_1 ", unsorted);
+
+        Assertions.assertEquals(1L, customerServiceModelPage.getTotalElements());
+        Mockito.verify(mockCustomerRepository, Mockito.never()).search(any(String.class), any(Pageable.class));
+    }
+
     @Test
     @MockitoSettings(strictness = Strictness.WARN)
     public void testSearchUnblockedMethod(){
@@ -338,7 +358,7 @@ public class CustomerServiceUnitTests {
         when(mockOrderService.getDateTimeFirstArchiveOrder()).thenReturn(LocalDateTime.now());
 
         List<Object[]> result = this.getResult();
-        when(mockCustomerRepository.findCustomerTurnover(any(LocalDateTime.class), any(LocalDateTime.class), any(String.class), any(Pageable.class)))
+        when(mockDailyCustomerSalesRepository.findCustomerTurnover(any(LocalDate.class), any(LocalDate.class), any(String.class), any(Pageable.class)))
                 .thenReturn(result);
 
         List<CustomerTurnoverViewModel> customerTurnoverViewModels = this.customerServiceToTest.getCustomerTurnover("", "", "null");
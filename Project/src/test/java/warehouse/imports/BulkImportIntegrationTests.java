@@ -0,0 +1,129 @@
+package warehouse.imports;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import warehouse.customers.model.CustomerEntity;
+import warehouse.customers.repository.CustomerRepository;
+import warehouse.imports.model.ImportReport;
+import warehouse.imports.service.BulkImportService;
+import warehouse.items.model.ItemEntity;
+import warehouse.items.repository.ItemRepository;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+public class BulkImportIntegrationTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private BulkImportService bulkImportService;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Test
+    @Transactional
+    public void testItemsAreUpsertedByNameAndInvalidRowsReported() throws IOException {
+
+        String csv = "name,description,price,stock,location,category,supplier\n" +
+                "Import_Item_1,\"15\"\", silver\",999.90,5,Shelf_A,laptops,Supplier_1\n" +
+                "Name_1,updated,150,10,Location_1,tablets,Supplier_2\n" +
+                "Import_Item_2,bad price,abc,5,Shelf_B,laptops,Supplier_1\n" +
+                "Import_Item_3,unknown category,10,5,Shelf_B,unknown,Supplier_1\n" +
+                "Im,short name,10,5,Shelf_B,laptops,Supplier_1\n" +
+                "Import_Item_1,repeated,899.90,7,Shelf_A,laptops,Supplier_1\n";
+
+        ImportReport report = this.bulkImportService.importItems(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), ImportFormat.CSV);
+
+        Assertions.assertEquals(6, report.getRows());
+        Assertions.assertEquals(1, report.getInserted());
+        Assertions.assertEquals(2, report.getUpdated());
+        Assertions.assertEquals(3, report.getFailed());
+        Assertions.assertEquals(List.of(4L, 5L, 6L),
+                report.getErrors().stream().map(e -> e.getLine()).collect(Collectors.toList()));
+        Assertions.assertEquals("Category 'unknown' does not exist!", report.getErrors().get(1).getMessage());
+
+        ItemEntity imported = this.itemRepository.findByName("Import_Item_1").orElseThrow();
+        Assertions.assertEquals("repeated", imported.getDescription());
+        Assertions.assertEquals(0, new BigDecimal("899.90").compareTo(imported.getPrice()));
+        Assertions.assertEquals("laptops", imported.getCategory().getName());
+
+        ItemEntity updated = this.itemRepository.findByName("Name_1").orElseThrow();
+        Assertions.assertEquals("updated", updated.getDescription());
+        Assertions.assertEquals("Supplier_2", updated.getSupplier().getName());
+    }
+
+    @Test
+    @Transactional
+    @WithMockUser(username = "manager", roles = {"USER", "MANAGER"})
+    public void testCustomersAreImportedFromNdjsonBody() throws Exception {
+
+        String ndjson = "{\"companyName\":\"Import_Company\",\"personName\":\"Import_Person\",\"email\":\"import@mail.bg\"," +
+                "\"region\":\"Sofia\",\"city\":\"Sofia\",\"street\":\"Vitosha 1\",\"phone\":\"0888123456\"}\n" +
+                "{\"companyName\":\"Import_Company\",\"personName\":\"New_Person\",\"email\":\"new@mail.bg\"," +
+                "\"region\":\"Varna\",\"city\":\"Varna\",\"street\":\"Primorski 2\",\"phone\":\"0888654321\"}\n" +
+                "{\"companyName\":\"Bad_Email\",\"personName\":\"Person\",\"email\":\"not-an-email\"," +
+                "\"region\":\"Varna\",\"city\":\"Varna\",\"street\":\"Primorski 2\",\"phone\":\"0888654321\"}\n";
+
+        this.mockMvc.perform(post("/import/customers")
+                .with(csrf())
+                .contentType(ImportFormat.NDJSON.getContentType())
+                .content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.inserted").value(1))
+                .andExpect(jsonPath("$.updated").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(3))
+                .andExpect(jsonPath("$.errors[0].message").value("email: Enter valid email"));
+
+        CustomerEntity customer = this.customerRepository.findByCompanyName("Import_Company").orElseThrow();
+        Assertions.assertEquals("New_Person", customer.getPersonName());
+        Assertions.assertEquals("Primorski 2", customer.getAddressEntity().getStreet());
+    }
+
+    @Test
+    @Transactional
+    public void testScriptsImportWithBasicAuthAndNoCsrfToken() throws Exception {
+
+        String csv = "name,email,region,city,street,phone\n" +
+                "Import_Supplier,not-an-email,Sofia,Sofia,Vitosha 1,0888123456\n";
+
+        this.mockMvc.perform(post("/import/suppliers")
+                .with(httpBasic("manager_1", "mmm"))
+                .contentType(ImportFormat.CSV.getContentType())
+                .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rows").value(1))
+                .andExpect(jsonPath("$.errors[0].message").value("email: Enter valid email"));
+
+        this.mockMvc.perform(post("/import/suppliers")
+                .with(httpBasic("manager_1", "wrong"))
+                .contentType(ImportFormat.CSV.getContentType())
+                .content(csv))
+                .andExpect(status().isUnauthorized());
+    }
+}
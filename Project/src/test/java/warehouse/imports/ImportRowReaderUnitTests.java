@@ -0,0 +1,72 @@
+package warehouse.imports;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import warehouse.imports.reader.ImportRow;
+import warehouse.imports.reader.ImportRowReader;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class ImportRowReaderUnitTests {
+
+    @Test
+    public void testCsvHandlesQuotesLineBreaksAndBlankLines() throws IOException {
+
+        List<ImportRow> rows = read(ImportFormat.CSV, "\uFEFFname, description\r\n" +
+                "Laptop,\"15\"\", silver\"\r\n" +
+                "\r\n" +
+                "Tablet,\"two\nlines\"\n" +
+                "Mouse,plain");
+
+        Assertions.assertEquals(3, rows.size());
+        Assertions.assertEquals(Map.of("name", "Laptop", "description", "15\", silver"), rows.get(0).getValues());
+        Assertions.assertEquals(2, rows.get(0).getLine());
+        Assertions.assertEquals(Map.of("name", "Tablet", "description", "two\nlines"), rows.get(1).getValues());
+        Assertions.assertEquals(4, rows.get(1).getLine());
+        Assertions.assertEquals(6, rows.get(2).getLine());
+    }
+
+    @Test
+    public void testCsvReportsMalformedRowsAndKeepsReading() throws IOException {
+
+        List<ImportRow> rows = read(ImportFormat.CSV, "name,price\nLaptop\nTablet,10\nPhone,\"5");
+
+        Assertions.assertEquals("Expected 2 columns, found 1", rows.get(0).getError());
+        Assertions.assertFalse(rows.get(1).isFailed());
+        Assertions.assertEquals("Quoted field is not closed", rows.get(2).getError());
+        Assertions.assertEquals(4, rows.get(2).getLine());
+    }
+
+    @Test
+    public void testNdjsonReadsObjectsAndReportsMalformedLines() throws IOException {
+
+        List<ImportRow> rows = read(ImportFormat.NDJSON, "{\"name\":\"Laptop\",\"price\":10.5,\"note\":null}\n" +
+                "\n" +
+                "{\"name\":\n" +
+                "[1,2]\n");
+
+        Assertions.assertEquals(3, rows.size());
+        Assertions.assertEquals("Laptop", rows.get(0).getValues().get("name"));
+        Assertions.assertEquals("10.5", rows.get(0).getValues().get("price"));
+        Assertions.assertNull(rows.get(0).getValues().get("note"));
+        Assertions.assertEquals("Malformed JSON", rows.get(1).getError());
+        Assertions.assertEquals(3, rows.get(1).getLine());
+        Assertions.assertEquals("Expected a JSON object", rows.get(2).getError());
+    }
+
+    private static List<ImportRow> read(ImportFormat format, String input) throws IOException {
+
+        List<ImportRow> rows = new ArrayList<>();
+        try (ImportRowReader reader = format.open(new StringReader(input))) {
+            ImportRow row;
+            while ((row = reader.next()) != null) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+}
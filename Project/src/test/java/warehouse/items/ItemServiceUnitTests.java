@@ -25,10 +25,12 @@ import warehouse.customers.service.impl.CustomerServiceImpl;
 import warehouse.items.model.ItemAddServiceModel;
 import warehouse.items.model.ItemEntity;
 import warehouse.items.model.ItemViewServiceModel;
+import warehouse.items.model.TopItemsReport;
 import warehouse.items.repository.ItemRepository;
 import warehouse.items.service.ItemService;
 import warehouse.items.service.impl.ItemServiceImpl;
 import warehouse.orderline.service.OrderLineService;
+import warehouse.orders.sales.repository.DailyItemSalesRepository;
 import warehouse.orders.service.OrderService;
 import warehouse.suppliers.model.SupplierEntity;
 import warehouse.suppliers.repository.SupplierRepository;
@@ -40,7 +42,11 @@ import javax.persistence.EntityNotFoundException;
 import javax.validation.ConstraintViolationException;
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
@@ -75,6 +81,8 @@ public class ItemServiceUnitTests {
     @Mock
     TimeBordersConvertor mockTimeBordersConvertor;
     @Mock
+    DailyItemSalesRepository mockDailyItemSalesRepository;
+    @Mock
     ValidationUtil mockValidationUtil;
     @Mock
     OrderLineService mockOrderLineService;
@@ -89,7 +97,8 @@ public class ItemServiceUnitTests {
                 mockOrderService,
                 mockTimeBordersConvertor,
                 mockValidationUtil,
-                mockOrderLineService);
+                mockOrderLineService,
+                mockDailyItemSalesRepository);
         this.itemEntity = this.createExistingItemEntity();
         this.itemAddServiceModel = this.createItemAddServiceModel();
         this.existingItemAddServiceModel = this.createExistingItemAddServiceModel();
@@ -331,6 +340,33 @@ public class ItemServiceUnitTests {
 
     }
 
+    @Test
+    @MockitoSettings(strictness = Strictness.WARN)
+    public void testGetTopItemsReportRunsQueryOnce() {
+
+        LocalDateTime[] timeBorders = new LocalDateTime[]{LocalDateTime.now().minusDays(7), LocalDateTime.now()};
+        when(mockOrderService.getDateTimeFirstArchiveOrder()).thenReturn(LocalDateTime.now());
+        when(mockTimeBordersConvertor
+                .getTimeBordersAsLocalDateTime(any(String.class), any(String.class), any(LocalDateTime.class))).thenReturn(timeBorders);
+        when(mockTimeBordersConvertor
+                .getTimeBordersAsString(any(String.class), any(String.class), any(LocalDateTime.class)))
+                .thenReturn(new String[]{"01/03/2021", "15/03/2021"});
+        when(mockTimeBordersConvertor.getBordersAndNamesMap(any(HashMap.class), any(String[].class), any(List.class)))
+                .thenReturn(new HashMap<>(Map.of(1, "01/03/2021", 2, "15/03/2021", 3, "item")));
+        when(mockDailyItemSalesRepository.findTopItems(any(LocalDate.class), any(LocalDate.class), any(Pageable.class)))
+                .thenReturn(List.<Object[]>of(new Object[]{"item", 7L, BigDecimal.valueOf(70)}));
+
+        TopItemsReport topItemsReport = this.itemServiceToTest.getTopItemsReport("", "");
+
+        Assertions.assertEquals("item", topItemsReport.getNamesMap().get(3));
+        Assertions.assertEquals(7, topItemsReport.getQuantityMap().get(3));
+        Assertions.assertEquals(BigDecimal.valueOf(70), topItemsReport.getTurnoverMap().get(3));
+        Assertions.assertEquals("01/03/2021", topItemsReport.getFromDate());
+        verify(mockDailyItemSalesRepository, times(1))
+                .findTopItems(any(LocalDate.class), any(LocalDate.class), any(Pageable.class));
+        verify(mockOrderService, times(1)).getDateTimeFirstArchiveOrder();
+    }
+
     private ItemAddServiceModel createExistingItemAddServiceModel() {
 
         ItemAddServiceModel itemAddServiceModel = this.createItemAddServiceModel();
@@ -0,0 +1,130 @@
+package warehouse.items;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import warehouse.items.model.ItemAddServiceModel;
+import warehouse.items.model.ItemEntity;
+import warehouse.items.model.ItemViewServiceModel;
+import warehouse.items.service.InsufficientStockException;
+import warehouse.items.service.ItemService;
+import warehouse.orderline.model.OrderLineAddServiceModel;
+import warehouse.orders.model.OrderAddServiceModel;
+import warehouse.orders.service.OrderService;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@SpringBootTest
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+public class StockReservationIntegrationTests {
+
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private OrderService orderService;
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    @Transactional
+    public void testReserveStockReportsExactlyTheShortItems() {
+
+        int stock1 = this.getStock(1L);
+        int stock2 = this.getStock(2L);
+
+        InsufficientStockException exception = Assertions.assertThrows(InsufficientStockException.class,
+                () -> this.itemService.saveOrderUpdateStock(this.createOrder(Map.of(1L, 1, 2L, stock2 + 1))));
+
+        Assertions.assertEquals(List.of(2L), exception.getItemIds());
+        Assertions.assertEquals(stock2, this.getStock(2L));
+        Assertions.assertEquals(stock1 - 1, this.getStock(1L), "undone by the rollback of the surrounding transaction");
+    }
+
+    @Test
+    @Transactional
+    public void testReserveStockRefreshesAnItemLoadedInTheSession() {
+
+        ItemEntity itemEntity = this.entityManager.find(ItemEntity.class, 1L);
+        int stock = itemEntity.getStock();
+
+        this.itemService.reserveStock(Map.of(2L, 1, 1L, 2));
+
+        Assertions.assertTrue(this.entityManager.contains(itemEntity));
+        Assertions.assertEquals(stock - 2, itemEntity.getStock());
+    }
+
+    @Test
+    public void testPlaceOrderDoesNotInsertOrderWhenStockIsShort() {
+
+        long orders = this.orderService.getRepositoryCount();
+        int stock1 = this.getStock(1L);
+
+        Assertions.assertThrows(InsufficientStockException.class,
+                () -> this.orderService.placeOrder(this.createOrder(Map.of(1L, 1, 2L, 1_000_000))));
+
+        Assertions.assertEquals(orders, this.orderService.getRepositoryCount());
+        Assertions.assertEquals(stock1, this.getStock(1L));
+    }
+
+    @Test
+    public void testConcurrentReservationsDoNotOversell() throws InterruptedException {
+
+        int stock = this.getStock(1L);
+        AtomicInteger reserved = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 16; i++) {
+            executorService.submit(() -> {
+                try {
+                    this.itemService.reserveStock(Map.of(1L, 3));
+                    reserved.incrementAndGet();
+                } catch (InsufficientStockException e) {
+                    rejected.incrementAndGet();
+                }
+            });
+        }
+        executorService.shutdown();
+        Assertions.assertTrue(executorService.awaitTermination(30, TimeUnit.SECONDS));
+
+        try {
+            Assertions.assertEquals(stock / 3, reserved.get());
+            Assertions.assertEquals(16 - stock / 3, rejected.get());
+            Assertions.assertEquals(stock % 3, this.getStock(1L));
+        } finally {
+            this.itemService.increaseItemStock(1L, reserved.get() * 3);
+        }
+    }
+
+    private int getStock(Long id) {
+        ItemViewServiceModel itemViewServiceModel = this.itemService.findById(id);
+        return itemViewServiceModel.getStock();
+    }
+
+    private OrderAddServiceModel createOrder(Map<Long, Integer> quantitiesByItemId) {
+
+        OrderAddServiceModel orderAddServiceModel = new OrderAddServiceModel();
+
+        quantitiesByItemId.forEach((id, quantity) -> {
+            ItemAddServiceModel item = new ItemAddServiceModel();
+            item.setId(id);
+            OrderLineAddServiceModel orderLine = new OrderLineAddServiceModel();
+            orderLine.setItem(item);
+            orderLine.setQuantity(quantity);
+            orderAddServiceModel.getOrderLineEntities().add(orderLine);
+        });
+
+        return orderAddServiceModel;
+    }
+}
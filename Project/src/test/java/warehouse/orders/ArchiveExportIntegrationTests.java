@@ -0,0 +1,76 @@
+package warehouse.orders;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import warehouse.orders.export.repository.ArchiveExportRepository;
+import warehouse.orders.export.service.ArchiveExportService;
+import warehouse.orders.export.store.ArchiveSegmentStore;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+public class ArchiveExportIntegrationTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ArchiveExportService archiveExportService;
+    @Autowired
+    private ArchiveExportRepository archiveExportRepository;
+    @Autowired
+    private ArchiveSegmentStore archiveSegmentStore;
+
+    @Test
+    public void testPendingOrdersAreAppendedToTheSegmentStoreAndExportedOnce() throws IOException {
+
+        this.archiveExportRepository.insert(3L, LocalDateTime.now());
+        this.archiveExportRepository.insert(4L, LocalDateTime.now());
+
+        //order 5 has no pending export, so it is not written
+        Assertions.assertEquals(2, this.archiveExportService.exportOrders(List.of(4L, 3L, 5L)));
+        Assertions.assertEquals(0, this.archiveExportService.exportOrders(List.of(3L, 4L)));
+        Assertions.assertEquals(0, this.archiveExportService.countPending());
+
+        for (Long id : List.of(3L, 4L)) {
+            JsonObject order = new JsonParser().parse(new String(this.archiveSegmentStore.find(id).orElseThrow(),
+                    StandardCharsets.UTF_8)).getAsJsonObject();
+
+            Assertions.assertEquals(id, order.get("id").getAsLong());
+            Assertions.assertTrue(order.getAsJsonArray("orderLineEntities").size() > 0);
+        }
+    }
+
+    @Test
+    @WithMockUser(username = "manager", roles = {"USER", "MANAGER"})
+    public void testArchivedOrderJsonIsServedFromTheSegmentStore() throws Exception {
+
+        this.archiveExportRepository.insert(6L, LocalDateTime.now());
+        this.archiveExportService.exportOrders(List.of(6L));
+
+        this.mockMvc.perform(get("/orders/archive/json").param("id", "6"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.id").value(6));
+
+        this.mockMvc.perform(get("/orders/archive/json").param("id", "999"))
+                .andExpect(status().isNotFound());
+    }
+}
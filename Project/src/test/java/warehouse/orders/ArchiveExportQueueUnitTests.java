@@ -0,0 +1,97 @@
+package warehouse.orders;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import warehouse.orders.export.ArchiveExportQueue;
+import warehouse.orders.export.service.ArchiveExportService;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ArchiveExportQueueUnitTests {
+
+    @Mock
+    ArchiveExportService mockArchiveExportService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<List<Long>> batches = Collections.synchronizedList(new ArrayList<>());
+    private ArchiveExportQueue archiveExportQueue;
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        this.archiveExportQueue.destroy();
+    }
+
+    @Test
+    public void testBurstIsExportedInFewBatches() throws Exception {
+
+        CountDownLatch exported = new CountDownLatch(25);
+        when(mockArchiveExportService.exportOrders(anyList())).thenAnswer(invocation -> {
+            List<Long> batch = invocation.getArgument(0);
+            this.batches.add(batch);
+            batch.forEach(id -> exported.countDown());
+            return batch.size();
+        });
+
+        this.archiveExportQueue = new ArchiveExportQueue(mockArchiveExportService, this.meterRegistry, 1, 10, 100, 500);
+        LongStream.rangeClosed(1, 25).forEach(this.archiveExportQueue::submit);
+
+        Assertions.assertTrue(exported.await(10, TimeUnit.SECONDS));
+
+        List<Long> exportedIds = this.batches.stream().flatMap(List::stream).sorted().collect(Collectors.toList());
+        Assertions.assertEquals(LongStream.rangeClosed(1, 25).boxed().collect(Collectors.toList()), exportedIds);
+        Assertions.assertTrue(this.batches.size() <= 4, "batches: " + this.batches);
+        Assertions.assertTrue(this.batches.stream().allMatch(b -> b.size() <= 10));
+    }
+
+    @Test
+    public void testFullQueueLeavesOrderToTheSweep() throws Exception {
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch exported = new CountDownLatch(4);
+        when(mockArchiveExportService.exportOrders(anyList())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            List<Long> batch = invocation.getArgument(0);
+            this.batches.add(batch);
+            batch.forEach(id -> exported.countDown());
+            return batch.size();
+        });
+        when(mockArchiveExportService.findPendingOrderIds(anyInt())).thenReturn(List.of(4L));
+
+        this.archiveExportQueue = new ArchiveExportQueue(mockArchiveExportService, this.meterRegistry, 1, 1, 2, 0);
+
+        Assertions.assertTrue(this.archiveExportQueue.submit(1L));
+        Assertions.assertTrue(started.await(10, TimeUnit.SECONDS));
+        Assertions.assertTrue(this.archiveExportQueue.submit(2L));
+        Assertions.assertTrue(this.archiveExportQueue.submit(3L));
+        Assertions.assertFalse(this.archiveExportQueue.submit(4L), "the caller is never blocked by a full queue");
+        Assertions.assertEquals(1.0, this.meterRegistry.counter("warehouse.orders.export.spilled").count());
+        Assertions.assertEquals(0, this.archiveExportQueue.sweep());
+
+        release.countDown();
+        while (this.archiveExportQueue.size() > 0) {
+            Thread.sleep(10);
+        }
+        Assertions.assertEquals(1, this.archiveExportQueue.sweep());
+
+        Assertions.assertTrue(exported.await(10, TimeUnit.SECONDS));
+        Assertions.assertEquals(List.of(List.of(1L), List.of(2L), List.of(3L), List.of(4L)), this.batches);
+    }
+}
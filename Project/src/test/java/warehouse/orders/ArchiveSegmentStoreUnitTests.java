@@ -0,0 +1,133 @@
+package warehouse.orders;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import warehouse.orders.export.store.ArchiveSegmentStore;
+import warehouse.utils.file.impl.FileIOUtilImpl;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.stream.Stream;
+
+public class ArchiveSegmentStoreUnitTests {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testLatestRecordOfAnOrderWins() throws IOException {
+
+        ArchiveSegmentStore store = this.open(1024);
+
+        store.append(Map.of(1L, this.json(1, "first"), 2L, this.json(2, "first")));
+        store.append(Map.of(1L, this.json(1, "second")));
+
+        Assertions.assertEquals(2, store.size());
+        Assertions.assertArrayEquals(this.json(1, "second"), store.find(1L).orElseThrow());
+        Assertions.assertArrayEquals(this.json(2, "first"), store.find(2L).orElseThrow());
+        Assertions.assertTrue(store.find(3L).isEmpty());
+    }
+
+    @Test
+    public void testFullSegmentRollsOver() throws IOException {
+
+        ArchiveSegmentStore store = this.open(64);
+
+        for (long id = 1; id <= 5; id++) {
+            store.append(Map.of(id, this.json(id, "payload")));
+        }
+
+        Assertions.assertTrue(this.countSegments() > 1);
+        for (long id = 1; id <= 5; id++) {
+            Assertions.assertArrayEquals(this.json(id, "payload"), store.find(id).orElseThrow());
+        }
+    }
+
+    @Test
+    public void testReopenRebuildsIndexAndCutsTornRecord() throws IOException {
+
+        ArchiveSegmentStore store = this.open(1024);
+        store.append(Map.of(1L, this.json(1, "kept")));
+        store.append(Map.of(2L, this.json(2, "kept")));
+
+        //half a header, as left by a crash in the middle of a write
+        Path segment = this.directory.resolve("archive-000001.seg");
+        long size = Files.size(segment);
+        Files.write(segment, new byte[]{0, 0, 0, 0, 0, 0}, StandardOpenOption.APPEND);
+
+        ArchiveSegmentStore reopened = this.open(1024);
+
+        Assertions.assertEquals(2, reopened.size());
+        Assertions.assertArrayEquals(this.json(2, "kept"), reopened.find(2L).orElseThrow());
+        Assertions.assertEquals(size, Files.size(segment));
+
+        reopened.append(Map.of(3L, this.json(3, "after")));
+        Assertions.assertArrayEquals(this.json(3, "after"), this.open(1024).find(3L).orElseThrow());
+    }
+
+    @Test
+    public void testReopenSkipsDamagedRecordInTheMiddle() throws IOException {
+
+        ArchiveSegmentStore store = this.open(1024);
+        store.append(Map.of(1L, this.json(1, "kept")));
+        store.append(Map.of(2L, this.json(2, "damaged")));
+        store.append(Map.of(3L, this.json(3, "kept")));
+
+        //flips a payload byte of the second record, so its checksum no longer matches
+        Path segment = this.directory.resolve("archive-000001.seg");
+        byte[] bytes = Files.readAllBytes(segment);
+        int damaged = 16 + this.json(1, "kept").length + 16 + 2;
+        bytes[damaged] ^= 0x7f;
+        Files.write(segment, bytes);
+
+        ArchiveSegmentStore reopened = this.open(1024);
+
+        Assertions.assertEquals(2, reopened.size());
+        Assertions.assertArrayEquals(this.json(1, "kept"), reopened.find(1L).orElseThrow());
+        Assertions.assertTrue(reopened.find(2L).isEmpty());
+        Assertions.assertArrayEquals(this.json(3, "kept"), reopened.find(3L).orElseThrow());
+        Assertions.assertEquals(bytes.length, Files.size(segment));
+    }
+
+    @Test
+    public void testCompactionMovesLiveRecordsAndDeletesSupersededSegments() throws IOException {
+
+        ArchiveSegmentStore store = this.open(64);
+
+        store.append(Map.of(1L, this.json(1, "old")));
+        store.append(Map.of(2L, this.json(2, "old")));
+        store.append(Map.of(1L, this.json(1, "new")));
+        store.append(Map.of(3L, this.json(3, "new")));
+        long segments = this.countSegments();
+
+        Assertions.assertTrue(store.compact(0.5) > 0);
+        Assertions.assertTrue(this.countSegments() < segments);
+
+        for (ArchiveSegmentStore s : new ArchiveSegmentStore[]{store, this.open(64)}) {
+            Assertions.assertEquals(3, s.size());
+            Assertions.assertArrayEquals(this.json(1, "new"), s.find(1L).orElseThrow());
+            Assertions.assertArrayEquals(this.json(2, "old"), s.find(2L).orElseThrow());
+            Assertions.assertArrayEquals(this.json(3, "new"), s.find(3L).orElseThrow());
+        }
+    }
+
+    private ArchiveSegmentStore open(long maxSegmentBytes) {
+        return new ArchiveSegmentStore(new FileIOUtilImpl(), new SimpleMeterRegistry(), this.directory.toString(), maxSegmentBytes);
+    }
+
+    private long countSegments() throws IOException {
+        try (Stream<Path> paths = Files.list(this.directory)) {
+            return paths.count();
+        }
+    }
+
+    private byte[] json(long id, String note) {
+        return String.format("{\"id\":%d,\"note\":\"%s\"}", id, note).getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,151 @@
+package warehouse.orders;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+import warehouse.orders.export.ArchiveExportFormat;
+import warehouse.orders.export.service.ArchivedOrderExportService;
+import warehouse.orders.model.OrderEntity;
+import warehouse.orders.repository.OrderRepository;
+import warehouse.statistics.RequestQueryStats;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+public class ArchivedOrderExportIntegrationTests {
+
+    private static final long ORDER_ID = 5L;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ArchivedOrderExportService archivedOrderExportService;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Value("${orders.export.stream-timeout-ms:1800000}")
+    private long streamTimeoutMs;
+
+    @Test
+    @Transactional
+    public void testNdjsonHasOneDocumentPerArchivedOrderWithItsLines() throws IOException {
+
+        OrderEntity orderEntity = this.archive(ORDER_ID);
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        long exported = this.archivedOrderExportService.export(LocalDate.now(), LocalDate.now(), ArchiveExportFormat.NDJSON, outputStream);
+
+        List<JsonObject> orders = Arrays.stream(outputStream.toString(StandardCharsets.UTF_8).split("\n"))
+                .map(line -> new JsonParser().parse(line).getAsJsonObject())
+                .collect(Collectors.toList());
+
+        Assertions.assertEquals(exported, orders.size());
+        JsonObject order = orders.stream().filter(o -> o.get("id").getAsLong() == ORDER_ID).findFirst().orElseThrow();
+        Assertions.assertEquals(orderEntity.getOrderLineEntities().size(), order.getAsJsonArray("lines").size());
+        Assertions.assertEquals(0, orderEntity.getTotal().compareTo(order.get("total").getAsBigDecimal()));
+        Assertions.assertEquals(orderEntity.getCustomer().getCompanyName(), order.get("customer").getAsString());
+    }
+
+    @Test
+    @Transactional
+    public void testCsvHasHeaderAndOneRowPerOrderLine() throws IOException {
+
+        OrderEntity orderEntity = this.archive(ORDER_ID);
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        this.archivedOrderExportService.export(LocalDate.now(), LocalDate.now(), ArchiveExportFormat.CSV, outputStream);
+
+        List<String> rows = Arrays.asList(outputStream.toString(StandardCharsets.UTF_8).split("\n"));
+
+        Assertions.assertTrue(rows.get(0).startsWith("order_id,created_on,archived_on"));
+        Assertions.assertEquals(orderEntity.getOrderLineEntities().size(),
+                rows.stream().filter(r -> r.startsWith(ORDER_ID + ",")).count());
+    }
+
+    @Test
+    public void testExportOutsideTheRangeIsEmpty() throws IOException {
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        Assertions.assertEquals(0, this.archivedOrderExportService.export(LocalDate.of(2000, 1, 1), LocalDate.of(2000, 1, 31),
+                ArchiveExportFormat.NDJSON, outputStream));
+        Assertions.assertEquals(0, outputStream.size());
+    }
+
+    @Test
+    @WithMockUser(username = "manager", roles = {"USER", "MANAGER"})
+    public void testExportEndpointStreamsGzipAttachment() throws Exception {
+
+        MvcResult mvcResult = this.mockMvc.perform(get("/orders/archive/export")
+                .param("fromDate", "2000-01-01")
+                .param("toDate", "2000-01-31")
+                .param("format", "CSV")
+                .param("gzip", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        Assertions.assertEquals(this.streamTimeoutMs, mvcResult.getRequest().getAsyncContext().getTimeout());
+        //the request thread is handed back without the query stats of the first dispatch
+        Assertions.assertNull(RequestQueryStats.current());
+
+        byte[] body = this.mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION,
+                        containsString("archived-orders_2000-01-01_2000-01-31.csv.gz")))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        try (GZIPInputStream gzipInputStream = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            String csv = new String(gzipInputStream.readAllBytes(), StandardCharsets.UTF_8);
+            Assertions.assertTrue(csv.startsWith("order_id,"));
+            Assertions.assertEquals(1, csv.split("\n").length);
+        }
+    }
+
+    @Test
+    @WithMockUser(username = "manager", roles = {"USER", "MANAGER"})
+    public void testExportEndpointRejectsReversedRange() throws Exception {
+
+        this.mockMvc.perform(get("/orders/archive/export")
+                .param("fromDate", "2000-02-01")
+                .param("toDate", "2000-01-01"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private OrderEntity archive(Long id) {
+
+        OrderEntity orderEntity = this.orderRepository.findById(id).orElseThrow();
+        orderEntity.setArchives(true);
+        orderEntity.setDeleted(false);
+        orderEntity.setUpdatedOn(LocalDateTime.now());
+        this.orderRepository.saveAndFlush(orderEntity);
+
+        return orderEntity;
+    }
+}
@@ -0,0 +1,63 @@
+package warehouse.orders;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import warehouse.orders.orderdata.store.DraftOrder;
+import warehouse.orders.orderdata.store.impl.DiskDraftOrderStore;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+public class DiskDraftOrderStoreUnitTests {
+
+    @TempDir
+    Path directory;
+
+    private DiskDraftOrderStore draftOrderStore;
+
+    @BeforeEach
+    public void setUp() {
+        this.draftOrderStore = new DiskDraftOrderStore(this.directory.toString());
+    }
+
+    @Test
+    public void testSaveIsConditionalOnVersion() {
+
+        Assertions.assertTrue(this.draftOrderStore.save("orderData:manager", new byte[]{1, 2}, DraftOrder.NEW_VERSION));
+        Assertions.assertFalse(this.draftOrderStore.save("orderData:manager", new byte[]{3}, DraftOrder.NEW_VERSION));
+
+        DraftOrder draftOrder = this.draftOrderStore.find("orderData:manager").orElseThrow();
+        Assertions.assertArrayEquals(new byte[]{1, 2}, draftOrder.getPayload());
+
+        Assertions.assertTrue(this.draftOrderStore.save("orderData:manager", new byte[]{3}, draftOrder.getVersion()));
+        Assertions.assertFalse(this.draftOrderStore.save("orderData:manager", new byte[]{4}, draftOrder.getVersion()));
+        Assertions.assertArrayEquals(new byte[]{3}, this.draftOrderStore.find("orderData:manager").orElseThrow().getPayload());
+    }
+
+    @Test
+    public void testRemoveCountAndSize() {
+
+        this.draftOrderStore.save("orderData:manager", new byte[10], DraftOrder.NEW_VERSION);
+        this.draftOrderStore.save("editOrderData:manager", new byte[20], DraftOrder.NEW_VERSION);
+
+        Assertions.assertEquals(2, this.draftOrderStore.count());
+        Assertions.assertEquals(30 + 2 * Long.BYTES, this.draftOrderStore.sizeInBytes());
+
+        this.draftOrderStore.remove("orderData:manager");
+
+        Assertions.assertTrue(this.draftOrderStore.find("orderData:manager").isEmpty());
+        Assertions.assertEquals(1, this.draftOrderStore.count());
+    }
+
+    @Test
+    public void testEvictIdleSinceRemovesOnlyOlderDrafts() {
+
+        this.draftOrderStore.save("orderData:manager", new byte[]{1}, DraftOrder.NEW_VERSION);
+
+        Assertions.assertEquals(0, this.draftOrderStore.evictIdleSince(LocalDateTime.now().minusHours(1)));
+        Assertions.assertEquals(1, this.draftOrderStore.evictIdleSince(LocalDateTime.now().plusMinutes(1)));
+        Assertions.assertEquals(0, this.draftOrderStore.count());
+    }
+}
@@ -0,0 +1,95 @@
+package warehouse.orders;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import warehouse.customers.repository.CustomerRepository;
+import warehouse.items.model.ItemEntity;
+import warehouse.items.repository.ItemRepository;
+import warehouse.orderline.model.OrderLineEntity;
+import warehouse.orders.model.OrderEntity;
+import warehouse.orders.repository.OrderRepository;
+
+import javax.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@SpringBootTest
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class OrderBatchInsertIntegrationTests {
+
+    private static final int ORDER_LINES_COUNT = 200;
+
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private CustomerRepository customerRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    public void testSaveLargeOrderIsInsertedInJdbcBatches() {
+
+        Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        new TransactionTemplate(this.transactionManager).executeWithoutResult(status -> {
+
+            OrderEntity orderEntity = this.createLargeOrderEntity();
+
+            statistics.clear();
+            this.orderRepository.saveAndFlush(orderEntity);
+        });
+
+        statistics.setStatisticsEnabled(false);
+
+        Assertions.assertEquals(ORDER_LINES_COUNT + 1, statistics.getEntityInsertCount());
+        //sequence calls plus one statement per batch instead of one round trip per row
+        Assertions.assertTrue(statistics.getPrepareStatementCount() < ORDER_LINES_COUNT / 10,
+                "prepared statements: " + statistics.getPrepareStatementCount());
+    }
+
+    private OrderEntity createLargeOrderEntity() {
+
+        List<ItemEntity> itemEntities = this.itemRepository.findAll();
+
+        OrderEntity orderEntity = new OrderEntity();
+        orderEntity.setCustomer(this.customerRepository.getOne(1L));
+        orderEntity.setCreatedOn(LocalDateTime.now());
+        orderEntity.setUpdatedOn(LocalDateTime.now());
+
+        BigDecimal total = BigDecimal.ZERO;
+
+        for (int i = 0; i < ORDER_LINES_COUNT; i++) {
+
+            ItemEntity itemEntity = itemEntities.get(i % itemEntities.size());
+
+            OrderLineEntity orderLineEntity = new OrderLineEntity();
+            orderLineEntity.setItem(itemEntity);
+            orderLineEntity.setQuantity(1);
+            orderLineEntity.setSubtotal(itemEntity.getPrice());
+            orderLineEntity.setOrder(orderEntity);
+            orderEntity.getOrderLineEntities().add(orderLineEntity);
+
+            total = total.add(itemEntity.getPrice());
+        }
+
+        orderEntity.setTotal(total);
+
+        return orderEntity;
+    }
+}
@@ -0,0 +1,94 @@
+package warehouse.orders;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import warehouse.items.model.ItemAddServiceModel;
+import warehouse.items.model.ItemEntity;
+import warehouse.orderline.model.OrderLineAddServiceModel;
+import warehouse.orderline.model.OrderLineEntity;
+import warehouse.orders.model.OrderChangeSet;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class OrderChangeSetUnitTests {
+
+    @Test
+    public void testUnchangedDraftGivesEmptyChangeSet() {
+
+        OrderChangeSet changeSet = OrderChangeSet.between(
+                List.of(storedLine(10L, 1L, 2, "4.00"), storedLine(11L, 2L, 1, "3.00")),
+                List.of(editedLine(10L, 1L, 2, "4.0"), editedLine(11L, 2L, 1, "3.00")));
+
+        Assertions.assertTrue(changeSet.isEmpty());
+        Assertions.assertTrue(changeSet.getStockDeltas().isEmpty());
+    }
+
+    @Test
+    public void testChangeSetHoldsOnlyChangedLines() {
+
+        OrderChangeSet changeSet = OrderChangeSet.between(
+                List.of(storedLine(10L, 1L, 5, "10.00"), storedLine(11L, 2L, 2, "4.00"), storedLine(12L, 3L, 1, "1.00")),
+                List.of(editedLine(10L, 1L, 7, "14.00"), editedLine(12L, 3L, 1, "1.00"), editedLine(null, 4L, 3, "9.00")));
+
+        Assertions.assertEquals(1, changeSet.getInsertedLines().size());
+        Assertions.assertEquals(4L, changeSet.getInsertedLines().get(0).getItem().getId());
+        Assertions.assertEquals(Set.of(10L), changeSet.getUpdatedLines().keySet());
+        Assertions.assertEquals(Set.of(11L), changeSet.getRemovedLineIds());
+        Assertions.assertEquals(Map.of(1L, 2, 2L, -2, 4L, 3), changeSet.getStockDeltas());
+    }
+
+    @Test
+    public void testLineMovedBetweenItemsNetsStockPerItem() {
+
+        //the same item removed on one line and added on a new one only moves the difference
+        OrderChangeSet changeSet = OrderChangeSet.between(
+                List.of(storedLine(10L, 1L, 5, "5.00")),
+                List.of(editedLine(null, 1L, 4, "4.00")));
+
+        Assertions.assertEquals(Set.of(10L), changeSet.getRemovedLineIds());
+        Assertions.assertEquals(1, changeSet.getInsertedLines().size());
+        Assertions.assertEquals(Map.of(1L, -1), changeSet.getStockDeltas());
+    }
+
+    @Test
+    public void testUnknownOrRepeatedLineIdIsInserted() {
+
+        OrderChangeSet changeSet = OrderChangeSet.between(
+                List.of(storedLine(10L, 1L, 1, "1.00")),
+                List.of(editedLine(10L, 1L, 1, "1.00"), editedLine(10L, 2L, 1, "1.00"), editedLine(99L, 3L, 1, "1.00")));
+
+        Assertions.assertEquals(2, changeSet.getInsertedLines().size());
+        Assertions.assertTrue(changeSet.getUpdatedLines().isEmpty());
+        Assertions.assertTrue(changeSet.getRemovedLineIds().isEmpty());
+        Assertions.assertEquals(Map.of(2L, 1, 3L, 1), changeSet.getStockDeltas());
+    }
+
+    private static OrderLineEntity storedLine(Long id, Long itemId, int quantity, String subtotal) {
+
+        ItemEntity itemEntity = new ItemEntity();
+        itemEntity.setId(itemId);
+
+        OrderLineEntity orderLineEntity = new OrderLineEntity();
+        orderLineEntity.setId(id);
+        orderLineEntity.setItem(itemEntity);
+        orderLineEntity.setQuantity(quantity);
+        orderLineEntity.setSubtotal(new BigDecimal(subtotal));
+        return orderLineEntity;
+    }
+
+    private static OrderLineAddServiceModel editedLine(Long id, Long itemId, int quantity, String subtotal) {
+
+        ItemAddServiceModel item = new ItemAddServiceModel();
+        item.setId(itemId);
+
+        OrderLineAddServiceModel orderLine = new OrderLineAddServiceModel();
+        orderLine.setId(id);
+        orderLine.setItem(item);
+        orderLine.setQuantity(quantity);
+        orderLine.setSubtotal(new BigDecimal(subtotal));
+        return orderLine;
+    }
+}
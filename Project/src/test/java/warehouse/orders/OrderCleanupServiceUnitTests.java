@@ -0,0 +1,114 @@
+package warehouse.orders;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import warehouse.items.repository.ItemRepository;
+import warehouse.orderline.repository.OrderLineRepository;
+import warehouse.orders.model.OrderEntity;
+import warehouse.orders.repository.OrderRepository;
+import warehouse.orders.service.OrderCleanupService;
+import warehouse.orders.service.impl.OrderCleanupServiceImpl;
+import warehouse.orders.shedule.OrdersCleanupScheduler;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class OrderCleanupServiceUnitTests {
+
+    private OrderCleanupService orderCleanupServiceToTest;
+    private MeterRegistry meterRegistry;
+
+    @Mock
+    OrderRepository mockOrderRepository;
+    @Mock
+    OrderLineRepository mockOrderLineRepository;
+    @Mock
+    ItemRepository mockItemRepository;
+    @Mock
+    OrderCleanupService mockOrderCleanupService;
+
+    @BeforeEach
+    public void setUp() {
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.orderCleanupServiceToTest = new OrderCleanupServiceImpl(mockOrderRepository,
+                mockOrderLineRepository,
+                mockItemRepository,
+                meterRegistry);
+    }
+
+    @Test
+    @MockitoSettings(strictness = Strictness.WARN)
+    public void testDeleteStaleOrdersRestoresStockOncePerItem() {
+
+        List<Long> ids = List.of(1L, 2L, 3L, 4L);
+        //order 4 was deleted by someone else before the lock, so only 1 to 3 are flipped and restored here
+        List<Long> lockedIds = List.of(1L, 2L, 3L);
+
+        when(mockOrderRepository.lockStaleOrders(eq(ids), any(LocalDateTime.class)))
+                .thenReturn(List.of(this.createOrder(1L), this.createOrder(2L), this.createOrder(3L)));
+        when(mockOrderRepository.markStaleAsDeleted(eq(lockedIds), any(LocalDateTime.class))).thenReturn(3);
+        when(mockOrderLineRepository.sumQuantitiesByItemForDeletedOrders(lockedIds))
+                .thenReturn(List.of(new Object[]{10L, 7L}, new Object[]{11L, 2L}));
+
+        int deleted = this.orderCleanupServiceToTest.deleteStaleOrders(ids, LocalDateTime.now());
+
+        Assertions.assertEquals(3, deleted);
+        Mockito.verify(mockOrderLineRepository, times(0)).sumQuantitiesByItemForDeletedOrders(ids);
+        Mockito.verify(mockItemRepository, times(1)).increaseStock(10L, 7);
+        Mockito.verify(mockItemRepository, times(1)).increaseStock(11L, 2);
+        Assertions.assertEquals(3.0, meterRegistry.counter("warehouse.orders.cleanup.deleted").count());
+    }
+
+    @Test
+    @MockitoSettings(strictness = Strictness.WARN)
+    public void testDeleteStaleOrdersDoesNotRestoreStockWhenNothingDeleted() {
+
+        List<Long> ids = List.of(1L);
+
+        when(mockOrderRepository.lockStaleOrders(eq(ids), any(LocalDateTime.class))).thenReturn(List.of());
+
+        Assertions.assertEquals(0, this.orderCleanupServiceToTest.deleteStaleOrders(ids, LocalDateTime.now()));
+        Mockito.verify(mockOrderRepository, times(0)).markStaleAsDeleted(any(), any());
+        Mockito.verify(mockOrderLineRepository, times(0)).sumQuantitiesByItemForDeletedOrders(any());
+        Mockito.verify(mockItemRepository, times(0)).increaseStock(any(), anyInt());
+    }
+
+    @Test
+    @MockitoSettings(strictness = Strictness.WARN)
+    public void testSchedulerWalksStaleOrdersByKeyset() {
+
+        OrdersCleanupScheduler scheduler = new OrdersCleanupScheduler(mockOrderCleanupService, 2);
+
+        when(mockOrderCleanupService.findStaleOrderIds(any(LocalDateTime.class), eq(0L), eq(2))).thenReturn(List.of(1L, 4L));
+        when(mockOrderCleanupService.findStaleOrderIds(any(LocalDateTime.class), eq(4L), eq(2))).thenReturn(List.of(9L));
+        when(mockOrderCleanupService.findStaleOrderIds(any(LocalDateTime.class), eq(9L), eq(2))).thenReturn(List.of());
+        when(mockOrderCleanupService.deleteStaleOrders(anyList(), any(LocalDateTime.class))).thenReturn(1);
+
+        scheduler.cleanUpOldOrders();
+
+        Mockito.verify(mockOrderCleanupService, times(1)).deleteStaleOrders(eq(List.of(1L, 4L)), any(LocalDateTime.class));
+        Mockito.verify(mockOrderCleanupService, times(1)).deleteStaleOrders(eq(List.of(9L)), any(LocalDateTime.class));
+    }
+
+    private OrderEntity createOrder(Long id) {
+
+        OrderEntity orderEntity = new OrderEntity();
+        orderEntity.setId(id);
+
+        return orderEntity;
+    }
+}
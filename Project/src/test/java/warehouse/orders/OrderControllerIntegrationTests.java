@@ -7,6 +7,7 @@ import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -23,10 +24,17 @@ import warehouse.orders.model.OrderViewServiceModel;
 import warehouse.orders.orderdata.OrderData;
 import warehouse.orders.orderdata.service.OrderDataManager;
 import warehouse.orders.service.OrderService;
+import warehouse.pagination.CursorPagerModel;
 import warehouse.suppliers.service.SupplierService;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.Matchers.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
@@ -53,6 +61,8 @@ public class OrderControllerIntegrationTests {
     ModelMapper modelMapper;
     @Autowired
     ItemService itemService;
+    @Autowired
+    OrderDataManager orderDataManager;
 
     @BeforeEach
     public void setUp(){
@@ -119,13 +129,13 @@ public class OrderControllerIntegrationTests {
     @WithMockUser(username = "manager", roles = {"USER", "MANAGER"})
     public void testOrderAddItemConfirmMethodPostReturnsCorrectView() throws Exception {
 
+        this.orderDataManager.setOrderData(this.orderData);
         mockMvc.perform(MockMvcRequestBuilders.
                 post("/orders/addItem").
                 with(csrf()).
                 contentType(MediaType.APPLICATION_FORM_URLENCODED).
                 param("id", "1").
-                param("quantity", "1").
-                sessionAttr("orderData", orderData)).
+                param("quantity", "1")).
                 andExpect(status().isOk()).
                 andExpect(view().name("orders/order-add"));
         ;
@@ -136,8 +146,9 @@ public class OrderControllerIntegrationTests {
     @WithMockUser(username = "manager", roles = {"USER", "MANAGER"})
     public void testOrderAddItemCancelMethodGetReturnsCorrectView() throws Exception {
 
+        this.orderDataManager.setOrderData(this.orderData);
         mockMvc.perform(MockMvcRequestBuilders.
-                get("/orders/addItem/cancel").sessionAttr("orderData",  orderData)).
+                get("/orders/addItem/cancel")).
                 andExpect(status().isOk()).
                 andExpect(view().name("orders/order-add"));
         ;
@@ -148,11 +159,11 @@ public class OrderControllerIntegrationTests {
     @WithMockUser(username = "manager", roles = {"USER", "MANAGER"})
     public void testUpdateOrderDataMethodGetReturnsCorrectView() throws Exception {
 
+        this.orderDataManager.setOrderData(this.orderData);
         mockMvc.perform(MockMvcRequestBuilders.
                 get("/orders/orderData/update").
                 param("id", "1").
-                param("quantity", "1").
-                sessionAttr("orderData",  orderData)).
+                param("quantity", "1")).
                 andExpect(status().isOk()).
                 andExpect(view().name("fragments/draft-order-order-lines-table :: draftOrderOrderLinesTable"));
         ;
@@ -163,12 +174,12 @@ public class OrderControllerIntegrationTests {
     @WithMockUser(username = "manager", roles = {"USER", "MANAGER"})
     public void testRemoveOrderDataMethodPostReturnsCorrectView() throws Exception {
 
+        this.orderDataManager.setOrderData(this.orderData);
         mockMvc.perform(MockMvcRequestBuilders.
                 post("/orders/orderData/remove").
                 with(csrf()).
                 contentType(MediaType.APPLICATION_FORM_URLENCODED).
-                param("removeId", "1").
-                sessionAttr("orderData",  orderData)).
+                param("removeId", "1")).
                 andExpect(status().isOk()).
                 andExpect(view().name("orders/order-add"));
         ;
@@ -191,8 +202,9 @@ public class OrderControllerIntegrationTests {
     @WithMockUser(username = "manager", roles = {"USER", "MANAGER"})
     public void testSaveOrderMethod() throws Exception {
 
+        this.orderDataManager.setOrderData(this.orderData);
         mockMvc.perform(MockMvcRequestBuilders.
-                get("/orders/save").sessionAttr("orderData", orderData)).
+                get("/orders/save")).
                 andExpect(status().is3xxRedirection()).
                 andExpect(view().name("redirect:/orders/all/pageable"));
 
@@ -220,8 +232,9 @@ public class OrderControllerIntegrationTests {
     @WithMockUser(username = "manager", roles = {"USER", "MANAGER"})
     public void testOpenDraftOrderMethodGetReturnsCorrectView() throws Exception {
 
+        this.orderDataManager.setOrderData(this.orderData);
         mockMvc.perform(MockMvcRequestBuilders.
-                get("/orders/open/draft").sessionAttr("orderData", orderData)).
+                get("/orders/open/draft")).
                 andExpect(status().isOk()).
                 andExpect(view().name("orders/order-add"));
 
@@ -259,10 +272,11 @@ public class OrderControllerIntegrationTests {
     @WithMockUser(username = "manager", roles = {"USER", "MANAGER"})
     public void testEditOrderRemoveMethodPostReturnsCorrectView() throws Exception {
 
+        this.orderDataManager.setEditOrderData(this.editOrderData);
         mockMvc.perform(MockMvcRequestBuilders.
                 post("/orders/editOrder/remove").
                 with(csrf()).
-                param("removeId", "1").sessionAttr("editOrderData", editOrderData)).
+                param("removeId", "1")).
                 andExpect(status().isOk()).
                 andExpect(view().name("orders/order-edit"));
 
@@ -288,11 +302,12 @@ public class OrderControllerIntegrationTests {
     @WithMockUser(username = "manager", roles = {"USER", "MANAGER"})
     public void testEditOrderAddItemConfirmMethodPostReturnsCorrectView() throws Exception {
 
+        this.orderDataManager.setEditOrderData(this.editOrderData);
         mockMvc.perform(MockMvcRequestBuilders.
                 post("/orders/editOrder/addItem").
                 with(csrf()).
                 param("id", "1").
-                param("quantity", "1").sessionAttr("editOrderData", editOrderData)).
+                param("quantity", "1")).
                 andExpect(status().isOk()).
                 andExpect(view().name("orders/order-edit"));
 
@@ -303,8 +318,9 @@ public class OrderControllerIntegrationTests {
     @WithMockUser(username = "manager", roles = {"USER", "MANAGER"})
     public void testEditOrderAddItemCancelMethodGetReturnsCorrectView() throws Exception {
 
+        this.orderDataManager.setEditOrderData(this.editOrderData);
         mockMvc.perform(MockMvcRequestBuilders.
-                get("/orders/editOrder/addItem/cancel").sessionAttr("editOrderData", editOrderData)).
+                get("/orders/editOrder/addItem/cancel")).
                 andExpect(status().isOk()).
                 andExpect(view().name("orders/order-edit"));
 
@@ -315,8 +331,9 @@ public class OrderControllerIntegrationTests {
     @WithMockUser(username = "manager", roles = {"USER", "MANAGER"})
     public void testEditOrderSaveMethodGetReturnsCorrectView() throws Exception {
 
+        this.orderDataManager.setEditOrderData(this.editOrderData);
         mockMvc.perform(MockMvcRequestBuilders.
-                get("/orders/edit/save").sessionAttr("editOrderData", editOrderData)).
+                get("/orders/edit/save")).
                 andExpect(status().is3xxRedirection()).
                 andExpect(view().name("redirect:/orders/all/pageable"));
 
@@ -330,8 +347,9 @@ public class OrderControllerIntegrationTests {
     @WithMockUser(username = "manager", roles = {"USER", "MANAGER"})
     public void testEditOrderCancelMethod() throws Exception {
 
+        this.orderDataManager.setEditOrderData(this.editOrderData);
         mockMvc.perform(MockMvcRequestBuilders.
-                get("/orders/edit/cancel").sessionAttr("editOrderData", editOrderData)).
+                get("/orders/edit/cancel")).
                 andExpect(status().is3xxRedirection()).
                 andExpect(view().name("redirect:/orders/all/pageable"));
 
@@ -343,9 +361,9 @@ public class OrderControllerIntegrationTests {
     @WithMockUser(username = "user")
     public void testOrderCompleteOpenMethod() throws Exception {
 
+        this.orderDataManager.setEditOrderData(this.editOrderData);
         mockMvc.perform(MockMvcRequestBuilders.
-                get("/orders/complete/open").param("id", "1")
-                .sessionAttr("editOrderData", editOrderData)).
+                get("/orders/complete/open").param("id", "1")).
                 andExpect(status().isOk()).
                 andExpect(view().name("orders/order-complete-open"));
 
@@ -357,9 +375,9 @@ public class OrderControllerIntegrationTests {
     @WithMockUser(username = "user")
     public void testOrderArchiveOpenMethod() throws Exception {
 
+        this.orderDataManager.setEditOrderData(this.editOrderData);
         mockMvc.perform(MockMvcRequestBuilders.
-                get("/orders/archive/open").param("id", "1")
-                .sessionAttr("editOrderData", editOrderData)).
+                get("/orders/archive/open").param("id", "1")).
                 andExpect(status().isOk()).
                 andExpect(view().name("orders/order-archive-open"));
 
@@ -371,11 +389,13 @@ public class OrderControllerIntegrationTests {
     @WithMockUser(username = "user")
     public void testOrderCompleteMethod() throws Exception {
 
+        this.orderDataManager.setEditOrderData(this.editOrderData);
         mockMvc.perform(MockMvcRequestBuilders.
-                get("/orders/complete").sessionAttr("editOrderData", editOrderData)).
+                get("/orders/complete")).
                 andExpect(status().is3xxRedirection()).
                 andExpect(view().name("redirect:/orders/all/pageable"));
 
+        Assertions.assertTrue(this.orderService.findById(2L).isClosed());
 
     }
 
@@ -384,11 +404,13 @@ public class OrderControllerIntegrationTests {
     @WithMockUser(username = "user")
     public void testOrderIncompleteMethod() throws Exception {
 
+        this.orderDataManager.setEditOrderData(this.editOrderData);
         mockMvc.perform(MockMvcRequestBuilders.
-                get("/orders/incomplete").sessionAttr("editOrderData", editOrderData)).
+                get("/orders/incomplete")).
                 andExpect(status().is3xxRedirection()).
                 andExpect(view().name("redirect:/orders/all/pageable"));
 
+        Assertions.assertFalse(this.orderService.findById(2L).isClosed());
 
     }
 
@@ -397,11 +419,13 @@ public class OrderControllerIntegrationTests {
     @WithMockUser(username = "user")
     public void testOrderArchiveMethod() throws Exception {
 
+        this.orderDataManager.setEditOrderData(this.editOrderData);
         mockMvc.perform(MockMvcRequestBuilders.
-                get("/orders/archive").sessionAttr("editOrderData", editOrderData)).
+                get("/orders/archive")).
                 andExpect(status().is3xxRedirection()).
                 andExpect(view().name("redirect:/orders/all/pageable"));
 
+        Assertions.assertFalse(this.orderService.findById(2L).isArchives());
 
     }
 
@@ -410,8 +434,9 @@ public class OrderControllerIntegrationTests {
     @WithMockUser(username = "user")
     public void testCompleteCancelMethod() throws Exception {
 
+        this.orderDataManager.setEditOrderData(this.editOrderData);
         mockMvc.perform(MockMvcRequestBuilders.
-                get("/orders/complete/cancel").sessionAttr("editOrderData", editOrderData)).
+                get("/orders/complete/cancel")).
                 andExpect(status().is3xxRedirection()).
                 andExpect(view().name("redirect:/orders/all/pageable"));
 
@@ -438,14 +463,211 @@ public class OrderControllerIntegrationTests {
     @WithMockUser(username = "user")
     public void testArchiveBackMethod() throws Exception {
 
+        this.orderDataManager.setEditOrderData(this.editOrderData);
         mockMvc.perform(MockMvcRequestBuilders.
-                get("/orders/archive/back").sessionAttr("editOrderData", editOrderData)).
+                get("/orders/archive/back")).
                 andExpect(status().is3xxRedirection()).
                 andExpect(view().name("redirect:/orders/all/pageable"));
 
 
     }
 
+    @Test
+    @Order(28)
+    @WithMockUser(username = "user")
+    public void testPieChartMethod() throws Exception {
+
+        mockMvc.perform(MockMvcRequestBuilders.
+                get("/orders/pieChart")).
+                andExpect(status().isOk()).
+                andExpect(model().attributeExists("orderMap", "totalOrders", "timeBordersMap")).
+                andExpect(model().attribute("orderMap", hasKey("created"))).
+                andExpect(model().attribute("orderMap", hasKey("completed"))).
+                andExpect(model().attribute("orderMap", hasKey("archive"))).
+                andExpect(view().name("orders/order-pie-chart"));
+
+
+    }
+
+    @Test
+    @Order(29)
+    @WithMockUser(username = "manager", roles = {"USER", "MANAGER"})
+    public void testAreaChartMethod() throws Exception {
+
+        mockMvc.perform(MockMvcRequestBuilders.
+                get("/orders/areaChart")
+                .param("fromDate", "01/01/2020")
+                .param("toDate", "31/03/2020")
+                .param("granularity", "MONTH")).
+                andExpect(status().isOk()).
+                andExpect(model().attribute("turnoverMap", aMapWithSize(3))).
+                andExpect(model().attribute("turnoverMap", hasKey("01.02.2020"))).
+                andExpect(view().name("orders/order-area-chart"));
+
+
+    }
+
+    @Test
+    @Order(33)
+    @WithMockUser(username = "manager", roles = {"USER", "MANAGER"})
+    public void testAreaChartRejectsInvalidDate() throws Exception {
+
+        mockMvc.perform(MockMvcRequestBuilders.
+                get("/orders/areaChart")
+                .param("fromDate", "2020-01-01")
+                .param("toDate", "31/03/2020")).
+                andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Order(30)
+    @WithMockUser(username = "manager", roles = {"USER", "MANAGER"})
+    public void testGetAllPageableMethodSearchesByCustomer() throws Exception {
+
+        mockMvc.perform(get("/orders/all/pageable").param("keyword", "company_name_2")).
+                andExpect(status().isOk()).
+                andExpect(model().attribute("orders", hasProperty("totalElements", is(1L)))).
+                andExpect(model().attribute("orders", hasProperty("content",
+                        contains(hasProperty("id", is(2L)))))).
+                andExpect(view().name("orders/order-all"));
+
+    }
+
+    @Test
+    @Order(34)
+    @WithMockUser(username = "manager", roles = {"USER", "MANAGER"})
+    public void testGetAllPageableMethodSearchesByRelevance() throws Exception {
+
+        //every seeded company starts with the keyword, so ties fall back to the latest update first
+        List<Long> latestFirst = this.getPageOrderIds(mockMvc.perform(get("/orders/all/pageable").
+                param("keyword", "company_name").
+                param("sortOption", "Updated").
+                param("sortDirection", "desc")).
+                andExpect(status().isOk()).
+                andReturn().getModelAndView().getModel());
+
+        List<Long> byRelevance = this.getPageOrderIds(mockMvc.perform(get("/orders/all/pageable").
+                param("keyword", "company_name").
+                param("sortOption", "Relevance").
+                param("sortDirection", "asc")).
+                andExpect(status().isOk()).
+                andExpect(model().attribute("selectedSortOption", is("Relevance"))).
+                andReturn().getModelAndView().getModel());
+
+        Assertions.assertFalse(byRelevance.isEmpty());
+        Assertions.assertEquals(latestFirst, byRelevance);
+    }
+
+    @Test
+    @Order(31)
+    @WithMockUser(username = "manager", roles = {"USER", "MANAGER"})
+    public void testAllKeysetMethodWalksForwardAndBack() throws Exception {
+
+        Map<String, Object> firstPage = mockMvc.perform(get("/orders/all/keyset")
+                .param("pageSize", "2").param("count", "true")).
+                andExpect(status().isOk()).
+                andExpect(model().attribute("orders", hasSize(2))).
+                andExpect(model().attribute("cursorPager", hasProperty("totalElements", notNullValue()))).
+                andExpect(view().name("orders/order-all")).
+                andReturn().getModelAndView().getModel();
+
+        CursorPagerModel firstPager = (CursorPagerModel) firstPage.get("cursorPager");
+        Assertions.assertFalse(firstPager.hasPrevious());
+        Assertions.assertTrue(firstPager.hasNext());
+
+        Map<String, Object> secondPage = mockMvc.perform(get("/orders/all/keyset")
+                .param("pageSize", "2").param("cursor", firstPager.getNextCursor())).
+                andExpect(status().isOk()).
+                andReturn().getModelAndView().getModel();
+
+        CursorPagerModel secondPager = (CursorPagerModel) secondPage.get("cursorPager");
+        Assertions.assertTrue(secondPager.hasPrevious());
+        Assertions.assertTrue(Collections.disjoint(this.getOrderIds(firstPage), this.getOrderIds(secondPage)));
+
+        Map<String, Object> backToFirstPage = mockMvc.perform(get("/orders/all/keyset")
+                .param("pageSize", "2").param("cursor", secondPager.getPreviousCursor())).
+                andExpect(status().isOk()).
+                andReturn().getModelAndView().getModel();
+
+        Assertions.assertEquals(this.getOrderIds(firstPage), this.getOrderIds(backToFirstPage));
+        Assertions.assertFalse(((CursorPagerModel) backToFirstPage.get("cursorPager")).hasPrevious());
+    }
+
+    @Test
+    @Order(32)
+    @WithMockUser(username = "manager", roles = {"USER", "MANAGER"})
+    public void testAllKeysetMethodRedirectsSearchToOffsetPaging() throws Exception {
+
+        mockMvc.perform(get("/orders/all/keyset").param("keyword", "company")).
+                andExpect(status().is3xxRedirection()).
+                andExpect(redirectedUrlPattern("/orders/all/pageable?*keyword=company*"));
+    }
+
+    @Test
+    @Order(35)
+    @WithMockUser(username = "manager", roles = {"USER", "MANAGER"})
+    public void testAllKeysetMethodRejectsInvalidCursor() throws Exception {
+
+        mockMvc.perform(get("/orders/all/keyset").param("cursor", "not-a-cursor")).
+                andExpect(status().isBadRequest());
+
+        String unparsableValue = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("F|UPDATED_DESC|1|yesterday".getBytes(StandardCharsets.UTF_8));
+
+        mockMvc.perform(get("/orders/all/keyset").param("cursor", unparsableValue)).
+                andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Order(36)
+    @WithMockUser(username = "manager", roles = {"USER", "MANAGER"})
+    public void testAllKeysetMethodRejectsCursorOfAnotherSort() throws Exception {
+
+        Map<String, Object> firstPage = mockMvc.perform(get("/orders/all/keyset").param("pageSize", "2")).
+                andExpect(status().isOk()).
+                andReturn().getModelAndView().getModel();
+
+        String nextCursor = ((CursorPagerModel) firstPage.get("cursorPager")).getNextCursor();
+
+        mockMvc.perform(get("/orders/all/keyset")
+                .param("pageSize", "2").param("sortOption", "Total").param("cursor", nextCursor)).
+                andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/orders/all/keyset")
+                .param("pageSize", "2").param("sortDirection", "asc").param("cursor", nextCursor)).
+                andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Order(37)
+    @WithMockUser(username = "manager", roles = {"USER", "MANAGER"})
+    public void testEditOrderSaveMethodRejectsStaleEdit() throws Exception {
+
+        OrderData staleOrderData = this.createTestEditOrderData();
+        staleOrderData.setUpdatedOn(staleOrderData.getUpdatedOn().minusMinutes(1));
+        this.orderDataManager.setEditOrderData(staleOrderData);
+
+        mockMvc.perform(MockMvcRequestBuilders.
+                get("/orders/edit/save")).
+                andExpect(status().is3xxRedirection()).
+                andExpect(redirectedUrl("/orders/edit?id=2")).
+                andExpect(flash().attribute("orderChanged", true));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Long> getOrderIds(Map<String, Object> model) {
+        return ((List<OrderViewBindingModel>) model.get("orders")).stream()
+                .map(OrderViewBindingModel::getId)
+                .collect(Collectors.toList());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Long> getPageOrderIds(Map<String, Object> model) {
+        return ((Page<OrderViewBindingModel>) model.get("orders")).stream()
+                .map(OrderViewBindingModel::getId)
+                .collect(Collectors.toList());
+    }
+
     private OrderData createTestEditOrderData() {
 
         OrderViewServiceModel orderViewServiceModel = this.orderService.findById(2L);
@@ -0,0 +1,83 @@
+package warehouse.orders;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import warehouse.addresses.model.AddressViewBindingModel;
+import warehouse.customers.model.CustomerViewBindingModel;
+import warehouse.items.model.ItemViewBindingModel;
+import warehouse.orderline.model.OrderLineViewBindingModel;
+import warehouse.orders.orderdata.OrderData;
+import warehouse.orders.orderdata.OrderDataCodec;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+
+public class OrderDataCodecUnitTests {
+
+    @Test
+    public void testRoundTripKeepsOrderCustomerAndLines() {
+
+        AddressViewBindingModel address = new AddressViewBindingModel();
+        address.setId(3L);
+        address.setCity("City");
+        address.setPhone("0888888888");
+
+        CustomerViewBindingModel customer = new CustomerViewBindingModel();
+        customer.setId(2L);
+        customer.setCompanyName("Company");
+        customer.setPersonName("Person");
+        customer.setAddress(address);
+
+        OrderData orderData = new OrderData();
+        orderData.setId(7L);
+        orderData.setCreatedOn(LocalDateTime.of(2020, 10, 1, 10, 0, 0, 123_000_000));
+        orderData.setClosed(true);
+        orderData.setCustomer(customer);
+        orderData.addOrderLine(item(1L, "Beta", "10.05"), 2);
+        orderData.addOrderLine(item(2L, "Alpha", "0.10"), 3);
+
+        byte[] payload = OrderDataCodec.encode(orderData);
+        OrderData decoded = OrderDataCodec.decode(payload);
+
+        Assertions.assertTrue(payload.length < 512, "payload bytes: " + payload.length);
+        Assertions.assertEquals(7L, decoded.getId());
+        Assertions.assertEquals(orderData.getCreatedOn(), decoded.getCreatedOn());
+        Assertions.assertNull(decoded.getUpdatedOn());
+        Assertions.assertTrue(decoded.isClosed());
+        Assertions.assertFalse(decoded.isArchives());
+        Assertions.assertEquals("Company", decoded.getCustomer().getCompanyName());
+        Assertions.assertNull(decoded.getCustomer().getEmail());
+        Assertions.assertEquals("City", decoded.getCustomer().getAddress().getCity());
+        Assertions.assertEquals(new BigDecimal("20.40"), decoded.getTotalAmount());
+
+        Iterator<OrderLineViewBindingModel> orderLines = decoded.getOrderLineEntities().iterator();
+        OrderLineViewBindingModel first = orderLines.next();
+        Assertions.assertEquals("Alpha", first.getItem().getName());
+        Assertions.assertEquals(3, first.getQuantity());
+        Assertions.assertEquals(new BigDecimal("0.30"), first.getSubtotal());
+        Assertions.assertEquals("Category", first.getItem().getCategory());
+        Assertions.assertEquals("Beta", orderLines.next().getItem().getName());
+    }
+
+    @Test
+    public void testRoundTripOfEmptyDraft() {
+
+        OrderData decoded = OrderDataCodec.decode(OrderDataCodec.encode(new OrderData()));
+
+        Assertions.assertNull(decoded.getCustomer());
+        Assertions.assertEquals(0, decoded.getOrderLineEntityCount());
+        Assertions.assertEquals(0, BigDecimal.ZERO.compareTo(decoded.getTotalAmount()));
+    }
+
+    private static ItemViewBindingModel item(Long id, String name, String price) {
+        ItemViewBindingModel itemViewBindingModel = new ItemViewBindingModel();
+        itemViewBindingModel.setId(id);
+        itemViewBindingModel.setName(name);
+        itemViewBindingModel.setPrice(new BigDecimal(price));
+        itemViewBindingModel.setStock(100);
+        itemViewBindingModel.setCategory("Category");
+        itemViewBindingModel.setSupplier("Supplier");
+        return itemViewBindingModel;
+    }
+}
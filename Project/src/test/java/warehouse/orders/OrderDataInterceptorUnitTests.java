@@ -0,0 +1,69 @@
+package warehouse.orders;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.web.servlet.ModelAndView;
+import warehouse.orders.orderdata.OrderDataInterceptor;
+import warehouse.orders.orderdata.service.OrderDataManager;
+
+import static org.mockito.Mockito.times;
+
+@ExtendWith(MockitoExtension.class)
+public class OrderDataInterceptorUnitTests {
+
+    private OrderDataInterceptor orderDataInterceptorToTest;
+    private MockHttpServletRequest request;
+
+    @Mock
+    OrderDataManager mockOrderDataManager;
+
+    @BeforeEach
+    public void setUp() {
+        this.orderDataInterceptorToTest = new OrderDataInterceptor(mockOrderDataManager);
+        this.request = new MockHttpServletRequest();
+        this.request.setUserPrincipal(new TestingAuthenticationToken("manager", "mmm"));
+    }
+
+    @Test
+    @MockitoSettings(strictness = Strictness.WARN)
+    public void testOrderAddPageLoadsOnlyTheNewOrderDraft() {
+
+        this.postHandle("orders/order-add");
+
+        Mockito.verify(mockOrderDataManager, times(1)).findOrderData();
+        Mockito.verify(mockOrderDataManager, times(0)).findEditOrderData();
+    }
+
+    @Test
+    @MockitoSettings(strictness = Strictness.WARN)
+    public void testEditFragmentLoadsOnlyTheEditDraft() {
+
+        this.postHandle("fragments/order-edit-order-lines-table :: editOrderOrderLinesTable");
+
+        Mockito.verify(mockOrderDataManager, times(0)).findOrderData();
+        Mockito.verify(mockOrderDataManager, times(1)).findEditOrderData();
+    }
+
+    @Test
+    @MockitoSettings(strictness = Strictness.WARN)
+    public void testPagesWithoutDraftsAndRedirectsSkipTheStore() {
+
+        this.postHandle("items/item-all");
+        this.postHandle("redirect:/orders/all/pageable");
+
+        Mockito.verifyNoInteractions(mockOrderDataManager);
+    }
+
+    private void postHandle(String viewName) {
+        this.orderDataInterceptorToTest.postHandle(this.request, new MockHttpServletResponse(), null, new ModelAndView(viewName));
+    }
+}
@@ -0,0 +1,119 @@
+package warehouse.orders;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.transaction.support.TransactionTemplate;
+import warehouse.items.model.ItemViewBindingModel;
+import warehouse.orders.orderdata.OrderData;
+import warehouse.orders.orderdata.OrderDataCodec;
+import warehouse.orders.orderdata.service.OrderDataManager;
+import warehouse.orders.orderdata.store.DraftOrder;
+import warehouse.orders.orderdata.store.DraftOrderStore;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@SpringBootTest
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+public class OrderDataManagerIntegrationTests {
+
+    @Autowired
+    private OrderDataManager orderDataManager;
+    @Autowired
+    private DraftOrderStore draftOrderStore;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    public void tearDown() {
+        this.draftOrderStore.evictIdleSince(LocalDateTime.now().plusDays(1));
+    }
+
+    @Test
+    @WithMockUser(username = "first")
+    public void testDraftsAreKeptPerUserAndSlot() {
+
+        OrderData orderData = new OrderData();
+        orderData.addOrderLine(item(1L, "10.00"), 2);
+        this.orderDataManager.setOrderData(orderData);
+
+        Assertions.assertTrue(this.draftOrderStore.find("orderData:first").isPresent());
+        Assertions.assertTrue(this.draftOrderStore.find("orderData:second").isEmpty());
+        Assertions.assertTrue(this.orderDataManager.findEditOrderData().isEmpty());
+        Assertions.assertEquals(new BigDecimal("20.00"), this.orderDataManager.getOrderData().getTotalAmount());
+
+        this.orderDataManager.removeOrderData();
+
+        Assertions.assertTrue(this.orderDataManager.findOrderData().isEmpty());
+        Assertions.assertEquals(0, this.orderDataManager.getOrderData().getOrderLineEntityCount());
+    }
+
+    @Test
+    @WithMockUser(username = "first")
+    public void testUpdateRetriesOnTopOfAConcurrentWrite() {
+
+        OrderData orderData = new OrderData();
+        orderData.addOrderLine(item(1L, "10.00"), 1);
+        this.orderDataManager.setEditOrderData(orderData);
+
+        int[] calls = {0};
+        OrderData updated = this.orderDataManager.updateEditOrderData(o -> {
+            if (calls[0]++ == 0) {
+                //another node adds a line between this request's read and write
+                DraftOrder current = this.draftOrderStore.find("editOrderData:first").orElseThrow();
+                OrderData other = OrderDataCodec.decode(current.getPayload());
+                other.addOrderLine(item(2L, "5.00"), 1);
+                this.draftOrderStore.save("editOrderData:first", OrderDataCodec.encode(other), current.getVersion());
+            }
+            o.updateOrderLine(1L, 3);
+        });
+
+        Assertions.assertEquals(2, calls[0]);
+        Assertions.assertEquals(2, updated.getOrderLineEntityCount());
+        Assertions.assertEquals(new BigDecimal("35.00"), updated.getTotalAmount());
+        Assertions.assertEquals(new BigDecimal("35.00"), OrderDataCodec.decode(
+                this.draftOrderStore.find("editOrderData:first").orElseThrow().getPayload()).getTotalAmount());
+    }
+
+    @Test
+    @WithMockUser(username = "first")
+    public void testEvictionAndStats() {
+
+        this.orderDataManager.setOrderData(new OrderData());
+        this.orderDataManager.setEditOrderData(new OrderData());
+
+        Assertions.assertEquals(2, this.draftOrderStore.count());
+        Assertions.assertTrue(this.draftOrderStore.sizeInBytes() > 0);
+        Assertions.assertEquals(0, this.draftOrderStore.evictIdleSince(LocalDateTime.now().minusHours(1)));
+        Assertions.assertEquals(2, this.draftOrderStore.evictIdleSince(LocalDateTime.now().plusMinutes(1)));
+    }
+
+    @Test
+    public void testLosingAnInsertRaceLeavesTheCallersTransactionUsable() {
+
+        this.draftOrderStore.save("orderData:first", new byte[]{1}, DraftOrder.NEW_VERSION);
+
+        Boolean saved = this.transactionTemplate.execute(status -> {
+            boolean inserted = this.draftOrderStore.save("orderData:first", new byte[]{2}, DraftOrder.NEW_VERSION);
+            Assertions.assertFalse(status.isRollbackOnly());
+            return inserted;
+        });
+
+        Assertions.assertFalse(saved);
+        Assertions.assertArrayEquals(new byte[]{1}, this.draftOrderStore.find("orderData:first").orElseThrow().getPayload());
+    }
+
+    private static ItemViewBindingModel item(Long id, String price) {
+        ItemViewBindingModel itemViewBindingModel = new ItemViewBindingModel();
+        itemViewBindingModel.setId(id);
+        itemViewBindingModel.setName("Item_" + id);
+        itemViewBindingModel.setPrice(new BigDecimal(price));
+        return itemViewBindingModel;
+    }
+}
@@ -0,0 +1,122 @@
+package warehouse.orders;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import warehouse.items.model.ItemViewBindingModel;
+import warehouse.orderline.model.OrderLineViewBindingModel;
+import warehouse.orders.orderdata.OrderData;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+public class OrderDataUnitTests {
+
+    private OrderData orderData;
+
+    @BeforeEach
+    public void setUp() {
+        this.orderData = new OrderData();
+    }
+
+    @Test
+    public void testTotalFollowsAddUpdateAndRemove() {
+
+        this.orderData.addOrderLine(item(1L, "Beta", "10.00"), 2);
+        this.orderData.addOrderLine(item(2L, "Alpha", "2.50"), 4);
+        Assertions.assertEquals(new BigDecimal("30.00"), this.orderData.getTotalAmount());
+
+        this.orderData.addOrderLine(item(1L, "Beta", "10.00"), 1);
+        Assertions.assertEquals(3, this.orderData.getOrderLine(1L).getQuantity());
+        Assertions.assertEquals(new BigDecimal("40.00"), this.orderData.getTotalAmount());
+
+        this.orderData.updateOrderLine(2L, 1);
+        Assertions.assertEquals(new BigDecimal("32.50"), this.orderData.getTotalAmount());
+
+        this.orderData.removeOrderLine(1L);
+        Assertions.assertEquals(new BigDecimal("2.50"), this.orderData.getTotalAmount());
+        Assertions.assertEquals(1, this.orderData.getOrderLineEntityCount());
+
+        this.orderData.clear();
+        Assertions.assertEquals(0, BigDecimal.ZERO.compareTo(this.orderData.getTotalAmount()));
+    }
+
+    @Test
+    public void testLinesAreOrderedByItemName() {
+
+        this.orderData.addOrderLine(item(1L, "Gamma", "1.00"), 1);
+        this.orderData.addOrderLine(item(2L, "Alpha", "1.00"), 1);
+        this.orderData.addOrderLine(item(3L, "Beta", "1.00"), 1);
+
+        List<String> names = this.orderData.getOrderLineEntities().stream()
+                .map(l -> l.getItem().getName())
+                .collect(Collectors.toList());
+
+        Assertions.assertEquals(List.of("Alpha", "Beta", "Gamma"), names);
+    }
+
+    @Test
+    public void testSnapshotIsNotChangedByLaterUpdates() {
+
+        this.orderData.addOrderLine(item(1L, "Alpha", "1.00"), 1);
+        Set<OrderLineViewBindingModel> snapshot = this.orderData.getOrderLineEntities();
+
+        this.orderData.updateOrderLine(1L, 5);
+        this.orderData.addOrderLine(item(2L, "Beta", "1.00"), 1);
+
+        Assertions.assertEquals(1, snapshot.size());
+        Assertions.assertEquals(1, snapshot.iterator().next().getQuantity());
+        Assertions.assertEquals(2, this.orderData.getOrderLineEntities().size());
+        Assertions.assertThrows(UnsupportedOperationException.class, snapshot::clear);
+    }
+
+    @Test
+    public void testSetOrderLineEntitiesRebuildsIndexAndTotal() {
+
+        OrderLineViewBindingModel orderLine = new OrderLineViewBindingModel();
+        orderLine.setId(7L);
+        orderLine.setItem(item(1L, "Alpha", "3.00"));
+        orderLine.setQuantity(2);
+        orderLine.setSubtotal(new BigDecimal("6.00"));
+
+        Set<OrderLineViewBindingModel> orderLines = new HashSet<>();
+        orderLines.add(orderLine);
+        this.orderData.setOrderLineEntities(orderLines);
+
+        Assertions.assertEquals(new BigDecimal("6.00"), this.orderData.getTotalAmount());
+
+        this.orderData.updateOrderLine(1L, 3);
+        Assertions.assertEquals(7L, this.orderData.getOrderLine(1L).getId());
+        Assertions.assertEquals(new BigDecimal("9.00"), this.orderData.getTotalAmount());
+    }
+
+    @Test
+    public void testConcurrentAddsKeepTotalConsistent() throws InterruptedException {
+
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 1000; i++) {
+            long id = i % 50;
+            executorService.submit(() -> this.orderData.addOrderLine(item(id, "Item_" + id, "1.00"), 1));
+            executorService.submit(() -> this.orderData.getOrderLineEntities().forEach(OrderLineViewBindingModel::getQuantity));
+        }
+        executorService.shutdown();
+        Assertions.assertTrue(executorService.awaitTermination(10, TimeUnit.SECONDS));
+
+        Assertions.assertEquals(50, this.orderData.getOrderLineEntityCount());
+        Assertions.assertEquals(new BigDecimal("1000.00"), this.orderData.getTotalAmount());
+    }
+
+    private static ItemViewBindingModel item(Long id, String name, String price) {
+        ItemViewBindingModel itemViewBindingModel = new ItemViewBindingModel();
+        itemViewBindingModel.setId(id);
+        itemViewBindingModel.setName(name);
+        itemViewBindingModel.setPrice(new BigDecimal(price));
+        return itemViewBindingModel;
+    }
+}
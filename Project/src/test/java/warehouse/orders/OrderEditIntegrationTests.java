@@ -0,0 +1,201 @@
+package warehouse.orders;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import warehouse.items.model.ItemAddServiceModel;
+import warehouse.items.model.ItemEntity;
+import warehouse.items.repository.ItemRepository;
+import warehouse.items.service.InsufficientStockException;
+import warehouse.items.service.ItemService;
+import warehouse.orderline.model.OrderLineAddServiceModel;
+import warehouse.orders.model.OrderAddServiceModel;
+import warehouse.orders.model.OrderChangeSet;
+import warehouse.orders.model.OrderViewServiceModel;
+import warehouse.orders.repository.OrderRepository;
+import warehouse.orders.service.OrderEditService;
+import warehouse.orders.service.OrderService;
+import warehouse.orders.service.StaleOrderEditException;
+
+import javax.persistence.EntityManagerFactory;
+import javax.validation.ConstraintViolationException;
+import java.math.BigDecimal;
+import java.util.List;
+
+@SpringBootTest
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class OrderEditIntegrationTests {
+
+    private static final long ORDER_ID = 2L;
+    private static final int ADDED_LINES_COUNT = 200;
+
+    @Autowired
+    private OrderEditService orderEditService;
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private ModelMapper modelMapper;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setUp() {
+        this.statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        this.statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    public void testQuantityChangeUpdatesOneLineAndMovesOnlyTheDifference() {
+
+        new TransactionTemplate(this.transactionManager).executeWithoutResult(status -> {
+
+            OrderAddServiceModel edited = this.loadOrder();
+            OrderLineAddServiceModel orderLine = edited.getOrderLineEntities().iterator().next();
+            Long itemId = orderLine.getItem().getId();
+            int stock = this.itemService.findById(itemId).getStock();
+
+            orderLine.setQuantity(orderLine.getQuantity() + 1);
+            orderLine.setSubtotal(orderLine.getSubtotal().add(BigDecimal.ONE));
+
+            this.statistics.clear();
+            OrderChangeSet changeSet = this.orderEditService.applyEdit(edited);
+            this.orderRepository.flush();
+
+            Assertions.assertEquals(1, changeSet.getUpdatedLines().size());
+            Assertions.assertEquals(0, this.statistics.getEntityInsertCount());
+            Assertions.assertEquals(0, this.statistics.getEntityDeleteCount());
+            //the line and the order itself
+            Assertions.assertEquals(2, this.statistics.getEntityUpdateCount());
+            Assertions.assertEquals(stock - 1, this.itemService.findById(itemId).getStock());
+
+            status.setRollbackOnly();
+        });
+    }
+
+    @Test
+    public void testLargeEditIsAppliedInJdbcBatches() {
+
+        new TransactionTemplate(this.transactionManager).executeWithoutResult(status -> {
+
+            List<ItemEntity> itemEntities = this.itemRepository.findAll();
+            itemEntities.forEach(i -> this.itemService.increaseItemStock(i.getId(), ADDED_LINES_COUNT));
+
+            OrderAddServiceModel edited = this.loadOrder();
+            for (int i = 0; i < ADDED_LINES_COUNT; i++) {
+                edited.getOrderLineEntities().add(this.createOrderLine(itemEntities.get(i % itemEntities.size())));
+            }
+
+            this.statistics.clear();
+            OrderChangeSet changeSet = this.orderEditService.applyEdit(edited);
+            this.orderRepository.flush();
+
+            Assertions.assertEquals(ADDED_LINES_COUNT, changeSet.getInsertedLines().size());
+            Assertions.assertEquals(ADDED_LINES_COUNT, this.statistics.getEntityInsertCount());
+            //order load, one stock batch, sequence calls and the insert batches instead of one round trip per line
+            Assertions.assertTrue(this.statistics.getPrepareStatementCount() < ADDED_LINES_COUNT / 10,
+                    "prepared statements: " + this.statistics.getPrepareStatementCount());
+
+            OrderViewServiceModel saved = this.orderService.findById(ORDER_ID);
+            BigDecimal total = saved.getOrderLineEntities().stream()
+                    .map(l -> l.getSubtotal())
+                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            Assertions.assertEquals(0, total.compareTo(saved.getTotal()));
+
+            status.setRollbackOnly();
+        });
+    }
+
+    @Test
+    public void testShortStockLeavesOrderUntouched() {
+
+        OrderViewServiceModel before = this.orderService.findById(ORDER_ID);
+        OrderAddServiceModel edited = this.loadOrder();
+        edited.getOrderLineEntities().iterator().next().setQuantity(1_000_000);
+
+        Assertions.assertThrows(InsufficientStockException.class, () -> this.orderEditService.applyEdit(edited));
+
+        OrderViewServiceModel after = this.orderService.findById(ORDER_ID);
+        Assertions.assertEquals(before.getOrderLineEntities().size(), after.getOrderLineEntities().size());
+        Assertions.assertEquals(before.getOrderLineEntities().iterator().next().getQuantity(),
+                after.getOrderLineEntities().iterator().next().getQuantity());
+        Assertions.assertEquals(0, before.getTotal().compareTo(after.getTotal()));
+    }
+
+    @Test
+    public void testNegativeQuantityIsRejectedBeforeStockMoves() {
+
+        OrderViewServiceModel before = this.orderService.findById(ORDER_ID);
+        OrderAddServiceModel edited = this.loadOrder();
+        OrderLineAddServiceModel orderLine = edited.getOrderLineEntities().iterator().next();
+        Long itemId = orderLine.getItem().getId();
+        int stock = this.itemService.findById(itemId).getStock();
+        orderLine.setQuantity(-100);
+
+        Assertions.assertThrows(ConstraintViolationException.class, () -> this.orderEditService.applyEdit(edited));
+
+        Assertions.assertEquals(stock, this.itemService.findById(itemId).getStock());
+        OrderViewServiceModel after = this.orderService.findById(ORDER_ID);
+        Assertions.assertEquals(before.getUpdatedOn(), after.getUpdatedOn());
+        Assertions.assertEquals(0, before.getTotal().compareTo(after.getTotal()));
+    }
+
+    @Test
+    public void testEditStartedBeforeTheLastUpdateIsRejected() {
+
+        OrderViewServiceModel before = this.orderService.findById(ORDER_ID);
+        OrderAddServiceModel edited = this.loadOrder();
+        edited.setUpdatedOn(edited.getUpdatedOn().minusMinutes(1));
+        edited.getOrderLineEntities().iterator().next().setQuantity(1);
+
+        Assertions.assertThrows(StaleOrderEditException.class, () -> this.orderEditService.applyEdit(edited));
+
+        OrderViewServiceModel after = this.orderService.findById(ORDER_ID);
+        Assertions.assertEquals(before.getUpdatedOn(), after.getUpdatedOn());
+        Assertions.assertEquals(0, before.getTotal().compareTo(after.getTotal()));
+    }
+
+    private OrderAddServiceModel loadOrder() {
+        return this.modelMapper.map(this.orderService.findById(ORDER_ID), OrderAddServiceModel.class);
+    }
+
+    private OrderLineAddServiceModel createOrderLine(ItemEntity itemEntity) {
+
+        ItemAddServiceModel item = new ItemAddServiceModel();
+        item.setId(itemEntity.getId());
+        item.setName(itemEntity.getName());
+        item.setLocation(itemEntity.getLocation());
+
+        OrderLineAddServiceModel orderLine = new OrderLineAddServiceModel();
+        orderLine.setItem(item);
+        orderLine.setQuantity(1);
+        orderLine.setSubtotal(itemEntity.getPrice());
+        return orderLine;
+    }
+}
@@ -0,0 +1,143 @@
+package warehouse.orders;
+
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import warehouse.items.model.ItemViewServiceModel;
+import warehouse.items.service.ItemService;
+import warehouse.orders.model.OrderViewServiceModel;
+import warehouse.orders.service.OrderService;
+import warehouse.users.model.UserEntity;
+import warehouse.users.service.UserService;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+public class OrderFetchPlanIntegrationTests {
+
+    //a rendered order page looks up the user's draft and edit draft at most once each
+    private static final int DRAFT_LOOKUPS = 2;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setUp() {
+        this.statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.statistics.setStatisticsEnabled(true);
+        this.statistics.clear();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        this.statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    @WithMockUser(username = "manager", roles = {"USER", "MANAGER"})
+    public void testOrderListPageLoadsCustomersWithPageQuery() throws Exception {
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/orders/all/pageable")).andExpect(status().isOk());
+
+        //page query plus count query, no statement per order
+        assertNoNPlusOne(2 + DRAFT_LOOKUPS);
+    }
+
+    @Test
+    @WithMockUser(username = "manager", roles = {"USER", "MANAGER"})
+    public void testOrderKeysetPageLoadsCustomersWithPageQuery() throws Exception {
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/orders/all/keyset")).andExpect(status().isOk());
+
+        //one seek query, the total is only counted on request
+        assertNoNPlusOne(1 + DRAFT_LOOKUPS);
+    }
+
+    @Test
+    @WithMockUser(username = "manager", roles = {"USER", "MANAGER"})
+    public void testOrderEditPageLoadsOrderInOneQuery() throws Exception {
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/orders/edit").param("id", "2")).andExpect(status().isOk());
+
+        //order query, edit draft write (version read plus insert) and the new-order draft lookup
+        assertNoNPlusOne(1 + 2 + 1);
+    }
+
+    @Test
+    @WithMockUser(username = "manager", roles = {"USER", "MANAGER"})
+    public void testOrderArchiveViewLoadsOrderInOneQuery() throws Exception {
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/orders/archive/view").param("id", "1")).andExpect(status().isOk());
+
+        assertNoNPlusOne(1 + DRAFT_LOOKUPS);
+    }
+
+    @Test
+    public void testFindOrderByIdMapsLinesOutsideSession() {
+
+        OrderViewServiceModel orderViewServiceModel = this.orderService.findById(1L);
+
+        Assertions.assertFalse(orderViewServiceModel.getOrderLineEntities().isEmpty());
+        Assertions.assertNotNull(orderViewServiceModel.getCustomer().getAddress());
+        assertNoNPlusOne(1);
+    }
+
+    @Test
+    public void testLoginLookupLoadsRolesAndDepartment() {
+
+        UserEntity userEntity = this.userService.findUserByUsername("admin").orElseThrow();
+
+        Assertions.assertTrue(Hibernate.isInitialized(userEntity.getRoles()));
+        Assertions.assertTrue(Hibernate.isInitialized(userEntity.getDepartment()));
+        assertNoNPlusOne(1);
+    }
+
+    @Test
+    public void testItemPageLoadsCategoryAndSupplierWithPageQuery() {
+
+        ItemViewServiceModel itemViewServiceModel = this.itemService.findAllPageable(PageRequest.of(0, 10))
+                .getContent().get(0);
+
+        Assertions.assertNotNull(itemViewServiceModel.getCategory());
+        Assertions.assertNotNull(itemViewServiceModel.getSupplier());
+        assertNoNPlusOne(1);
+    }
+
+    //lazy loads of single entities or collections are what grows with the row count, the statement
+    //bound only guards against new queries creeping in and does not pin incidental lookups
+    private void assertNoNPlusOne(long maxStatements) {
+        Assertions.assertEquals(0, this.statistics.getEntityFetchCount(),
+                "lazy entity fetches: " + this.statistics.getEntityFetchCount());
+        Assertions.assertEquals(0, this.statistics.getCollectionFetchCount(),
+                "lazy collection fetches: " + this.statistics.getCollectionFetchCount());
+        Assertions.assertTrue(this.statistics.getPrepareStatementCount() <= maxStatements,
+                "prepared statements: " + this.statistics.getPrepareStatementCount() + ", at most " + maxStatements);
+    }
+}
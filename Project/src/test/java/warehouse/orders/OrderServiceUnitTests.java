@@ -37,8 +37,10 @@ import warehouse.orderline.model.OrderLineViewServiceModel;
 import warehouse.orderline.service.OrderLineService;
 import warehouse.orders.model.OrderAddServiceModel;
 import warehouse.orders.model.OrderEntity;
+import warehouse.orders.model.OrderStatusCountView;
 import warehouse.orders.model.OrderViewServiceModel;
 import warehouse.orders.repository.OrderRepository;
+import warehouse.orders.sales.repository.DailyItemSalesRepository;
 import warehouse.orders.service.OrderService;
 import warehouse.orders.service.impl.OrderServiceImpl;
 import warehouse.suppliers.model.SupplierEntity;
@@ -54,6 +56,8 @@ import javax.persistence.EntityNotFoundException;
 import javax.validation.ConstraintViolationException;
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
@@ -72,6 +76,7 @@ public class OrderServiceUnitTests {
     private final String ITEM_NAME = "item_name";
 
     private ItemService itemServiceToTest;
+    private OrderService orderServiceToTest;
     private ItemEntity itemEntity;
     private ItemAddServiceModel itemAddServiceModel;
     private ItemAddServiceModel existingItemAddServiceModel;
@@ -93,9 +98,17 @@ public class OrderServiceUnitTests {
     @Mock
     TimeBordersConvertor mockTimeBordersConvertor;
     @Mock
+    DailyItemSalesRepository mockDailyItemSalesRepository;
+    @Mock
     ValidationUtil mockValidationUtil;
     @Mock
     OrderLineService mockOrderLineService;
+    @Mock
+    OrderRepository mockOrderRepository;
+    @Mock
+    CustomerService mockCustomerService;
+    @Mock
+    OrderStatusCountView mockOrderStatusCountView;
 
     @BeforeEach
     public void SetUp(){
@@ -107,7 +120,15 @@ public class OrderServiceUnitTests {
                 mockOrderService,
                 mockTimeBordersConvertor,
                 mockValidationUtil,
-                mockOrderLineService);
+                mockOrderLineService,
+                mockDailyItemSalesRepository);
+        this.orderServiceToTest = new OrderServiceImpl(mockOrderRepository,
+                new ModelMapper(),
+                mockTimeBordersConvertor,
+                mockOrderLineService,
+                mockCustomerService,
+                mockValidationUtil,
+                this.itemServiceToTest);
         this.itemEntity = this.createExistingItemEntity();
         this.itemAddServiceModel = this.createItemAddServiceModel();
         this.existingItemAddServiceModel = this.createExistingItemAddServiceModel();
@@ -145,6 +166,30 @@ public class OrderServiceUnitTests {
         Assertions.assertThrows(ConstraintViolationException.class, () ->  itemServiceToTest.add(itemAddServiceModel));
     }
 
+    @Test
+    @MockitoSettings(strictness = Strictness.WARN)
+    public void testGetPieChartMapMethodReturnsTheCountsOfTheAggregateQuery() {
+
+        LocalDateTime from = LocalDateTime.of(2020, 6, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2020, 6, 30, 23, 59);
+
+        when(mockTimeBordersConvertor.getTimeBordersAsLocalDateTime(any(), any(), any()))
+                .thenReturn(new LocalDateTime[]{from, to});
+        when(mockOrderRepository.countByStatusBetween(from, to)).thenReturn(mockOrderStatusCountView);
+        when(mockOrderStatusCountView.getCreated()).thenReturn(5L);
+        when(mockOrderStatusCountView.getCompleted()).thenReturn(3L);
+        when(mockOrderStatusCountView.getArchived()).thenReturn(null);
+
+        HashMap<String, Integer> pieChartMap = this.orderServiceToTest.getPieChartMap("01/06/2020", "30/06/2020");
+
+        Assertions.assertEquals(5, pieChartMap.get("created"));
+        Assertions.assertEquals(3, pieChartMap.get("completed"));
+        //SUM over no rows is null, counted as no orders
+        Assertions.assertEquals(0, pieChartMap.get("archive"));
+        Assertions.assertEquals(8, pieChartMap.get("totalOrders"));
+        Mockito.verify(mockOrderRepository, times(1)).countByStatusBetween(from, to);
+    }
+
     @Test
     @MockitoSettings(strictness = Strictness.WARN)
     public void testFindAllPageableMethod(){
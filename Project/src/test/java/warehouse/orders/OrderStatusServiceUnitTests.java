@@ -0,0 +1,95 @@
+package warehouse.orders;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import warehouse.orders.export.repository.ArchiveExportRepository;
+import warehouse.orders.repository.OrderRepository;
+import warehouse.orders.sales.service.SalesFactService;
+import warehouse.orders.service.OrderStatusService;
+import warehouse.orders.service.impl.OrderStatusServiceImpl;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class OrderStatusServiceUnitTests {
+
+    private OrderStatusService orderStatusServiceToTest;
+
+    @Mock
+    OrderRepository mockOrderRepository;
+    @Mock
+    ArchiveExportRepository mockArchiveExportRepository;
+    @Mock
+    SalesFactService mockSalesFactService;
+
+    @BeforeEach
+    public void setUp() {
+        this.orderStatusServiceToTest = new OrderStatusServiceImpl(mockOrderRepository, mockArchiveExportRepository,
+                mockSalesFactService);
+    }
+
+    @Test
+    @MockitoSettings(strictness = Strictness.WARN)
+    public void testCompleteOrderMethodReturnsTrueWhenRowUpdated() {
+
+        when(mockOrderRepository.markAsCompleted(eq(1L), any(LocalDateTime.class))).thenReturn(1);
+
+        Assertions.assertTrue(this.orderStatusServiceToTest.completeOrder(1L));
+        Mockito.verify(mockOrderRepository, times(1)).markAsCompleted(eq(1L), any(LocalDateTime.class));
+        Mockito.verify(mockOrderRepository, times(0)).saveAndFlush(any());
+    }
+
+    @Test
+    @MockitoSettings(strictness = Strictness.WARN)
+    public void testCompleteOrderMethodReturnsFalseWhenAlreadyCompleted() {
+
+        when(mockOrderRepository.markAsCompleted(eq(1L), any(LocalDateTime.class))).thenReturn(0);
+
+        Assertions.assertFalse(this.orderStatusServiceToTest.completeOrder(1L));
+    }
+
+    @Test
+    @MockitoSettings(strictness = Strictness.WARN)
+    public void testIncompleteOrderMethodReturnsTrueWhenRowUpdated() {
+
+        when(mockOrderRepository.markAsIncomplete(eq(1L), any(LocalDateTime.class))).thenReturn(1);
+
+        Assertions.assertTrue(this.orderStatusServiceToTest.incompleteOrder(1L));
+    }
+
+    @Test
+    @MockitoSettings(strictness = Strictness.WARN)
+    public void testArchiveOrderMethodReturnsFalseWhenOrderIsOpen() {
+
+        when(mockOrderRepository.markAsArchived(eq(2L), any(LocalDateTime.class))).thenReturn(0);
+
+        Assertions.assertTrue(this.orderStatusServiceToTest.archiveOrder(2L).isEmpty());
+        Mockito.verify(mockOrderRepository, times(0)).findById(any());
+        Mockito.verify(mockArchiveExportRepository, times(0)).insert(any(), any());
+        Mockito.verify(mockSalesFactService, times(0)).addArchivedOrder(any(), any());
+    }
+
+    @Test
+    @MockitoSettings(strictness = Strictness.WARN)
+    public void testArchiveOrderMethodQueuesExportAndAddsDailySalesWhenRowUpdated() {
+
+        when(mockOrderRepository.markAsArchived(eq(2L), any(LocalDateTime.class))).thenReturn(1);
+
+        Assertions.assertTrue(this.orderStatusServiceToTest.archiveOrder(2L).isPresent());
+        Mockito.verify(mockArchiveExportRepository, times(1)).insert(eq(2L), any(LocalDateTime.class));
+        Mockito.verify(mockSalesFactService, times(1)).addArchivedOrder(eq(2L), any(LocalDate.class));
+    }
+}
@@ -0,0 +1,148 @@
+package warehouse.orders;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+import warehouse.addresses.model.AddressEntity;
+import warehouse.categories.model.CategoryEntity;
+import warehouse.config.ModelMapperConfig;
+import warehouse.customers.model.CustomerEntity;
+import warehouse.items.mapper.ItemViewMapper;
+import warehouse.items.model.ItemEntity;
+import warehouse.items.model.ItemViewBindingModel;
+import warehouse.items.model.ItemViewServiceModel;
+import warehouse.orderline.model.OrderLineEntity;
+import warehouse.orderline.model.OrderLineViewBindingModel;
+import warehouse.orders.mapper.OrderViewMapper;
+import warehouse.orders.model.OrderEntity;
+import warehouse.orders.model.OrderViewBindingModel;
+import warehouse.orders.model.OrderViewServiceModel;
+import warehouse.suppliers.model.SupplierEntity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class OrderViewMapperUnitTests {
+
+    private ModelMapper modelMapper;
+    private OrderEntity orderEntity;
+
+    @BeforeEach
+    public void setUp() {
+        this.modelMapper = new ModelMapperConfig().modelMapper();
+        this.orderEntity = this.createOrderEntity();
+    }
+
+    @Test
+    public void testOrderMappingMatchesModelMapper() {
+
+        OrderViewBindingModel expected = this.modelMapper.map(
+                this.modelMapper.map(this.orderEntity, OrderViewServiceModel.class), OrderViewBindingModel.class);
+        OrderViewBindingModel actual = OrderViewMapper.toBindingModel(OrderViewMapper.toServiceModel(this.orderEntity));
+
+        Assertions.assertEquals(expected.getId(), actual.getId());
+        Assertions.assertEquals(expected.getCreatedOn(), actual.getCreatedOn());
+        Assertions.assertEquals(expected.getUpdatedOn(), actual.getUpdatedOn());
+        Assertions.assertEquals(expected.isClosed(), actual.isClosed());
+        Assertions.assertEquals(expected.isArchives(), actual.isArchives());
+        Assertions.assertEquals(expected.getTotal(), actual.getTotal());
+        Assertions.assertEquals(expected.getCustomer().getCompanyName(), actual.getCustomer().getCompanyName());
+        Assertions.assertEquals(expected.getCustomer().getPersonName(), actual.getCustomer().getPersonName());
+        Assertions.assertEquals(expected.getCustomer().getAddress().getCity(), actual.getCustomer().getAddress().getCity());
+        Assertions.assertEquals(expected.getCustomer().getAddress().getPhone(), actual.getCustomer().getAddress().getPhone());
+        Assertions.assertEquals(describeLines(expected), describeLines(actual));
+    }
+
+    @Test
+    public void testSummaryMappingSkipsOrderLines() {
+
+        OrderViewServiceModel orderViewServiceModel = OrderViewMapper.toSummaryServiceModel(this.orderEntity);
+
+        Assertions.assertTrue(orderViewServiceModel.getOrderLineEntities().isEmpty());
+        Assertions.assertEquals("Company", orderViewServiceModel.getCustomer().getCompanyName());
+        Assertions.assertEquals(new BigDecimal("30.00"), orderViewServiceModel.getTotal());
+    }
+
+    @Test
+    public void testItemMappingMatchesModelMapper() {
+
+        ItemEntity itemEntity = this.orderEntity.getOrderLineEntities().iterator().next().getItem();
+
+        ItemViewBindingModel expected = this.modelMapper.map(
+                this.modelMapper.map(itemEntity, ItemViewServiceModel.class), ItemViewBindingModel.class);
+        ItemViewBindingModel actual = ItemViewMapper.toBindingModel(ItemViewMapper.toServiceModel(itemEntity));
+
+        Assertions.assertEquals(expected.getName(), actual.getName());
+        Assertions.assertEquals(expected.getPrice(), actual.getPrice());
+        Assertions.assertEquals(expected.getStock(), actual.getStock());
+        Assertions.assertEquals(expected.getCategory(), actual.getCategory());
+        Assertions.assertEquals(expected.getSupplier(), actual.getSupplier());
+        Assertions.assertEquals(expected.getImg(), actual.getImg());
+    }
+
+    private static List<String> describeLines(OrderViewBindingModel orderViewBindingModel) {
+        return orderViewBindingModel.getOrderLineEntities()
+                .stream()
+                .sorted(Comparator.comparing(OrderLineViewBindingModel::getId))
+                .map(l -> l.getId() + " " + l.getQuantity() + " " + l.getSubtotal() + " " + l.getItem().getName()
+                        + " " + l.getItem().getCategory() + " " + l.getItem().getSupplier())
+                .collect(Collectors.toList());
+    }
+
+    private OrderEntity createOrderEntity() {
+
+        AddressEntity addressEntity = new AddressEntity();
+        addressEntity.setId(1L);
+        addressEntity.setRegion("Region");
+        addressEntity.setCity("City");
+        addressEntity.setStreet("Street");
+        addressEntity.setPhone("0888888888");
+
+        CustomerEntity customerEntity = new CustomerEntity();
+        customerEntity.setId(1L);
+        customerEntity.setCompanyName("Company");
+        customerEntity.setPersonName("Person");
+        customerEntity.setEmail("company@mail.bg");
+        customerEntity.setAddressEntity(addressEntity);
+
+        CategoryEntity categoryEntity = new CategoryEntity();
+        categoryEntity.setName("Category");
+        SupplierEntity supplierEntity = new SupplierEntity();
+        supplierEntity.setName("Supplier");
+
+        OrderEntity orderEntity = new OrderEntity();
+        orderEntity.setId(1L);
+        orderEntity.setCreatedOn(LocalDateTime.of(2020, 10, 1, 10, 0));
+        orderEntity.setUpdatedOn(LocalDateTime.of(2020, 10, 2, 10, 0));
+        orderEntity.setCustomer(customerEntity);
+        orderEntity.setClosed(true);
+        orderEntity.setTotal(new BigDecimal("30.00"));
+
+        for (long i = 1; i <= 2; i++) {
+            ItemEntity itemEntity = new ItemEntity();
+            itemEntity.setId(i);
+            itemEntity.setName("Item_" + i);
+            itemEntity.setDescription("Description");
+            itemEntity.setPrice(new BigDecimal("10.00"));
+            itemEntity.setStock(100);
+            itemEntity.setLocation("A1");
+            itemEntity.setImg("img");
+            itemEntity.setCategory(categoryEntity);
+            itemEntity.setSupplier(supplierEntity);
+
+            OrderLineEntity orderLineEntity = new OrderLineEntity();
+            orderLineEntity.setId(i);
+            orderLineEntity.setItem(itemEntity);
+            orderLineEntity.setQuantity((int) i);
+            orderLineEntity.setSubtotal(new BigDecimal("10.00").multiply(BigDecimal.valueOf(i)));
+            orderLineEntity.setOrder(orderEntity);
+            orderEntity.getOrderLineEntities().add(orderLineEntity);
+        }
+
+        return orderEntity;
+    }
+}
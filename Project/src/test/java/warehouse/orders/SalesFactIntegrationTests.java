@@ -0,0 +1,100 @@
+package warehouse.orders;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+import warehouse.customers.model.CustomerTurnoverViewModel;
+import warehouse.customers.service.CustomerService;
+import warehouse.items.service.ItemService;
+import warehouse.orderline.model.OrderLineEntity;
+import warehouse.orders.model.OrderEntity;
+import warehouse.orders.repository.OrderRepository;
+import warehouse.orders.sales.model.DailyCustomerSalesEntity;
+import warehouse.orders.sales.model.DailyCustomerSalesId;
+import warehouse.orders.sales.model.DailyItemSalesEntity;
+import warehouse.orders.sales.model.DailyItemSalesId;
+import warehouse.orders.sales.repository.DailyCustomerSalesRepository;
+import warehouse.orders.sales.repository.DailyItemSalesRepository;
+import warehouse.orders.sales.service.SalesFactService;
+import warehouse.orders.service.OrderStatusService;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@SpringBootTest
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+public class SalesFactIntegrationTests {
+
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private OrderStatusService orderStatusService;
+    @Autowired
+    private SalesFactService salesFactService;
+    @Autowired
+    private DailyItemSalesRepository dailyItemSalesRepository;
+    @Autowired
+    private DailyCustomerSalesRepository dailyCustomerSalesRepository;
+    @Autowired
+    private CustomerService customerService;
+    @Autowired
+    private ItemService itemService;
+
+    @Test
+    public void testReportsReadTheDailySalesBackfilledOnStartup() {
+
+        List<CustomerTurnoverViewModel> customers = this.customerService.getCustomerTurnover("", "", "");
+
+        Assertions.assertFalse(customers.isEmpty());
+        Assertions.assertTrue(customers.stream().allMatch(c -> c.getOrdersCount() > 0));
+        Assertions.assertFalse(this.itemService.getTopItemsReport("", "").getQuantityMap().isEmpty());
+    }
+
+    @Test
+    @Transactional
+    public void testArchivingAnOrderAddsItToTheDailySalesLikeARebuild() {
+
+        OrderEntity order = this.orderRepository.findAllCompletedOrdersByUpdatedOnDesc(PageRequest.of(0, 1))
+                .getContent().get(0);
+        Long customerId = order.getCustomer().getId();
+        OrderLineEntity line = order.getOrderLineEntities().iterator().next();
+        Long itemId = line.getItem().getId();
+        BigDecimal turnover = order.getOrderLineEntities().stream()
+                .map(OrderLineEntity::getSubtotal).reduce(BigDecimal.ZERO, BigDecimal::add);
+        long quantity = order.getOrderLineEntities().stream().mapToLong(OrderLineEntity::getQuantity).sum();
+
+        LocalDate today = LocalDate.now();
+        DailyCustomerSalesId customerKey = new DailyCustomerSalesId(today, customerId);
+        DailyItemSalesId itemKey = new DailyItemSalesId(today, itemId);
+        long ordersBefore = this.dailyCustomerSalesRepository.findById(customerKey)
+                .map(DailyCustomerSalesEntity::getOrdersCount).orElse(0L);
+        BigDecimal turnoverBefore = this.dailyCustomerSalesRepository.findById(customerKey)
+                .map(DailyCustomerSalesEntity::getTurnover).orElse(BigDecimal.ZERO);
+        long quantityBefore = this.dailyCustomerSalesRepository.findById(customerKey)
+                .map(DailyCustomerSalesEntity::getQuantity).orElse(0L);
+        long itemOrdersBefore = this.dailyItemSalesRepository.findById(itemKey)
+                .map(DailyItemSalesEntity::getOrdersCount).orElse(0L);
+
+        Assertions.assertTrue(this.orderStatusService.archiveOrder(order.getId()).isPresent());
+
+        DailyCustomerSalesEntity customerSales = this.dailyCustomerSalesRepository.findById(customerKey).orElseThrow();
+        Assertions.assertEquals(ordersBefore + 1, customerSales.getOrdersCount());
+        Assertions.assertEquals(0, turnoverBefore.add(turnover).compareTo(customerSales.getTurnover()));
+        Assertions.assertEquals(quantityBefore + quantity, customerSales.getQuantity());
+        Assertions.assertEquals(itemOrdersBefore + 1,
+                this.dailyItemSalesRepository.findById(itemKey).orElseThrow().getOrdersCount());
+
+        this.salesFactService.rebuild();
+
+        DailyCustomerSalesEntity rebuilt = this.dailyCustomerSalesRepository.findById(customerKey).orElseThrow();
+        Assertions.assertEquals(customerSales.getOrdersCount(), rebuilt.getOrdersCount());
+        Assertions.assertEquals(0, customerSales.getTurnover().compareTo(rebuilt.getTurnover()));
+        Assertions.assertEquals(customerSales.getQuantity(), rebuilt.getQuantity());
+    }
+}
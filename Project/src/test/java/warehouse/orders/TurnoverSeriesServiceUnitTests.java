@@ -0,0 +1,169 @@
+package warehouse.orders;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import warehouse.orders.repository.OrderRepository;
+import warehouse.orders.turnover.TurnoverGranularity;
+import warehouse.orders.turnover.service.TurnoverSeriesService;
+import warehouse.orders.turnover.service.impl.TurnoverSeriesServiceImpl;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TurnoverSeriesServiceUnitTests {
+
+    private TurnoverSeriesService turnoverSeriesServiceToTest;
+
+    @Mock
+    OrderRepository mockOrderRepository;
+
+    @BeforeEach
+    public void setUp() {
+        this.turnoverSeriesServiceToTest = new TurnoverSeriesServiceImpl(mockOrderRepository);
+
+        when(mockOrderRepository.sumArchivedTurnoverByDay()).thenReturn(List.of(
+                new Object[]{Date.valueOf("2020-06-01"), new BigDecimal("10.50"), LocalDateTime.of(2020, 6, 1, 18, 0)},
+                new Object[]{Date.valueOf("2020-06-03"), new BigDecimal("4.25"), LocalDateTime.of(2020, 6, 3, 18, 0)},
+                new Object[]{Date.valueOf("2020-06-09"), new BigDecimal("100.00"), LocalDateTime.of(2020, 6, 9, 18, 0)},
+                new Object[]{Date.valueOf("2020-07-02"), new BigDecimal("1.00"), LocalDateTime.of(2020, 7, 2, 18, 0)}));
+
+        this.turnoverSeriesServiceToTest.rebuild();
+    }
+
+    @Test
+    @MockitoSettings(strictness = Strictness.WARN)
+    public void testGetSeriesByDay() {
+
+        LinkedHashMap<LocalDate, BigDecimal> series = this.turnoverSeriesServiceToTest
+                .getSeries(LocalDate.of(2020, 6, 1), LocalDate.of(2020, 6, 3), TurnoverGranularity.DAY);
+
+        Assertions.assertEquals(3, series.size());
+        Assertions.assertEquals(new BigDecimal("10.50"), series.get(LocalDate.of(2020, 6, 1)));
+        Assertions.assertEquals(new BigDecimal("0.00"), series.get(LocalDate.of(2020, 6, 2)));
+        Assertions.assertEquals(new BigDecimal("4.25"), series.get(LocalDate.of(2020, 6, 3)));
+    }
+
+    @Test
+    @MockitoSettings(strictness = Strictness.WARN)
+    public void testGetSeriesByWeekClampsToRange() {
+
+        LinkedHashMap<LocalDate, BigDecimal> series = this.turnoverSeriesServiceToTest
+                .getSeries(LocalDate.of(2020, 6, 2), LocalDate.of(2020, 6, 14), TurnoverGranularity.WEEK);
+
+        Assertions.assertEquals(2, series.size());
+        Assertions.assertEquals(new BigDecimal("4.25"), series.get(LocalDate.of(2020, 6, 2)));
+        Assertions.assertEquals(new BigDecimal("100.00"), series.get(LocalDate.of(2020, 6, 8)));
+    }
+
+    @Test
+    @MockitoSettings(strictness = Strictness.WARN)
+    public void testGetSeriesByMonth() {
+
+        LinkedHashMap<LocalDate, BigDecimal> series = this.turnoverSeriesServiceToTest
+                .getSeries(LocalDate.of(2020, 5, 1), LocalDate.of(2020, 7, 31), TurnoverGranularity.MONTH);
+
+        Assertions.assertEquals(3, series.size());
+        Assertions.assertEquals(new BigDecimal("0.00"), series.get(LocalDate.of(2020, 5, 1)));
+        Assertions.assertEquals(new BigDecimal("114.75"), series.get(LocalDate.of(2020, 6, 1)));
+        Assertions.assertEquals(new BigDecimal("1.00"), series.get(LocalDate.of(2020, 7, 1)));
+    }
+
+    @Test
+    @MockitoSettings(strictness = Strictness.WARN)
+    public void testAddTurnoverUpdatesSeries() {
+
+        this.turnoverSeriesServiceToTest.addTurnover(LocalDateTime.of(2020, 6, 2, 12, 0), new BigDecimal("2.00"));
+        this.turnoverSeriesServiceToTest.addTurnover(LocalDateTime.of(2019, 12, 31, 12, 0), new BigDecimal("3.00"));
+        this.turnoverSeriesServiceToTest.addTurnover(LocalDateTime.of(2020, 8, 1, 12, 0), new BigDecimal("5.00"));
+
+        LinkedHashMap<LocalDate, BigDecimal> series = this.turnoverSeriesServiceToTest
+                .getSeries(LocalDate.of(2019, 12, 1), LocalDate.of(2020, 8, 31), TurnoverGranularity.MONTH);
+
+        Assertions.assertEquals(new BigDecimal("3.00"), series.get(LocalDate.of(2019, 12, 1)));
+        Assertions.assertEquals(new BigDecimal("116.75"), series.get(LocalDate.of(2020, 6, 1)));
+        Assertions.assertEquals(new BigDecimal("1.00"), series.get(LocalDate.of(2020, 7, 1)));
+        Assertions.assertEquals(new BigDecimal("5.00"), series.get(LocalDate.of(2020, 8, 1)));
+    }
+
+    @Test
+    @MockitoSettings(strictness = Strictness.WARN)
+    public void testGetTurnoverMapFormatsLabels() {
+
+        LinkedHashMap<String, BigDecimal> turnoverMap = this.turnoverSeriesServiceToTest
+                .getTurnoverMap("01/06/2020", "03/06/2020", TurnoverGranularity.DAY);
+
+        Assertions.assertEquals(List.of("01.06.2020", "02.06.2020", "03.06.2020"), List.copyOf(turnoverMap.keySet()));
+    }
+
+    @Test
+    @MockitoSettings(strictness = Strictness.WARN)
+    public void testGetTimeBordersDefaultsToLastWeek() {
+
+        String[] timeBorders = this.turnoverSeriesServiceToTest.getTimeBorders("", "");
+
+        LinkedHashMap<String, BigDecimal> turnoverMap = this.turnoverSeriesServiceToTest
+                .getTurnoverMap(timeBorders[0], timeBorders[1], TurnoverGranularity.DAY);
+
+        Assertions.assertEquals(7, turnoverMap.size());
+    }
+
+    @Test
+    @MockitoSettings(strictness = Strictness.WARN)
+    public void testRebuildReplaysTurnoverAddedWhileReading() {
+
+        when(mockOrderRepository.sumArchivedTurnoverByDay()).thenAnswer(invocation -> {
+            this.turnoverSeriesServiceToTest.addTurnover(LocalDateTime.of(2020, 6, 2, 12, 0), new BigDecimal("2.00"));
+            return List.<Object[]>of(new Object[]{Date.valueOf("2020-06-01"), new BigDecimal("10.50"), LocalDateTime.of(2020, 6, 1, 18, 0)});
+        });
+
+        this.turnoverSeriesServiceToTest.rebuild();
+
+        LinkedHashMap<LocalDate, BigDecimal> series = this.turnoverSeriesServiceToTest
+                .getSeries(LocalDate.of(2020, 6, 1), LocalDate.of(2020, 6, 2), TurnoverGranularity.DAY);
+
+        Assertions.assertEquals(new BigDecimal("10.50"), series.get(LocalDate.of(2020, 6, 1)));
+        Assertions.assertEquals(new BigDecimal("2.00"), series.get(LocalDate.of(2020, 6, 2)));
+    }
+
+    @Test
+    @MockitoSettings(strictness = Strictness.WARN)
+    public void testRebuildSkipsTurnoverTheQueryAlreadySaw() {
+
+        when(mockOrderRepository.sumArchivedTurnoverByDay()).thenAnswer(invocation -> {
+            this.turnoverSeriesServiceToTest.addTurnover(LocalDateTime.of(2020, 6, 1, 9, 0), new BigDecimal("2.00"));
+            return List.<Object[]>of(new Object[]{Date.valueOf("2020-06-01"), new BigDecimal("12.50"), LocalDateTime.of(2020, 6, 1, 9, 0)});
+        });
+
+        this.turnoverSeriesServiceToTest.rebuild();
+
+        LinkedHashMap<LocalDate, BigDecimal> series = this.turnoverSeriesServiceToTest
+                .getSeries(LocalDate.of(2020, 6, 1), LocalDate.of(2020, 6, 1), TurnoverGranularity.DAY);
+
+        Assertions.assertEquals(new BigDecimal("12.50"), series.get(LocalDate.of(2020, 6, 1)));
+    }
+
+    @Test
+    @MockitoSettings(strictness = Strictness.WARN)
+    public void testGetTurnoverMapRejectsInvalidDate() {
+
+        ResponseStatusException exception = Assertions.assertThrows(ResponseStatusException.class,
+                () -> this.turnoverSeriesServiceToTest.getTurnoverMap("2020-06-01", "03/06/2020", TurnoverGranularity.DAY));
+
+        Assertions.assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+    }
+}
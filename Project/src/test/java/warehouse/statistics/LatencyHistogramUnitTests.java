@@ -0,0 +1,63 @@
+package warehouse.statistics;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class LatencyHistogramUnitTests {
+
+    private static final long MINUTE = 1_000_000;
+
+    @Test
+    public void testPercentilesOfOneMinute() {
+
+        LatencyHistogram latencyHistogram = new LatencyHistogram("OrderController#orders");
+        for (int i = 1; i <= 100; i++) {
+            latencyHistogram.record(TimeUnit.MILLISECONDS.toNanos(i));
+        }
+
+        LatencySnapshot snapshot = latencyHistogram.snapshot(MINUTE, 1);
+
+        Assertions.assertEquals("OrderController#orders", snapshot.getHandler());
+        Assertions.assertEquals(100, snapshot.getCount());
+        Assertions.assertEquals(50, snapshot.getP50(), 1);
+        Assertions.assertEquals(95, snapshot.getP95(), 1);
+        Assertions.assertEquals(99, snapshot.getP99(), 1);
+        Assertions.assertEquals(100, snapshot.getMax(), 1);
+    }
+
+    @Test
+    public void testWindowsOnlyCountTheirMinutes() {
+
+        LatencyHistogram latencyHistogram = new LatencyHistogram("OrderController#orders");
+
+        latencyHistogram.record(TimeUnit.MILLISECONDS.toNanos(500));
+        latencyHistogram.drain(MINUTE);
+        latencyHistogram.record(TimeUnit.MILLISECONDS.toNanos(5));
+        latencyHistogram.record(TimeUnit.MILLISECONDS.toNanos(5));
+        latencyHistogram.drain(MINUTE + 3);
+
+        Assertions.assertEquals(2, latencyHistogram.snapshot(MINUTE + 3, 1).getCount());
+        Assertions.assertEquals(5, latencyHistogram.snapshot(MINUTE + 3, 1).getMax(), 0.1);
+        Assertions.assertEquals(3, latencyHistogram.snapshot(MINUTE + 3, 5).getCount());
+        Assertions.assertEquals(500, latencyHistogram.snapshot(MINUTE + 3, 5).getMax(), 5);
+        Assertions.assertEquals(2, latencyHistogram.snapshot(MINUTE + 62, 60).getCount());
+        Assertions.assertEquals(0, latencyHistogram.snapshot(MINUTE + 63, 60).getCount());
+    }
+
+    @Test
+    public void testBucketIsReusedAnHourLater() {
+
+        LatencyHistogram latencyHistogram = new LatencyHistogram("OrderController#orders");
+
+        latencyHistogram.record(TimeUnit.MILLISECONDS.toNanos(10));
+        latencyHistogram.drain(MINUTE);
+        latencyHistogram.record(TimeUnit.MILLISECONDS.toNanos(20));
+        latencyHistogram.drain(MINUTE + LatencyHistogram.MINUTES);
+
+        LatencySnapshot snapshot = latencyHistogram.snapshot(MINUTE + LatencyHistogram.MINUTES, 60);
+        Assertions.assertEquals(1, snapshot.getCount());
+        Assertions.assertEquals(20, snapshot.getMax(), 0.5);
+    }
+}
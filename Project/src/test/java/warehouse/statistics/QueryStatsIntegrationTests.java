@@ -0,0 +1,49 @@
+package warehouse.statistics;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import warehouse.items.repository.ItemRepository;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+public class QueryStatsIntegrationTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Test
+    public void testHibernateHooksCountStatementsAndLoadedEntities() {
+
+        RequestQueryStats.begin();
+        int items = this.itemRepository.findAll().size();
+        RequestQueryStats stats = RequestQueryStats.end();
+
+        Assertions.assertTrue(stats.getStatements() >= 1);
+        Assertions.assertTrue(stats.getEntitiesLoaded() >= items);
+        Assertions.assertTrue(stats.getJdbcNanos() > 0);
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"USER", "ADMIN"})
+    public void testStatsPageShowsTheQueryBudget() throws Exception {
+
+        this.mockMvc.perform(get("/stats"))
+                .andExpect(status().isOk())
+                .andExpect(model().attributeExists("queryOffenders"))
+                .andExpect(model().attribute("queryBudget", 50));
+    }
+}
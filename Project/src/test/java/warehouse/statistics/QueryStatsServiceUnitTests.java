@@ -0,0 +1,74 @@
+package warehouse.statistics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class QueryStatsServiceUnitTests {
+
+    @Test
+    public void testStatementsWithDifferentParametersHaveTheSameShape() {
+
+        Assertions.assertEquals("select * from items where id=? and name=?",
+                RequestQueryStats.shapeOf("select * from items\n  where id=42 and name='it''s'"));
+        Assertions.assertEquals(RequestQueryStats.shapeOf("select * from items where id in (?, ?, ?)"),
+                RequestQueryStats.shapeOf("select * from items where id in (?,?)"));
+        Assertions.assertEquals("select i1_0.id from items i1_0",
+                RequestQueryStats.shapeOf("select i1_0.id from items i1_0"));
+    }
+
+    @Test
+    public void testRepeatedStatementFlagsTheRequest() {
+
+        QueryStatsService service = new QueryStatsService(new SimpleMeterRegistry(), 50, 3, 20);
+
+        Assertions.assertFalse(service.record(this, "/items", this.stats(2, 2)));
+        Assertions.assertTrue(service.record(this, "/items", this.stats(3, 3)));
+
+        List<QueryOffender> offenders = service.getOffenders();
+        Assertions.assertEquals(1, offenders.size());
+        Assertions.assertEquals("/items", offenders.get(0).getURI());
+        Assertions.assertEquals(3, offenders.get(0).getRepeatCount());
+        Assertions.assertEquals("select * from items where id=?", offenders.get(0).getRepeatedStatement());
+    }
+
+    @Test
+    public void testOffenderKeepsTheWorstRequestOfAHandler() {
+
+        QueryStatsService service = new QueryStatsService(new SimpleMeterRegistry(), 4, 100, 20);
+
+        service.record(this, "/items/1", this.stats(10, 1));
+        service.record(this, "/items/2", this.stats(6, 1));
+
+        QueryOffender offender = service.getOffenders().get(0);
+        Assertions.assertEquals("/items/1", offender.getURI());
+        Assertions.assertEquals(10, offender.getStatements());
+        Assertions.assertEquals(2, offender.getOccurrences());
+    }
+
+    @Test
+    public void testStatementsOutsideARequestAreNotCounted() {
+
+        Assertions.assertNull(RequestQueryStats.current());
+
+        RequestQueryStats.begin();
+        RequestQueryStats.current().onStatement("select 1");
+        RequestQueryStats stats = RequestQueryStats.end();
+
+        Assertions.assertEquals(1, stats.getStatements());
+        Assertions.assertNull(RequestQueryStats.current());
+    }
+
+    //the first repeated statements are one shape, the rest are distinct
+    private RequestQueryStats stats(int statements, int repeated) {
+
+        RequestQueryStats stats = new RequestQueryStats();
+        for (int i = 0; i < statements; i++) {
+            stats.onStatement(i < repeated ? "select * from items where id=" + i : "select * from table_" + (char) ('a' + i));
+        }
+
+        return stats;
+    }
+}
@@ -0,0 +1,116 @@
+package warehouse.statistics;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import warehouse.items.repository.ItemRepository;
+import warehouse.orders.export.model.ArchivedOrderLineRow;
+import warehouse.orders.repository.OrderRepository;
+import warehouse.orders.sales.repository.DailyCustomerSalesRepository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+public class SlowQueryIntegrationTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DailyCustomerSalesRepository dailyCustomerSalesRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private SlowQueryService slowQueryService;
+
+    @Test
+    public void testRepositoryCallsAreAttributedToTheirMethod() {
+
+        LocalDate today = LocalDate.now();
+        this.dailyCustomerSalesRepository.findCustomerTurnover(today.minusDays(1), today, "", PageRequest.of(0, 5));
+        int items = this.itemRepository.findAll().size();
+
+        SlowQuery turnover = this.findLatest("DailyCustomerSalesRepository#findCustomerTurnover");
+        Assertions.assertEquals("LocalDate, LocalDate, String, Pageable(0, 5)", turnover.getParameters());
+
+        SlowQuery findAll = this.findLatest("ItemRepository#findAll");
+        Assertions.assertEquals(items, findAll.getRows());
+    }
+
+    @Test
+    @Transactional
+    public void testStreamedCallsAreTimedUntilTheStreamIsClosed() {
+
+        String method = "OrderRepository#streamArchivedOrderLines";
+        long rows;
+
+        try (Stream<ArchivedOrderLineRow> stream = this.orderRepository.streamArchivedOrderLines(
+                LocalDateTime.now().minusYears(100), LocalDateTime.now())) {
+            rows = stream.collect(Collectors.toList()).size();
+            Assertions.assertNotEquals(method, this.getNewest().getMethod());
+        }
+
+        SlowQuery streamed = this.getNewest();
+        Assertions.assertEquals(method, streamed.getMethod());
+        Assertions.assertEquals(rows, streamed.getRows());
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"USER", "ADMIN"})
+    public void testSlowQueriesAreShownOnThePageAndEndpoint() throws Exception {
+
+        this.itemRepository.count();
+
+        this.mockMvc.perform(get("/slow-queries"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("stats/slow-queries"))
+                .andExpect(content().string(containsString("ItemRepository#count")));
+
+        this.mockMvc.perform(get("/actuator/slowqueries"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.thresholdMs").value(0))
+                .andExpect(jsonPath("$.methods").isArray())
+                .andExpect(content().string(containsString("\"method\":\"ItemRepository#count\"")));
+    }
+
+    @Test
+    public void testSlowQueryEndpointIsForbiddenToUsers() throws Exception {
+
+        this.mockMvc.perform(get("/actuator/slowqueries").with(user("user").roles("USER")))
+                .andExpect(status().isForbidden());
+    }
+
+    private SlowQuery getNewest() {
+        return this.slowQueryService.getSlowQueries(PageRequest.of(0, 1)).getContent().get(0);
+    }
+
+    private SlowQuery findLatest(String method) {
+        return this.slowQueryService.getSlowQueries(PageRequest.of(0, this.slowQueryService.getCapacity())).stream()
+                .filter(q -> q.getMethod().equals(method))
+                .findFirst()
+                .orElseThrow();
+    }
+}
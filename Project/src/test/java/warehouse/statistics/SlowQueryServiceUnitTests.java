@@ -0,0 +1,66 @@
+package warehouse.statistics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class SlowQueryServiceUnitTests {
+
+    @Test
+    public void testOnlyCallsOverTheThresholdAreSlow() {
+
+        SlowQueryService service = new SlowQueryService(new SimpleMeterRegistry(), 100, 8);
+
+        Assertions.assertFalse(service.isSlow(TimeUnit.MILLISECONDS.toNanos(99)));
+        Assertions.assertTrue(service.isSlow(TimeUnit.MILLISECONDS.toNanos(100)));
+    }
+
+    @Test
+    public void testLogKeepsTheNewestCallsAndTotalsPerMethod() {
+
+        SlowQueryService service = new SlowQueryService(new SimpleMeterRegistry(), 0, 4);
+        for (int i = 1; i <= 6; i++) {
+            service.record("OrderRepository#find" + i, "Long", 1, TimeUnit.MILLISECONDS.toNanos(i));
+        }
+        service.record("OrderRepository#find6", "Long", 1, TimeUnit.MILLISECONDS.toNanos(10));
+
+        List<SlowQuery> latest = service.getSlowQueries(PageRequest.of(0, 10)).getContent();
+        Assertions.assertEquals(List.of("OrderRepository#find6", "OrderRepository#find6", "OrderRepository#find5",
+                "OrderRepository#find4"), latest.stream().map(SlowQuery::getMethod).collect(Collectors.toList()));
+
+        List<SlowQuerySummary> summaries = service.getSummaries();
+        Assertions.assertEquals(6, summaries.size());
+        Assertions.assertEquals("OrderRepository#find6", summaries.get(0).getMethod());
+        Assertions.assertEquals(2, summaries.get(0).getCount());
+        Assertions.assertEquals(16.0, summaries.get(0).getTotalMillis(), 0.001);
+        Assertions.assertEquals(10.0, summaries.get(0).getMaxMillis(), 0.001);
+    }
+
+    @Test
+    public void testParametersAreDescribedByTypeAndSize() {
+
+        Assertions.assertEquals("LocalDateTime, null, ArrayList[2], Pageable(1, 5)",
+                SlowQueryAspect.describeParameters(new Object[]{LocalDateTime.now(), null,
+                        new java.util.ArrayList<>(List.of(1L, 2L)), PageRequest.of(1, 5)}));
+    }
+
+    @Test
+    public void testRowsAreCountedFromTheResult() {
+
+        Assertions.assertEquals(3, SlowQueryAspect.countRows(List.of(1, 2, 3)));
+        Assertions.assertEquals(2, SlowQueryAspect.countRows(new PageImpl<>(List.of(1, 2))));
+        Assertions.assertEquals(0, SlowQueryAspect.countRows(Optional.empty()));
+        Assertions.assertEquals(0, SlowQueryAspect.countRows(null));
+        Assertions.assertEquals(1, SlowQueryAspect.countRows(42L));
+        Assertions.assertEquals(-1, SlowQueryAspect.countRows(Stream.of(1)));
+    }
+}
@@ -0,0 +1,66 @@
+package warehouse.statistics;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+public class StatsControllerIntegrationTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"USER", "ADMIN"})
+    public void testHandlerLatencyIsShownOnTheStatsPageAndEndpoint() throws Exception {
+
+        this.mockMvc.perform(get("/unauthorized")).andExpect(status().isOk());
+
+        this.mockMvc.perform(get("/stats"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("stats/requests-stats"))
+                .andExpect(content().string(containsString("StatsController#getUnauthorizedErrors")));
+
+        this.mockMvc.perform(get("/actuator/latency"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.1m").isArray())
+                .andExpect(jsonPath("$.5m").isArray())
+                .andExpect(jsonPath("$.60m").isArray())
+                .andExpect(content().string(containsString("\"handler\":\"StatsController#getUnauthorizedErrors\"")));
+    }
+
+    @Test
+    public void testLatencyEndpointIsForbiddenToUsers() throws Exception {
+
+        this.mockMvc.perform(get("/actuator/latency").with(user("user").roles("USER")))
+                .andExpect(status().isForbidden());
+
+        this.mockMvc.perform(get("/actuator/health").with(user("user").roles("USER")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void testDeniedRequestsAreListedOnTheUnauthorizedPage() throws Exception {
+
+        this.mockMvc.perform(get("/stats").with(user("intruder").roles("USER")))
+                .andExpect(status().isForbidden());
+
+        this.mockMvc.perform(get("/unauthorized").with(user("admin").roles("USER", "ADMIN")))
+                .andExpect(status().isOk())
+                .andExpect(view().name("stats/unauthorized-errors"))
+                .andExpect(model().attributeExists("unauthorizedErrorCounts", "pager"))
+                .andExpect(content().string(containsString("intruder")));
+    }
+}
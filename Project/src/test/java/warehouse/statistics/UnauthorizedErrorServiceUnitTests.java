@@ -0,0 +1,106 @@
+package warehouse.statistics;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+public class UnauthorizedErrorServiceUnitTests {
+
+    @Test
+    public void testRingKeepsTheNewestEventsAndPagesNewestFirst() {
+
+        UnauthorizedErrorService service = new UnauthorizedErrorService(4, 60, 100);
+        for (int i = 1; i <= 6; i++) {
+            service.record("/stats/" + i, "user");
+        }
+
+        Page<UnauthorizedError> first = service.getUnauthorizedErrors(PageRequest.of(0, 3));
+        Page<UnauthorizedError> second = service.getUnauthorizedErrors(PageRequest.of(1, 3));
+
+        Assertions.assertEquals(4, first.getTotalElements());
+        Assertions.assertEquals(List.of("/stats/6", "/stats/5", "/stats/4"),
+                first.stream().map(UnauthorizedError::getURI).collect(Collectors.toList()));
+        Assertions.assertEquals(List.of("/stats/3"),
+                second.stream().map(UnauthorizedError::getURI).collect(Collectors.toList()));
+
+        //the page is sized by what the ring holds, not by the requested size
+        Assertions.assertEquals(4, service.getUnauthorizedErrors(PageRequest.of(0, Integer.MAX_VALUE)).getNumberOfElements());
+    }
+
+    @Test
+    public void testCountsAreAggregatedByUserAndUriBeyondTheRing() {
+
+        UnauthorizedErrorService service = new UnauthorizedErrorService(2, 60, 100);
+        for (int i = 0; i < 5; i++) {
+            service.record("/stats", "user");
+        }
+        service.record("/unauthorized", "user");
+        service.record("/stats", "guest");
+
+        List<UnauthorizedErrorCount> counts = service.getCounts();
+
+        Assertions.assertEquals(3, counts.size());
+        Assertions.assertEquals("user", counts.get(0).getUsername());
+        Assertions.assertEquals("/stats", counts.get(0).getURI());
+        Assertions.assertEquals(5, counts.get(0).getCount());
+        Assertions.assertNotNull(counts.get(0).getLastSeen());
+    }
+
+    @Test
+    public void testPairsBeyondTheKeyLimitAreCountedTogether() {
+
+        UnauthorizedErrorService service = new UnauthorizedErrorService(16, 60, 2);
+        for (int i = 0; i < 10; i++) {
+            service.record("/stats/" + i, "user");
+        }
+
+        List<UnauthorizedErrorCount> counts = service.getCounts();
+
+        Assertions.assertEquals(3, counts.size());
+        Assertions.assertEquals(UnauthorizedErrorService.OTHER, counts.get(0).getURI());
+        Assertions.assertEquals(8, counts.get(0).getCount());
+    }
+
+    @Test
+    public void testConcurrentRecordingLosesNoCounts() throws InterruptedException {
+
+        UnauthorizedErrorService service = new UnauthorizedErrorService(64, 60, 100);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8; i++) {
+            executorService.submit(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    service.record("/stats", "user");
+                }
+            });
+        }
+        executorService.shutdown();
+        Assertions.assertTrue(executorService.awaitTermination(30, TimeUnit.SECONDS));
+
+        Assertions.assertEquals(8000, service.getCounts().get(0).getCount());
+        Assertions.assertEquals(64, service.getUnauthorizedErrors(PageRequest.of(0, 100)).getContent().size());
+    }
+
+    @Test
+    public void testWindowedCounterForgetsMinutesOutsideTheWindow() {
+
+        WindowedCounter counter = new WindowedCounter(5);
+        counter.increment(100);
+        counter.increment(100);
+        counter.increment(103);
+
+        Assertions.assertEquals(3, counter.sum(104));
+        Assertions.assertEquals(1, counter.sum(105));
+
+        counter.increment(105);
+        Assertions.assertEquals(2, counter.sum(105));
+        Assertions.assertEquals(0, counter.sum(110));
+    }
+}
@@ -15,6 +15,7 @@ import org.springframework.data.domain.*;
 import warehouse.addresses.model.AddressEntity;
 import warehouse.addresses.model.AddressServiceModel;
 import warehouse.addresses.service.AddressService;
+import warehouse.orders.sales.repository.DailySupplierSalesRepository;
 import warehouse.orders.service.OrderService;
 import warehouse.suppliers.model.SupplierEntity;
 import warehouse.suppliers.model.SupplierServiceModel;
@@ -28,6 +29,7 @@ import warehouse.utils.validation.ValidationUtil;
 import javax.persistence.EntityNotFoundException;
 import javax.validation.ConstraintViolationException;
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -58,6 +60,8 @@ public class SupplierServiceImplUnitTests {
     AddressService mockAddressService;
     @Mock
     ValidationUtil mockValidationUtil;
+    @Mock
+    DailySupplierSalesRepository mockDailySupplierSalesRepository;
 
     @BeforeEach
     public void SetUp() {
@@ -67,7 +71,8 @@ public class SupplierServiceImplUnitTests {
                 mockOrderService,
                 mockTimeBordersConvertor,
                 mockAddressService,
-                mockValidationUtil);
+                mockValidationUtil,
+                mockDailySupplierSalesRepository);
         this.supplierEntity = this.createExistingSupplierEntity();
         this.supplierServiceModel = this.createSupplierServiceModel();
         this.existingSupplierServiceModel = this.createExistingSupplierServiceModel();
@@ -312,7 +317,7 @@ public class SupplierServiceImplUnitTests {
         when(mockOrderService.getDateTimeFirstArchiveOrder()).thenReturn(LocalDateTime.now());
 
         List<Object[]> result = this.getResult();
-        when(mockSupplierRepository.findSupplierTurnover(any(LocalDateTime.class), any(LocalDateTime.class), any(String.class), any(Pageable.class)))
+        when(mockDailySupplierSalesRepository.findSupplierTurnover(any(LocalDate.class), any(LocalDate.class), any(String.class), any(Pageable.class)))
                 .thenReturn(result);
 
         List<SupplierTurnoverViewModel> supplierTurnoverViewModels = this.supplierServiceToTest.getSupplierTurnover("", "", "null");
@@ -339,8 +344,8 @@ public class SupplierServiceImplUnitTests {
         when(mockOrderService.getDateTimeFirstArchiveOrder()).thenReturn(LocalDateTime.now());
 
         List<Object[]> result = this.getResult();
-        when(mockSupplierRepository
-                .findTopSuppliers(any(LocalDateTime.class), any(LocalDateTime.class), any(Pageable.class))).thenReturn(result);
+        when(mockDailySupplierSalesRepository
+                .findTopSuppliers(any(LocalDate.class), any(LocalDate.class), any(Pageable.class))).thenReturn(result);
 
         HashMap<Integer, String> resultMap = new HashMap<>();
         resultMap.put(1, "2021-03-12");
@@ -349,7 +354,7 @@ public class SupplierServiceImplUnitTests {
 
         when(mockTimeBordersConvertor.getBordersAndNamesMap(any(HashMap.class), any(String[].class), any(List.class))).thenReturn(resultMap);
 
-        HashMap<Integer, String> topSuppliersNamesMap = this.supplierServiceToTest.getTopSuppliersNamesMap("", "");
+        HashMap<Integer, String> topSuppliersNamesMap = this.supplierServiceToTest.getTopSuppliersReport("", "").getNamesMap();
 
 
         Assertions.assertEquals("2021-03-12", topSuppliersNamesMap.get(1));
@@ -368,10 +373,10 @@ public class SupplierServiceImplUnitTests {
         when(mockOrderService.getDateTimeFirstArchiveOrder()).thenReturn(LocalDateTime.now());
 
         List<Object[]> result = this.getResult();
-        when(mockSupplierRepository
-                .findTopSuppliers(any(LocalDateTime.class), any(LocalDateTime.class), any(Pageable.class))).thenReturn(result);
+        when(mockDailySupplierSalesRepository
+                .findTopSuppliers(any(LocalDate.class), any(LocalDate.class), any(Pageable.class))).thenReturn(result);
 
-        HashMap<Integer, BigDecimal> topSuppliersTurnoverMap = this.supplierServiceToTest.getTopSuppliersTurnoverMap("", "");
+        HashMap<Integer, BigDecimal> topSuppliersTurnoverMap = this.supplierServiceToTest.getTopSuppliersReport("", "").getTurnoverMap();
 
         Assertions.assertEquals(BigDecimal.valueOf(1000), topSuppliersTurnoverMap.get(3));
 
@@ -0,0 +1,129 @@
+package warehouse.utils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.log4j.AppenderSkeleton;
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+import org.apache.log4j.spi.LoggingEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import warehouse.utils.log.OverflowPolicy;
+import warehouse.utils.log.impl.RingBufferEventLog;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class RingBufferEventLogUnitTests {
+
+    private final Logger logger = Logger.getLogger("ring-buffer-test");
+    private final CollectingAppender appender = new CollectingAppender();
+
+    @BeforeEach
+    public void setUp() {
+        this.logger.setAdditivity(false);
+        this.logger.setLevel(Level.INFO);
+        this.logger.addAppender(this.appender);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        this.appender.release.countDown();
+        this.logger.removeAppender(this.appender);
+    }
+
+    @Test
+    public void testEventsAreFormattedAndWrittenInOrder() throws InterruptedException {
+
+        RingBufferEventLog eventLog = this.create(16, OverflowPolicy.DROP, 0);
+        this.appender.release.countDown();
+
+        eventLog.info(this.logger, "order created by {}", "manager");
+        eventLog.info(this.logger, "request to edit order {} by {}", 7L, "manager");
+        eventLog.info(this.logger, "[{}][{}][{}][{} ms]", "GET", "/orders", 200, 12L);
+        eventLog.error(this.logger, "[{}][{}][{}]", "POST", "/orders/save", 500, new IllegalStateException("boom"));
+        eventLog.log(this.logger, Level.DEBUG, "below the logger level {}", 1, "x", null, null, null, null);
+        eventLog.destroy();
+
+        Assertions.assertEquals(List.of("order created by manager", "request to edit order 7 by manager",
+                "[GET][/orders][200][12 ms]", "[POST][/orders/save][500]"), this.appender.messages);
+        Assertions.assertEquals("boom", this.appender.events.get(3).getThrowableInformation().getThrowable().getMessage());
+    }
+
+    @Test
+    public void testDropPolicyDropsWhenTheBufferIsFull() throws InterruptedException {
+
+        RingBufferEventLog eventLog = this.create(2, OverflowPolicy.DROP, 0);
+
+        //the first event holds the writer in the appender, so nothing is freed until release
+        eventLog.info(this.logger, "event {}", 1);
+        eventLog.info(this.logger, "event {}", 2);
+        eventLog.info(this.logger, "event {}", 3);
+        long loggedBy = System.currentTimeMillis();
+
+        Assertions.assertEquals(1, eventLog.getDropped());
+
+        Thread.sleep(50);
+        this.appender.release.countDown();
+        eventLog.destroy();
+
+        Assertions.assertEquals(List.of("event 1", "event 2"), this.appender.messages);
+        //written after the release, but stamped with the time it was logged
+        Assertions.assertTrue(this.appender.events.get(1).getTimeStamp() <= loggedBy);
+    }
+
+    @Test
+    public void testBlockPolicyWaitsForRoom() throws InterruptedException {
+
+        RingBufferEventLog eventLog = this.create(2, OverflowPolicy.BLOCK, TimeUnit.SECONDS.toMillis(10));
+
+        eventLog.info(this.logger, "event {}", 1);
+        eventLog.info(this.logger, "event {}", 2);
+
+        Thread producer = new Thread(() -> eventLog.info(this.logger, "event {}", 3));
+        producer.start();
+        producer.join(200);
+        Assertions.assertTrue(producer.isAlive());
+
+        this.appender.release.countDown();
+        producer.join(TimeUnit.SECONDS.toMillis(10));
+        eventLog.destroy();
+
+        Assertions.assertEquals(0, eventLog.getDropped());
+        Assertions.assertEquals(List.of("event 1", "event 2", "event 3"), this.appender.messages);
+    }
+
+    private RingBufferEventLog create(int capacity, OverflowPolicy overflowPolicy, long blockTimeoutMillis) {
+        return new RingBufferEventLog(capacity, overflowPolicy, blockTimeoutMillis, new SimpleMeterRegistry());
+    }
+
+    private static class CollectingAppender extends AppenderSkeleton {
+
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final List<LoggingEvent> events = new CopyOnWriteArrayList<>();
+        private final List<String> messages = new CopyOnWriteArrayList<>();
+
+        @Override
+        protected void append(LoggingEvent event) {
+            try {
+                this.release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            this.events.add(event);
+            this.messages.add(event.getRenderedMessage());
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public boolean requiresLayout() {
+            return false;
+        }
+    }
+}